@@ -0,0 +1,125 @@
+package com.alienworkspace.cdr.metadata.client;
+
+import com.alienworkspace.cdr.metadata.client.model.ChangeFeed;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationResult;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import java.util.List;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Typed HTTP client of the Metadata service. Without {@code cdr.metadata.client.url} the calls go to the
+ * {@value #SERVICE_ID} service through the discovery client and load balancer.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@FeignClient(name = MetadataClient.SERVICE_ID, contextId = "metadataClient", url = "${cdr.metadata.client.url:}")
+public interface MetadataClient {
+
+    /**
+     * The name the service registers under.
+     */
+    String SERVICE_ID = "metadata";
+    /**
+     * The header every person-location lookup carries.
+     */
+    String CORRELATION_ID_HEADER = "X-cdr-correlation-id";
+    /**
+     * The change feed watermark of a snapshot.
+     */
+    String CHANGE_TOKEN_HEADER = "X-cdr-change-token";
+    /**
+     * The version of the binary format of a snapshot.
+     */
+    String SNAPSHOT_FORMAT_HEADER = "X-cdr-snapshot-format";
+    /**
+     * The media type of a snapshot.
+     */
+    String SNAPSHOT_MEDIA_TYPE = "application/vnd.cdr.geography-snapshot";
+    /**
+     * The largest batch the service resolves in one call.
+     */
+    int MAX_BATCH_SIZE = 1000;
+    /**
+     * The largest page of changes the service returns.
+     */
+    int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Retrieves the location of a person down to a location.
+     *
+     * @param correlationId the correlation id of the request
+     * @param countryId     the id of the country
+     * @param stateId       the id of the state
+     * @param countyId      the id of the county
+     * @param cityId        the id of the city
+     * @param communityId   the id of the community
+     * @param locationId    the id of the location
+     * @return the country, with the chain of places below it
+     */
+    @GetMapping("/api/person-location/{countryId}/{stateId}/{countyId}/{cityId}/{communityId}/{locationId}")
+    CountryDto getPersonLocation(@RequestHeader(CORRELATION_ID_HEADER) String correlationId,
+                                 @PathVariable("countryId") int countryId, @PathVariable("stateId") int stateId,
+                                 @PathVariable("countyId") int countyId, @PathVariable("cityId") int cityId,
+                                 @PathVariable("communityId") int communityId,
+                                 @PathVariable("locationId") int locationId);
+
+    /**
+     * Retrieves the location of a person down to a community.
+     *
+     * @param correlationId the correlation id of the request
+     * @param countryId     the id of the country
+     * @param stateId       the id of the state
+     * @param countyId      the id of the county
+     * @param cityId        the id of the city
+     * @param communityId   the id of the community
+     * @return the country, with the chain of places below it
+     */
+    @GetMapping("/api/person-location/{countryId}/{stateId}/{countyId}/{cityId}/{communityId}")
+    CountryDto getPersonLocation(@RequestHeader(CORRELATION_ID_HEADER) String correlationId,
+                                 @PathVariable("countryId") int countryId, @PathVariable("stateId") int stateId,
+                                 @PathVariable("countyId") int countyId, @PathVariable("cityId") int cityId,
+                                 @PathVariable("communityId") int communityId);
+
+    /**
+     * Retrieves the locations of many persons in one call, at most {@value #MAX_BATCH_SIZE}.
+     *
+     * @param correlationId the correlation id of the request
+     * @param requests      the chains of ids to resolve
+     * @return one result per request, in the order of the requests
+     */
+    @PostMapping("/api/person-location/batch")
+    List<PersonLocationResult> getPersonLocations(@RequestHeader(CORRELATION_ID_HEADER) String correlationId,
+                                                  @RequestBody List<PersonLocationRequest> requests);
+
+    /**
+     * Retrieves the rows of every level changed since a watermark, in commit order.
+     *
+     * @param since the {@code nextToken} of a previous page, or {@code null} for a full first sync
+     * @param size  the maximum number of rows to return, at most {@value #MAX_PAGE_SIZE}
+     * @return the page of changes
+     */
+    @GetMapping("/api/changes")
+    ChangeFeed getChanges(@RequestParam(value = "since", required = false) String since,
+                          @RequestParam("size") int size);
+
+    /**
+     * Retrieves the whole hierarchy as one binary snapshot, with its change feed watermark in the
+     * {@value #CHANGE_TOKEN_HEADER} header. A snapshot that still matches the entity tag is answered with
+     * {@code 304 Not Modified}, which Feign reports as a {@code FeignException}.
+     *
+     * @param eTag the entity tag of the snapshot already held, or {@code null}
+     * @return the snapshot
+     */
+    @GetMapping(value = "/api/snapshot", produces = SNAPSHOT_MEDIA_TYPE)
+    ResponseEntity<byte[]> getSnapshot(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                       String eTag);
+}
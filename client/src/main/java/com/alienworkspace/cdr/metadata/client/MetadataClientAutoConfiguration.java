@@ -0,0 +1,63 @@
+package com.alienworkspace.cdr.metadata.client;
+
+import com.alienworkspace.cdr.metadata.client.batch.PersonLocationBatcher;
+import com.alienworkspace.cdr.metadata.client.cache.GeographyNearCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the {@link MetadataClient}, the {@link GeographyNearCache} and the {@link PersonLocationBatcher} in a
+ * consuming service. The near-cache and the batcher are on by default and turned off with
+ * {@code cdr.metadata.client.near-cache.enabled=false} and {@code cdr.metadata.client.batch.enabled=false}. Their
+ * metrics go to the meter registry of the application, if it has one.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@AutoConfiguration
+@EnableConfigurationProperties(MetadataClientProperties.class)
+@EnableFeignClients(clients = MetadataClient.class)
+public class MetadataClientAutoConfiguration {
+
+    /**
+     * The near-cache, loading in the background from startup.
+     *
+     * @param client the client of the service
+     * @param properties the settings of the client
+     * @param meterRegistry the registry of the application, if any
+     * @return the near-cache
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "cdr.metadata.client.near-cache", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public GeographyNearCache geographyNearCache(MetadataClient client, MetadataClientProperties properties,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        return new GeographyNearCache(client, properties.getNearCache(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * The batcher of person-location lookups.
+     *
+     * @param client the client of the service
+     * @param properties the settings of the client
+     * @param meterRegistry the registry of the application, if any
+     * @return the batcher
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "cdr.metadata.client.batch", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public PersonLocationBatcher personLocationBatcher(MetadataClient client, MetadataClientProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PersonLocationBatcher(client, properties.getBatch(),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+}
@@ -0,0 +1,75 @@
+package com.alienworkspace.cdr.metadata.client;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the Metadata client.
+ */
+@Setter
+@Getter
+@ToString
+@ConfigurationProperties(prefix = "cdr.metadata.client")
+public class MetadataClientProperties {
+    /**
+     * Base URL of the service; without it the service is found through the discovery client.
+     */
+    private String url;
+    /**
+     * The in-process copy of the hierarchy.
+     */
+    private final NearCache nearCache = new NearCache();
+    /**
+     * The batching of person-location lookups.
+     */
+    private final Batch batch = new Batch();
+
+    /**
+     * Settings of the near-cache.
+     */
+    @Setter
+    @Getter
+    @ToString
+    public static class NearCache {
+        /**
+         * Whether the hierarchy is kept in process.
+         */
+        private boolean enabled = true;
+        /**
+         * How often the change feed is polled.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+        /**
+         * How often the snapshot is revalidated, which also repairs changes the feed could not deliver.
+         */
+        private Duration revalidateInterval = Duration.ofMinutes(10);
+        /**
+         * The page size of the change feed.
+         */
+        private int pageSize = MetadataClient.MAX_PAGE_SIZE;
+    }
+
+    /**
+     * Settings of the person-location batcher.
+     */
+    @Setter
+    @Getter
+    @ToString
+    public static class Batch {
+        /**
+         * Whether person-location lookups are coalesced into batch calls.
+         */
+        private boolean enabled = true;
+        /**
+         * The most lookups sent in one call.
+         */
+        private int maxSize = 100;
+        /**
+         * How long the first lookup of a batch waits for others to join it.
+         */
+        private Duration window = Duration.ofMillis(2);
+    }
+}
@@ -0,0 +1,172 @@
+package com.alienworkspace.cdr.metadata.client.batch;
+
+import com.alienworkspace.cdr.metadata.client.MetadataClient;
+import com.alienworkspace.cdr.metadata.client.MetadataClientProperties;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrent person-location lookups into calls to {@code POST /api/person-location/batch}.
+ *
+ * <p>The first lookup of a batch waits up to the batch window for others to join it, and the batch is sent as soon
+ * as it is full. One batch is in flight at a time: lookups made meanwhile queue up and go out together in the next
+ * batch, so batches grow with the load instead of the number of calls. Identical lookups in one batch are sent
+ * once. The sizes of the batches sent are published as {@code cdr.metadata.client.batch.size} and their round trips
+ * as {@code cdr.metadata.client.batch.latency}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class PersonLocationBatcher implements AutoCloseable {
+
+    /**
+     * The prefix of the metrics of the batcher.
+     */
+    public static final String METRIC = "cdr.metadata.client.batch";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersonLocationBatcher.class);
+
+    private final MetadataClient client;
+    private final int maxSize;
+    private final long windowNanos;
+    private final BlockingQueue<Lookup> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private final DistributionSummary sizes;
+    private final Timer latency;
+    private volatile boolean closed;
+
+    /**
+     * Constructor for PersonLocationBatcher.
+     *
+     * @param client the client of the service
+     * @param properties the batch size and window
+     * @param meterRegistry the registry the metrics are published to
+     */
+    public PersonLocationBatcher(MetadataClient client, MetadataClientProperties.Batch properties,
+                                 MeterRegistry meterRegistry) {
+        if (properties.getMaxSize() < 1 || properties.getMaxSize() > MetadataClient.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("The batch size must be between 1 and "
+                    + MetadataClient.MAX_BATCH_SIZE + ": " + properties.getMaxSize());
+        }
+        this.client = client;
+        this.maxSize = properties.getMaxSize();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.dispatcher = new Thread(this::dispatch, "metadata-person-location-batcher");
+        this.dispatcher.setDaemon(true);
+        this.sizes = DistributionSummary.builder(METRIC + ".size").description("Lookups sent in one call")
+                .register(meterRegistry);
+        this.latency = Timer.builder(METRIC + ".latency").description("Round trip of one batch call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts sending batches.
+     */
+    public void start() {
+        dispatcher.start();
+    }
+
+    /**
+     * Stops sending batches and cancels the lookups still waiting.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        Lookup lookup;
+        while ((lookup = queue.poll()) != null) {
+            lookup.result().completeExceptionally(new CancellationException("The batcher is closed"));
+        }
+    }
+
+    /**
+     * Resolves a person location in the next batch. The result carries its own error code when the service could
+     * not resolve this entry; the future fails when the whole call fails.
+     *
+     * @param request the chain of ids
+     * @return the result
+     */
+    public CompletableFuture<PersonLocationResult> resolve(PersonLocationRequest request) {
+        CompletableFuture<PersonLocationResult> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new CancellationException("The batcher is closed"));
+            return result;
+        }
+        Lookup lookup = new Lookup(request, result);
+        queue.add(lookup);
+        if (closed && queue.remove(lookup)) {
+            result.completeExceptionally(new CancellationException("The batcher is closed"));
+        }
+        return result;
+    }
+
+    private void dispatch() {
+        List<Lookup> batch = new ArrayList<>(maxSize);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxSize) {
+                    Lookup next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(lookup -> lookup.result()
+                        .completeExceptionally(new CancellationException("The batcher is closed")));
+                return;
+            }
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Sends one batch, every distinct request once, and completes the lookups with the results in request order.
+     */
+    void send(List<Lookup> batch) {
+        Map<PersonLocationRequest, List<CompletableFuture<PersonLocationResult>>> distinct = new LinkedHashMap<>();
+        batch.forEach(lookup -> distinct.computeIfAbsent(lookup.request(), request -> new ArrayList<>())
+                .add(lookup.result()));
+        List<PersonLocationRequest> requests = new ArrayList<>(distinct.keySet());
+        sizes.record(requests.size());
+        try {
+            List<PersonLocationResult> results = latency.recordCallable(() -> client.getPersonLocations(
+                    UUID.randomUUID().toString(), requests));
+            if (results == null || results.size() != requests.size()) {
+                throw new IllegalStateException("Expected " + requests.size() + " person locations, got "
+                        + (results == null ? 0 : results.size()));
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                PersonLocationResult result = results.get(i);
+                distinct.get(requests.get(i)).forEach(future -> future.complete(result));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Could not resolve a batch of {} person locations: {}", requests.size(), e.getMessage());
+            distinct.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+
+    /**
+     * A lookup waiting for its batch.
+     */
+    record Lookup(PersonLocationRequest request, CompletableFuture<PersonLocationResult> result) {
+    }
+}
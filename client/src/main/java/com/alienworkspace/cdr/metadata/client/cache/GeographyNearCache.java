@@ -0,0 +1,301 @@
+package com.alienworkspace.cdr.metadata.client.cache;
+
+import com.alienworkspace.cdr.metadata.client.MetadataClient;
+import com.alienworkspace.cdr.metadata.client.MetadataClientProperties;
+import com.alienworkspace.cdr.metadata.client.model.ChangeFeed;
+import com.alienworkspace.cdr.metadata.client.model.ChangeRow;
+import com.alienworkspace.cdr.metadata.client.model.GeographyLevel;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.client.model.Place;
+import com.alienworkspace.cdr.metadata.client.model.PlacePath;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * In-process copy of the whole geography hierarchy, so that lookups by id and person-location resolution never
+ * leave the process.
+ *
+ * <p>The copy is seeded from {@code GET /api/snapshot} and kept fresh by polling {@code GET /api/changes} from the
+ * watermark the snapshot was served with. Every change carries the current state of its row, so replaying one the
+ * snapshot already holds is harmless. The snapshot is revalidated with its entity tag now and then, which is a
+ * {@code 304} while nothing changed and otherwise replaces the copy, repairing anything the feed missed. A single
+ * background thread does all the writing; lookups only read concurrent maps and never block.
+ *
+ * <p>Lookups are counted as {@code cdr.metadata.client.cache.lookups}, tagged {@code hit}, {@code miss}, or
+ * {@code unavailable} before the first snapshot is loaded.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class GeographyNearCache implements AutoCloseable {
+
+    /**
+     * The prefix of the metrics of the near-cache.
+     */
+    public static final String METRIC = "cdr.metadata.client.cache";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeographyNearCache.class);
+
+    private final MetadataClient client;
+    private final MetadataClientProperties.NearCache properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metadata-near-cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter unavailable;
+    private final Counter changes;
+    private final Counter failures;
+    private final Timer loads;
+    private volatile Tables tables;
+    private volatile long syncedAt;
+    private String changeToken;
+    private String eTag;
+    private long revalidatedAt;
+
+    /**
+     * Constructor for GeographyNearCache.
+     *
+     * @param client the client of the service
+     * @param properties the poll and revalidation intervals
+     * @param meterRegistry the registry the metrics are published to
+     */
+    public GeographyNearCache(MetadataClient client, MetadataClientProperties.NearCache properties,
+                              MeterRegistry meterRegistry) {
+        this.client = client;
+        this.properties = properties;
+        this.hits = meterRegistry.counter(METRIC + ".lookups", "result", "hit");
+        this.misses = meterRegistry.counter(METRIC + ".lookups", "result", "miss");
+        this.unavailable = meterRegistry.counter(METRIC + ".lookups", "result", "unavailable");
+        this.changes = meterRegistry.counter(METRIC + ".changes");
+        this.failures = meterRegistry.counter(METRIC + ".refresh.failures");
+        this.loads = Timer.builder(METRIC + ".loads").description("Time to read and index a snapshot")
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".size", this, cache -> cache.tables == null ? 0 : cache.tables.size())
+                .description("Places held").register(meterRegistry);
+        TimeGauge.builder(METRIC + ".staleness", this, TimeUnit.NANOSECONDS,
+                        cache -> cache.tables == null ? Double.NaN : System.nanoTime() - cache.syncedAt)
+                .description("Time since the last successful sync with the change feed").register(meterRegistry);
+    }
+
+    /**
+     * Loads the snapshot in the background and starts polling the change feed.
+     */
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, properties.getPollInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops polling.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Returns whether the first snapshot has been loaded; until then every lookup comes back empty.
+     *
+     * @return whether lookups are answered
+     */
+    public boolean isReady() {
+        return tables != null;
+    }
+
+    /**
+     * Finds a place by id, voided or not.
+     *
+     * @param level the level of the place
+     * @param id the id of the place
+     * @return the place, or an empty optional if it is unknown or the cache is not ready
+     */
+    public Optional<Place> find(GeographyLevel level, int id) {
+        Tables current = tables;
+        if (current == null) {
+            unavailable.increment();
+            return Optional.empty();
+        }
+        Place place = current.get(level, id);
+        (place == null ? misses : hits).increment();
+        return Optional.ofNullable(place);
+    }
+
+    /**
+     * Lists the places that are not voided directly below a place, ordered by id.
+     *
+     * @param level the level of the parent
+     * @param id the id of the parent
+     * @return the children, empty for a location, an unknown parent or a cache that is not ready
+     */
+    public List<Place> children(GeographyLevel level, int id) {
+        Tables current = tables;
+        if (current == null) {
+            unavailable.increment();
+            return List.of();
+        }
+        hits.increment();
+        return current.children(level, id);
+    }
+
+    /**
+     * Resolves the location of a person like {@code GET /api/person-location} does: every id must name a place
+     * that is not voided and whose parent is the place above it. The ids below the deepest one given may be
+     * {@code null}.
+     *
+     * @param request the chain of ids
+     * @return the chain of places, or an empty optional if it does not resolve or the cache is not ready
+     */
+    public Optional<PlacePath> resolve(PersonLocationRequest request) {
+        Tables current = tables;
+        if (current == null) {
+            unavailable.increment();
+            return Optional.empty();
+        }
+        Integer[] ids = {request.getCountryId(), request.getStateId(), request.getCountyId(), request.getCityId(),
+                request.getCommunityId(), request.getLocationId()};
+        Place[] path = new Place[ids.length];
+        for (GeographyLevel level : GeographyLevel.values()) {
+            int depth = level.ordinal();
+            if (depth > 0 && ids[depth] == null) {
+                break;
+            }
+            Place place = ids[depth] == null ? null : current.get(level, ids[depth]);
+            if (place == null || place.voided()
+                    || depth > 0 && !Objects.equals(place.parentId(), path[depth - 1].id())) {
+                misses.increment();
+                return Optional.empty();
+            }
+            path[depth] = place;
+        }
+        hits.increment();
+        return Optional.of(new PlacePath(path[0], path[1], path[2], path[3], path[4], path[5]));
+    }
+
+    /**
+     * Brings the copy up to date: loads or revalidates the snapshot when it is due, then applies the change feed.
+     * Failures are logged and counted, and the next poll tries again; the copy keeps answering meanwhile.
+     */
+    public synchronized void refresh() {
+        try {
+            if (tables == null
+                    || System.nanoTime() - revalidatedAt >= properties.getRevalidateInterval().toNanos()) {
+                load();
+            }
+            sync();
+            syncedAt = System.nanoTime();
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            LOGGER.warn("Could not refresh the geography near-cache: {}", e.getMessage());
+        }
+    }
+
+    private void load() throws IOException {
+        ResponseEntity<byte[]> response;
+        try {
+            response = client.getSnapshot(tables == null ? null : eTag);
+        } catch (FeignException e) {
+            if (e.status() != HttpStatus.NOT_MODIFIED.value()) {
+                throw e;
+            }
+            revalidatedAt = System.nanoTime();
+            return;
+        }
+        long started = System.nanoTime();
+        Tables loaded = new Tables();
+        SnapshotReader.read(Objects.requireNonNull(response.getBody(), "Empty snapshot")).forEach(loaded::put);
+        tables = loaded;
+        changeToken = response.getHeaders().getFirst(MetadataClient.CHANGE_TOKEN_HEADER);
+        eTag = response.getHeaders().getETag();
+        revalidatedAt = System.nanoTime();
+        loads.record(revalidatedAt - started, TimeUnit.NANOSECONDS);
+        LOGGER.info("Loaded {} places into the geography near-cache", loaded.size());
+    }
+
+    private void sync() {
+        Tables current = tables;
+        ChangeFeed feed;
+        do {
+            feed = client.getChanges(changeToken, properties.getPageSize());
+            for (ChangeRow row : feed.getChanges()) {
+                current.put(Place.of(row));
+            }
+            changes.increment(feed.getChanges().size());
+            changeToken = feed.getNextToken();
+        } while (feed.isHasMore());
+    }
+
+    /**
+     * The places of every level by id, with the ids of the children of every place. Written by the refresh thread
+     * only.
+     */
+    private static final class Tables {
+
+        private final Map<GeographyLevel, Map<Integer, Place>> places = new EnumMap<>(GeographyLevel.class);
+        private final Map<GeographyLevel, Map<Integer, Set<Integer>>> children = new EnumMap<>(GeographyLevel.class);
+
+        Tables() {
+            for (GeographyLevel level : GeographyLevel.values()) {
+                places.put(level, new ConcurrentHashMap<>());
+                children.put(level, new ConcurrentHashMap<>());
+            }
+        }
+
+        Place get(GeographyLevel level, int id) {
+            return places.get(level).get(id);
+        }
+
+        List<Place> children(GeographyLevel level, int id) {
+            GeographyLevel child = level.child();
+            if (child == null) {
+                return List.of();
+            }
+            Map<Integer, Place> childPlaces = places.get(child);
+            return children.get(child).getOrDefault(id, Set.of()).stream()
+                    .map(childPlaces::get)
+                    .filter(place -> place != null && !place.voided())
+                    .sorted(Comparator.comparingInt(Place::id))
+                    .toList();
+        }
+
+        void put(Place place) {
+            Place previous = places.get(place.level()).put(place.id(), place);
+            Map<Integer, Set<Integer>> byParent = children.get(place.level());
+            if (previous != null && previous.parentId() != null
+                    && !previous.parentId().equals(place.parentId())) {
+                Set<Integer> siblings = byParent.get(previous.parentId());
+                if (siblings != null) {
+                    siblings.remove(place.id());
+                }
+            }
+            if (place.parentId() != null) {
+                byParent.computeIfAbsent(place.parentId(), parent -> ConcurrentHashMap.newKeySet()).add(place.id());
+            }
+        }
+
+        int size() {
+            return places.values().stream().mapToInt(Map::size).sum();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.alienworkspace.cdr.metadata.client.cache;
+
+import com.alienworkspace.cdr.metadata.client.model.GeographyLevel;
+import com.alienworkspace.cdr.metadata.client.model.Place;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the binary snapshot served by {@code GET /api/snapshot} into places.
+ *
+ * <p>Format version {@value #FORMAT_VERSION}, as written by the service:
+ * <pre>
+ * snapshot   = "CDRG" formatVersion:u8 gzip(body)
+ * body       = dictionary level{6}                  levels ordered from country to location
+ * dictionary = count (length utf8Bytes){count}
+ * level      = count column*                        every column holds one value per node, nodes ordered by id
+ * columns    = id parentId name code geoCode locale phoneCode localePreferred
+ *              [currencyName currencySymbol currencyCode]   countries only
+ *              createdBy createdAt lastModifiedBy lastModifiedAt voided voidedBy voidedAt voidReason uuid
+ * </pre>
+ * Counts, lengths and numbers are unsigned LEB128 varints. Ids are stored as the difference to the previous id,
+ * signed numbers are zig-zag encoded and nullable values are stored plus one, with zero for {@code null}. Strings
+ * are positions in the dictionary, again plus one. Booleans are packed eight to a byte, timestamps are UTC epoch
+ * seconds followed by the nanoseconds, and uuids are a packed presence column followed by 16 bytes for each uuid
+ * present. The audit columns a place does not hold are read and dropped.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class SnapshotReader {
+
+    /**
+     * The version of the format this reader understands.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'C', 'D', 'R', 'G'};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final byte[] buffer;
+    private int position;
+
+    private SnapshotReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param content the snapshot
+     * @return the places of every level, from the countries to the locations, each level ordered by id
+     * @throws IOException if the content is not a snapshot of a supported format
+     */
+    public static List<Place> read(byte[] content) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a geography snapshot");
+        }
+        int format = in.readUnsignedByte();
+        if (format != FORMAT_VERSION) {
+            throw new IOException("Unsupported geography snapshot format: " + format);
+        }
+        SnapshotReader reader = new SnapshotReader(new GZIPInputStream(in, BUFFER_SIZE).readAllBytes());
+        String[] dictionary = new String[reader.varint()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = reader.string();
+        }
+        List<Place> places = new ArrayList<>();
+        for (GeographyLevel level : GeographyLevel.values()) {
+            reader.readLevel(level, dictionary, places);
+        }
+        if (reader.position != reader.buffer.length) {
+            throw new IOException("Unexpected data after the last level of the geography snapshot");
+        }
+        return places;
+    }
+
+    private void readLevel(GeographyLevel level, String[] dictionary, List<Place> places) throws IOException {
+        int count = varint();
+        int[] ids = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += varint();
+            ids[i] = previous;
+        }
+        Long[] parentIds = nullables(count);
+        String[] names = strings(count, dictionary);
+        String[] codes = strings(count, dictionary);
+        String[] geoCodes = strings(count, dictionary);
+        String[] locales = strings(count, dictionary);
+        Long[] phoneCodes = nullables(count);
+        boolean[] localePreferred = bits(count);
+        boolean country = level == GeographyLevel.COUNTRY;
+        String[] currencyNames = country ? strings(count, dictionary) : new String[count];
+        String[] currencySymbols = country ? strings(count, dictionary) : new String[count];
+        String[] currencyCodes = country ? strings(count, dictionary) : new String[count];
+        for (int i = 0; i < count; i++) {
+            varlong();
+        }
+        timestamps(count);
+        nullables(count);
+        timestamps(count);
+        boolean[] voided = bits(count);
+        nullables(count);
+        timestamps(count);
+        strings(count, dictionary);
+        boolean[] hasUuid = bits(count);
+        for (int i = 0; i < count; i++) {
+            String uuid = hasUuid[i] ? new UUID(fixedLong(), fixedLong()).toString() : null;
+            places.add(new Place(level, ids[i], parentIds[i] == null ? null : parentIds[i].intValue(), names[i],
+                    codes[i], geoCodes[i], phoneCodes[i] == null ? null : phoneCodes[i].intValue(), locales[i],
+                    localePreferred[i], uuid, voided[i], currencyNames[i], currencySymbols[i], currencyCodes[i]));
+        }
+    }
+
+    private long varlong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = next();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in geography snapshot");
+    }
+
+    private int varint() throws IOException {
+        return Math.toIntExact(varlong());
+    }
+
+    private Long[] nullables(int count) throws IOException {
+        Long[] values = new Long[count];
+        for (int i = 0; i < count; i++) {
+            long value = varlong();
+            if (value != 0) {
+                value--;
+                values[i] = (value >>> 1) ^ -(value & 1);
+            }
+        }
+        return values;
+    }
+
+    private void timestamps(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            if (varlong() != 0) {
+                varlong();
+            }
+        }
+    }
+
+    private String[] strings(int count, String[] dictionary) throws IOException {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int reference = varint();
+            if (reference > dictionary.length) {
+                throw new IOException("Unknown string " + reference + " in geography snapshot");
+            }
+            values[i] = reference == 0 ? null : dictionary[reference - 1];
+        }
+        return values;
+    }
+
+    private boolean[] bits(int count) throws IOException {
+        boolean[] values = new boolean[count];
+        for (int i = 0; i < count; i += Byte.SIZE) {
+            int packed = next();
+            for (int j = 0; j < Byte.SIZE && i + j < count; j++) {
+                values[i + j] = (packed & (1 << j)) != 0;
+            }
+        }
+        return values;
+    }
+
+    private long fixedLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << Byte.SIZE) | (next() & 0xFF);
+        }
+        return value;
+    }
+
+    private String string() throws IOException {
+        int length = varint();
+        if (length > buffer.length - position) {
+            throw new IOException("Truncated geography snapshot");
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private byte next() throws IOException {
+        if (position >= buffer.length) {
+            throw new IOException("Truncated geography snapshot");
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,25 @@
+package com.alienworkspace.cdr.metadata.client.model;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of {@code GET /api/changes}. {@code nextToken} continues this sync while {@code hasMore} is true, and is
+ * the watermark of the next sync once it is false.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"}, justification = "This is a DTO class")
+public class ChangeFeed {
+    private List<ChangeRow> changes;
+    private String nextToken;
+    private boolean hasMore;
+}
@@ -0,0 +1,33 @@
+package com.alienworkspace.cdr.metadata.client.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The current state of a row that was created, updated or voided, as returned by {@code GET /api/changes}. Only
+ * countries carry the currency columns.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeRow {
+    private String level;
+    private Integer id;
+    private Integer parentId;
+    private String name;
+    private String code;
+    private String geoCode;
+    private Integer phoneCode;
+    private String locale;
+    private boolean localePreferred;
+    private String uuid;
+    private boolean voided;
+    private String currencyName;
+    private String currencySymbol;
+    private String currencyCode;
+}
@@ -0,0 +1,24 @@
+package com.alienworkspace.cdr.metadata.client.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch person-location request: a chain of ids from a country down to, at most, a location.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonLocationRequest {
+    private Integer countryId;
+    private Integer stateId;
+    private Integer countyId;
+    private Integer cityId;
+    private Integer communityId;
+    private Integer locationId;
+}
@@ -0,0 +1,26 @@
+package com.alienworkspace.cdr.metadata.client.model;
+
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of one entry of a batch person-location request. Either {@code location} is set, or
+ * {@code errorCode} and {@code errorMessage} describe why the entry could not be resolved.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"}, justification = "This is a DTO class")
+public class PersonLocationResult {
+    private PersonLocationRequest request;
+    private CountryDto location;
+    private Integer errorCode;
+    private String errorMessage;
+}
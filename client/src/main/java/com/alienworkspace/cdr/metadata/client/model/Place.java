@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.client.model;
+
+/**
+ * A node of the geography hierarchy as held by the near-cache. Only countries carry the currency columns, and only
+ * countries have no parent.
+ *
+ * @param level           the level of the node
+ * @param id              the id of the node
+ * @param parentId        the id of its parent, or {@code null} for a country
+ * @param name            the name
+ * @param code            the code
+ * @param geoCode         the geographic code
+ * @param phoneCode       the phone code
+ * @param locale          the locale
+ * @param localePreferred whether the locale is preferred
+ * @param uuid            the uuid
+ * @param voided          whether the node is voided
+ * @param currencyName    the currency name of a country
+ * @param currencySymbol  the currency symbol of a country
+ * @param currencyCode    the currency code of a country
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record Place(GeographyLevel level, int id, Integer parentId, String name, String code, String geoCode,
+                    Integer phoneCode, String locale, boolean localePreferred, String uuid, boolean voided,
+                    String currencyName, String currencySymbol, String currencyCode) {
+
+    /**
+     * Returns the place a row of the change feed describes.
+     *
+     * @param row the row
+     * @return the place
+     */
+    public static Place of(ChangeRow row) {
+        return new Place(GeographyLevel.fromResource(row.getLevel()), row.getId(), row.getParentId(), row.getName(),
+                row.getCode(), row.getGeoCode(), row.getPhoneCode(), row.getLocale(), row.isLocalePreferred(),
+                row.getUuid(), row.isVoided(), row.getCurrencyName(), row.getCurrencySymbol(),
+                row.getCurrencyCode());
+    }
+}
@@ -0,0 +1,16 @@
+package com.alienworkspace.cdr.metadata.client.model;
+
+/**
+ * A person location resolved by the near-cache: the chain of places from a country down to the deepest level that
+ * was asked for. The levels below it are {@code null}.
+ *
+ * @param country   the country
+ * @param state     the state
+ * @param county    the county
+ * @param city      the city
+ * @param community the community
+ * @param location  the location
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record PlacePath(Place country, Place state, Place county, Place city, Place community, Place location) {
+}
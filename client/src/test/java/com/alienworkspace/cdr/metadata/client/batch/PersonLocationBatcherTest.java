@@ -0,0 +1,105 @@
+package com.alienworkspace.cdr.metadata.client.batch;
+
+import com.alienworkspace.cdr.metadata.client.MetadataClient;
+import com.alienworkspace.cdr.metadata.client.MetadataClientProperties;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PersonLocationBatcherTest {
+
+    @Mock
+    MetadataClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private PersonLocationBatcher batcher;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MetadataClientProperties.Batch properties = new MetadataClientProperties.Batch();
+        properties.setMaxSize(3);
+        properties.setWindow(Duration.ofSeconds(10));
+        batcher = new PersonLocationBatcher(client, properties, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batcher.close();
+    }
+
+    private static PersonLocationRequest request(int locationId) {
+        return PersonLocationRequest.builder().countryId(1).stateId(10).countyId(100).cityId(1000)
+                .communityId(10000).locationId(locationId).build();
+    }
+
+    private static PersonLocationResult result(PersonLocationRequest request) {
+        return PersonLocationResult.builder().request(request).build();
+    }
+
+    @DisplayName("Test lookups are sent together once the batch is full, identical ones once")
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatched() throws Exception {
+        when(client.getPersonLocations(anyString(), any())).thenAnswer(invocation -> ((List<PersonLocationRequest>)
+                invocation.getArgument(1)).stream().map(PersonLocationBatcherTest::result).toList());
+        batcher.start();
+
+        CompletableFuture<PersonLocationResult> first = batcher.resolve(request(1));
+        CompletableFuture<PersonLocationResult> again = batcher.resolve(request(1));
+        CompletableFuture<PersonLocationResult> second = batcher.resolve(request(2));
+
+        assertEquals(request(1), first.get(5, TimeUnit.SECONDS).getRequest());
+        assertSame(first.get(), again.get());
+        assertEquals(request(2), second.get(5, TimeUnit.SECONDS).getRequest());
+        ArgumentCaptor<List<PersonLocationRequest>> sent = ArgumentCaptor.forClass(List.class);
+        verify(client).getPersonLocations(anyString(), sent.capture());
+        assertEquals(List.of(request(1), request(2)), sent.getValue());
+        assertEquals(2.0, meterRegistry.get(PersonLocationBatcher.METRIC + ".size").summary().totalAmount());
+    }
+
+    @DisplayName("Test a failed call fails every lookup of its batch")
+    @Test
+    void testFailure() {
+        IllegalStateException failure = new IllegalStateException("unavailable");
+        when(client.getPersonLocations(anyString(), any())).thenThrow(failure);
+        CompletableFuture<PersonLocationResult> first = new CompletableFuture<>();
+        CompletableFuture<PersonLocationResult> second = new CompletableFuture<>();
+
+        batcher.send(List.of(new PersonLocationBatcher.Lookup(request(1), first),
+                new PersonLocationBatcher.Lookup(request(2), second)));
+
+        assertSame(failure, assertThrows(ExecutionException.class, first::get).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, second::get).getCause());
+    }
+
+    @DisplayName("Test lookups made after the batcher is closed are cancelled")
+    @Test
+    void testClosed() {
+        batcher.close();
+
+        assertThrows(CancellationException.class, () -> batcher.resolve(request(1)).get());
+    }
+}
@@ -0,0 +1,142 @@
+package com.alienworkspace.cdr.metadata.client.cache;
+
+import com.alienworkspace.cdr.metadata.client.MetadataClient;
+import com.alienworkspace.cdr.metadata.client.MetadataClientProperties;
+import com.alienworkspace.cdr.metadata.client.model.ChangeFeed;
+import com.alienworkspace.cdr.metadata.client.model.ChangeRow;
+import com.alienworkspace.cdr.metadata.client.model.GeographyLevel;
+import com.alienworkspace.cdr.metadata.client.model.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.client.model.Place;
+import com.alienworkspace.cdr.metadata.client.model.PlacePath;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class GeographyNearCacheTest {
+
+    private static final String ETAG = "\"abc\"";
+    private static final PersonLocationRequest OPEBI_ROAD = PersonLocationRequest.builder()
+            .countryId(1).stateId(10).countyId(100).cityId(1000).communityId(10000).locationId(100000).build();
+
+    @Mock
+    MetadataClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private GeographyNearCache nearCache;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MetadataClientProperties.NearCache properties = new MetadataClientProperties.NearCache();
+        properties.setRevalidateInterval(Duration.ZERO);
+        nearCache = new GeographyNearCache(client, properties, meterRegistry);
+    }
+
+    private void serveSnapshot() throws Exception {
+        when(client.getSnapshot(null)).thenReturn(ResponseEntity.ok().eTag(ETAG)
+                .header(MetadataClient.CHANGE_TOKEN_HEADER, "snapshot").body(SnapshotReaderTest.snapshot()));
+        when(client.getChanges(eq("snapshot"), anyInt())).thenReturn(feed(List.of(), "snapshot", false));
+    }
+
+    private static ChangeFeed feed(List<ChangeRow> changes, String nextToken, boolean hasMore) {
+        return ChangeFeed.builder().changes(changes).nextToken(nextToken).hasMore(hasMore).build();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter(GeographyNearCache.METRIC + ".lookups", "result", result).count();
+    }
+
+    @DisplayName("Test nothing is answered before the first snapshot is loaded")
+    @Test
+    void testNotReady() {
+        assertFalse(nearCache.isReady());
+        assertTrue(nearCache.find(GeographyLevel.COUNTRY, 1).isEmpty());
+        assertTrue(nearCache.resolve(OPEBI_ROAD).isEmpty());
+        assertEquals(2, lookups("unavailable"));
+    }
+
+    @DisplayName("Test a person location is resolved from the snapshot without calling the service")
+    @Test
+    void testResolve() throws Exception {
+        serveSnapshot();
+        nearCache.refresh();
+
+        PlacePath path = nearCache.resolve(OPEBI_ROAD).orElseThrow();
+
+        assertTrue(nearCache.isReady());
+        assertEquals("Nigeria", path.country().name());
+        assertEquals("Opebi Road", path.location().name());
+        assertEquals("Opebi", nearCache.resolve(PersonLocationRequest.builder().countryId(1).stateId(10)
+                .countyId(100).cityId(1000).communityId(10000).build()).orElseThrow().community().name());
+        assertTrue(nearCache.resolve(PersonLocationRequest.builder().countryId(1).stateId(11).build()).isEmpty(),
+                "voided state");
+        assertTrue(nearCache.resolve(PersonLocationRequest.builder().countryId(1).stateId(10).countyId(100)
+                .cityId(1000).communityId(10000).locationId(7).build()).isEmpty(), "unknown location");
+        assertTrue(nearCache.resolve(PersonLocationRequest.builder().countryId(1).stateId(100).build()).isEmpty(),
+                "county given as a state");
+        assertEquals(List.of(10), nearCache.children(GeographyLevel.COUNTRY, 1).stream().map(Place::id).toList());
+        assertEquals(3, lookups("hit"));
+        assertEquals(3, lookups("miss"));
+        verify(client, never()).getPersonLocations(any(), any());
+    }
+
+    @DisplayName("Test the change feed is applied from the watermark of the snapshot")
+    @Test
+    void testChanges() throws Exception {
+        serveSnapshot();
+        nearCache.refresh();
+        when(client.getSnapshot(ETAG)).thenThrow(new FeignException.FeignClientException(304, "Not Modified",
+                Request.create(Request.HttpMethod.GET, "/api/snapshot", Map.of(), null, StandardCharsets.UTF_8, null),
+                null, Map.of()));
+        when(client.getChanges(eq("snapshot"), anyInt())).thenReturn(feed(List.of(
+                ChangeRow.builder().level("states").id(12).parentId(1).name("Oyo").uuid("u12").build(),
+                ChangeRow.builder().level("counties").id(100).parentId(12).name("Ikeja").build()), "first", true));
+        when(client.getChanges(eq("first"), anyInt())).thenReturn(feed(List.of(
+                ChangeRow.builder().level("locations").id(100001).parentId(10000).name("Allen Avenue").build()),
+                "second", false));
+
+        nearCache.refresh();
+
+        assertEquals("Oyo", nearCache.find(GeographyLevel.STATE, 12).orElseThrow().name());
+        assertEquals(List.of(100), nearCache.children(GeographyLevel.STATE, 12).stream().map(Place::id).toList());
+        assertTrue(nearCache.children(GeographyLevel.STATE, 10).isEmpty());
+        assertTrue(nearCache.resolve(OPEBI_ROAD).isEmpty(), "the county moved to another state");
+        assertEquals("Allen Avenue", nearCache.find(GeographyLevel.LOCATION, 100001).orElseThrow().name());
+        assertEquals(3, meterRegistry.counter(GeographyNearCache.METRIC + ".changes").count());
+        assertEquals(9.0, meterRegistry.get(GeographyNearCache.METRIC + ".size").gauge().value());
+    }
+
+    @DisplayName("Test a failed refresh keeps the loaded copy and is counted")
+    @Test
+    void testFailure() throws Exception {
+        serveSnapshot();
+        nearCache.refresh();
+        when(client.getSnapshot(ETAG)).thenThrow(new IllegalStateException("unavailable"));
+
+        nearCache.refresh();
+
+        assertTrue(nearCache.resolve(OPEBI_ROAD).isPresent());
+        assertEquals(1, meterRegistry.counter(GeographyNearCache.METRIC + ".refresh.failures").count());
+    }
+}
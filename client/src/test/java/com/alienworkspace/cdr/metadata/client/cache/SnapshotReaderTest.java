@@ -0,0 +1,51 @@
+package com.alienworkspace.cdr.metadata.client.cache;
+
+import com.alienworkspace.cdr.metadata.client.model.GeographyLevel;
+import com.alienworkspace.cdr.metadata.client.model.Place;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SnapshotReaderTest {
+
+    static byte[] snapshot() throws IOException {
+        try (InputStream in = SnapshotReaderTest.class.getResourceAsStream("/snapshot-v1.bin")) {
+            return in.readAllBytes();
+        }
+    }
+
+    @DisplayName("Test a snapshot written by the service is read into the places of every level")
+    @Test
+    void testRead() throws IOException {
+        List<Place> places = SnapshotReader.read(snapshot());
+
+        assertEquals(List.of("COUNTRY:1", "STATE:10", "STATE:11", "COUNTY:100", "CITY:1000", "COMMUNITY:10000",
+                "LOCATION:100000"), places.stream().map(place -> place.level() + ":" + place.id()).toList());
+        assertEquals(new Place(GeographyLevel.COUNTRY, 1, null, "Nigeria", "NG", "NGA", 234, "en", true,
+                "6f1c2d3e-4a5b-4c6d-8e7f-000000000001", false, "Naira", "₦", "NGN"), places.get(0));
+        assertEquals(new Place(GeographyLevel.STATE, 11, 1, "Ogun", "OG", null, null, "en", true,
+                "6f1c2d3e-4a5b-4c6d-8e7f-000000000002", true, null, null, null), places.get(2));
+        assertEquals(new Place(GeographyLevel.CITY, 1000, 100, "Allen", "AL", null, null, "en", false,
+                "6f1c2d3e-4a5b-4c6d-8e7f-000000000001", false, null, null, null), places.get(4));
+        assertEquals(new Place(GeographyLevel.LOCATION, 100000, 10000, "Opebi Road", "OR", "6.59,3.36", 1, "en",
+                true, "6f1c2d3e-4a5b-4c6d-8e7f-000000000001", false, null, null, null), places.get(6));
+    }
+
+    @DisplayName("Test content that is not a snapshot of a supported format is rejected")
+    @Test
+    void testRejected() throws IOException {
+        byte[] content = snapshot();
+        byte[] future = Arrays.copyOf(content, content.length);
+        future[4] = 2;
+
+        assertThrows(IOException.class, () -> SnapshotReader.read("not a snapshot".getBytes()));
+        assertThrows(IOException.class, () -> SnapshotReader.read(future));
+        assertThrows(IOException.class, () -> SnapshotReader.read(Arrays.copyOf(content, content.length - 8)));
+    }
+}
@@ -0,0 +1,43 @@
+package com.alienworkspace.cdr.metadata.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result carries its allocation rate
+ * ({@code gc.alloc.rate.norm} is bytes per operation). Run it through the {@code jmh} profile:
+ *
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="MapperBenchmark -p fanOut=4"
+ * </pre>
+ *
+ * <p>{@code jmh.args} takes the usual JMH command line, e.g. a benchmark pattern, {@code -p} parameters or
+ * {@code -rf json -rff target/jmh.json} to keep the results for comparison.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks selected by the command line.
+     *
+     * @param args the JMH command line
+     * @throws CommandLineOptionException if the command line is invalid
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
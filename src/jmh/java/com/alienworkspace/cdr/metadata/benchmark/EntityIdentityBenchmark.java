@@ -0,0 +1,115 @@
+package com.alienworkspace.cdr.metadata.benchmark;
+
+import com.alienworkspace.cdr.metadata.model.Location;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures entity equality and hashing on populated sets, which is what Hibernate does with every child
+ * collection it loads and what the services do when they collect rows.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityIdentityBenchmark {
+
+    /**
+     * The number of rows in the set.
+     */
+    @Param({"100", "10000"})
+    public int size;
+
+    private Location[] locations;
+    private Location[] copies;
+    private Set<Location> populated;
+
+    /**
+     * Builds the rows, a same-id copy of each and a set holding the originals.
+     */
+    @Setup
+    public void setUp() {
+        locations = GeographyTrees.locations(size);
+        copies = GeographyTrees.copies(locations);
+        populated = new HashSet<>();
+        for (Location location : locations) {
+            populated.add(location);
+        }
+    }
+
+    /**
+     * Fills a new set with every row.
+     *
+     * @return the set
+     */
+    @Benchmark
+    public Set<Location> populate() {
+        Set<Location> set = new HashSet<>();
+        for (Location location : locations) {
+            set.add(location);
+        }
+        return set;
+    }
+
+    /**
+     * Looks up every row in the populated set through a different instance with the same id.
+     *
+     * @return the number of rows found
+     */
+    @Benchmark
+    public int containsCopies() {
+        int found = 0;
+        for (Location copy : copies) {
+            if (populated.contains(copy)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Compares every row with its copy.
+     *
+     * @return the number of equal pairs
+     */
+    @Benchmark
+    public int equalsCopies() {
+        int equal = 0;
+        for (int i = 0; i < locations.length; i++) {
+            if (locations[i].equals(copies[i])) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    /**
+     * Hashes every row.
+     *
+     * @return the combined hash
+     */
+    @Benchmark
+    public int hashCodes() {
+        int hash = 0;
+        for (Location location : locations) {
+            hash = 31 * hash + location.hashCode();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,114 @@
+package com.alienworkspace.cdr.metadata.benchmark;
+
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
+import java.time.LocalDateTime;
+
+/**
+ * Builds synthetic, fully linked geography trees for the benchmarks, the same shape Hibernate hands the
+ * mappers: every row has an id, a uuid and audit columns, and every parent holds its children.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+final class GeographyTrees {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private int nextId = 1;
+
+    private GeographyTrees() {
+    }
+
+    /**
+     * Builds a country with {@code fanOut} children on every level, so it holds {@code fanOut^5} locations.
+     *
+     * @param fanOut the number of children of every non-leaf row
+     * @return the root of the tree
+     */
+    static Country country(int fanOut) {
+        return new GeographyTrees().buildCountry(fanOut);
+    }
+
+    /**
+     * Builds {@code size} locations with distinct ids, each under its own saved community.
+     *
+     * @param size the number of locations
+     * @return the locations
+     */
+    static Location[] locations(int size) {
+        GeographyTrees trees = new GeographyTrees();
+        Location[] locations = new Location[size];
+        for (int i = 0; i < size; i++) {
+            Community community = audit(Community.builder().communityId(trees.nextId++)
+                    .communityName("Community " + i).communityCode("COM" + i).build());
+            locations[i] = trees.location(community, i);
+        }
+        return locations;
+    }
+
+    /**
+     * Copies the given locations into new instances with the same ids, the way a second persistence context
+     * or a proxy would present the same rows.
+     *
+     * @param locations the locations to copy
+     * @return the copies
+     */
+    static Location[] copies(Location[] locations) {
+        Location[] copies = new Location[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            copies[i] = Location.builder().locationId(locations[i].getLocationId())
+                    .locationName(locations[i].getLocationName()).community(locations[i].getCommunity()).build();
+        }
+        return copies;
+    }
+
+    private Country buildCountry(int fanOut) {
+        Country country = audit(Country.builder().countryId(nextId++).countryName("Country").countryCode("CTR")
+                .currencyCode("USD").currencySymbol("$").currencyName("Dollar").countryGeoCode("GEO")
+                .countryPhoneCode(234).locale("en_US").localePreferred(true).build());
+        for (int s = 0; s < fanOut; s++) {
+            State state = audit(State.builder().stateId(nextId++).stateName("State " + s).stateCode("ST" + s)
+                    .stateGeoCode("GEO" + s).statePhoneCode(s).locale("en_US").country(country).build());
+            country.getStates().add(state);
+            for (int c = 0; c < fanOut; c++) {
+                County county = audit(County.builder().countyId(nextId++).countyName("County " + c)
+                        .countyCode("CO" + c).countyGeoCode("GEO" + c).countyPhoneCode(c).locale("en_US")
+                        .state(state).build());
+                state.getCounties().add(county);
+                for (int t = 0; t < fanOut; t++) {
+                    City city = audit(City.builder().cityId(nextId++).cityName("City " + t).cityCode("CI" + t)
+                            .cityGeoCode("GEO" + t).cityPhoneCode(t).locale("en_US").county(county).build());
+                    county.getCities().add(city);
+                    for (int m = 0; m < fanOut; m++) {
+                        Community community = audit(Community.builder().communityId(nextId++)
+                                .communityName("Community " + m).communityCode("COM" + m)
+                                .communityGeoCode("GEO" + m).communityPhoneCode(m).locale("en_US").city(city)
+                                .build());
+                        city.getCommunities().add(community);
+                        for (int l = 0; l < fanOut; l++) {
+                            community.getLocations().add(location(community, l));
+                        }
+                    }
+                }
+            }
+        }
+        return country;
+    }
+
+    private Location location(Community community, int index) {
+        return audit(Location.builder().locationId(nextId++).locationName("Location " + index)
+                .locationCode("LOC" + index).locationGeoCode("GEO" + index).locationPhoneCode(index)
+                .locale("en_US").community(community).build());
+    }
+
+    private static <T extends AuditTrail> T audit(T row) {
+        row.setCreatedBy(1L);
+        row.setCreatedAt(CREATED_AT);
+        return row;
+    }
+}
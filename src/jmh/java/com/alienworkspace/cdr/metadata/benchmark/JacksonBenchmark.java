@@ -0,0 +1,63 @@
+package com.alienworkspace.cdr.metadata.benchmark;
+
+import com.alienworkspace.cdr.metadata.model.mapper.CountryMapper;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures Jackson serialization of deep country DTO graphs, with the object mapper configured the way
+ * Spring Boot configures the one the controllers write with.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    /**
+     * The number of children of every non-leaf row.
+     */
+    @Param({"2", "4", "6"})
+    public int fanOut;
+
+    private ObjectMapper objectMapper;
+    private CountryDto countryDto;
+
+    /**
+     * Builds the object mapper and the DTO graph once per trial.
+     */
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        countryDto = CountryMapper.INSTANCE.toDto(GeographyTrees.country(fanOut));
+    }
+
+    /**
+     * Serializes the whole country graph.
+     *
+     * @return the JSON bytes
+     * @throws JsonProcessingException if the graph cannot be serialized
+     */
+    @Benchmark
+    public byte[] serializeCountry() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(countryDto);
+    }
+}
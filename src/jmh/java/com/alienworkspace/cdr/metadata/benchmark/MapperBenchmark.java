@@ -0,0 +1,206 @@
+package com.alienworkspace.cdr.metadata.benchmark;
+
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.mapper.CityMapper;
+import com.alienworkspace.cdr.metadata.model.mapper.CommunityMapper;
+import com.alienworkspace.cdr.metadata.model.mapper.CountryMapper;
+import com.alienworkspace.cdr.metadata.model.mapper.CountyMapper;
+import com.alienworkspace.cdr.metadata.model.mapper.LocationMapper;
+import com.alienworkspace.cdr.metadata.model.mapper.StateMapper;
+import com.alienworkspace.cdr.model.dto.metadata.CityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
+import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the entity/DTO mappers of every level on a synthetic tree. Each level is mapped from its first
+ * row, so the cost of a level includes everything below it, the way a controller pays for it.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    /**
+     * The number of children of every non-leaf row.
+     */
+    @Param({"2", "4", "6"})
+    public int fanOut;
+
+    private Country country;
+    private State state;
+    private County county;
+    private City city;
+    private Community community;
+    private Location location;
+
+    private CountryDto countryDto;
+    private StateDto stateDto;
+    private CountyDto countyDto;
+    private CityDto cityDto;
+    private CommunityDto communityDto;
+    private LocationDto locationDto;
+
+    /**
+     * Builds the tree and its DTOs once per trial.
+     */
+    @Setup
+    public void setUp() {
+        country = GeographyTrees.country(fanOut);
+        state = country.getStates().iterator().next();
+        county = state.getCounties().iterator().next();
+        city = county.getCities().iterator().next();
+        community = city.getCommunities().iterator().next();
+        location = community.getLocations().iterator().next();
+
+        countryDto = CountryMapper.INSTANCE.toDto(country);
+        stateDto = StateMapper.INSTANCE.toDto(state);
+        countyDto = CountyMapper.INSTANCE.toDto(county);
+        cityDto = CityMapper.INSTANCE.toDto(city);
+        communityDto = CommunityMapper.INSTANCE.toDto(community);
+        locationDto = LocationMapper.INSTANCE.toDto(location);
+    }
+
+    /**
+     * Maps a whole country tree to DTOs.
+     *
+     * @return the DTO
+     */
+    @Benchmark
+    public CountryDto countryToDto() {
+        return CountryMapper.INSTANCE.toDto(country);
+    }
+
+    /**
+     * Maps a whole country DTO tree to entities.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public Country countryToEntity() {
+        return CountryMapper.INSTANCE.toEntity(countryDto);
+    }
+
+    /**
+     * Maps a state and everything below it to DTOs.
+     *
+     * @return the DTO
+     */
+    @Benchmark
+    public StateDto stateToDto() {
+        return StateMapper.INSTANCE.toDto(state);
+    }
+
+    /**
+     * Maps a state DTO and everything below it to entities.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public State stateToEntity() {
+        return StateMapper.INSTANCE.toEntity(stateDto);
+    }
+
+    /**
+     * Maps a county and everything below it to DTOs.
+     *
+     * @return the DTO
+     */
+    @Benchmark
+    public CountyDto countyToDto() {
+        return CountyMapper.INSTANCE.toDto(county);
+    }
+
+    /**
+     * Maps a county DTO and everything below it to entities.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public County countyToEntity() {
+        return CountyMapper.INSTANCE.toEntity(countyDto);
+    }
+
+    /**
+     * Maps a city and everything below it to DTOs.
+     *
+     * @return the DTO
+     */
+    @Benchmark
+    public CityDto cityToDto() {
+        return CityMapper.INSTANCE.toDto(city);
+    }
+
+    /**
+     * Maps a city DTO and everything below it to entities.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public City cityToEntity() {
+        return CityMapper.INSTANCE.toEntity(cityDto);
+    }
+
+    /**
+     * Maps a community and its locations to DTOs.
+     *
+     * @return the DTO
+     */
+    @Benchmark
+    public CommunityDto communityToDto() {
+        return CommunityMapper.INSTANCE.toDto(community);
+    }
+
+    /**
+     * Maps a community DTO and its locations to entities.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public Community communityToEntity() {
+        return CommunityMapper.INSTANCE.toEntity(communityDto);
+    }
+
+    /**
+     * Maps a location to a DTO.
+     *
+     * @return the DTO
+     */
+    @Benchmark
+    public LocationDto locationToDto() {
+        return LocationMapper.INSTANCE.toDto(location);
+    }
+
+    /**
+     * Maps a location DTO to an entity.
+     *
+     * @return the entity
+     */
+    @Benchmark
+    public Location locationToEntity() {
+        return LocationMapper.INSTANCE.toEntity(locationDto);
+    }
+}
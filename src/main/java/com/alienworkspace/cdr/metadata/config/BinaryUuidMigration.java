@@ -0,0 +1,83 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts the {@code uuid} column of the geography tables from the text form of the ids to {@code BINARY(16)}.
+ *
+ * <p>Runs before the entity manager factory is created (see {@link DataSourceConfig}), so Hibernate's schema update,
+ * which never changes the type of an existing column, finds the binary column and recreates its unique index. The
+ * existing ids are kept, converted with {@code UUID_TO_BIN}. Each table is converted in three steps: a
+ * {@code uuid_bin} column is added and filled, the text column is dropped, and {@code uuid_bin} is renamed. The
+ * steps are checked against {@code information_schema} before they run, so a conversion that was interrupted
+ * resumes on the next start, and a converted or new schema is left alone.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Component
+public class BinaryUuidMigration implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryUuidMigration.class);
+    private static final List<String> TEXT_TYPES = List.of("char", "varchar");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for BinaryUuidMigration.
+     *
+     * @param dataSource the application data source
+     */
+    public BinaryUuidMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Converts every table that still has a text {@code uuid} column.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        String product = jdbcTemplate.execute((Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        if (product == null || !product.toLowerCase(Locale.ROOT).contains("mysql")) {
+            return;
+        }
+        for (GeographyLevel level : GeographyLevel.values()) {
+            migrate(level.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void migrate(String table) {
+        String uuidType = columnType(table, "uuid");
+        String binaryType = columnType(table, "uuid_bin");
+        if (uuidType != null && TEXT_TYPES.contains(uuidType)) {
+            LOGGER.info("Converting {}.uuid to BINARY(16)", table);
+            if (binaryType == null) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN uuid_bin BINARY(16) NULL");
+            }
+            jdbcTemplate.update("UPDATE " + table + " SET uuid_bin = UUID_TO_BIN(uuid) WHERE uuid_bin IS NULL");
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN uuid");
+            uuidType = null;
+            binaryType = "binary";
+        }
+        if (uuidType == null && binaryType != null) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " CHANGE COLUMN uuid_bin uuid BINARY(16) NOT NULL");
+            LOGGER.info("Converted {}.uuid to BINARY(16)", table);
+        }
+    }
+
+    private String columnType(String table, String column) {
+        List<String> types = jdbcTemplate.queryForList("SELECT DATA_TYPE FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?", String.class, table,
+                column);
+        return types.isEmpty() ? null : types.get(0).toLowerCase(Locale.ROOT);
+    }
+}
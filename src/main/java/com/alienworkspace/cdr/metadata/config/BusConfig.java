@@ -0,0 +1,13 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import com.alienworkspace.cdr.metadata.readmodel.GeographyInvalidationEvent;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the application's own Spring Cloud Bus events so they can be read from the bus.
+ */
+@Configuration
+@RemoteApplicationEventScan(basePackageClasses = GeographyInvalidationEvent.class)
+public class BusConfig {
+}
@@ -0,0 +1,57 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * DataSource Configuration.
+ *
+ * <p>Wraps the application DataSource in a {@link LazyConnectionDataSourceProxy} so that a transaction only
+ * borrows a physical connection once it actually runs a statement. Read methods that are answered from the
+ * in-memory geography read model therefore never touch the database. When a read replica is configured,
+ * {@link ReplicaDataSourceConfig} defines the application DataSource as such a proxy itself.
+ *
+ * <p>Also makes the entity manager factory wait for the schema conversions that have to run before Hibernate
+ * inspects the schema.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    /**
+     * Post processor that wraps the application DataSource bean in a {@link LazyConnectionDataSourceProxy}. Other
+     * DataSource beans, such as the pools behind a read replica setup, are left alone.
+     *
+     * @return the bean post processor
+     */
+    @Bean
+    public static BeanPostProcessor lazyConnectionDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (APPLICATION_DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new LazyConnectionDataSourceProxy(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Post processor that makes the entity manager factory depend on the {@link BinaryUuidMigration}.
+     *
+     * @return the bean factory post processor
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor binaryUuidMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(BinaryUuidMigration.class);
+    }
+}
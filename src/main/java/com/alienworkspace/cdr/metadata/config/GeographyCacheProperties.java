@@ -0,0 +1,42 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size limits of the Hibernate second-level cache regions.
+ */
+@Setter
+@Getter
+@ToString
+@ConfigurationProperties(prefix = "geography-cache")
+public class GeographyCacheProperties {
+    /**
+     * Maximum number of entries of the entity region of each level. The region of the child collections of a
+     * level holds one entry per parent and shares its limit.
+     */
+    private Map<GeographyLevel, Long> sizes = new EnumMap<>(GeographyLevel.class);
+    /**
+     * Limit of the levels missing from {@link #sizes}.
+     */
+    private long defaultSize = 10_000;
+    /**
+     * Maximum number of cached query results.
+     */
+    private long querySize = 1_000;
+
+    /**
+     * Returns the limit of the regions of a level.
+     *
+     * @param level the level
+     * @return the maximum number of entries
+     */
+    public long sizeOf(GeographyLevel level) {
+        return sizes.getOrDefault(level, defaultSize);
+    }
+}
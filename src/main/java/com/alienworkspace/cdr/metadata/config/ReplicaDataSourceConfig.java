@@ -0,0 +1,103 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read/write splitting between the primary MySQL instance and a read replica.
+ *
+ * <p>With {@code datasource.replica.enabled=true} the application DataSource is a
+ * {@link LazyConnectionDataSourceProxy} over two pools. The transaction managers mark the connection of a
+ * {@code @Transactional(readOnly = true)} method read-only before it runs its first statement, and the proxy then
+ * borrows the physical connection from its read-only data source, a {@link ReplicaRoutingDataSource}, instead of
+ * the primary. That sends the read methods of the services, and the reads of the Spring Data repositories, which
+ * are read-only by default, to the replica while {@link ReplicaLagMonitor} finds it within {@code max-lag}, and to
+ * the primary otherwise. Everything else, including schema updates, stays on the primary.
+ *
+ * <p>Both pools are beans of their own, so they get their own health checks and pool metrics.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    /**
+     * The connection pool of the primary, configured from {@code spring.datasource}.
+     *
+     * @param properties the primary connection settings
+     * @return the pool
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * The connection pool of the replica, configured from {@code datasource.replica}.
+     *
+     * @param properties the replica connection settings
+     * @return the pool
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties(prefix = "datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The monitor of the replication lag.
+     *
+     * @param replica the connection pool of the replica
+     * @param properties the lag bound and check interval
+     * @param meterRegistry the registry the lag gauges are published to
+     * @return the monitor
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replica,
+                                               ReplicaDataSourceProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, properties, meterRegistry);
+    }
+
+    /**
+     * The application DataSource, borrowing from the primary for read-write transactions and from the replica, or
+     * the primary when the replica lags, for read-only ones.
+     *
+     * @param primary the connection pool of the primary
+     * @param replica the connection pool of the replica
+     * @param lagMonitor the monitor telling whether the replica is usable
+     * @return the DataSource
+     */
+    @Bean
+    @Primary
+    public LazyConnectionDataSourceProxy dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                    @Qualifier("replicaDataSource") HikariDataSource replica,
+                                                    ReplicaLagMonitor lagMonitor) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+        return dataSource;
+    }
+}
@@ -0,0 +1,48 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection settings of the read replica and the lag bound beyond which reads go back to the primary. The pool
+ * of the replica is tuned under {@code datasource.replica.hikari}, like {@code spring.datasource.hikari} for the
+ * primary.
+ */
+@Setter
+@Getter
+@ToString(exclude = "password")
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaDataSourceProperties {
+    /**
+     * Whether read-only transactions are sent to the replica.
+     */
+    private boolean enabled;
+    /**
+     * JDBC url of the replica.
+     */
+    private String url;
+    /**
+     * Login user of the replica.
+     */
+    private String username;
+    /**
+     * Login password of the replica.
+     */
+    private String password;
+    /**
+     * Replication lag beyond which reads are sent to the primary until the replica catches up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+    /**
+     * How often the replication lag is read.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    /**
+     * Whether the replication lag is checked at all. Turned off for a replica that is not fed by MySQL
+     * replication, such as a second local instance in development.
+     */
+    private boolean checkLag = true;
+}
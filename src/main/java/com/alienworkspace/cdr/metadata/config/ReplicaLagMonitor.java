@@ -0,0 +1,138 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Tracks how far the read replica is behind the primary and tells {@link ReplicaRoutingDataSource} whether reads
+ * may still go to it.
+ *
+ * <p>The lag is read from {@code SHOW REPLICA STATUS} every {@code lag-check-interval}. The replica is usable while
+ * the lag is known and within {@code max-lag}; a replica whose replication is stopped, that is not replicating at
+ * all, or that cannot be reached is not. The last lag is published as the {@value #LAG_METRIC} gauge, in seconds,
+ * and {@value #USABLE_METRIC} is 1 while reads go to the replica.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    /**
+     * Name of the gauge holding the last replication lag, in seconds.
+     */
+    public static final String LAG_METRIC = "datasource.replica.lag";
+    /**
+     * Name of the gauge that is 1 while reads go to the replica and 0 while they go to the primary.
+     */
+    public static final String USABLE_METRIC = "datasource.replica.usable";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String REPLICA_STATUS = "SHOW REPLICA STATUS";
+    private static final String SECONDS_BEHIND_SOURCE = "Seconds_Behind_Source";
+
+    private final DataSource replica;
+    private final ReplicaDataSourceProperties properties;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor for ReplicaLagMonitor.
+     *
+     * @param replica the connection pool of the replica
+     * @param properties the lag bound and check interval
+     * @param meterRegistry the registry the lag gauges are published to
+     */
+    public ReplicaLagMonitor(DataSource replica, ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.properties = properties;
+        this.usable = !properties.isCheckLag();
+        Gauge.builder(LAG_METRIC, this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(USABLE_METRIC, this, monitor -> monitor.usable ? 1 : 0)
+                .description("Whether read-only transactions are sent to the read replica")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tells whether read-only transactions may go to the replica.
+     *
+     * @return true while the replica is within the lag bound
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Reads the replication lag once and updates whether the replica is usable.
+     */
+    void check() {
+        Double lag = readLag();
+        lagSeconds = lag == null ? Double.NaN : lag;
+        boolean nowUsable = lag != null && lag <= properties.getMaxLag().toSeconds();
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                LOGGER.info("Read replica is {} s behind; sending reads to it again", lag);
+            } else {
+                LOGGER.warn("Read replica is {}; sending reads to the primary",
+                        lag == null ? "not replicating or unreachable" : lag + " s behind");
+            }
+        }
+        usable = nowUsable;
+    }
+
+    private Double readLag() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery(REPLICA_STATUS)) {
+            if (!status.next()) {
+                return null;
+            }
+            long seconds = status.getLong(SECONDS_BEHIND_SOURCE);
+            return status.wasNull() ? null : (double) seconds;
+        } catch (SQLException e) {
+            LOGGER.debug("Could not read the replication lag", e);
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduler != null || !properties.isCheckLag()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getLagCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * The data source of read-only transactions: the replica while it is within the lag bound of
+ * {@link ReplicaLagMonitor}, and the primary otherwise.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    /**
+     * Constructor for ReplicaRoutingDataSource.
+     *
+     * @param primary the connection pool of the primary
+     * @param replica the connection pool of the replica
+     * @param lagMonitor the monitor telling whether the replica is usable
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.<Object, Object>of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return lagMonitor.isReplicaUsable() ? REPLICA : PRIMARY;
+    }
+}
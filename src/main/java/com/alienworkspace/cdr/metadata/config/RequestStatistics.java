@@ -0,0 +1,122 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * What Hibernate did for one HTTP request: the JDBC statements it executed and how long they took, the entities
+ * it loaded and the collections it initialized, and how often each SQL string was prepared.
+ *
+ * <p>The statistics of a request are bound to its thread by {@link RequestStatisticsInterceptor} and fed by
+ * {@link RequestStatisticsSessionListener} and {@link RequestStatisticsListener}. Work done outside a request, or
+ * on another thread, is not counted.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private int entitiesLoaded;
+    private int collectionsInitialized;
+    private final Map<String, Integer> preparedStatements = new HashMap<>();
+
+    /**
+     * Starts counting for the request running on the current thread.
+     *
+     * @return the statistics of the request
+     */
+    public static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops counting for the request running on the current thread.
+     *
+     * @return the statistics of the request, or {@code null} when none was started
+     */
+    public static RequestStatistics end() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics of the request running on the current thread.
+     *
+     * @return the statistics, or an empty optional outside a request
+     */
+    public static Optional<RequestStatistics> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+    }
+
+    void statementPrepared(String sql) {
+        preparedStatements.merge(sql, 1, Integer::sum);
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void collectionInitialized() {
+        collectionsInitialized++;
+    }
+
+    /**
+     * Returns the number of JDBC statements and batches executed.
+     *
+     * @return the number of statements
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Returns the time spent executing JDBC statements.
+     *
+     * @return the JDBC time
+     */
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * Returns the number of entities loaded, from the database or the second-level cache.
+     *
+     * @return the number of entities
+     */
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    /**
+     * Returns the number of lazy collections initialized.
+     *
+     * @return the number of collections
+     */
+    public int getCollectionsInitialized() {
+        return collectionsInitialized;
+    }
+
+    /**
+     * Returns the SQL string prepared most often and how often, the signature of an N+1 select: one query for the
+     * parents, then the same query once per parent.
+     *
+     * @return the most repeated statement, or an empty optional when nothing was prepared
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeatedStatement() {
+        return preparedStatements.entrySet().stream().max(Map.Entry.comparingByValue())
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()));
+    }
+}
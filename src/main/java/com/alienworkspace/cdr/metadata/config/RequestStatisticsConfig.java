@@ -0,0 +1,93 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per-request Hibernate statistics.
+ *
+ * <p>Hibernate's own statistics are global to the session factory. To tell which endpoint runs how many queries,
+ * the statement inspector, a session event listener and the post-load and collection-initialization events are
+ * hooked up here to count into the {@link RequestStatistics} of the request on the current thread, and
+ * {@link RequestStatisticsInterceptor} publishes them per controller method. Turned off with
+ * {@code request-statistics.enabled=false}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "request-statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestStatisticsProperties.class)
+public class RequestStatisticsConfig {
+
+    /**
+     * The interceptor publishing the statistics of every request.
+     *
+     * @param meterRegistry the registry the statistics are published to
+     * @param properties the N+1 threshold
+     * @return the interceptor
+     */
+    @Bean
+    public RequestStatisticsInterceptor requestStatisticsInterceptor(MeterRegistry meterRegistry,
+                                                                     RequestStatisticsProperties properties) {
+        return new RequestStatisticsInterceptor(meterRegistry, properties);
+    }
+
+    /**
+     * Registers the interceptor for every controller.
+     *
+     * @param interceptor the interceptor
+     * @return the MVC configurer
+     */
+    @Bean
+    public WebMvcConfigurer requestStatisticsWebMvcConfigurer(RequestStatisticsInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+
+    /**
+     * Installs the statement inspector and the per-session JDBC listener.
+     *
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatisticsListener());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    RequestStatisticsSessionListener.class.getName());
+        };
+    }
+
+    /**
+     * Appends the entity and collection load listeners once the session factory is built.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the registration callback
+     */
+    @Bean
+    public SmartInitializingSingleton requestStatisticsEventListeners(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            RequestStatisticsListener listener = new RequestStatisticsListener();
+            EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD, listener);
+            registry.appendListeners(EventType.INIT_COLLECTION, listener);
+        };
+    }
+}
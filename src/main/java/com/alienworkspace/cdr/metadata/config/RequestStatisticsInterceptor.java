@@ -0,0 +1,116 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Collects the {@link RequestStatistics} of every request handled by a controller method and publishes them per
+ * controller method, tagged with {@code controller} and {@code method}:
+ *
+ * <ul>
+ *     <li>{@value #STATEMENTS}: JDBC statements executed</li>
+ *     <li>{@value #JDBC_TIME}: time spent executing them</li>
+ *     <li>{@value #ENTITIES_LOADED}: entities loaded</li>
+ *     <li>{@value #COLLECTIONS_INITIALIZED}: lazy collections initialized</li>
+ *     <li>{@value #REPEATED_STATEMENTS}: requests that prepared one SQL string at least
+ *     {@code repeated-statement-threshold} times, which are also logged as likely N+1 selects</li>
+ * </ul>
+ *
+ * <p>The statistics are also left on the request under {@link #ATTRIBUTE} for tests to check.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class RequestStatisticsInterceptor implements HandlerInterceptor {
+
+    /**
+     * Request attribute holding the {@link RequestStatistics} of a completed request.
+     */
+    public static final String ATTRIBUTE = RequestStatistics.class.getName();
+
+    /**
+     * Name of the summary of JDBC statements per request.
+     */
+    public static final String STATEMENTS = "http.server.requests.sql.statements";
+    /**
+     * Name of the timer of JDBC time per request.
+     */
+    public static final String JDBC_TIME = "http.server.requests.sql.time";
+    /**
+     * Name of the summary of entities loaded per request.
+     */
+    public static final String ENTITIES_LOADED = "http.server.requests.entities.loaded";
+    /**
+     * Name of the summary of collections initialized per request.
+     */
+    public static final String COLLECTIONS_INITIALIZED = "http.server.requests.collections.initialized";
+    /**
+     * Name of the counter of requests that look like N+1 selects.
+     */
+    public static final String REPEATED_STATEMENTS = "http.server.requests.sql.repeated";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestStatisticsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final RequestStatisticsProperties properties;
+
+    /**
+     * Constructor for RequestStatisticsInterceptor.
+     *
+     * @param meterRegistry the registry the statistics are published to
+     * @param properties the N+1 threshold
+     */
+    public RequestStatisticsInterceptor(MeterRegistry meterRegistry, RequestStatisticsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestStatistics.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        RequestStatistics statistics = RequestStatistics.end();
+        if (statistics == null) {
+            return;
+        }
+        request.setAttribute(ATTRIBUTE, statistics);
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        Tags tags = Tags.of("controller", controller, "method", method);
+        DistributionSummary.builder(STATEMENTS).description("JDBC statements executed per request").tags(tags)
+                .register(meterRegistry).record(statistics.getStatements());
+        Timer.builder(JDBC_TIME).description("Time spent executing JDBC statements per request").tags(tags)
+                .register(meterRegistry).record(statistics.getJdbcTime());
+        DistributionSummary.builder(ENTITIES_LOADED).description("Entities loaded per request").tags(tags)
+                .register(meterRegistry).record(statistics.getEntitiesLoaded());
+        DistributionSummary.builder(COLLECTIONS_INITIALIZED).description("Lazy collections initialized per request")
+                .tags(tags).register(meterRegistry).record(statistics.getCollectionsInitialized());
+        statistics.mostRepeatedStatement()
+                .filter(statement -> statement.getValue() >= properties.getRepeatedStatementThreshold())
+                .ifPresent(statement -> {
+                    Counter.builder(REPEATED_STATEMENTS).description("Requests that look like N+1 selects")
+                            .tags(tags).register(meterRegistry).increment();
+                    LOGGER.warn("Likely N+1 select in {}.{}: prepared {} times, {} statements in total: {}",
+                            controller, method, statement.getValue(), statistics.getStatements(),
+                            statement.getKey());
+                });
+    }
+}
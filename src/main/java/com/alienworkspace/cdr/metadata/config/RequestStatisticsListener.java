@@ -0,0 +1,36 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds the {@link RequestStatistics} of the current request with the SQL Hibernate prepares, the entities it
+ * loads and the collections it initializes. It is installed as the statement inspector of the session factory and
+ * appended to its post-load and collection-initialization listeners.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class RequestStatisticsListener
+        implements StatementInspector, PostLoadEventListener, InitializeCollectionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics.current().ifPresent(statistics -> statistics.statementPrepared(sql));
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStatistics.current().ifPresent(RequestStatistics::entityLoaded);
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestStatistics.current().ifPresent(RequestStatistics::collectionInitialized);
+    }
+}
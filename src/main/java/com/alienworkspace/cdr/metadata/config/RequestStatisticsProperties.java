@@ -0,0 +1,24 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the per-request Hibernate statistics.
+ */
+@Setter
+@Getter
+@ToString
+@ConfigurationProperties(prefix = "request-statistics")
+public class RequestStatisticsProperties {
+    /**
+     * Whether Hibernate work is counted per request and published per controller method.
+     */
+    private boolean enabled = true;
+    /**
+     * How often one request may prepare the same SQL before it is reported as a likely N+1 select.
+     */
+    private int repeatedStatementThreshold = 10;
+}
@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts and times the JDBC statements of a Hibernate session into the {@link RequestStatistics} of the current
+ * request. Hibernate creates one per session from {@code hibernate.session.events.auto}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class RequestStatisticsSessionListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient long executeStart;
+    private transient long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        long nanos = System.nanoTime() - executeStart;
+        RequestStatistics.current().ifPresent(statistics -> statistics.statementExecuted(nanos));
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        long nanos = System.nanoTime() - batchStart;
+        RequestStatistics.current().ifPresent(statistics -> statistics.statementExecuted(nanos));
+    }
+}
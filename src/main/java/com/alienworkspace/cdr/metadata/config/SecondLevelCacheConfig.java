@@ -0,0 +1,116 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.CITY_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.CITY_COMMUNITIES_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COMMUNITY_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COMMUNITY_LOCATIONS_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTRY_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTRY_STATES_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTY_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTY_CITIES_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.LOCATION_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.STATE_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.STATE_COUNTIES_CACHE_REGION;
+
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache configuration.
+ *
+ * <p>The geography entities, their child collections and cacheable queries are kept in local Caffeine caches
+ * behind the JCache API. Every region is created here with the size limit of its level from
+ * {@link GeographyCacheProperties}, and the cache manager is handed to Hibernate instead of letting it create
+ * unbounded regions. The hits, misses and evictions of every region are published to Micrometer under
+ * {@code cache.*} with {@code cacheManager=hibernate}. The update timestamps region, which Hibernate uses to tell
+ * stale query results apart, must never lose entries and is left unbounded.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+@EnableConfigurationProperties(GeographyCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    private static final Map<String, GeographyLevel> REGIONS = new LinkedHashMap<>();
+
+    static {
+        REGIONS.put(COUNTRY_CACHE_REGION, GeographyLevel.COUNTRY);
+        REGIONS.put(STATE_CACHE_REGION, GeographyLevel.STATE);
+        REGIONS.put(COUNTY_CACHE_REGION, GeographyLevel.COUNTY);
+        REGIONS.put(CITY_CACHE_REGION, GeographyLevel.CITY);
+        REGIONS.put(COMMUNITY_CACHE_REGION, GeographyLevel.COMMUNITY);
+        REGIONS.put(LOCATION_CACHE_REGION, GeographyLevel.LOCATION);
+        REGIONS.put(COUNTRY_STATES_CACHE_REGION, GeographyLevel.COUNTRY);
+        REGIONS.put(STATE_COUNTIES_CACHE_REGION, GeographyLevel.STATE);
+        REGIONS.put(COUNTY_CITIES_CACHE_REGION, GeographyLevel.COUNTY);
+        REGIONS.put(CITY_COMMUNITIES_CACHE_REGION, GeographyLevel.CITY);
+        REGIONS.put(COMMUNITY_LOCATIONS_CACHE_REGION, GeographyLevel.COMMUNITY);
+    }
+
+    /**
+     * The JCache cache manager holding the second-level cache regions.
+     *
+     * @param properties the size limits of the regions
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(GeographyCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        REGIONS.forEach((region, level) ->
+                createRegion(cacheManager, region, OptionalLong.of(properties.sizeOf(level))));
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.of(properties.getQuerySize()));
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                OptionalLong.empty());
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate.
+     *
+     * @param hibernateCacheManager the cache manager
+     * @return the customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Publishes the statistics of every region.
+     *
+     * @param hibernateCacheManager the cache manager
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(name -> JCacheMetrics.monitor(registry,
+                hibernateCacheManager.getCache(name), Tags.of("cacheManager", "hibernate")));
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, OptionalLong maximumSize) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,182 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Where the time of one HTTP request went: the repositories, the entity to DTO mapping and the JSON
+ * serialization of the response.
+ *
+ * <p>The timing of a request is bound to its thread by {@link ServerTimingFilter} and fed by the proxies
+ * {@link ServerTimingPostProcessor} puts around the repositories and the mappers, by the read model mapping in the
+ * services and by the JSON message converter. Nested calls of the same phase, such as a repository default method
+ * calling another repository method, are timed once. Work done outside a request, or on another thread, is not
+ * timed.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class ServerTiming {
+
+    /**
+     * The response header the timing is sent in.
+     */
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final long NOT_TIMED = -1;
+
+    private final long startedAt = System.nanoTime();
+    private long endedAt;
+    private final long[] elapsed = new long[Phase.values().length];
+    private final int[] depth = new int[Phase.values().length];
+
+    /**
+     * The parts a request is broken down into.
+     */
+    public enum Phase {
+        REPOSITORY("repo", "Repository"),
+        MAPPING("map", "Entity to DTO mapping"),
+        SERIALIZATION("ser", "JSON serialization");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        /**
+         * Returns the name of the phase in the {@value #HEADER} header.
+         *
+         * @return the metric name
+         */
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    /**
+     * Starts timing the request running on the current thread.
+     *
+     * @return the timing of the request
+     */
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Stops timing the request running on the current thread.
+     *
+     * @return the timing of the request, or {@code null} when none was started
+     */
+    public static ServerTiming end() {
+        ServerTiming timing = CURRENT.get();
+        CURRENT.remove();
+        if (timing != null) {
+            timing.endedAt = System.nanoTime();
+        }
+        return timing;
+    }
+
+    /**
+     * Returns the timing of the request running on the current thread.
+     *
+     * @return the timing, or an empty optional outside a request
+     */
+    public static Optional<ServerTiming> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Runs a piece of work and adds its duration to a phase of the current request.
+     *
+     * @param phase the phase the work belongs to
+     * @param work  the work
+     * @param <T>   the type of the result
+     * @return the result of the work
+     */
+    public static <T> T measure(Phase phase, Supplier<T> work) {
+        long started = begin(phase);
+        try {
+            return work.get();
+        } finally {
+            finish(phase, started);
+        }
+    }
+
+    /**
+     * Marks the start of a piece of work of a phase. Every call must be paired with a call to
+     * {@link #finish(Phase, long)}.
+     *
+     * @param phase the phase the work belongs to
+     * @return the value to hand to {@link #finish(Phase, long)}
+     */
+    static long begin(Phase phase) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null || timing.depth[phase.ordinal()]++ > 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a piece of work of a phase.
+     *
+     * @param phase   the phase the work belongs to
+     * @param started the value returned by {@link #begin(Phase)}
+     */
+    static void finish(Phase phase, long started) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        timing.depth[phase.ordinal()]--;
+        if (started != NOT_TIMED) {
+            timing.elapsed[phase.ordinal()] += System.nanoTime() - started;
+        }
+    }
+
+    /**
+     * Returns the time spent in a phase.
+     *
+     * @param phase the phase
+     * @return the time spent
+     */
+    public Duration getElapsed(Phase phase) {
+        return Duration.ofNanos(elapsed[phase.ordinal()]);
+    }
+
+    /**
+     * Returns the time from the start of the request to its end, or to now while it runs.
+     *
+     * @return the total time
+     */
+    public Duration getTotal() {
+        return Duration.ofNanos((endedAt == 0 ? System.nanoTime() : endedAt) - startedAt);
+    }
+
+    /**
+     * Formats the timing as the value of a {@value #HEADER} header, in milliseconds.
+     *
+     * @return the header value, e.g. {@code repo;desc="Repository";dur=1.250, ..., total;dur=3.500}
+     */
+    public String toHeader() {
+        return Stream.concat(Arrays.stream(Phase.values())
+                        .map(phase -> String.format(Locale.ROOT, "%s;desc=\"%s\";dur=%.3f", phase.metricName,
+                                phase.description, millis(getElapsed(phase)))),
+                        Stream.of(String.format(Locale.ROOT, "total;dur=%.3f", millis(getTotal()))))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000d;
+    }
+}
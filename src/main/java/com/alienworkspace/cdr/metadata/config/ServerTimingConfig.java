@@ -0,0 +1,95 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import com.alienworkspace.cdr.metadata.model.mapper.CountryMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Server-Timing breakdown of every request.
+ *
+ * <p>When a request is slow, the access log does not tell whether the time went to the database, to building the
+ * DTOs or to writing the JSON. With {@code server-timing.enabled=true} the repositories and the {@code toDto}
+ * methods of the mappers are proxied, the JSON converter is timed and {@link ServerTimingFilter} reports the three
+ * phases per request. It is off by default: the filter buffers every response body.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    /**
+     * Times the Spring Data repositories.
+     *
+     * @return the post-processor
+     */
+    @Bean
+    public static ServerTimingPostProcessor repositoryTimingPostProcessor() {
+        return new ServerTimingPostProcessor(ServerTiming.Phase.REPOSITORY,
+                new ComposablePointcut(new RootClassFilter(Repository.class)));
+    }
+
+    /**
+     * Times the {@code toDto} methods of the MapStruct mappers. The mappers are matched by package, not by their
+     * {@code @Mapper} annotation, which is not retained at runtime.
+     *
+     * @return the post-processor
+     */
+    @Bean
+    public static ServerTimingPostProcessor mapperTimingPostProcessor() {
+        String mapperPackage = CountryMapper.class.getPackageName();
+        NameMatchMethodPointcut pointcut = new NameMatchMethodPointcut();
+        pointcut.setMappedName("toDto");
+        pointcut.setClassFilter(type -> type.getPackageName().equals(mapperPackage));
+        return new ServerTimingPostProcessor(ServerTiming.Phase.MAPPING, pointcut);
+    }
+
+    /**
+     * Replaces the JSON converter of Spring Boot with one that times the serialization.
+     *
+     * @param objectMapper the object mapper configured by Spring Boot
+     * @return the converter
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException {
+                long started = ServerTiming.begin(ServerTiming.Phase.SERIALIZATION);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    ServerTiming.finish(ServerTiming.Phase.SERIALIZATION, started);
+                }
+            }
+        };
+    }
+
+    /**
+     * Registers the filter in front of every other one, so the whole request is timed.
+     *
+     * @param meterRegistry the registry the phases are published to
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.EXPORT_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.SNAPSHOT_BASE_URL;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Times every request and sends the breakdown back in a {@value ServerTiming#HEADER} header.
+ *
+ * <p>The serialization only ends once the body is written, so the body is buffered until the header is set. The
+ * large or streamed bodies that are not JSON are left alone for that reason: the export, the binary snapshot, and
+ * the heap dump and log file of the actuator. The phases of requests handled by a controller method are also
+ * published as the {@value #METRIC} timer, tagged like the {@code http.server.requests.sql.*} metrics, so the
+ * breakdown in the browser devtools and in Prometheus is the same.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /**
+     * Time spent per request in each phase, tagged by phase.
+     */
+    public static final String METRIC = "http.server.requests.phases";
+
+    private static final List<String> UNBUFFERED_PATHS = List.of(EXPORT_BASE_URL, SNAPSHOT_BASE_URL,
+            "/actuator/heapdump", "/actuator/logfile");
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor for ServerTimingFilter.
+     *
+     * @param meterRegistry the registry the phases are published to
+     */
+    public ServerTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return UNBUFFERED_PATHS.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        ServerTiming.start();
+        try {
+            chain.doFilter(request, responseWrapper);
+        } finally {
+            ServerTiming timing = ServerTiming.end();
+            responseWrapper.setHeader(ServerTiming.HEADER, timing.toHeader());
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)
+                    instanceof HandlerMethod handlerMethod) {
+                record(handlerMethod, timing);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void record(HandlerMethod handlerMethod, ServerTiming timing) {
+        Tags tags = Tags.of("controller", handlerMethod.getBeanType().getSimpleName(),
+                "method", handlerMethod.getMethod().getName());
+        for (ServerTiming.Phase phase : ServerTiming.Phase.values()) {
+            Timer.builder(METRIC).description("Time spent per request in the repositories, mapping and serialization")
+                    .tags(tags).tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry).record(timing.getElapsed(phase));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+/**
+ * Adds the time spent in the methods of the beans matched by a pointcut to a {@link ServerTiming.Phase} of the
+ * current request. Beans that already are proxies, like the Spring Data repositories, get the advice in front of
+ * their existing advisors so the transaction and exception translation are timed too; other beans are proxied.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class ServerTimingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    /**
+     * Constructor for ServerTimingPostProcessor.
+     *
+     * @param phase    the phase the matched methods are timed in
+     * @param pointcut the methods to time
+     */
+    public ServerTimingPostProcessor(ServerTiming.Phase phase, Pointcut pointcut) {
+        MethodInterceptor interceptor = invocation -> {
+            long started = ServerTiming.begin(phase);
+            try {
+                return invocation.proceed();
+            } finally {
+                ServerTiming.finish(phase, started);
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        this.beforeExistingAdvisors = true;
+    }
+}
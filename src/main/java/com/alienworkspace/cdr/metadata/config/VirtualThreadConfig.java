@@ -0,0 +1,42 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread execution mode.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} on Java 21 or later, Spring Boot runs every servlet request,
+ * and so every blocking repository call made for it, on its own virtual thread instead of a thread of the Tomcat
+ * pool, and runs the application task executor on virtual threads as well. This configuration adds what Boot
+ * leaves out: a {@link VirtualThreadPinningMonitor} that reports virtual threads pinned to their carrier, which
+ * would otherwise quietly shrink the carrier pool back to a handful of platform threads. On older runtimes, or
+ * with the property off, requests keep running on the Tomcat pool and none of this is created.
+ *
+ * <p>The build targets Java 17 bytecode, but the container image runs a Java 21 JRE, so the property switches the
+ * mode in the shipped image. Run on a Java 17 runtime the service always uses the Tomcat pool.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+
+    /**
+     * The monitor reporting pinned virtual threads.
+     *
+     * @param properties the pinning threshold and stack depth
+     * @param meterRegistry the registry the pinning timer is published to
+     * @return the monitor
+     */
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadProperties properties,
+                                                                   MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, the usual reason a virtual-thread server stops
+ * scaling: while pinned, a thread blocked on JDBC holds its carrier, and enough of them starve every other request.
+ *
+ * <p>The JDK emits a {@code jdk.VirtualThreadPinned} flight recorder event whenever a virtual thread blocks while
+ * pinned, typically inside a {@code synchronized} block or a native frame, for longer than the threshold. The
+ * monitor streams those events in-process, times them under {@value #METRIC} and logs the top frames of each one.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    /**
+     * Name of the timer counting pinned threads and how long they were pinned.
+     */
+    public static final String METRIC = "jvm.threads.virtual.pinned";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final VirtualThreadProperties properties;
+    private final Timer pinned;
+    private RecordingStream stream;
+
+    /**
+     * Constructor for VirtualThreadPinningMonitor.
+     *
+     * @param properties the pinning threshold and stack depth
+     * @param meterRegistry the registry the pinning timer is published to
+     */
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pinned = Timer.builder(METRIC)
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(properties.getPinningThreshold()).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onEvent);
+        stream.startAsync();
+        LOGGER.info("Reporting virtual threads pinned for more than {}", properties.getPinningThreshold());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onEvent(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        onPinned(event.getDuration(), stackTrace == null ? List.of() : stackTrace.getFrames());
+    }
+
+    /**
+     * Records one pinned thread.
+     *
+     * @param duration how long the thread was pinned
+     * @param frames the stack of the thread, innermost first
+     */
+    void onPinned(Duration duration, List<RecordedFrame> frames) {
+        pinned.record(duration);
+        LOGGER.warn("Virtual thread pinned to its carrier for {} ms at{}", duration.toMillis(),
+                frames.stream().limit(properties.getPinningStackDepth())
+                        .map(VirtualThreadPinningMonitor::format)
+                        .collect(Collectors.joining(System.lineSeparator() + "\tat ", System.lineSeparator() + "\tat ",
+                                "")));
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,25 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the virtual-thread execution mode, which is switched on with {@code spring.threads.virtual.enabled}.
+ */
+@Setter
+@Getter
+@ToString
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+    /**
+     * How long a virtual thread must stay pinned to its carrier thread before it is reported.
+     */
+    private Duration pinningThreshold = Duration.ofMillis(20);
+    /**
+     * How many stack frames of a pinned thread are logged.
+     */
+    private int pinningStackDepth = 8;
+}
@@ -2,19 +2,25 @@ package com.alienworkspace.cdr.metadata.controller;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.BASE_URL;
 
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationResult;
 import com.alienworkspace.cdr.metadata.service.AppLevelService;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -98,4 +104,27 @@ public class AppLevelController {
                 countryId, stateId, countyId, cityId, communityId, null);
         return ResponseEntity.ok(countryDto);
     }
+
+    /**
+     * Retrieves the locations of many persons in one call.
+     *
+     * @param correlationId the correlation id of the request
+     * @param requests      the chains of ids to resolve
+     * @return one result per request, in the order of the requests
+     */
+    @Operation(summary = "Get the locations of many persons",
+            description = "Resolves a batch of person locations. Entries that cannot be resolved carry their own "
+                    + "error instead of failing the batch")
+    @ApiResponse(responseCode = "200", description = "Locations resolved",
+            content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = PersonLocationResult.class))))
+    @ApiResponse(responseCode = "400", description = "Batch too large")
+    @PostMapping("/person-location/batch")
+    ResponseEntity<List<PersonLocationResult>> getPersonLocations(
+            @RequestHeader("X-cdr-correlation-id") String correlationId,
+            @RequestBody List<PersonLocationRequest> requests) {
+        logger.info("Retrieving {} person locations with correlationId: {}", requests.size(), correlationId);
+        return ResponseEntity.ok(appLevelService.getPersonLocations(requests));
+    }
 }
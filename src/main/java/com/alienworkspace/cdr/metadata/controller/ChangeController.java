@@ -0,0 +1,58 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.CHANGES_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
+
+import com.alienworkspace.cdr.metadata.model.dto.ChangeFeed;
+import com.alienworkspace.cdr.metadata.service.ChangeFeedService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Change Controller.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Tag(name = "Changes", description = "Incremental change feed of the geography hierarchy")
+@RestController
+@RequestMapping(CHANGES_BASE_URL)
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Retrieves the rows of every level created, updated or voided since a watermark, in commit order. Clients
+     * keep calling with the returned {@code nextToken} while {@code hasMore} is true, and keep the last token as
+     * the watermark of their next sync.
+     *
+     * @param since the {@code nextToken} of a previous call; absent for a full first sync
+     * @param size the maximum number of rows to return
+     * @return the page of changes
+     */
+    @Operation(summary = "Get the changes since a watermark",
+            description = "Retrieves the rows created, updated or voided since a watermark, in commit order")
+    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeFeed.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid token or size")
+    @GetMapping
+    public ResponseEntity<ChangeFeed> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, size));
+    }
+}
@@ -2,16 +2,26 @@ package com.alienworkspace.cdr.metadata.controller;
 
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.CITY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
 
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
 import com.alienworkspace.cdr.metadata.service.CityService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -23,7 +33,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * City Controller.
@@ -38,6 +50,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class CityController {
 
     private final CityService cityService;
+    private final ETagService eTagService;
 
     /**
      * Creates a new city.
@@ -91,7 +104,9 @@ public class CityController {
      * Retrieves a city by its ID.
      *
      * @param id the ID of the city to retrieve
-     * @return the city
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the city, or 304 when it has not changed
      */
     @Operation(summary = "Get a city by ID", description = "Retrieves a city by its ID")
     @ApiResponse(responseCode = "200", description = "City retrieved successfully",
@@ -99,20 +114,81 @@ public class CityController {
                     schema = @Schema(implementation = CityDto.class)))
     @ApiResponse(responseCode = "404", description = "City not found")
     @GetMapping("/{id}")
-    public ResponseEntity<CityDto> getCity(@PathVariable int id) {
-        return ResponseEntity.ok(cityService.getCity(id));
+    public ResponseEntity<CityDto> getCity(@PathVariable int id,
+                                           @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                           @Min(0) @Max(MAX_DEPTH) int depth,
+                                           WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.CITY, id, depth),
+                () -> cityService.getCity(id, depth));
     }
 
     /**
-     * Retrieves all cities.
+     * Retrieves a city by its external id.
      *
-     * @return a list of cities
+     * @param uuid the external id of the city to retrieve
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the city, or 304 when it has not changed
      */
-    @Operation(summary = "Get all cities", description = "Retrieves all cities")
+    @Operation(summary = "Get a city by UUID", description = "Retrieves a city by its external id")
+    @ApiResponse(responseCode = "200", description = "City retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = CityDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid UUID")
+    @ApiResponse(responseCode = "404", description = "City not found")
+    @GetMapping("/uuid/{uuid}")
+    public ResponseEntity<CityDto> getCityByUuid(@PathVariable String uuid,
+                                                 @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                 @Min(0) @Max(MAX_DEPTH) int depth,
+                                                 WebRequest request) {
+        int id = cityService.getCityId(uuid);
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.CITY, id, depth),
+                () -> cityService.getCity(id, depth));
+    }
+
+    /**
+     * Retrieves a page of cities, in id order. When there are more cities, the response carries a
+     * {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER} header whose value is
+     * passed back as {@code pageToken} to get the next page.
+     *
+     * @param pageToken the continuation token of the previous page, absent for the first page
+     * @param size the maximum number of cities to return
+     * @param includeVoided whether voided cities are included
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return a list of cities, or 304 when none of them has changed
+     */
+    @Operation(summary = "Get all cities", description = "Retrieves a page of cities, in id order")
     @ApiResponse(responseCode = "200", description = "Cities retrieved successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = CityDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page token or parameter")
     @GetMapping
-    public ResponseEntity<List<CityDto>> getAllCities() {
-        return ResponseEntity.ok(cityService.getAllCities());
+    public ResponseEntity<List<CityDto>> getAllCities(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            @RequestParam(defaultValue = DEFAULT_DEPTH) @Min(0) @Max(MAX_DEPTH) int depth,
+            WebRequest request) {
+        return ConditionalResponses.page(request, eTagService.forLevel(GeographyLevel.CITY, depth),
+                () -> cityService.getAllCities(pageToken, size, includeVoided, depth));
+    }
+
+    /**
+     * Retrieves the communities of a city as lightweight rows for cascading selections, ordered by name.
+     *
+     * @param id the ID of the city
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the communities of the city, or 304 when they have not changed
+     */
+    @Operation(summary = "Get the communities of a city",
+            description = "Retrieves the communities of a city as lightweight rows")
+    @ApiResponse(responseCode = "200", description = "Communities retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = GeographyRow.class))))
+    @ApiResponse(responseCode = "404", description = "City not found")
+    @GetMapping("/{id}/communities")
+    public ResponseEntity<List<GeographyRow>> getCommunities(@PathVariable int id, WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forChildren(GeographyLevel.CITY, id),
+                () -> cityService.getCommunities(id));
     }
-} 
\ No newline at end of file
+}
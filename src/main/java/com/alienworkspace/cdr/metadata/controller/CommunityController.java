@@ -1,16 +1,26 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.COMMUNITY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
 
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
 import com.alienworkspace.cdr.metadata.service.CommunityService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,7 +32,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Community Controller.
@@ -37,6 +49,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class CommunityController {
 
     private final CommunityService communityService;
+    private final ETagService eTagService;
 
     /**
      * Creates a new community.
@@ -91,7 +104,9 @@ public class CommunityController {
      * Retrieves a community by its ID.
      *
      * @param id the ID of the community to retrieve
-     * @return the community
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the community, or 304 when it has not changed
      */
     @Operation(summary = "Get a community by ID", description = "Retrieves a community by its ID")
     @ApiResponse(responseCode = "200", description = "Community retrieved successfully",
@@ -99,21 +114,81 @@ public class CommunityController {
                     schema = @Schema(implementation = CommunityDto.class)))
     @ApiResponse(responseCode = "404", description = "Community not found")
     @GetMapping("/{id}")
-    public ResponseEntity<CommunityDto> getCommunity(@PathVariable int id) {
-        return ResponseEntity.ok(communityService.getCommunity(id));
+    public ResponseEntity<CommunityDto> getCommunity(@PathVariable int id,
+                                                     @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                     @Min(0) @Max(MAX_DEPTH) int depth,
+                                                     WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.COMMUNITY, id, depth),
+                () -> communityService.getCommunity(id, depth));
     }
 
     /**
-     * Retrieves all communities.
+     * Retrieves a community by its external id.
      *
-     * @return a list of communities
+     * @param uuid the external id of the community to retrieve
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the community, or 304 when it has not changed
      */
-    @Operation(summary = "Get all communities", description = "Retrieves all communities")
-    @ApiResponse(responseCode = "200", description = "Communities retrieved successfully",
-            content = @Content(mediaType = "application/json", 
+    @Operation(summary = "Get a community by UUID", description = "Retrieves a community by its external id")
+    @ApiResponse(responseCode = "200", description = "Community retrieved successfully",
+            content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = CommunityDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid UUID")
+    @ApiResponse(responseCode = "404", description = "Community not found")
+    @GetMapping("/uuid/{uuid}")
+    public ResponseEntity<CommunityDto> getCommunityByUuid(@PathVariable String uuid,
+                                                           @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                           @Min(0) @Max(MAX_DEPTH) int depth,
+                                                           WebRequest request) {
+        int id = communityService.getCommunityId(uuid);
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.COMMUNITY, id, depth),
+                () -> communityService.getCommunity(id, depth));
+    }
+
+    /**
+     * Retrieves a page of communities, in id order. When there are more communities, the response carries a
+     * {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER} header whose value is
+     * passed back as {@code pageToken} to get the next page.
+     *
+     * @param pageToken the continuation token of the previous page, absent for the first page
+     * @param size the maximum number of communities to return
+     * @param includeVoided whether voided communities are included
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return a list of communities, or 304 when none of them has changed
+     */
+    @Operation(summary = "Get all communities", description = "Retrieves a page of communities, in id order")
+    @ApiResponse(responseCode = "200", description = "Communities retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommunityDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page token or parameter")
     @GetMapping
-    public ResponseEntity<List<CommunityDto>> getAllCommunities() {
-        return ResponseEntity.ok(communityService.getAllCommunities());
+    public ResponseEntity<List<CommunityDto>> getAllCommunities(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            @RequestParam(defaultValue = DEFAULT_DEPTH) @Min(0) @Max(MAX_DEPTH) int depth,
+            WebRequest request) {
+        return ConditionalResponses.page(request, eTagService.forLevel(GeographyLevel.COMMUNITY, depth),
+                () -> communityService.getAllCommunities(pageToken, size, includeVoided, depth));
+    }
+
+    /**
+     * Retrieves the locations of a community as lightweight rows for cascading selections, ordered by name.
+     *
+     * @param id the ID of the community
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the locations of the community, or 304 when they have not changed
+     */
+    @Operation(summary = "Get the locations of a community",
+            description = "Retrieves the locations of a community as lightweight rows")
+    @ApiResponse(responseCode = "200", description = "Locations retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = GeographyRow.class))))
+    @ApiResponse(responseCode = "404", description = "Community not found")
+    @GetMapping("/{id}/locations")
+    public ResponseEntity<List<GeographyRow>> getLocations(@PathVariable int id, WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forChildren(GeographyLevel.COMMUNITY, id),
+                () -> communityService.getLocations(id));
     }
-} 
\ No newline at end of file
+}
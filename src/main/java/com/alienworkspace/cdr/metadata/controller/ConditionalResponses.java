@@ -0,0 +1,36 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers conditional GETs. The body is only computed when the client's {@code If-None-Match} does not match the
+ * current entity tag; otherwise the response is {@code 304 Not Modified} and no service work runs at all.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {}
+
+    static <T> ResponseEntity<T> ok(WebRequest request, String eTag, Supplier<T> body) {
+        if (eTag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(body.get());
+    }
+
+    static <T> ResponseEntity<List<T>> page(WebRequest request, String eTag, Supplier<KeysetPage<T>> page) {
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return PageResponses.ok(page.get(), eTag);
+    }
+}
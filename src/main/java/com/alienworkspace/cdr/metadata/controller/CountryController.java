@@ -1,16 +1,26 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTRY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
 
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
 import com.alienworkspace.cdr.metadata.service.CountryService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -25,7 +35,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Country Controller.
@@ -42,6 +54,7 @@ public class CountryController {
     private static final Logger log = LoggerFactory.getLogger(CountryController.class);
 
     private final CountryService countryService;
+    private final ETagService eTagService;
 
     /**
      * Creates a new country.
@@ -95,7 +108,9 @@ public class CountryController {
      * Retrieves a country by its ID.
      *
      * @param id the ID of the country to retrieve
-     * @return the country
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the country, or 304 when it has not changed
      */
     @Operation(summary = "Get a country by ID", description = "Retrieves a country by its ID")
     @ApiResponse(responseCode = "200", description = "Country retrieved successfully",
@@ -104,16 +119,46 @@ public class CountryController {
     @ApiResponse(responseCode = "404", description = "Country not found")
     @GetMapping("/{id}")
     public ResponseEntity<CountryDto> getCountry(@RequestHeader("X-cdr-correlation-id") String correlationId,
-                                                 @PathVariable int id) {
+                                                 @PathVariable int id,
+                                                 @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                 @Min(0) @Max(MAX_DEPTH) int depth,
+                                                 WebRequest request) {
         log.debug("Retrieving country with ID: {} with correlationId: {}", id, correlationId);
-        return ResponseEntity.ok(countryService.getCountry(id));
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.COUNTRY, id, depth),
+                () -> countryService.getCountry(id, depth));
+    }
+
+    /**
+     * Retrieves a country by its external id.
+     *
+     * @param uuid the external id of the country to retrieve
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the country, or 304 when it has not changed
+     */
+    @Operation(summary = "Get a country by UUID", description = "Retrieves a country by its external id")
+    @ApiResponse(responseCode = "200", description = "Country retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = CountryDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid UUID")
+    @ApiResponse(responseCode = "404", description = "Country not found")
+    @GetMapping("/uuid/{uuid}")
+    public ResponseEntity<CountryDto> getCountryByUuid(@PathVariable String uuid,
+                                                       @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                       @Min(0) @Max(MAX_DEPTH) int depth,
+                                                       WebRequest request) {
+        int id = countryService.getCountryId(uuid);
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.COUNTRY, id, depth),
+                () -> countryService.getCountry(id, depth));
     }
 
     /**
      * Retrieves a country by its countryCode.
      *
      * @param countryCode the countryCode of the country to retrieve
-     * @return the country
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the country, or 304 when it has not changed
      */
     @Operation(summary = "Get a country by ID", description = "Retrieves a country by its ID")
     @ApiResponse(responseCode = "200", description = "Country retrieved successfully",
@@ -121,20 +166,57 @@ public class CountryController {
                     schema = @Schema(implementation = CountryDto.class)))
     @ApiResponse(responseCode = "404", description = "Country not found")
     @GetMapping("/code/{code}")
-    public ResponseEntity<CountryDto> getCountryByCode(@PathVariable("code") String countryCode) {
-        return ResponseEntity.ok(countryService.findByCountryCode(countryCode));
+    public ResponseEntity<CountryDto> getCountryByCode(@PathVariable("code") String countryCode,
+                                                       @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                       @Min(0) @Max(MAX_DEPTH) int depth,
+                                                       WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forCountryCode(countryCode, depth),
+                () -> countryService.findByCountryCode(countryCode, depth));
     }
 
     /**
-     * Retrieves all countries.
+     * Retrieves a page of countries, in id order. When there are more countries, the response carries a
+     * {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER} header whose value is
+     * passed back as {@code pageToken} to get the next page.
      *
-     * @return a list of countries
+     * @param pageToken the continuation token of the previous page, absent for the first page
+     * @param size the maximum number of countries to return
+     * @param includeVoided whether voided countries are included
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return a list of countries, or 304 when none of them has changed
      */
-    @Operation(summary = "Get all countries", description = "Retrieves all countries")
+    @Operation(summary = "Get all countries", description = "Retrieves a page of countries, in id order")
     @ApiResponse(responseCode = "200", description = "Countries retrieved successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = CountryDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page token or parameter")
     @GetMapping
-    public ResponseEntity<List<CountryDto>> getAllCountries() {
-        return ResponseEntity.ok(countryService.getAllCountries());
+    public ResponseEntity<List<CountryDto>> getAllCountries(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            @RequestParam(defaultValue = DEFAULT_DEPTH) @Min(0) @Max(MAX_DEPTH) int depth,
+            WebRequest request) {
+        return ConditionalResponses.page(request, eTagService.forLevel(GeographyLevel.COUNTRY, depth),
+                () -> countryService.getAllCountries(pageToken, size, includeVoided, depth));
+    }
+
+    /**
+     * Retrieves the states of a country as lightweight rows for cascading selections, ordered by name.
+     *
+     * @param id the ID of the country
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the states of the country, or 304 when they have not changed
+     */
+    @Operation(summary = "Get the states of a country",
+            description = "Retrieves the states of a country as lightweight rows")
+    @ApiResponse(responseCode = "200", description = "States retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = GeographyRow.class))))
+    @ApiResponse(responseCode = "404", description = "Country not found")
+    @GetMapping("/{id}/states")
+    public ResponseEntity<List<GeographyRow>> getStates(@PathVariable int id, WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forChildren(GeographyLevel.COUNTRY, id),
+                () -> countryService.getStates(id));
     }
 }
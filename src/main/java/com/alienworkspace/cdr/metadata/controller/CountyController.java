@@ -1,16 +1,26 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
 
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
 import com.alienworkspace.cdr.metadata.service.CountyService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,7 +32,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * County Controller.
@@ -37,6 +49,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class CountyController {
 
     private final CountyService countyService;
+    private final ETagService eTagService;
 
     /**
      * Creates a new county.
@@ -90,7 +103,9 @@ public class CountyController {
      * Retrieves a county by its ID.
      *
      * @param id the ID of the county to retrieve
-     * @return the county
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the county, or 304 when it has not changed
      */
     @Operation(summary = "Get a county by ID", description = "Retrieves a county by its ID")
     @ApiResponse(responseCode = "200", description = "County retrieved successfully",
@@ -98,20 +113,81 @@ public class CountyController {
                     schema = @Schema(implementation = CountyDto.class)))
     @ApiResponse(responseCode = "404", description = "County not found")
     @GetMapping("/{id}")
-    public ResponseEntity<CountyDto> getCounty(@PathVariable int id) {
-        return ResponseEntity.ok(countyService.getCounty(id));
+    public ResponseEntity<CountyDto> getCounty(@PathVariable int id,
+                                               @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                               @Min(0) @Max(MAX_DEPTH) int depth,
+                                               WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.COUNTY, id, depth),
+                () -> countyService.getCounty(id, depth));
     }
 
     /**
-     * Retrieves all counties.
+     * Retrieves a county by its external id.
      *
-     * @return a list of counties
+     * @param uuid the external id of the county to retrieve
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the county, or 304 when it has not changed
      */
-    @Operation(summary = "Get all counties", description = "Retrieves all counties")
+    @Operation(summary = "Get a county by UUID", description = "Retrieves a county by its external id")
+    @ApiResponse(responseCode = "200", description = "County retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = CountyDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid UUID")
+    @ApiResponse(responseCode = "404", description = "County not found")
+    @GetMapping("/uuid/{uuid}")
+    public ResponseEntity<CountyDto> getCountyByUuid(@PathVariable String uuid,
+                                                     @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                     @Min(0) @Max(MAX_DEPTH) int depth,
+                                                     WebRequest request) {
+        int id = countyService.getCountyId(uuid);
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.COUNTY, id, depth),
+                () -> countyService.getCounty(id, depth));
+    }
+
+    /**
+     * Retrieves a page of counties, in id order. When there are more counties, the response carries a
+     * {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER} header whose value is
+     * passed back as {@code pageToken} to get the next page.
+     *
+     * @param pageToken the continuation token of the previous page, absent for the first page
+     * @param size the maximum number of counties to return
+     * @param includeVoided whether voided counties are included
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return a list of counties, or 304 when none of them has changed
+     */
+    @Operation(summary = "Get all counties", description = "Retrieves a page of counties, in id order")
     @ApiResponse(responseCode = "200", description = "Counties retrieved successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = CountyDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page token or parameter")
     @GetMapping
-    public ResponseEntity<List<CountyDto>> getAllCounties() {
-        return ResponseEntity.ok(countyService.getAllCounties());
+    public ResponseEntity<List<CountyDto>> getAllCounties(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            @RequestParam(defaultValue = DEFAULT_DEPTH) @Min(0) @Max(MAX_DEPTH) int depth,
+            WebRequest request) {
+        return ConditionalResponses.page(request, eTagService.forLevel(GeographyLevel.COUNTY, depth),
+                () -> countyService.getAllCounties(pageToken, size, includeVoided, depth));
+    }
+
+    /**
+     * Retrieves the cities of a county as lightweight rows for cascading selections, ordered by name.
+     *
+     * @param id the ID of the county
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the cities of the county, or 304 when they have not changed
+     */
+    @Operation(summary = "Get the cities of a county",
+            description = "Retrieves the cities of a county as lightweight rows")
+    @ApiResponse(responseCode = "200", description = "Cities retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = GeographyRow.class))))
+    @ApiResponse(responseCode = "404", description = "County not found")
+    @GetMapping("/{id}/cities")
+    public ResponseEntity<List<GeographyRow>> getCities(@PathVariable int id, WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forChildren(GeographyLevel.COUNTY, id),
+                () -> countyService.getCities(id));
     }
-} 
\ No newline at end of file
+}
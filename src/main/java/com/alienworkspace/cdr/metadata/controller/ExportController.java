@@ -0,0 +1,72 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.EXPORT_BASE_URL;
+
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.ExportService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Export Controller.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Tag(name = "Export", description = "Streaming export of the geography hierarchy")
+@RestController
+@RequestMapping(EXPORT_BASE_URL)
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class ExportController {
+
+    private static final String GZIP = "gzip";
+
+    private final ExportService exportService;
+
+    /**
+     * Streams the hierarchy, one level, or one subtree as newline-delimited JSON, one row per line. The body is gzip
+     * compressed when the client accepts it.
+     *
+     * @param level the only level to export, such as {@code locations}; every level when absent
+     * @param ancestorLevel the level of the node whose subtree is exported, such as {@code states}
+     * @param ancestorId the ID of the node whose subtree is exported
+     * @param includeVoided whether voided rows are exported
+     * @param acceptEncoding the encodings the client accepts
+     * @return the streamed rows
+     */
+    @Operation(summary = "Export the hierarchy",
+            description = "Streams the hierarchy, one level or one subtree as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+    @ApiResponse(responseCode = "400", description = "Unknown level, or level not below the ancestor")
+    @ApiResponse(responseCode = "404", description = "Ancestor not found")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String level,
+            @RequestParam(required = false) String ancestorLevel,
+            @RequestParam(required = false) Integer ancestorId,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains(GZIP);
+        StreamingResponseBody body = exportService.export(
+                level == null ? null : GeographyLevel.fromResource(level),
+                ancestorLevel == null ? null : GeographyLevel.fromResource(ancestorLevel),
+                ancestorId, includeVoided, gzip);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return response.body(body);
+    }
+}
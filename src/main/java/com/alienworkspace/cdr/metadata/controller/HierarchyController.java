@@ -0,0 +1,113 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.HIERARCHY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Hierarchy Controller. Levels are named after their resources: {@code countries}, {@code states},
+ * {@code counties}, {@code cities}, {@code communities} and {@code locations}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Tag(name = "Hierarchy", description = "Subtree and ancestor queries across the geography levels")
+@RestController
+@RequestMapping(HIERARCHY_BASE_URL)
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class HierarchyController {
+
+    private final HierarchyService hierarchyService;
+
+    /**
+     * Retrieves a page of the nodes of one level below a node, at any depth, such as every location of a state.
+     * When there are more nodes, the response carries a
+     * {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER} header whose value is
+     * passed back as {@code pageToken} to get the next page.
+     *
+     * @param level the level of the node
+     * @param id the ID of the node
+     * @param descendantLevel the level of the nodes to list
+     * @param pageToken the continuation token of the previous page, absent for the first page
+     * @param size the maximum number of nodes to return
+     * @return the nodes, ordered by path and then id
+     */
+    @Operation(summary = "Get the descendants of a node",
+            description = "Retrieves a page of the nodes of one level below a node, at any depth")
+    @ApiResponse(responseCode = "200", description = "Descendants retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = GeographyRow.class))))
+    @ApiResponse(responseCode = "400", description = "Unknown level, level not below the node or invalid page token")
+    @ApiResponse(responseCode = "404", description = "Node not found")
+    @GetMapping("/{level}/{id}/descendants/{descendantLevel}")
+    public ResponseEntity<List<GeographyRow>> getDescendants(
+            @PathVariable String level,
+            @PathVariable int id,
+            @PathVariable String descendantLevel,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size) {
+        return PageResponses.ok(hierarchyService.getDescendants(GeographyLevel.fromResource(level), id,
+                GeographyLevel.fromResource(descendantLevel), pageToken, size));
+    }
+
+    /**
+     * Retrieves the ancestors of a node, from the country down.
+     *
+     * @param level the level of the node
+     * @param id the ID of the node
+     * @return the ancestors of the node
+     */
+    @Operation(summary = "Get the ancestors of a node", description = "Retrieves the ancestors of a node")
+    @ApiResponse(responseCode = "200", description = "Ancestors retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = GeographyRow.class))))
+    @ApiResponse(responseCode = "400", description = "Unknown level")
+    @ApiResponse(responseCode = "404", description = "Node not found")
+    @GetMapping("/{level}/{id}/ancestors")
+    public ResponseEntity<List<GeographyRow>> getAncestors(@PathVariable String level, @PathVariable int id) {
+        return ResponseEntity.ok(hierarchyService.getAncestors(GeographyLevel.fromResource(level), id));
+    }
+
+    /**
+     * Checks whether a node lies below another one, at any depth.
+     *
+     * @param level the level of the ancestor
+     * @param id the ID of the ancestor
+     * @param descendantLevel the level of the descendant
+     * @param descendantId the ID of the descendant
+     * @return whether the descendant lies below the ancestor
+     */
+    @Operation(summary = "Check whether a node contains another",
+            description = "Checks whether a node lies below another one, at any depth")
+    @ApiResponse(responseCode = "200", description = "Containment checked successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Boolean.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown level")
+    @ApiResponse(responseCode = "404", description = "Descendant not found")
+    @GetMapping("/{level}/{id}/contains/{descendantLevel}/{descendantId}")
+    public ResponseEntity<Boolean> contains(@PathVariable String level, @PathVariable int id,
+                                            @PathVariable String descendantLevel, @PathVariable int descendantId) {
+        return ResponseEntity.ok(hierarchyService.contains(GeographyLevel.fromResource(level), id,
+                GeographyLevel.fromResource(descendantLevel), descendantId));
+    }
+}
@@ -0,0 +1,76 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.IMPORT_BASE_URL;
+
+import com.alienworkspace.cdr.metadata.model.dto.ImportJob;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.ImportService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Import Controller.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Tag(name = "Import", description = "Bulk import of geography datasets")
+@RestController
+@RequestMapping(IMPORT_BASE_URL)
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class ImportController {
+
+    private final ImportService importService;
+
+    /**
+     * Starts importing a CSV or TSV file into one level of the hierarchy, such as {@code cities}. The first record
+     * is a header with at least the {@code parent_code}, {@code name} and {@code code} columns.
+     *
+     * @param level the level to import into
+     * @param file the file to import
+     * @param format {@code csv} or {@code tsv}; by default taken from the file name
+     * @return the started import
+     */
+    @Operation(summary = "Start a bulk import", description = "Starts importing a CSV or TSV file into one level")
+    @ApiResponse(responseCode = "202", description = "Import started",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJob.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown level or format, or empty file")
+    @PostMapping(value = "/{level}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJob> startImport(@PathVariable String level,
+                                                 @RequestPart("file") MultipartFile file,
+                                                 @RequestParam(required = false) String format) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(importService.startImport(GeographyLevel.fromResource(level), file, format));
+    }
+
+    /**
+     * Retrieves the progress of a bulk import.
+     *
+     * @param id the ID of the import
+     * @return the import
+     */
+    @Operation(summary = "Get a bulk import", description = "Retrieves the progress and rejected rows of an import")
+    @ApiResponse(responseCode = "200", description = "Import retrieved successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJob.class)))
+    @ApiResponse(responseCode = "404", description = "Import not found")
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJob> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(importService.getImport(id));
+    }
+}
@@ -1,7 +1,11 @@
 package com.alienworkspace.cdr.metadata.controller;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
 import static com.alienworkspace.cdr.metadata.helpers.Constants.LOCATION_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
 
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.metadata.service.LocationService;
 import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
@@ -11,6 +15,8 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,7 +28,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Location Controller.
@@ -37,6 +45,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class LocationController {
 
     private final LocationService locationService;
+    private final ETagService eTagService;
 
     /**
      * Creates a new location.
@@ -90,7 +99,8 @@ public class LocationController {
      * Retrieves a location by its ID.
      *
      * @param id the ID of the location to retrieve
-     * @return the location
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the location, or 304 when it has not changed
      */
     @Operation(summary = "Get a location by ID", description = "Retrieves a location by its ID")
     @ApiResponse(responseCode = "200", description = "Location retrieved successfully",
@@ -98,20 +108,53 @@ public class LocationController {
                     schema = @Schema(implementation = LocationDto.class)))
     @ApiResponse(responseCode = "404", description = "Location not found")
     @GetMapping("/{id}")
-    public ResponseEntity<LocationDto> getLocation(@PathVariable int id) {
-        return ResponseEntity.ok(locationService.getLocation(id));
+    public ResponseEntity<LocationDto> getLocation(@PathVariable int id, WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.LOCATION, id, 0),
+                () -> locationService.getLocation(id));
     }
 
     /**
-     * Retrieves all locations.
+     * Retrieves a location by its external id.
      *
-     * @return a list of locations
+     * @param uuid the external id of the location to retrieve
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the location, or 304 when it has not changed
      */
-    @Operation(summary = "Get all locations", description = "Retrieves all locations")
+    @Operation(summary = "Get a location by UUID", description = "Retrieves a location by its external id")
+    @ApiResponse(responseCode = "200", description = "Location retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = LocationDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid UUID")
+    @ApiResponse(responseCode = "404", description = "Location not found")
+    @GetMapping("/uuid/{uuid}")
+    public ResponseEntity<LocationDto> getLocationByUuid(@PathVariable String uuid, WebRequest request) {
+        int id = locationService.getLocationId(uuid);
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.LOCATION, id, 0),
+                () -> locationService.getLocation(id));
+    }
+
+    /**
+     * Retrieves a page of locations, in id order. When there are more locations, the response carries a
+     * {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER} header whose value is
+     * passed back as {@code pageToken} to get the next page.
+     *
+     * @param pageToken the continuation token of the previous page, absent for the first page
+     * @param size the maximum number of locations to return
+     * @param includeVoided whether voided locations are included
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return a list of locations, or 304 when none of them has changed
+     */
+    @Operation(summary = "Get all locations", description = "Retrieves a page of locations, in id order")
     @ApiResponse(responseCode = "200", description = "Locations retrieved successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = LocationDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page token or parameter")
     @GetMapping
-    public ResponseEntity<List<LocationDto>> getAllLocations() {
-        return ResponseEntity.ok(locationService.getAllLocations());
+    public ResponseEntity<List<LocationDto>> getAllLocations(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            WebRequest request) {
+        return ConditionalResponses.page(request, eTagService.forLevel(GeographyLevel.LOCATION, 0),
+                () -> locationService.getAllLocations(pageToken, size, includeVoided));
     }
 } 
\ No newline at end of file
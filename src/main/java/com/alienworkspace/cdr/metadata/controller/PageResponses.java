@@ -0,0 +1,34 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.NEXT_PAGE_TOKEN_HEADER;
+
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Turns a {@link KeysetPage} into a response: the items are the body, and the continuation token, when there is
+ * a next page, is sent in the {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER}
+ * header so that list responses stay plain JSON arrays.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+final class PageResponses {
+
+    private PageResponses() {}
+
+    static <T> ResponseEntity<List<T>> ok(KeysetPage<T> page) {
+        return ok(page, null);
+    }
+
+    static <T> ResponseEntity<List<T>> ok(KeysetPage<T> page, String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        if (page.getNextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.getNextPageToken());
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -0,0 +1,88 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_SEARCH_LIMIT;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_SEARCH_LIMIT;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.SEARCH_BASE_URL;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.MatchCandidate;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.SearchService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Search Controller.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Tag(name = "Search", description = "Type-ahead search and fuzzy matching over the geography hierarchy")
+@RestController
+@RequestMapping(SEARCH_BASE_URL)
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Finds the nodes whose code, name or a word of whose name starts with the query, ignoring case and diacritics.
+     *
+     * @param q the prefix typed so far
+     * @param level the levels to search, such as {@code cities}; every level when absent
+     * @param parentId when present, only nodes whose parent has this ID are returned
+     * @param limit the maximum number of nodes per level
+     * @return the matching nodes keyed by level
+     */
+    @Operation(summary = "Search the hierarchy",
+            description = "Finds nodes by a prefix of their code, name or a word of their name")
+    @ApiResponse(responseCode = "200", description = "Search completed successfully")
+    @ApiResponse(responseCode = "400", description = "Blank query, unknown level or invalid limit")
+    @GetMapping
+    public ResponseEntity<Map<String, List<GeographyRow>>> search(
+            @RequestParam @NotBlank String q,
+            @RequestParam(required = false) List<String> level,
+            @RequestParam(required = false) Integer parentId,
+            @RequestParam(defaultValue = DEFAULT_SEARCH_LIMIT) @Min(1) @Max(MAX_SEARCH_LIMIT) int limit) {
+        return ResponseEntity.ok(searchService.search(q, levels(level), parentId, limit));
+    }
+
+    /**
+     * Finds the nodes whose names are close to a possibly misspelled name, best first.
+     *
+     * @param name the name to match
+     * @param level the levels to search, such as {@code communities}; every level when absent
+     * @param parentId when present, only nodes whose parent has this ID are returned
+     * @param limit the maximum number of candidates
+     * @return the candidates, best first
+     */
+    @Operation(summary = "Match a name",
+            description = "Finds nodes whose names are close to a possibly misspelled name, ranked by edit distance")
+    @ApiResponse(responseCode = "200", description = "Match completed successfully")
+    @ApiResponse(responseCode = "400", description = "Blank name, unknown level or invalid limit")
+    @GetMapping("/matches")
+    public ResponseEntity<List<MatchCandidate>> match(
+            @RequestParam @NotBlank String name,
+            @RequestParam(required = false) List<String> level,
+            @RequestParam(required = false) Integer parentId,
+            @RequestParam(defaultValue = DEFAULT_SEARCH_LIMIT) @Min(1) @Max(MAX_SEARCH_LIMIT) int limit) {
+        return ResponseEntity.ok(searchService.match(name, levels(level), parentId, limit));
+    }
+
+    private static List<GeographyLevel> levels(List<String> resources) {
+        return resources == null ? List.of() : resources.stream().map(GeographyLevel::fromResource).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.SNAPSHOT_BASE_URL;
+
+import com.alienworkspace.cdr.metadata.model.dto.EncodedSnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotCodec;
+import com.alienworkspace.cdr.metadata.service.SnapshotService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Snapshot Controller.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Tag(name = "Snapshot", description = "Binary snapshot of the whole geography hierarchy")
+@RestController
+@RequestMapping(SNAPSHOT_BASE_URL)
+@AllArgsConstructor
+@SuppressFBWarnings({"EI_EXPOSE_REP", "EI_EXPOSE_REP2"})
+public class SnapshotController {
+
+    /**
+     * The version of the binary format of the body.
+     */
+    public static final String FORMAT_HEADER = "X-cdr-snapshot-format";
+    /**
+     * The SHA-256 digest of the body, as defined by RFC 9530.
+     */
+    public static final String DIGEST_HEADER = "Repr-Digest";
+    /**
+     * The change feed watermark a consumer of the body syncs from.
+     */
+    public static final String CHANGE_TOKEN_HEADER = "X-cdr-change-token";
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final SnapshotService snapshotService;
+
+    /**
+     * Retrieves the whole hierarchy in the compact binary format of {@link GeographySnapshotCodec}. The entity tag
+     * is the SHA-256 hash of the body, which is the same on every instance for the same hierarchy, so a consumer
+     * that already holds it gets {@code 304 Not Modified}. The {@value #CHANGE_TOKEN_HEADER} header is the
+     * {@code since} of the first change feed sync after loading the body.
+     *
+     * @param request the request, for its {@code If-None-Match}
+     * @return the snapshot
+     */
+    @Operation(summary = "Get the binary snapshot of the hierarchy",
+            description = "Retrieves every level of the hierarchy as one compressed binary snapshot")
+    @ApiResponse(responseCode = "200", description = "Snapshot retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "The snapshot has not changed")
+    @ApiResponse(responseCode = "503", description = "The hierarchy is still loading")
+    @GetMapping(produces = GeographySnapshotCodec.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getSnapshot(WebRequest request) {
+        Optional<EncodedSnapshot> snapshot = snapshotService.current();
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS).build();
+        }
+        EncodedSnapshot encoded = snapshot.get();
+        String eTag = "\"" + encoded.getSha256() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(GeographySnapshotCodec.MEDIA_TYPE))
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .header(DIGEST_HEADER, "sha-256=:"
+                        + Base64.getEncoder().encodeToString(HexFormat.of().parseHex(encoded.getSha256())) + ":")
+                .header(FORMAT_HEADER, Integer.toString(GeographySnapshotCodec.FORMAT_VERSION))
+                .header(CHANGE_TOKEN_HEADER, encoded.getChangeToken())
+                .body(encoded.getContent());
+    }
+}
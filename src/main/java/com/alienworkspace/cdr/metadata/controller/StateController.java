@@ -1,16 +1,26 @@
 package com.alienworkspace.cdr.metadata.controller;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.DEFAULT_PAGE_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_PAGE_SIZE;
 import static com.alienworkspace.cdr.metadata.helpers.Constants.STATE_BASE_URL;
 
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.metadata.service.StateService;
 import com.alienworkspace.cdr.model.dto.metadata.StateDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,7 +32,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * State Controller.
@@ -37,6 +49,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class StateController {
 
     private final StateService stateService;
+    private final ETagService eTagService;
 
     /**
      * Creates a new state.
@@ -90,7 +103,9 @@ public class StateController {
      * Retrieves a state by its ID.
      *
      * @param id the ID of the state to retrieve
-     * @return the state
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the state, or 304 when it has not changed
      */
     @Operation(summary = "Get a state by ID", description = "Retrieves a state by its ID")
     @ApiResponse(responseCode = "200", description = "State retrieved successfully",
@@ -98,20 +113,81 @@ public class StateController {
                     schema = @Schema(implementation = StateDto.class)))
     @ApiResponse(responseCode = "404", description = "State not found")
     @GetMapping("/{id}")
-    public ResponseEntity<StateDto> getState(@PathVariable int id) {
-        return ResponseEntity.ok(stateService.getState(id));
+    public ResponseEntity<StateDto> getState(@PathVariable int id,
+                                             @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                             @Min(0) @Max(MAX_DEPTH) int depth,
+                                             WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.STATE, id, depth),
+                () -> stateService.getState(id, depth));
     }
 
     /**
-     * Retrieves all states.
+     * Retrieves a state by its external id.
      *
-     * @return a list of states
+     * @param uuid the external id of the state to retrieve
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the state, or 304 when it has not changed
      */
-    @Operation(summary = "Get all states", description = "Retrieves all states")
+    @Operation(summary = "Get a state by UUID", description = "Retrieves a state by its external id")
+    @ApiResponse(responseCode = "200", description = "State retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = StateDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid UUID")
+    @ApiResponse(responseCode = "404", description = "State not found")
+    @GetMapping("/uuid/{uuid}")
+    public ResponseEntity<StateDto> getStateByUuid(@PathVariable String uuid,
+                                                   @RequestParam(defaultValue = DEFAULT_DEPTH)
+                                                   @Min(0) @Max(MAX_DEPTH) int depth,
+                                                   WebRequest request) {
+        int id = stateService.getStateId(uuid);
+        return ConditionalResponses.ok(request, eTagService.forNode(GeographyLevel.STATE, id, depth),
+                () -> stateService.getState(id, depth));
+    }
+
+    /**
+     * Retrieves a page of states, in id order. When there are more states, the response carries a
+     * {@value com.alienworkspace.cdr.metadata.helpers.Constants#NEXT_PAGE_TOKEN_HEADER} header whose value is
+     * passed back as {@code pageToken} to get the next page.
+     *
+     * @param pageToken the continuation token of the previous page, absent for the first page
+     * @param size the maximum number of states to return
+     * @param includeVoided whether voided states are included
+     * @param depth the number of child levels to include, from 0 (the node only) to 5
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return a list of states, or 304 when none of them has changed
+     */
+    @Operation(summary = "Get all states", description = "Retrieves a page of states, in id order")
     @ApiResponse(responseCode = "200", description = "States retrieved successfully",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = StateDto.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid page token or parameter")
     @GetMapping
-    public ResponseEntity<List<StateDto>> getAllStates() {
-        return ResponseEntity.ok(stateService.getAllStates());
+    public ResponseEntity<List<StateDto>> getAllStates(
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Min(1) @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeVoided,
+            @RequestParam(defaultValue = DEFAULT_DEPTH) @Min(0) @Max(MAX_DEPTH) int depth,
+            WebRequest request) {
+        return ConditionalResponses.page(request, eTagService.forLevel(GeographyLevel.STATE, depth),
+                () -> stateService.getAllStates(pageToken, size, includeVoided, depth));
+    }
+
+    /**
+     * Retrieves the counties of a state as lightweight rows for cascading selections, ordered by name.
+     *
+     * @param id the ID of the state
+     * @param request the request, whose {@code If-None-Match} header is checked
+     * @return the counties of the state, or 304 when they have not changed
+     */
+    @Operation(summary = "Get the counties of a state",
+            description = "Retrieves the counties of a state as lightweight rows")
+    @ApiResponse(responseCode = "200", description = "Counties retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = GeographyRow.class))))
+    @ApiResponse(responseCode = "404", description = "State not found")
+    @GetMapping("/{id}/counties")
+    public ResponseEntity<List<GeographyRow>> getCounties(@PathVariable int id, WebRequest request) {
+        return ConditionalResponses.ok(request, eTagService.forChildren(GeographyLevel.STATE, id),
+                () -> stateService.getCounties(id));
     }
-} 
\ No newline at end of file
+}
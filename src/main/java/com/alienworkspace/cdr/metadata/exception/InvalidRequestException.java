@@ -0,0 +1,23 @@
+package com.alienworkspace.cdr.metadata.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a request is syntactically valid but cannot be served as asked,
+ * for example because a limit is exceeded.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends RuntimeException {
+
+    /**
+     * Construct a new instance with a message.
+     *
+     * @param message the message to set
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
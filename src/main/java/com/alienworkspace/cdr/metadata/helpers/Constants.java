@@ -18,5 +18,60 @@ public final class Constants {
     public static final String CITY_BASE_URL =  BASE_URL + "/cities";
     public static final String COMMUNITY_BASE_URL = BASE_URL + "/communities";
     public static final String LOCATION_BASE_URL = BASE_URL + "/locations";
+    public static final String HIERARCHY_BASE_URL = BASE_URL + "/hierarchy";
+    public static final String IMPORT_BASE_URL = BASE_URL + "/imports";
+    public static final String EXPORT_BASE_URL = BASE_URL + "/exports";
+    public static final String SEARCH_BASE_URL = BASE_URL + "/search";
+    public static final String CHANGES_BASE_URL = BASE_URL + "/changes";
+    public static final String SNAPSHOT_BASE_URL = BASE_URL + "/snapshot";
+
+    /**
+     * Deepest child traversal a mapper performs: country, states, counties, cities, communities, locations.
+     */
+    public static final int MAX_DEPTH = 5;
+    public static final String DEFAULT_DEPTH = "5";
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final String DEFAULT_PAGE_SIZE = "100";
+    public static final String NEXT_PAGE_TOKEN_HEADER = "X-cdr-next-page-token";
+
+    public static final int MAX_SEARCH_LIMIT = 50;
+    public static final String DEFAULT_SEARCH_LIMIT = "10";
+
+    /**
+     * Rows a bulk import sends to the database in one JDBC batch and one transaction.
+     */
+    public static final int IMPORT_BATCH_SIZE = 1000;
+    /**
+     * Rejected rows a bulk import reports in detail; later ones are only counted.
+     */
+    public static final int MAX_IMPORT_ERRORS = 1000;
+    /**
+     * Rows an export fetches from the database at a time; MySQL streams them one by one instead.
+     */
+    public static final int EXPORT_FETCH_SIZE = 1000;
+    /**
+     * The longest an export may hold its transaction, and with it a pooled connection, matching the async request
+     * timeout of the export endpoint.
+     */
+    public static final int EXPORT_TIMEOUT_SECONDS = 3600;
+
+    /**
+     * Second-level cache regions of the geography entities.
+     */
+    public static final String COUNTRY_CACHE_REGION = "geography.country";
+    public static final String STATE_CACHE_REGION = "geography.state";
+    public static final String COUNTY_CACHE_REGION = "geography.county";
+    public static final String CITY_CACHE_REGION = "geography.city";
+    public static final String COMMUNITY_CACHE_REGION = "geography.community";
+    public static final String LOCATION_CACHE_REGION = "geography.location";
+    /**
+     * Second-level cache regions of the child collections of the geography entities.
+     */
+    public static final String COUNTRY_STATES_CACHE_REGION = "geography.country.states";
+    public static final String STATE_COUNTIES_CACHE_REGION = "geography.state.counties";
+    public static final String COUNTY_CITIES_CACHE_REGION = "geography.county.cities";
+    public static final String CITY_COMMUNITIES_CACHE_REGION = "geography.city.communities";
+    public static final String COMMUNITY_LOCATIONS_CACHE_REGION = "geography.community.locations";
 
 }
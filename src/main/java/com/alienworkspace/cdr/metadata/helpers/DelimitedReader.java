@@ -0,0 +1,139 @@
+package com.alienworkspace.cdr.metadata.helpers;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of delimited text such as CSV or TSV. Records are read one at a time, so memory use does not
+ * depend on the size of the input.
+ *
+ * <p>Fields may be enclosed in double quotes; a quoted field may contain the delimiter, line breaks and doubled
+ * quotes. Records end at {@code \n} or {@code \r\n}, and a leading byte order mark is skipped.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class DelimitedReader implements Closeable {
+
+    private static final int EOF = -1;
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    /**
+     * Creates a reader.
+     *
+     * @param reader the input
+     * @param delimiter the field delimiter, such as {@code ','} or {@code '\t'}
+     */
+    public DelimitedReader(Reader reader, char delimiter) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Reads the next record. Blank lines are skipped.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input
+     * @throws IOException if the input cannot be read or ends inside a quoted field
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            endLine(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == QUOTE) {
+                    reader.mark(1);
+                    if (reader.read() == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        reader.reset();
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == EOF || c == '\r' || c == '\n') {
+                fields.add(quoted ? field.toString() : field.toString().trim());
+                if (c != EOF) {
+                    endLine(c);
+                }
+                return fields;
+            } else if (c == delimiter) {
+                fields.add(quoted ? field.toString() : field.toString().trim());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == QUOTE && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+                inQuotes = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * The line on which the last record returned by {@link #next()} starts, counting from 1.
+     *
+     * @return the line number
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == BYTE_ORDER_MARK) {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Consumes the rest of a line break whose first character has been read.
+     */
+    private void endLine(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.alienworkspace.cdr.metadata.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Builds and reads the materialized paths of the geography hierarchy.
+ *
+ * <p>The path of a row lists the ids of its ancestors from the country down, each followed by a slash: a county of
+ * state 10 in country 1 has the path {@code /1/10/}. Countries are roots and have no stored path; {@link #ROOT}
+ * stands in for it. The rows below a node are exactly the rows whose path starts with the node's
+ * {@link #subtree(String, int) subtree prefix}, so a subtree is one range scan of the path index.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class HierarchyPath {
+
+    /**
+     * The path of a country.
+     */
+    public static final String ROOT = "/";
+
+    private static final String SEPARATOR = "/";
+
+    private HierarchyPath() {}
+
+    /**
+     * Returns the prefix shared by the paths of every row below a node; it is also the path of the node's
+     * children.
+     *
+     * @param path the path of the node, {@link #ROOT} for a country
+     * @param id the id of the node
+     * @return the subtree prefix, or {@code null} when the path of the node is not known
+     */
+    public static String subtree(String path, Integer id) {
+        if (path == null || id == null) {
+            return null;
+        }
+        return path + id + SEPARATOR;
+    }
+
+    /**
+     * Returns the ids of the ancestors a path lists, from the country down.
+     *
+     * @param path the path
+     * @return the ancestor ids; empty for {@link #ROOT} or {@code null}
+     */
+    public static int[] ancestorIds(String path) {
+        if (path == null || path.length() <= 1) {
+            return new int[0];
+        }
+        return Arrays.stream(path.substring(1).split(SEPARATOR)).mapToInt(Integer::parseInt).toArray();
+    }
+
+    /**
+     * Returns the {@code LIKE} pattern that matches every path starting with a prefix. Paths only hold digits and
+     * slashes, so the prefix needs no escaping.
+     *
+     * @param prefix the subtree prefix
+     * @return the pattern
+     */
+    public static String startingWith(String prefix) {
+        return prefix + "%";
+    }
+}
@@ -0,0 +1,151 @@
+package com.alienworkspace.cdr.metadata.helpers;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the continuation tokens of the keyset-paginated list endpoints.
+ *
+ * <p>A token carries the id of the last row of the previous page; the next page starts after it. Subtree listings,
+ * which are ordered by path and then id, also carry the path of that row, and the change feed carries the commit
+ * sequence number, level and id of the last change returned. Clients must treat the token as opaque.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class PageToken {
+
+    private static final String PREFIX = "k1:";
+    private static final String PATH_PREFIX = "p1:";
+    private static final String CHANGE_PREFIX = "c1:";
+    private static final String SEPARATOR = ":";
+
+    private PageToken() {}
+
+    /**
+     * Position of the last row of a page ordered by path and then id.
+     *
+     * @param path the path of the row; empty before the first page
+     * @param id the id of the row; 0 before the first page
+     */
+    public record Position(String path, int id) {
+    }
+
+    /**
+     * Position of the last change returned by the change feed, which is ordered by commit sequence number, level
+     * and id.
+     *
+     * @param seq the commit sequence number of the change; 0 before the first change
+     * @param level the ordinal of the level of the change; 0 before the first change
+     * @param id the id of the changed row; 0 before the first change
+     */
+    public record ChangePosition(long seq, int level, int id) {
+    }
+
+    /**
+     * Encode the id of the last row of a page.
+     *
+     * @param lastId the id of the last row returned
+     * @return the continuation token
+     */
+    public static String encode(int lastId) {
+        return encodeValue(PREFIX + lastId);
+    }
+
+    /**
+     * Encode the path and id of the last row of a page ordered by path and then id.
+     *
+     * @param lastPath the path of the last row returned
+     * @param lastId the id of the last row returned
+     * @return the continuation token
+     */
+    public static String encode(String lastPath, int lastId) {
+        return encodeValue(PATH_PREFIX + lastId + SEPARATOR + lastPath);
+    }
+
+    /**
+     * Encode the position of the last change returned by the change feed.
+     *
+     * @param position the position
+     * @return the continuation token
+     */
+    public static String encode(ChangePosition position) {
+        return encodeValue(CHANGE_PREFIX + position.seq() + SEPARATOR + position.level() + SEPARATOR + position.id());
+    }
+
+    /**
+     * Decode a continuation token.
+     *
+     * @param token the token, or {@code null} for the first page
+     * @return the id after which the page starts; 0 for the first page
+     * @throws InvalidRequestException if the token was not produced by {@link #encode(int)}
+     */
+    public static int decode(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(decodeValue(token, PREFIX));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page token: " + token);
+        }
+    }
+
+    /**
+     * Decode a continuation token of a page ordered by path and then id.
+     *
+     * @param token the token, or {@code null} for the first page
+     * @return the position after which the page starts; an empty path and id 0 for the first page
+     * @throws InvalidRequestException if the token was not produced by {@link #encode(String, int)}
+     */
+    public static Position decodePosition(String token) {
+        if (token == null || token.isBlank()) {
+            return new Position("", 0);
+        }
+        try {
+            String value = decodeValue(token, PATH_PREFIX);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestException("Invalid page token: " + token);
+            }
+            return new Position(value.substring(separator + 1), Integer.parseInt(value.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page token: " + token);
+        }
+    }
+
+    /**
+     * Decode a continuation token of the change feed.
+     *
+     * @param token the token, or {@code null} to start from the first change
+     * @return the position after which the feed continues; all zeros for the first change
+     * @throws InvalidRequestException if the token was not produced by {@link #encode(ChangePosition)}
+     */
+    public static ChangePosition decodeChangePosition(String token) {
+        if (token == null || token.isBlank()) {
+            return new ChangePosition(0L, 0, 0);
+        }
+        try {
+            String[] parts = decodeValue(token, CHANGE_PREFIX).split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new InvalidRequestException("Invalid page token: " + token);
+            }
+            return new ChangePosition(Long.parseLong(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid page token: " + token);
+        }
+    }
+
+    private static String encodeValue(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeValue(String token, String prefix) {
+        String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        if (!value.startsWith(prefix)) {
+            throw new InvalidRequestException("Invalid page token: " + token);
+        }
+        return value.substring(prefix.length());
+    }
+}
@@ -0,0 +1,92 @@
+package com.alienworkspace.cdr.metadata.helpers;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates and converts the external ids of the geography rows.
+ *
+ * <p>New ids are time-ordered version 7 UUIDs: the first 48 bits are the Unix time in milliseconds and the last 62
+ * bits are random, so ids created later sort after earlier ones and new rows are appended to the right-hand edge
+ * of the unique index instead of splitting random pages of it. The 12 bits between the timestamp and the version
+ * count the ids created in the same millisecond, which keeps the ids of one process strictly increasing. In the
+ * database the ids are stored as {@code BINARY(16)} in big-endian order, the layout of MySQL's
+ * {@code UUID_TO_BIN} without swapping.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class Uuids {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private Uuids() {}
+
+    /**
+     * Creates a new time-ordered id.
+     *
+     * @return the id
+     */
+    public static UUID timeOrdered() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long mostSignificant = (stamp >>> COUNTER_BITS) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSignificant = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Parses an id sent by a client.
+     *
+     * @param uuid the id in its canonical text form
+     * @return the id
+     * @throws InvalidRequestException if the text is not a UUID
+     */
+    public static UUID parse(String uuid) {
+        try {
+            return UUID.fromString(uuid);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid uuid: " + uuid);
+        }
+    }
+
+    /**
+     * Converts an id to its 16 byte database form.
+     *
+     * @param uuid the id
+     * @return the bytes
+     */
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    /**
+     * Converts the 16 byte database form of an id back to the id.
+     *
+     * @param bytes the bytes
+     * @return the id, or {@code null} for {@code null} bytes
+     */
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Converts the 16 byte database form of an id to its canonical text form.
+     *
+     * @param bytes the bytes
+     * @return the text, or {@code null} for {@code null} bytes
+     */
+    public static String format(byte[] bytes) {
+        UUID uuid = fromBytes(bytes);
+        return uuid == null ? null : uuid.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.alienworkspace.cdr.metadata.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The single-row counter that hands out commit sequence numbers for the change feed.
+ *
+ * <p>It is only mapped so that the table is created with the schema; the row is read and incremented with JDBC by
+ * {@link com.alienworkspace.cdr.metadata.readmodel.ChangeSequence}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Entity
+@Table(name = "change_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeSequenceCounter {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "seq", nullable = false)
+    private long seq;
+}
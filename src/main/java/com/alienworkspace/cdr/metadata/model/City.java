@@ -1,5 +1,7 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import com.alienworkspace.cdr.metadata.helpers.Constants;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -8,20 +10,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * City entity.
@@ -29,10 +37,17 @@ import lombok.Setter;
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.CITY_CACHE_REGION)
 @Table(name = "city",
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"city_code", "county_id"}),
         @UniqueConstraint(columnNames = {"city_name", "county_id"})
+    },
+    indexes = {
+        @Index(name = "idx_city_county_voided_name",
+            columnList = "county_id, voided, city_name, city_code"),
+        @Index(name = "idx_city_path", columnList = "path"),
+        @Index(name = "idx_city_change_seq", columnList = "change_seq")
     })
 @Getter
 @Setter
@@ -70,41 +85,59 @@ public class City extends AuditTrail {
     @JoinColumn(name = "county_id", nullable = false)
     private County county;
 
+    /**
+     * Ids of the ancestors of this city, from the country down; see {@link HierarchyPath}. Derived from the
+     * county on every insert and update.
+     */
+    @Column(name = "path", length = 64)
+    private String path;
+
     @OneToMany(mappedBy = "city")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.CITY_COMMUNITIES_CACHE_REGION)
     @Builder.Default
     private Set<Community> communities = new HashSet<>();
 
+    /**
+     * Derives the path from the county. A county whose path is not known, such as a detached stub, leaves the
+     * path as it is; the startup backfill fills it in.
+     */
+    @PrePersist
+    @PreUpdate
+    void updatePath() {
+        if (county != null && county.getPath() != null) {
+            path = HierarchyPath.subtree(county.getPath(), county.getCountyId());
+        }
+    }
+
+    /**
+     * Two city rows are equal when they have the same uuid. The uuid is given to a row when it is built and never
+     * changes, so a row keeps its hash code when it is saved and may be put into a hash set before. Neither this nor
+     * {@link #hashCode()} touches an association, so putting city rows into sets never loads their parent or
+     * children.
+     *
+     * @param o the object to compare with
+     * @return whether {@code o} is the same city row
+     */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof City other)) {
             return false;
         }
-        City city = (City) o;
-        return isLocalePreferred() == city.isLocalePreferred()
-                && Objects.equals(getCityId(), city.getCityId())
-                && Objects.equals(getCityName(), city.getCityName())
-                && Objects.equals(getCityCode(), city.getCityCode())
-                && Objects.equals(getCityGeoCode(), city.getCityGeoCode())
-                && Objects.equals(getLocale(), city.getLocale())
-                && Objects.equals(getCityPhoneCode(), city.getCityPhoneCode())
-                && Objects.equals(getCounty(), city.getCounty())
-                && Objects.equals(getCommunities(), city.getCommunities())
-                && Objects.equals(getCreatedBy(), city.getCreatedBy())
-                && Objects.equals(getCreatedAt(), city.getCreatedAt())
-                && Objects.equals(getLastModifiedBy(), city.getLastModifiedBy())
-                && Objects.equals(getLastModifiedAt(), city.getLastModifiedAt())
-                && Objects.equals(getVoidedBy(), city.getVoidedBy())
-                && Objects.equals(getVoidedAt(), city.getVoidedAt())
-                && Objects.equals(getVoidReason(), city.getVoidReason())
-                && Objects.equals(isVoided(), city.isVoided());
+        UUID uuid = getUuid();
+        return uuid != null && uuid.equals(other.getUuid());
     }
 
+    /**
+     * Hashes the uuid, which is the same before and after the row is saved.
+     *
+     * @return the hash code
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(getCityId(), getCityName(), getCityCode(), getCityGeoCode(), getLocale(),
-                isLocalePreferred(), getCityPhoneCode(), getCounty().getCountyId(), getCreatedBy(),
-                getCreatedAt(), getLastModifiedBy(), getLastModifiedAt(), getVoidedBy(), getVoidedAt(),
-                getVoidReason(), isVoided());
+        return Objects.hashCode(getUuid());
     }
 
     @Override
@@ -115,10 +148,9 @@ public class City extends AuditTrail {
                 .add("cityCode", cityCode)
                 .add("cityGeoCode", cityGeoCode)
                 .add("locale", locale)
-                .add("county", county)
+                .add("countyId", county == null ? null : county.getCountyId())
                 .add("localePreferred", localePreferred)
                 .add("cityPhoneCode", cityPhoneCode)
-                .add("communities", communities)
                 .add("createdBy", getCreatedBy())
                 .add("createdAt", getCreatedAt())
                 .add("lastModifiedBy", getLastModifiedBy())
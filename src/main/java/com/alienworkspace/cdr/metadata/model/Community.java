@@ -1,5 +1,7 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import com.alienworkspace.cdr.metadata.helpers.Constants;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -8,20 +10,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Community entity.
@@ -29,10 +37,17 @@ import lombok.Setter;
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.COMMUNITY_CACHE_REGION)
 @Table(name = "community",
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"community_code", "city_id"}),
         @UniqueConstraint(columnNames = {"community_name", "city_id"})
+    },
+    indexes = {
+        @Index(name = "idx_community_city_voided_name",
+            columnList = "city_id, voided, community_name, community_code"),
+        @Index(name = "idx_community_path", columnList = "path"),
+        @Index(name = "idx_community_change_seq", columnList = "change_seq")
     })
 @Getter
 @Setter
@@ -61,6 +76,13 @@ public class Community extends AuditTrail {
     @JoinColumn(name = "city_id", nullable = false)
     private City city;
 
+    /**
+     * Ids of the ancestors of this community, from the country down; see {@link HierarchyPath}. Derived from the
+     * city on every insert and update.
+     */
+    @Column(name = "path", length = 64)
+    private String path;
+
     @Column(name = "locale")
     private String locale;
 
@@ -71,40 +93,51 @@ public class Community extends AuditTrail {
     private Integer communityPhoneCode;
 
     @OneToMany(mappedBy = "community")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.COMMUNITY_LOCATIONS_CACHE_REGION)
     @Builder.Default
     private Set<Location> locations = new HashSet<>();
 
+    /**
+     * Derives the path from the city. A city whose path is not known, such as a detached stub, leaves the
+     * path as it is; the startup backfill fills it in.
+     */
+    @PrePersist
+    @PreUpdate
+    void updatePath() {
+        if (city != null && city.getPath() != null) {
+            path = HierarchyPath.subtree(city.getPath(), city.getCityId());
+        }
+    }
+
+    /**
+     * Two community rows are equal when they have the same uuid. The uuid is given to a row when it is built and never
+     * changes, so a row keeps its hash code when it is saved and may be put into a hash set before. Neither this nor
+     * {@link #hashCode()} touches an association, so putting community rows into sets never loads their parent or
+     * children.
+     *
+     * @param o the object to compare with
+     * @return whether {@code o} is the same community row
+     */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Community other)) {
             return false;
         }
-        Community community = (Community) o;
-        return isLocalePreferred() == community.isLocalePreferred()
-                && Objects.equals(getCommunityId(), community.getCommunityId())
-                && Objects.equals(getCommunityName(), community.getCommunityName())
-                && Objects.equals(getCommunityCode(), community.getCommunityCode())
-                && Objects.equals(getCommunityGeoCode(), community.getCommunityGeoCode())
-                && Objects.equals(getCity(), community.getCity())
-                && Objects.equals(getLocale(), community.getLocale())
-                && Objects.equals(getCommunityPhoneCode(), community.getCommunityPhoneCode())
-                && Objects.equals(getLocations(), community.getLocations())
-                && Objects.equals(getCreatedBy(), community.getCreatedBy())
-                && Objects.equals(getCreatedAt(), community.getCreatedAt())
-                && Objects.equals(getLastModifiedBy(), community.getLastModifiedBy())
-                && Objects.equals(getLastModifiedAt(), community.getLastModifiedAt())
-                && Objects.equals(getVoidedBy(), community.getVoidedBy())
-                && Objects.equals(getVoidedAt(), community.getVoidedAt())
-                && Objects.equals(getVoidReason(), community.getVoidReason())
-                && Objects.equals(isVoided(), community.isVoided());
+        UUID uuid = getUuid();
+        return uuid != null && uuid.equals(other.getUuid());
     }
 
+    /**
+     * Hashes the uuid, which is the same before and after the row is saved.
+     *
+     * @return the hash code
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(getCommunityId(), getCommunityName(), getCommunityCode(), getCommunityGeoCode(),
-                getCity().getCityId(), getLocale(), isLocalePreferred(), getCommunityPhoneCode(), getCreatedBy(),
-                getCreatedAt(), getLastModifiedBy(), getLastModifiedAt(), getVoidedBy(), getVoidedAt(),
-                getVoidReason(), isVoided());
+        return Objects.hashCode(getUuid());
     }
 
     @Override
@@ -114,11 +147,10 @@ public class Community extends AuditTrail {
                 .add("communityName", communityName)
                 .add("communityCode", communityCode)
                 .add("communityGeoCode", communityGeoCode)
-                .add("city", city)
+                .add("cityId", city == null ? null : city.getCityId())
                 .add("locale", locale)
                 .add("localePreferred", localePreferred)
                 .add("communityPhoneCode", communityPhoneCode)
-                .add("locations", locations)
                 .add("createdBy", getCreatedBy())
                 .add("createdAt", getCreatedAt())
                 .add("lastModifiedBy", getLastModifiedBy())
@@ -1,5 +1,6 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import com.alienworkspace.cdr.metadata.helpers.Constants;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -8,16 +9,20 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Country entity.
@@ -25,10 +30,14 @@ import lombok.Setter;
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.COUNTRY_CACHE_REGION)
 @Table(name = "country",
     uniqueConstraints = {
         @jakarta.persistence.UniqueConstraint(columnNames = {"country_name"}),
         @jakarta.persistence.UniqueConstraint(columnNames = {"country_code"})
+    },
+    indexes = {
+        @Index(name = "idx_country_change_seq", columnList = "change_seq")
     })
 @Getter
 @Setter
@@ -70,42 +79,39 @@ public class Country extends AuditTrail {
     private boolean localePreferred;
 
     @OneToMany(mappedBy = "country")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.COUNTRY_STATES_CACHE_REGION)
     @Builder.Default
     private Set<State> states = new HashSet<>();
 
+    /**
+     * Two country rows are equal when they have the same uuid. The uuid is given to a row when it is built and never
+     * changes, so a row keeps its hash code when it is saved and may be put into a hash set before. Neither this nor
+     * {@link #hashCode()} touches an association, so putting country rows into sets never loads their parent or
+     * children.
+     *
+     * @param o the object to compare with
+     * @return whether {@code o} is the same country row
+     */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Country other)) {
             return false;
         }
-        Country country = (Country) o;
-        return isLocalePreferred() == country.isLocalePreferred()
-                && Objects.equals(getCountryId(), country.getCountryId())
-                && Objects.equals(getCountryName(), country.getCountryName())
-                && Objects.equals(getCountryCode(), country.getCountryCode())
-                && Objects.equals(getCountryPhoneCode(), country.getCountryPhoneCode())
-                && Objects.equals(getCurrencyName(), country.getCurrencyName())
-                && Objects.equals(getCurrencySymbol(), country.getCurrencySymbol())
-                && Objects.equals(getCurrencyCode(), country.getCurrencyCode())
-                && Objects.equals(getLocale(), country.getLocale())
-                && Objects.equals(getCountryGeoCode(), country.getCountryGeoCode())
-                && Objects.equals(getStates(), country.getStates())
-                && Objects.equals(getCreatedBy(), country.getCreatedBy())
-                && Objects.equals(getCreatedAt(), country.getCreatedAt())
-                && Objects.equals(getLastModifiedBy(), country.getLastModifiedBy())
-                && Objects.equals(getLastModifiedAt(), country.getLastModifiedAt())
-                && Objects.equals(getVoidedBy(), country.getVoidedBy())
-                && Objects.equals(getVoidedAt(), country.getVoidedAt())
-                && Objects.equals(getVoidReason(), country.getVoidReason())
-                && Objects.equals(isVoided(), country.isVoided());
+        UUID uuid = getUuid();
+        return uuid != null && uuid.equals(other.getUuid());
     }
 
+    /**
+     * Hashes the uuid, which is the same before and after the row is saved.
+     *
+     * @return the hash code
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(getCountryId(), getCountryName(), getCountryCode(), getCountryPhoneCode(),
-                getCurrencyName(), getCurrencySymbol(), getCurrencyCode(), getLocale(), getCountryGeoCode(),
-                isLocalePreferred(), getCreatedBy(), getCreatedAt(), getLastModifiedBy(),
-                getLastModifiedAt(), getVoidedBy(), getVoidedAt(), getVoidReason(), isVoided());
+        return Objects.hashCode(getUuid());
     }
 
     @Override
@@ -121,7 +127,6 @@ public class Country extends AuditTrail {
                 .add("locale", locale)
                 .add("countryGeoCode", countryGeoCode)
                 .add("localePreferred", localePreferred)
-                .add("states", states)
                 .add("createdBy", getCreatedBy())
                 .add("createdAt", getCreatedAt())
                 .add("lastModifiedBy", getLastModifiedBy())
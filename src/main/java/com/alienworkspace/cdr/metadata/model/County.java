@@ -1,5 +1,7 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import com.alienworkspace.cdr.metadata.helpers.Constants;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -8,20 +10,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 /**
@@ -30,10 +38,17 @@ import lombok.Setter;
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.COUNTY_CACHE_REGION)
 @Table(name = "county",
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"state_id", "county_name"}),
         @UniqueConstraint(columnNames = {"state_id", "county_code"})
+    },
+    indexes = {
+        @Index(name = "idx_county_state_voided_name",
+            columnList = "state_id, voided, county_name, county_code"),
+        @Index(name = "idx_county_path", columnList = "path"),
+        @Index(name = "idx_county_change_seq", columnList = "change_seq")
     })
 @Getter
 @Setter
@@ -62,6 +77,13 @@ public class County extends AuditTrail {
     @JoinColumn(name = "state_id", nullable = false)
     private State state;
 
+    /**
+     * Ids of the ancestors of this county, from the country down; see {@link HierarchyPath}. Derived from the
+     * state on every insert and update.
+     */
+    @Column(name = "path", length = 64)
+    private String path;
+
     @Column(name = "locale")
     private String locale;
 
@@ -72,40 +94,51 @@ public class County extends AuditTrail {
     private Integer countyPhoneCode;
 
     @OneToMany(mappedBy = "county")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.COUNTY_CITIES_CACHE_REGION)
     @Builder.Default
     private Set<City> cities = new HashSet<>();
 
+    /**
+     * Derives the path from the state. A state whose path is not known, such as a detached stub, leaves the
+     * path as it is; the startup backfill fills it in.
+     */
+    @PrePersist
+    @PreUpdate
+    void updatePath() {
+        if (state != null && state.getPath() != null) {
+            path = HierarchyPath.subtree(state.getPath(), state.getStateId());
+        }
+    }
+
+    /**
+     * Two county rows are equal when they have the same uuid. The uuid is given to a row when it is built and never
+     * changes, so a row keeps its hash code when it is saved and may be put into a hash set before. Neither this nor
+     * {@link #hashCode()} touches an association, so putting county rows into sets never loads their parent or
+     * children.
+     *
+     * @param o the object to compare with
+     * @return whether {@code o} is the same county row
+     */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof County other)) {
             return false;
         }
-        County county = (County) o;
-        return isLocalePreferred() == county.isLocalePreferred()
-                && Objects.equals(getCountyId(), county.getCountyId())
-                && Objects.equals(getCountyName(), county.getCountyName())
-                && Objects.equals(getCountyCode(), county.getCountyCode())
-                && Objects.equals(getCountyGeoCode(), county.getCountyGeoCode())
-                && Objects.equals(getState(), county.getState())
-                && Objects.equals(getLocale(), county.getLocale())
-                && Objects.equals(getCountyPhoneCode(), county.getCountyPhoneCode())
-                && Objects.equals(getCities(), county.getCities())
-                && Objects.equals(getCreatedBy(), county.getCreatedBy())
-                && Objects.equals(getCreatedAt(), county.getCreatedAt())
-                && Objects.equals(getLastModifiedBy(), county.getLastModifiedBy())
-                && Objects.equals(getLastModifiedAt(), county.getLastModifiedAt())
-                && Objects.equals(getVoidedBy(), county.getVoidedBy())
-                && Objects.equals(getVoidedAt(), county.getVoidedAt())
-                && Objects.equals(getVoidReason(), county.getVoidReason())
-                && Objects.equals(isVoided(), county.isVoided());
+        UUID uuid = getUuid();
+        return uuid != null && uuid.equals(other.getUuid());
     }
 
+    /**
+     * Hashes the uuid, which is the same before and after the row is saved.
+     *
+     * @return the hash code
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(getCountyId(), getCountyName(), getCountyCode(), getCountyGeoCode(),
-                getState().getStateId(), getLocale(), isLocalePreferred(), getCountyPhoneCode(), getCreatedBy(),
-                getCreatedAt(), getLastModifiedBy(), getLastModifiedAt(), getVoidedBy(), getVoidedAt(), getVoidReason(),
-                isVoided());
+        return Objects.hashCode(getUuid());
     }
 
     @Override
@@ -115,11 +148,10 @@ public class County extends AuditTrail {
                 .add("countyName", countyName)
                 .add("countyCode", countyCode)
                 .add("countyGeoCode", countyGeoCode)
-                .add("state", state)
+                .add("stateId", state == null ? null : state.getStateId())
                 .add("locale", locale)
                 .add("localePreferred", localePreferred)
                 .add("countyPhoneCode", countyPhoneCode)
-                .add("cities", cities)
                 .add("createdBy", getCreatedBy())
                 .add("createdAt", getCreatedAt())
                 .add("lastModifiedBy", getLastModifiedBy())
@@ -1,5 +1,7 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import com.alienworkspace.cdr.metadata.helpers.Constants;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -8,18 +10,24 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Location entity.
@@ -27,10 +35,17 @@ import lombok.Setter;
  * @author Ikenumah (enumahinm@gmail.com)
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.LOCATION_CACHE_REGION)
 @Table(name = "location",
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"community_id", "location_name"}),
         @UniqueConstraint(columnNames = {"community_id", "location_code"})
+    },
+    indexes = {
+        @Index(name = "idx_location_community_voided_name",
+            columnList = "community_id, voided, location_name, location_code"),
+        @Index(name = "idx_location_path", columnList = "path"),
+        @Index(name = "idx_location_change_seq", columnList = "change_seq")
     })
 @Getter
 @Setter
@@ -59,6 +74,13 @@ public class Location extends AuditTrail {
     @JoinColumn(name = "community_id", nullable = false)
     private Community community;
 
+    /**
+     * Ids of the ancestors of this location, from the country down; see {@link HierarchyPath}. Derived from the
+     * community on every insert and update.
+     */
+    @Column(name = "path", length = 64)
+    private String path;
+
     @Column(name = "locale")
     private String locale;
 
@@ -71,37 +93,47 @@ public class Location extends AuditTrail {
     @Column(name = "last_modified_date")
     private LocalDateTime lastModifiedDate;
 
+    /**
+     * Derives the path from the community. A community whose path is not known, such as a detached stub, leaves the
+     * path as it is; the startup backfill fills it in.
+     */
+    @PrePersist
+    @PreUpdate
+    void updatePath() {
+        if (community != null && community.getPath() != null) {
+            path = HierarchyPath.subtree(community.getPath(), community.getCommunityId());
+        }
+    }
+
+    /**
+     * Two location rows are equal when they have the same uuid. The uuid is given to a row when it is built and never
+     * changes, so a row keeps its hash code when it is saved and may be put into a hash set before. Neither this nor
+     * {@link #hashCode()} touches an association, so putting location rows into sets never loads their parent or
+     * children.
+     *
+     * @param o the object to compare with
+     * @return whether {@code o} is the same location row
+     */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Location other)) {
             return false;
         }
-        Location location = (Location) o;
-        return isLocalePreferred() == location.isLocalePreferred()
-                && Objects.equals(getLocationId(), location.getLocationId())
-                && Objects.equals(getLocationName(), location.getLocationName())
-                && Objects.equals(getLocationCode(), location.getLocationCode())
-                && Objects.equals(getLocationGeoCode(), location.getLocationGeoCode())
-                && Objects.equals(getCommunity(), location.getCommunity())
-                && Objects.equals(getLocale(), location.getLocale())
-                && Objects.equals(getLocationPhoneCode(), location.getLocationPhoneCode())
-                && Objects.equals(getLastModifiedDate(), location.getLastModifiedDate())
-                && Objects.equals(getCreatedBy(), location.getCreatedBy())
-                && Objects.equals(getCreatedAt(), location.getCreatedAt())
-                && Objects.equals(getLastModifiedBy(), location.getLastModifiedBy())
-                && Objects.equals(getLastModifiedAt(), location.getLastModifiedAt())
-                && Objects.equals(getVoidedBy(), location.getVoidedBy())
-                && Objects.equals(getVoidedAt(), location.getVoidedAt())
-                && Objects.equals(getVoidReason(), location.getVoidReason())
-                && Objects.equals(isVoided(), location.isVoided());
+        UUID uuid = getUuid();
+        return uuid != null && uuid.equals(other.getUuid());
     }
 
+    /**
+     * Hashes the uuid, which is the same before and after the row is saved.
+     *
+     * @return the hash code
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(getLocationId(), getLocationName(), getLocationCode(), getLocationGeoCode(),
-                getCommunity().getCommunityId(), getLocale(), isLocalePreferred(), getLocationPhoneCode(),
-                getLastModifiedDate(), getCreatedBy(), getCreatedAt(), getLastModifiedBy(), getLastModifiedAt(),
-                getVoidedBy(), getVoidedAt(), getVoidReason(), isVoided());
+        return Objects.hashCode(getUuid());
     }
 
     @Override
@@ -111,7 +143,7 @@ public class Location extends AuditTrail {
                 .add("locationName", locationName)
                 .add("locationCode", locationCode)
                 .add("locationGeoCode", locationGeoCode)
-                .add("community", community)
+                .add("communityId", community == null ? null : community.getCommunityId())
                 .add("locale", locale)
                 .add("localePreferred", localePreferred)
                 .add("locationPhoneCode", locationPhoneCode)
@@ -1,5 +1,7 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import com.alienworkspace.cdr.metadata.helpers.Constants;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
 import com.google.common.base.MoreObjects;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -8,20 +10,26 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * State entity.
@@ -31,10 +39,17 @@ import lombok.Setter;
  * @since 1.0
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.STATE_CACHE_REGION)
 @Table(name = "state",
     uniqueConstraints = {
         @UniqueConstraint(columnNames = {"state_name", "country_id"}),
         @UniqueConstraint(columnNames = {"state_code", "country_id"})
+    },
+    indexes = {
+        @Index(name = "idx_state_country_voided_name",
+            columnList = "country_id, voided, state_name, state_code"),
+        @Index(name = "idx_state_path", columnList = "path"),
+        @Index(name = "idx_state_change_seq", columnList = "change_seq")
     })
 @Getter
 @Setter
@@ -72,41 +87,58 @@ public class State extends AuditTrail {
     @JoinColumn(name = "country_id", nullable = false)
     private Country country;
 
+    /**
+     * Ids of the ancestors of this state, from the country down; see {@link HierarchyPath}. Derived from the
+     * country on every insert and update.
+     */
+    @Column(name = "path", length = 64)
+    private String path;
+
     @OneToMany(mappedBy = "state")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Constants.STATE_COUNTIES_CACHE_REGION)
     @Builder.Default
     private Set<County> counties = new HashSet<>();
 
+    /**
+     * Derives the path from the country.
+     */
+    @PrePersist
+    @PreUpdate
+    void updatePath() {
+        if (country != null && country.getCountryId() != null) {
+            path = HierarchyPath.subtree(HierarchyPath.ROOT, country.getCountryId());
+        }
+    }
+
+    /**
+     * Two state rows are equal when they have the same uuid. The uuid is given to a row when it is built and never
+     * changes, so a row keeps its hash code when it is saved and may be put into a hash set before. Neither this nor
+     * {@link #hashCode()} touches an association, so putting state rows into sets never loads their parent or
+     * children.
+     *
+     * @param o the object to compare with
+     * @return whether {@code o} is the same state row
+     */
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof State other)) {
             return false;
         }
-        State state = (State) o;
-        return isLocalePreferred() == state.isLocalePreferred()
-                && Objects.equals(getStateId(), state.getStateId())
-                && Objects.equals(getStateName(), state.getStateName())
-                && Objects.equals(getLocale(), state.getLocale())
-                && Objects.equals(getStateCode(), state.getStateCode())
-                && Objects.equals(getStateGeoCode(), state.getStateGeoCode())
-                && Objects.equals(getStatePhoneCode(), state.getStatePhoneCode())
-                && Objects.equals(getCountry(), state.getCountry())
-                && Objects.equals(getCounties(), state.getCounties())
-                && Objects.equals(getCreatedBy(), state.getCreatedBy())
-                && Objects.equals(getCreatedAt(), state.getCreatedAt())
-                && Objects.equals(getLastModifiedBy(), state.getLastModifiedBy())
-                && Objects.equals(getLastModifiedAt(), state.getLastModifiedAt())
-                && Objects.equals(getVoidedBy(), state.getVoidedBy())
-                && Objects.equals(getVoidedAt(), state.getVoidedAt())
-                && Objects.equals(getVoidReason(), state.getVoidReason())
-                && isVoided() == state.isVoided();
+        UUID uuid = getUuid();
+        return uuid != null && uuid.equals(other.getUuid());
     }
 
+    /**
+     * Hashes the uuid, which is the same before and after the row is saved.
+     *
+     * @return the hash code
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(getStateId(), getStateName(), getLocale(), isLocalePreferred(), getStateCode(),
-                getStateGeoCode(), getStatePhoneCode(), getCountry().getCountryId(), getCreatedBy(),
-                getCreatedAt(), getLastModifiedBy(), getLastModifiedAt(), getVoidedBy(), getVoidedAt(),
-                getVoidReason(), isVoided());
+        return Objects.hashCode(getUuid());
     }
 
     @Override
@@ -119,7 +151,7 @@ public class State extends AuditTrail {
                 .add("stateCode", stateCode)
                 .add("stateGeoCode", stateGeoCode)
                 .add("statePhoneCode", statePhoneCode)
-                .add("country", country)
+                .add("countryId", country == null ? null : country.getCountryId())
                 .add("createdBy", getCreatedBy())
                 .add("createdAt", getCreatedAt())
                 .add("lastModifiedBy", getLastModifiedBy())
@@ -1,16 +1,22 @@
 package com.alienworkspace.cdr.metadata.model.audit;
 
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyChangeListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -30,10 +36,11 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
  *     <li>Voided by</li>
  *     <li>Voided at</li>
  *     <li>Void reason</li>
+ *     <li>Change sequence</li>
  * </ul>
  */
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, GeographyChangeListener.class})
 @Getter
 @Setter
 @ToString
@@ -68,16 +75,61 @@ public class AuditTrail {
     @Column(name = "void_reason")
     private String voidReason;
 
-    @Column(name = "uuid", updatable = false, nullable = false, unique = true)
-    private String uuid = UUID.randomUUID().toString();
+    /**
+     * The external id of the row, a time-ordered UUID stored as {@code BINARY(16)}; see {@link Uuids}.
+     */
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "uuid", length = 16, updatable = false, nullable = false, unique = true)
+    private UUID uuid = Uuids.timeOrdered();
 
     /**
-     * Generate a UUID if one is not already set.
+     * The commit sequence number of the transaction that last wrote the row, for the change feed. It is stamped
+     * with JDBC by {@link com.alienworkspace.cdr.metadata.readmodel.ChangeSequence}, never written by Hibernate.
+     */
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    /**
+     * Generate a UUID if one is not already set, and truncate the timestamps before the row is inserted. The last
+     * modification columns are not inserted, so they are cleared too, although auditing sets them on creation.
      */
     @PrePersist
+    public void prePersist() {
+        generateUuid();
+        lastModifiedBy = null;
+        lastModifiedAt = null;
+        truncateTimestamps();
+    }
+
+    /**
+     * Truncate the timestamps before the row is updated.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        truncateTimestamps();
+    }
+
+    /**
+     * Generate a UUID if one is not already set.
+     */
     public void generateUuid() {
         if (uuid == null) {
-            this.uuid = UUID.randomUUID().toString();
+            this.uuid = Uuids.timeOrdered();
         }
     }
+
+    /**
+     * Truncates the timestamps to the microseconds a {@code DATETIME(6)} column keeps. The clock has nanoseconds,
+     * which the database would round away, so without this the entity, and the read model nodes copied from it on
+     * this instance, would hold other values than the committed row that other instances read back.
+     */
+    public void truncateTimestamps() {
+        createdAt = micros(createdAt);
+        lastModifiedAt = micros(lastModifiedAt);
+        voidedAt = micros(voidedAt);
+    }
+
+    private static LocalDateTime micros(LocalDateTime value) {
+        return value == null ? null : value.truncatedTo(ChronoUnit.MICROS);
+    }
 }
@@ -1,5 +1,7 @@
 package com.alienworkspace.cdr.metadata.model.audit;
 
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+
 /**
  * Mapper for AuditTrail entity.
  *
@@ -8,16 +10,19 @@ package com.alienworkspace.cdr.metadata.model.audit;
 public abstract class AuditTrailMapper {
 
     /**
-     * Maps a AuditTrail entity to a AuditTrailDto.
+     * Maps a AuditTrailDto to a AuditTrail entity. A DTO without a uuid keeps the one the entity was built with, so
+     * the entity's hash code, which is based on it, does not change.
      *
-     * @param from The AuditTrail entity to map.
-     * @param to   The AuditTrailDto to map to.
+     * @param from The AuditTrailDto to map.
+     * @param to   The AuditTrail entity to map to.
      */
     public static <T extends com.alienworkspace.cdr.model.helper.AuditTrail> void mapFromDto(T from, AuditTrail to) {
         if (from == null || to == null) {
             return;
         }
-        to.setUuid(from.getUuid());
+        if (from.getUuid() != null) {
+            to.setUuid(Uuids.parse(from.getUuid()));
+        }
         to.setCreatedAt(from.getCreatedAt());
         if (from.getCreatedBy() != null) {
             to.setCreatedBy(from.getCreatedBy());
@@ -42,7 +47,7 @@ public abstract class AuditTrailMapper {
         if (from == null || to == null) {
             return;
         }
-        to.setUuid(from.getUuid());
+        to.setUuid(from.getUuid() == null ? null : from.getUuid().toString());
         to.setCreatedAt(from.getCreatedAt());
         to.setCreatedBy(from.getCreatedBy());
         to.setLastModifiedBy(from.getLastModifiedBy());
@@ -0,0 +1,24 @@
+package com.alienworkspace.cdr.metadata.model.dto;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The whole hierarchy in the binary format of {@code GeographySnapshotCodec}, with the SHA-256 hash of its bytes.
+ * The version is the version of the read model snapshot it was encoded from, and only means something on the
+ * instance that served it; the hash identifies the content across instances. The change token is the change feed
+ * watermark taken before the snapshot was read, from which a consumer keeps its copy up to date.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"}, justification = "The content is never modified")
+public class EncodedSnapshot {
+    private final long version;
+    private final int nodes;
+    private final byte[] content;
+    private final String sha256;
+    private final String changeToken;
+}
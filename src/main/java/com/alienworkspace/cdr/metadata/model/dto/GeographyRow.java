@@ -0,0 +1,42 @@
+package com.alienworkspace.cdr.metadata.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight row of one hierarchy level: the columns a dropdown needs, without audit fields, parent stub or
+ * children.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeographyRow {
+    private Integer id;
+    private String name;
+    private String code;
+    private Integer parentId;
+
+    /**
+     * The materialized path of the row; only set on subtree listings.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String path;
+
+    /**
+     * Creates a row without a path.
+     *
+     * @param id the id
+     * @param name the name
+     * @param code the code
+     * @param parentId the id of the parent, or {@code null} for countries
+     */
+    public GeographyRow(Integer id, String name, String code, Integer parentId) {
+        this(id, name, code, parentId, null);
+    }
+}
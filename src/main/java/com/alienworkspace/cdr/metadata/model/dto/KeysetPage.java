@@ -0,0 +1,46 @@
+package com.alienworkspace.cdr.metadata.model.dto;
+
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated list. {@code nextPageToken} is {@code null} on the last page.
+ *
+ * @param <T> the item type
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@SuppressFBWarnings(value = {"EI_EXPOSE_REP", "EI_EXPOSE_REP2"}, justification = "This is a DTO class")
+public class KeysetPage<T> {
+    private List<T> items;
+    private String nextPageToken;
+
+    /**
+     * Build a page from rows ordered by id. The caller fetches one row more than the page size, so that the
+     * presence of a next page is known without a count query.
+     *
+     * @param rows   up to {@code size + 1} rows, ordered by ascending id
+     * @param size   the page size
+     * @param id     extracts the id of a row
+     * @param mapper maps a row to an item
+     * @param <E>    the row type
+     * @param <T>    the item type
+     * @return the page
+     */
+    public static <E, T> KeysetPage<T> of(List<E> rows, int size, ToIntFunction<E> id, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        return new KeysetPage<>(page.stream().map(mapper).toList(),
+                hasNext ? PageToken.encode(id.applyAsInt(page.get(size - 1))) : null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.alienworkspace.cdr.metadata.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A node whose name is close to a possibly misspelled name, with how close it is.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchCandidate {
+    private String level;
+    private Integer id;
+    private String name;
+    private String code;
+    private Integer parentId;
+
+    /**
+     * The edit distance between the normalized name and the normalized query.
+     */
+    private int distance;
+
+    /**
+     * The share of trigrams the name and the query have in common, from 0 to 1.
+     */
+    private double similarity;
+}
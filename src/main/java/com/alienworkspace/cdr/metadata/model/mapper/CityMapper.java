@@ -1,9 +1,12 @@
 package com.alienworkspace.cdr.metadata.model.mapper;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
 import com.alienworkspace.cdr.metadata.model.City;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrailMapper;
 import com.alienworkspace.cdr.model.dto.metadata.CityDto;
 import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import java.util.HashSet;
 import java.util.stream.Collectors;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
@@ -51,6 +54,18 @@ public interface CityMapper {
      * @return the mapped CityDto
      */
     default CityDto toDto(City entity) {
+        return toDto(entity, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a City entity to a CityDto, down to the given depth.
+     *
+     * @param entity the City entity to map
+     * @param depth the number of child levels to map; 0 maps the city only and leaves its lazy children
+     *     untouched
+     * @return the mapped CityDto
+     */
+    default CityDto toDto(City entity, int depth) {
         CityDto dto = CityDto.builder()
                 .cityId(entity.getCityId())
                 .cityName(entity.getCityName())
@@ -68,8 +83,8 @@ public interface CityMapper {
                         .countyGeoCode(entity.getCounty().getCountyGeoCode())
                         .countyPhoneCode(entity.getCounty().getCountyPhoneCode())
                         .build() : null) // Map if needed
-                .communities(entity.getCommunities().stream()
-                        .map(CommunityMapper.INSTANCE::toDto).collect(Collectors.toSet()))
+                .communities(depth <= 0 ? new HashSet<>() : entity.getCommunities().stream()
+                        .map(child -> CommunityMapper.INSTANCE.toDto(child, depth - 1)).collect(Collectors.toSet()))
                 .build();
         AuditTrailMapper.mapToDto(entity, dto);
         return dto;
@@ -1,9 +1,12 @@
 package com.alienworkspace.cdr.metadata.model.mapper;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
 import com.alienworkspace.cdr.metadata.model.Community;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrailMapper;
 import com.alienworkspace.cdr.model.dto.metadata.CityDto;
 import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import java.util.HashSet;
 import java.util.stream.Collectors;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
@@ -51,6 +54,18 @@ public interface CommunityMapper {
      * @return the mapped CommunityDto
      */
     default CommunityDto toDto(Community entity) {
+        return toDto(entity, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a Community entity to a CommunityDto, down to the given depth.
+     *
+     * @param entity the Community entity to map
+     * @param depth the number of child levels to map; 0 maps the community only and leaves its lazy children
+     *     untouched
+     * @return the mapped CommunityDto
+     */
+    default CommunityDto toDto(Community entity, int depth) {
         CommunityDto dto = CommunityDto.builder()
                 .communityId(entity.getCommunityId())
                 .communityName(entity.getCommunityName())
@@ -67,7 +82,7 @@ public interface CommunityMapper {
                         .cityGeoCode(entity.getCity().getCityGeoCode())
                         .cityPhoneCode(entity.getCity().getCityPhoneCode())
                         .build() : null) // Map if needed
-                .locations(entity.getLocations().stream()
+                .locations(depth <= 0 ? new HashSet<>() : entity.getLocations().stream()
                         .map(LocationMapper.INSTANCE::toDto).collect(Collectors.toSet()))
                 .build();
         AuditTrailMapper.mapToDto(entity, dto);
@@ -1,8 +1,11 @@
 package com.alienworkspace.cdr.metadata.model.mapper;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
 import com.alienworkspace.cdr.metadata.model.Country;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrailMapper;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import java.util.HashSet;
 import java.util.stream.Collectors;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
@@ -24,12 +27,25 @@ public interface CountryMapper {
      * @return the CountryDto
      */
     default CountryDto toDto(Country country) {
+        return toDto(country, MAX_DEPTH);
+    }
+
+    /**
+     * Convert a Country entity to a CountryDto, down to the given depth.
+     *
+     * @param country the Country entity
+     * @param depth the number of child levels to map; 0 maps the country only and leaves its lazy children
+     *     untouched
+     * @return the CountryDto
+     */
+    default CountryDto toDto(Country country, int depth) {
         CountryDto countryDto = CountryDto.builder()
             .countryId(country.getCountryId())
             .countryCode(country.getCountryCode())
             .countryName(country.getCountryName())
             .countryPhoneCode(country.getCountryPhoneCode())
-            .states(country.getStates().stream().map(StateMapper.INSTANCE::toDto).collect(Collectors.toSet()))
+            .states(depth <= 0 ? new HashSet<>() : country.getStates().stream()
+                    .map(child -> StateMapper.INSTANCE.toDto(child, depth - 1)).collect(Collectors.toSet()))
             .currencyCode(country.getCurrencyCode())
             .currencySymbol(country.getCurrencySymbol())
             .currencyName(country.getCurrencyName())
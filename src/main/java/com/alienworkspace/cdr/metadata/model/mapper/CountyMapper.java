@@ -1,9 +1,12 @@
 package com.alienworkspace.cdr.metadata.model.mapper;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
 import com.alienworkspace.cdr.metadata.model.County;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrailMapper;
 import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
 import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import java.util.HashSet;
 import java.util.stream.Collectors;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
@@ -51,6 +54,18 @@ public interface CountyMapper {
      * @return the mapped CountyDto
      */
     default CountyDto toDto(County entity) {
+        return toDto(entity, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a County entity to a CountyDto, down to the given depth.
+     *
+     * @param entity the County entity to map
+     * @param depth the number of child levels to map; 0 maps the county only and leaves its lazy children
+     *     untouched
+     * @return the mapped CountyDto
+     */
+    default CountyDto toDto(County entity, int depth) {
         CountyDto dto = CountyDto.builder()
                 .countyId(entity.getCountyId())
                 .countyName(entity.getCountyName())
@@ -64,8 +79,8 @@ public interface CountyMapper {
                         .stateGeoCode(entity.getState().getStateGeoCode())
                         .statePhoneCode(entity.getState().getStatePhoneCode())
                         .build() : null)
-                .cities(entity.getCities().stream()
-                        .map(CityMapper.INSTANCE::toDto).collect(Collectors.toSet()))
+                .cities(depth <= 0 ? new HashSet<>() : entity.getCities().stream()
+                        .map(child -> CityMapper.INSTANCE.toDto(child, depth - 1)).collect(Collectors.toSet()))
                 .localePreferred(entity.isLocalePreferred())
                 .countyCode(entity.getCountyCode())
                 .countyGeoCode(entity.getCountyGeoCode())
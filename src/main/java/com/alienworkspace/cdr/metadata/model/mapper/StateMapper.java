@@ -1,9 +1,12 @@
 package com.alienworkspace.cdr.metadata.model.mapper;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
 import com.alienworkspace.cdr.metadata.model.State;
 import com.alienworkspace.cdr.metadata.model.audit.AuditTrailMapper;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
 import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import java.util.HashSet;
 import java.util.stream.Collectors;
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
@@ -50,6 +53,18 @@ public interface StateMapper {
      * @return the mapped StateDto
      */
     default StateDto toDto(State entity) {
+        return toDto(entity, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a State entity to a StateDto, down to the given depth.
+     *
+     * @param entity the State entity to map
+     * @param depth the number of child levels to map; 0 maps the state only and leaves its lazy children
+     *     untouched
+     * @return the mapped StateDto
+     */
+    default StateDto toDto(State entity, int depth) {
         StateDto dto = StateDto.builder()
                 .stateId(entity.getStateId())
                 .stateName(entity.getStateName())
@@ -63,7 +78,8 @@ public interface StateMapper {
                         .countryCode(entity.getCountry().getCountryCode())
                         .countryName(entity.getCountry().getCountryName())
                         .build() : null)
-                .counties(entity.getCounties().stream().map(CountyMapper.INSTANCE::toDto).collect(Collectors.toSet()))
+                .counties(depth <= 0 ? new HashSet<>() : entity.getCounties().stream()
+                        .map(child -> CountyMapper.INSTANCE.toDto(child, depth - 1)).collect(Collectors.toSet()))
                 .build();
         AuditTrailMapper.mapToDto(entity, dto);
         return dto;
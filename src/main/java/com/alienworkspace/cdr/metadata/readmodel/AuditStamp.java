@@ -0,0 +1,73 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the {@link AuditTrail} columns of an entity.
+ *
+ * @param createdBy      the id of the creator
+ * @param createdAt      the creation time
+ * @param lastModifiedBy the id of the last modifier
+ * @param lastModifiedAt the last modification time
+ * @param voided         whether the row is voided
+ * @param voidedBy       the id of the user that voided the row
+ * @param voidedAt       the time the row was voided
+ * @param voidReason     the reason the row was voided
+ * @param uuid           the external id of the row, in its canonical text form
+ * @param changeSeq      the commit sequence number of the transaction that last wrote the row, or {@code null} when
+ *                       it is not known
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record AuditStamp(long createdBy, LocalDateTime createdAt, Long lastModifiedBy, LocalDateTime lastModifiedAt,
+                         boolean voided, Long voidedBy, LocalDateTime voidedAt, String voidReason, String uuid,
+                         Long changeSeq) {
+
+    /**
+     * Creates an audit stamp without a commit sequence number.
+     *
+     * @param createdBy      the id of the creator
+     * @param createdAt      the creation time
+     * @param lastModifiedBy the id of the last modifier
+     * @param lastModifiedAt the last modification time
+     * @param voided         whether the row is voided
+     * @param voidedBy       the id of the user that voided the row
+     * @param voidedAt       the time the row was voided
+     * @param voidReason     the reason the row was voided
+     * @param uuid           the external id of the row, in its canonical text form
+     */
+    public AuditStamp(long createdBy, LocalDateTime createdAt, Long lastModifiedBy, LocalDateTime lastModifiedAt,
+                      boolean voided, Long voidedBy, LocalDateTime voidedAt, String voidReason, String uuid) {
+        this(createdBy, createdAt, lastModifiedBy, lastModifiedAt, voided, voidedBy, voidedAt, voidReason, uuid, null);
+    }
+
+    /**
+     * Copies the audit columns of an entity.
+     *
+     * @param entity the entity to copy
+     * @return the audit stamp
+     */
+    public static AuditStamp of(AuditTrail entity) {
+        return new AuditStamp(entity.getCreatedBy(), entity.getCreatedAt(), entity.getLastModifiedBy(),
+                entity.getLastModifiedAt(), entity.isVoided(), entity.getVoidedBy(), entity.getVoidedAt(),
+                entity.getVoidReason(), entity.getUuid() == null ? null : entity.getUuid().toString(),
+                entity.getChangeSeq());
+    }
+
+    /**
+     * Writes the audit columns onto a DTO, the same way {@code AuditTrailMapper.mapToDto} does for entities.
+     *
+     * @param to the DTO to populate
+     */
+    public void applyTo(com.alienworkspace.cdr.model.helper.AuditTrail to) {
+        to.setUuid(uuid);
+        to.setCreatedAt(createdAt);
+        to.setCreatedBy(createdBy);
+        to.setLastModifiedBy(lastModifiedBy);
+        to.setLastModifiedAt(lastModifiedAt);
+        to.setVoided(voided);
+        to.setVoidedBy(voidedBy);
+        to.setVoidedAt(voidedAt);
+        to.setVoidReason(voidReason);
+    }
+}
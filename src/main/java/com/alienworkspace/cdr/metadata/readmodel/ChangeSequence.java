@@ -0,0 +1,87 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Commit sequence numbers for the change feed.
+ *
+ * <p>A transaction that writes geography rows takes the next number from the single row of the
+ * {@code change_sequence} table and stamps it on every row it writes. Incrementing the counter locks its row until
+ * the transaction ends, so a second writer waits for the first to commit before it gets its number: numbers are
+ * handed out in commit order, and a reader that has seen number {@code n} will never later find a committed row
+ * stamped with a smaller one. Geography writes are rare, so serializing them is cheap.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Component
+public class ChangeSequence {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeSequence.class);
+    private static final int COUNTER_ID = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for ChangeSequence.
+     *
+     * @param jdbcTemplate the JDBC template; it shares the connection of the surrounding JPA transaction
+     */
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes the next commit sequence number. Must be called in the transaction whose rows it stamps, which then
+     * holds the counter until it ends.
+     *
+     * @return the number
+     */
+    public long next() {
+        if (jdbcTemplate.update("UPDATE change_sequence SET seq = seq + 1 WHERE id = ?", COUNTER_ID) == 0) {
+            jdbcTemplate.update("INSERT INTO change_sequence (id, seq) VALUES (?, ?)", COUNTER_ID, 1L);
+            return 1L;
+        }
+        Long seq = jdbcTemplate.queryForObject("SELECT seq FROM change_sequence WHERE id = ?", Long.class,
+                COUNTER_ID);
+        return seq == null ? 1L : seq;
+    }
+
+    /**
+     * Stamps a row with a commit sequence number.
+     *
+     * @param level the level of the row
+     * @param id the id of the row
+     * @param seq the number
+     */
+    public void stamp(GeographyLevel level, int id, long seq) {
+        String table = level.name().toLowerCase(Locale.ROOT);
+        jdbcTemplate.update("UPDATE " + table + " SET change_seq = ? WHERE " + table + "_id = ?", seq, id);
+    }
+
+    /**
+     * Creates the counter row if needed, and stamps the rows written before the change feed existed with number 0
+     * so that a first sync includes them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Integer counters = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_sequence WHERE id = ?",
+                Integer.class, COUNTER_ID);
+        if (counters == null || counters == 0) {
+            jdbcTemplate.update("INSERT INTO change_sequence (id, seq) VALUES (?, ?)", COUNTER_ID, 0L);
+        }
+        int updated = 0;
+        for (GeographyLevel level : GeographyLevel.values()) {
+            updated += jdbcTemplate.update("UPDATE " + level.name().toLowerCase(Locale.ROOT)
+                    + " SET change_seq = 0 WHERE change_seq IS NULL");
+        }
+        if (updated > 0) {
+            LOGGER.info("Backfilled the change sequence of {} rows", updated);
+        }
+    }
+}
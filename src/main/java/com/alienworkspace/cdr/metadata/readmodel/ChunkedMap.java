@@ -0,0 +1,129 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Immutable map from int keys to values, ordered by key, that is cheap to patch.
+ *
+ * <p>The keys are split into chunks of {@value #CHUNK_SIZE} consecutive keys. Patching copies the map of chunks,
+ * which is {@value #CHUNK_SIZE} times smaller than the map itself, and the chunks it touches; every other chunk is
+ * shared with the previous map. A write to one of several hundred thousand locations therefore copies a few
+ * hundred chunk references and one chunk, not every location.
+ *
+ * @param <V> the value type
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+final class ChunkedMap<V> {
+
+    private static final int CHUNK_BITS = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final NavigableMap<Integer, NavigableMap<Integer, V>> chunks;
+    private final int size;
+    private final Collection<V> values = new AbstractCollection<>() {
+        @Override
+        public Iterator<V> iterator() {
+            return stream().iterator();
+        }
+
+        @Override
+        public Stream<V> stream() {
+            return chunks.values().stream().flatMap(chunk -> chunk.values().stream());
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
+
+    private ChunkedMap(NavigableMap<Integer, NavigableMap<Integer, V>> chunks, int size) {
+        this.chunks = Collections.unmodifiableNavigableMap(chunks);
+        this.size = size;
+    }
+
+    /**
+     * Returns a map with the given entries.
+     *
+     * @param entries the entries
+     * @param <V>     the value type
+     * @return the map
+     */
+    static <V> ChunkedMap<V> of(Map<Integer, V> entries) {
+        NavigableMap<Integer, NavigableMap<Integer, V>> chunks = new TreeMap<>();
+        entries.forEach((key, value) -> chunks.computeIfAbsent(chunk(key), chunk -> new TreeMap<>()).put(key, value));
+        chunks.replaceAll((chunk, entriesOfChunk) -> Collections.unmodifiableNavigableMap(entriesOfChunk));
+        return new ChunkedMap<>(chunks, entries.size());
+    }
+
+    /**
+     * Returns a new map with the given entries put, where a {@code null} value removes the key.
+     *
+     * @param changes the entries to put or remove
+     * @return the patched map, or this map when there is nothing to change
+     */
+    ChunkedMap<V> with(Map<Integer, V> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        NavigableMap<Integer, NavigableMap<Integer, V>> patched = new TreeMap<>(chunks);
+        Map<Integer, NavigableMap<Integer, V>> copied = new TreeMap<>();
+        int patchedSize = size;
+        for (Map.Entry<Integer, V> change : changes.entrySet()) {
+            NavigableMap<Integer, V> chunk = copied.computeIfAbsent(chunk(change.getKey()), key -> {
+                NavigableMap<Integer, V> existing = chunks.get(key);
+                return existing == null ? new TreeMap<>() : new TreeMap<>(existing);
+            });
+            V previous = change.getValue() == null
+                    ? chunk.remove(change.getKey()) : chunk.put(change.getKey(), change.getValue());
+            if (previous == null && change.getValue() != null) {
+                patchedSize++;
+            } else if (previous != null && change.getValue() == null) {
+                patchedSize--;
+            }
+        }
+        copied.forEach((key, chunk) -> {
+            if (chunk.isEmpty()) {
+                patched.remove(key);
+            } else {
+                patched.put(key, Collections.unmodifiableNavigableMap(chunk));
+            }
+        });
+        return new ChunkedMap<>(patched, patchedSize);
+    }
+
+    V get(int key) {
+        NavigableMap<Integer, V> chunk = chunks.get(chunk(key));
+        return chunk == null ? null : chunk.get(key);
+    }
+
+    /**
+     * The values, ordered by key. The collection is an unmodifiable view.
+     */
+    Collection<V> values() {
+        return values;
+    }
+
+    /**
+     * The values with a key greater than the given one, ordered by key.
+     */
+    Stream<V> valuesAfter(int key) {
+        return chunks.tailMap(chunk(key), true).values().stream()
+                .flatMap(chunk -> chunk.tailMap(key, false).values().stream());
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int chunk(int key) {
+        return key >> CHUNK_BITS;
+    }
+}
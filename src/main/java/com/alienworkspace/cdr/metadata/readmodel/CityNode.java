@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.City;
+
+/**
+ * Snapshot view of a {@link City}.
+ *
+ * @param id              the city id
+ * @param name            the city name
+ * @param code            the city code
+ * @param geoCode         the city geo code
+ * @param locale          the locale
+ * @param localePreferred whether the locale is preferred
+ * @param phoneCode       the city phone code
+ * @param parentId        the id of the parent county
+ * @param audit           the audit columns
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record CityNode(int id, String name, String code, String geoCode, String locale, boolean localePreferred,
+                       Integer phoneCode, Integer parentId, AuditStamp audit) implements GeographyNode {
+
+    /**
+     * Copies a city entity.
+     *
+     * @param entity the entity
+     * @return the node
+     */
+    public static CityNode of(City entity) {
+        return new CityNode(entity.getCityId(), entity.getCityName(), entity.getCityCode(),
+                entity.getCityGeoCode(), entity.getLocale(), entity.isLocalePreferred(),
+                entity.getCityPhoneCode(),
+                entity.getCounty() != null ? entity.getCounty().getCountyId() : null, AuditStamp.of(entity));
+    }
+
+    @Override
+    public GeographyLevel level() {
+        return GeographyLevel.CITY;
+    }
+}
@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.Community;
+
+/**
+ * Snapshot view of a {@link Community}.
+ *
+ * @param id              the community id
+ * @param name            the community name
+ * @param code            the community code
+ * @param geoCode         the community geo code
+ * @param locale          the locale
+ * @param localePreferred whether the locale is preferred
+ * @param phoneCode       the community phone code
+ * @param parentId        the id of the parent city
+ * @param audit           the audit columns
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record CommunityNode(int id, String name, String code, String geoCode, String locale, boolean localePreferred,
+                            Integer phoneCode, Integer parentId, AuditStamp audit) implements GeographyNode {
+
+    /**
+     * Copies a community entity.
+     *
+     * @param entity the entity
+     * @return the node
+     */
+    public static CommunityNode of(Community entity) {
+        return new CommunityNode(entity.getCommunityId(), entity.getCommunityName(), entity.getCommunityCode(),
+                entity.getCommunityGeoCode(), entity.getLocale(), entity.isLocalePreferred(),
+                entity.getCommunityPhoneCode(),
+                entity.getCity() != null ? entity.getCity().getCityId() : null, AuditStamp.of(entity));
+    }
+
+    @Override
+    public GeographyLevel level() {
+        return GeographyLevel.COMMUNITY;
+    }
+}
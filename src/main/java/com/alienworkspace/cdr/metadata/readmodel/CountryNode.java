@@ -0,0 +1,47 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.Country;
+
+/**
+ * Snapshot view of a {@link Country}.
+ *
+ * @param id              the country id
+ * @param name            the country name
+ * @param code            the country code
+ * @param phoneCode       the country phone code
+ * @param currencyName    the currency name
+ * @param currencySymbol  the currency symbol
+ * @param currencyCode    the currency code
+ * @param locale          the locale
+ * @param geoCode         the country geo code
+ * @param localePreferred whether the locale is preferred
+ * @param audit           the audit columns
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record CountryNode(int id, String name, String code, Integer phoneCode, String currencyName,
+                          String currencySymbol, String currencyCode, String locale, String geoCode,
+                          boolean localePreferred, AuditStamp audit) implements GeographyNode {
+
+    /**
+     * Copies a country entity.
+     *
+     * @param entity the entity
+     * @return the node
+     */
+    public static CountryNode of(Country entity) {
+        return new CountryNode(entity.getCountryId(), entity.getCountryName(), entity.getCountryCode(),
+                entity.getCountryPhoneCode(), entity.getCurrencyName(), entity.getCurrencySymbol(),
+                entity.getCurrencyCode(), entity.getLocale(), entity.getCountryGeoCode(), entity.isLocalePreferred(),
+                AuditStamp.of(entity));
+    }
+
+    @Override
+    public GeographyLevel level() {
+        return GeographyLevel.COUNTRY;
+    }
+
+    @Override
+    public Integer parentId() {
+        return null;
+    }
+}
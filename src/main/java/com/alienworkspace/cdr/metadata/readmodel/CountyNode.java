@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.County;
+
+/**
+ * Snapshot view of a {@link County}.
+ *
+ * @param id              the county id
+ * @param name            the county name
+ * @param code            the county code
+ * @param geoCode         the county geo code
+ * @param locale          the locale
+ * @param localePreferred whether the locale is preferred
+ * @param phoneCode       the county phone code
+ * @param parentId        the id of the parent state
+ * @param audit           the audit columns
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record CountyNode(int id, String name, String code, String geoCode, String locale, boolean localePreferred,
+                         Integer phoneCode, Integer parentId, AuditStamp audit) implements GeographyNode {
+
+    /**
+     * Copies a county entity.
+     *
+     * @param entity the entity
+     * @return the node
+     */
+    public static CountyNode of(County entity) {
+        return new CountyNode(entity.getCountyId(), entity.getCountyName(), entity.getCountyCode(),
+                entity.getCountyGeoCode(), entity.getLocale(), entity.isLocalePreferred(),
+                entity.getCountyPhoneCode(),
+                entity.getState() != null ? entity.getState().getStateId() : null, AuditStamp.of(entity));
+    }
+
+    @Override
+    public GeographyLevel level() {
+        return GeographyLevel.COUNTY;
+    }
+}
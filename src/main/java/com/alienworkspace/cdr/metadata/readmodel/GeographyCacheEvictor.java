@@ -0,0 +1,161 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.CITY_COMMUNITIES_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COMMUNITY_LOCATIONS_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTRY_STATES_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTY_CITIES_CACHE_REGION;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.STATE_COUNTIES_CACHE_REGION;
+
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts geography data from the Hibernate second-level cache where Hibernate cannot tell it went stale.
+ *
+ * <p>Hibernate keeps a cached row up to date when it is written through the persistence context, but not the
+ * cached child collection of its parent, which is the inverse side of the parent link: adding, removing or moving
+ * a row leaves the old member list in the cache. Only the collections of the parents a row had and has are
+ * evicted, so a write to one location does not empty the cached members of every other community. The previous
+ * parent is taken from the read model, which still holds the state before the change because this listener runs
+ * first; before the read model is loaded the whole collection region is evicted instead. Rows written by another
+ * replica, or past Hibernate by a bulk import, are not known to the local cache at all, and neither are the
+ * cached query results that name them.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Component
+public class GeographyCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final GeographyReadModel geographyReadModel;
+
+    /**
+     * Constructor for GeographyCacheEvictor.
+     *
+     * @param entityManagerFactory the entity manager factory owning the cache
+     * @param geographyReadModel   the read model, which knows the parent a row had before a change
+     */
+    public GeographyCacheEvictor(EntityManagerFactory entityManagerFactory, GeographyReadModel geographyReadModel) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.geographyReadModel = geographyReadModel;
+    }
+
+    /**
+     * Evicts the child collections of the previous and the current parents of the rows changed by a committed
+     * local transaction. Runs before the read model applies the changes.
+     *
+     * @param event the committed changes
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onGeographyChanged(GeographyChangedEvent event) {
+        Cache cache = cache();
+        GeographySnapshot snapshot = geographyReadModel.snapshot().orElse(null);
+        event.changes().forEach(change -> {
+            evictPreviousParent(cache, snapshot, change.level(), change.id());
+            evictParent(cache, change);
+        });
+    }
+
+    /**
+     * Evicts rows changed by another replica, the child collections of the parents they had, and the cached query
+     * results. Runs before the read model re-reads the rows; the collections of the parents they have now are
+     * evicted afterwards by {@link #evictParents(Collection)}.
+     *
+     * @param invalidations the changed rows
+     */
+    public void evict(Collection<GeographyInvalidation> invalidations) {
+        Cache cache = cache();
+        GeographySnapshot snapshot = geographyReadModel.snapshot().orElse(null);
+        invalidations.forEach(invalidation -> {
+            cache.evictEntityData(entityOf(invalidation.level()), invalidation.id());
+            evictPreviousParent(cache, snapshot, invalidation.level(), invalidation.id());
+        });
+        cache.evictQueryRegions();
+    }
+
+    /**
+     * Evicts the child collections of the parents that changed rows have now.
+     *
+     * @param changes the changes, as read back from the database
+     */
+    public void evictParents(Collection<GeographyChange> changes) {
+        Cache cache = cache();
+        changes.forEach(change -> evictParent(cache, change));
+    }
+
+    /**
+     * Evicts everything, after rows were written past Hibernate.
+     */
+    public void evictAll() {
+        cache().evictAllRegions();
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    private static void evictParent(Cache cache, GeographyChange change) {
+        if (!change.isRemoval() && change.node().parentId() != null) {
+            cache.evictCollectionData(parentCollectionRole(change.level()), change.node().parentId());
+        }
+    }
+
+    private static void evictPreviousParent(Cache cache, GeographySnapshot snapshot, GeographyLevel level, int id) {
+        if (level == GeographyLevel.COUNTRY) {
+            return;
+        }
+        if (snapshot == null) {
+            cache.evictRegion(parentCollectionRegion(level));
+            return;
+        }
+        snapshot.node(level, id)
+                .map(GeographyNode::parentId)
+                .ifPresent(parentId -> cache.evictCollectionData(parentCollectionRole(level), parentId));
+    }
+
+    private static Class<?> entityOf(GeographyLevel level) {
+        return switch (level) {
+            case COUNTRY -> Country.class;
+            case STATE -> State.class;
+            case COUNTY -> County.class;
+            case CITY -> City.class;
+            case COMMUNITY -> Community.class;
+            case LOCATION -> Location.class;
+        };
+    }
+
+    private static String parentCollectionRole(GeographyLevel level) {
+        return switch (level) {
+            case STATE -> Country.class.getName() + ".states";
+            case COUNTY -> State.class.getName() + ".counties";
+            case CITY -> County.class.getName() + ".cities";
+            case COMMUNITY -> City.class.getName() + ".communities";
+            case LOCATION -> Community.class.getName() + ".locations";
+            case COUNTRY -> throw new IllegalArgumentException("Countries have no parent");
+        };
+    }
+
+    private static String parentCollectionRegion(GeographyLevel level) {
+        return switch (level) {
+            case STATE -> COUNTRY_STATES_CACHE_REGION;
+            case COUNTY -> STATE_COUNTIES_CACHE_REGION;
+            case CITY -> COUNTY_CITIES_CACHE_REGION;
+            case COMMUNITY -> CITY_COMMUNITIES_CACHE_REGION;
+            case LOCATION -> COMMUNITY_LOCATIONS_CACHE_REGION;
+            case COUNTRY -> throw new IllegalArgumentException("Countries have no parent");
+        };
+    }
+}
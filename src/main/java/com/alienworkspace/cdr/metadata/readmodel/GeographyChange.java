@@ -0,0 +1,42 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+/**
+ * A committed change to one row of the geography hierarchy.
+ *
+ * @param level the level of the changed row
+ * @param id    the id of the changed row
+ * @param node  the new state of the row, or {@code null} when the row was removed
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record GeographyChange(GeographyLevel level, int id, GeographyNode node) {
+
+    /**
+     * Creates a change that inserts or replaces a node.
+     *
+     * @param node the new state of the node
+     * @return the change
+     */
+    public static GeographyChange upsert(GeographyNode node) {
+        return new GeographyChange(node.level(), node.id(), node);
+    }
+
+    /**
+     * Creates a change that removes a node.
+     *
+     * @param level the level of the removed node
+     * @param id    the id of the removed node
+     * @return the change
+     */
+    public static GeographyChange removal(GeographyLevel level, int id) {
+        return new GeographyChange(level, id, null);
+    }
+
+    /**
+     * Whether this change removes the row.
+     *
+     * @return true for removals
+     */
+    public boolean isRemoval() {
+        return node == null;
+    }
+}
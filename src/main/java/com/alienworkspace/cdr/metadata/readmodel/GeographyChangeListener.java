@@ -0,0 +1,184 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that records every flushed insert, update and delete of a geography entity and
+ * publishes them as a single {@link GeographyChangedEvent} once the surrounding transaction commits.
+ *
+ * <p>Changes of a rolled back transaction are discarded. Outside of a transaction the change is published
+ * immediately.
+ *
+ * <p>Every inserted or updated row is also stamped, in the same transaction, with the commit sequence number the
+ * transaction takes from {@link ChangeSequence} on its first change, which orders the change feed. The number is
+ * also set on the entity and carried by the node of the change, so the read model can tell an older copy of a row
+ * from a newer one when events arrive out of order.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public class GeographyChangeListener {
+
+    private ApplicationEventPublisher publisher;
+    private ChangeSequence changeSequence;
+
+    /**
+     * Injects the publisher. Hibernate creates entity listeners through Spring's bean container, so this is
+     * called once per listener instance.
+     *
+     * @param publisher the application event publisher
+     */
+    @Autowired
+    public void setPublisher(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Injects the change sequence.
+     *
+     * @param changeSequence the change sequence
+     */
+    @Autowired
+    public void setChangeSequence(ChangeSequence changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    /**
+     * Records an inserted or updated entity.
+     *
+     * @param entity the entity
+     */
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        GeographyNode node = toNode(entity);
+        if (node == null || publisher == null) {
+            return;
+        }
+        Long seq = changeSequence == null ? null : stamp(node);
+        if (seq != null) {
+            ((AuditTrail) entity).setChangeSeq(seq);
+            node = toNode(entity);
+        }
+        record(GeographyChange.upsert(node), seq);
+    }
+
+    /**
+     * Records a removed entity.
+     *
+     * @param entity the entity
+     */
+    @PostRemove
+    public void onRemoved(Object entity) {
+        GeographyNode node = toNode(entity);
+        if (node != null) {
+            record(GeographyChange.removal(node.level(), node.id()), null);
+        }
+    }
+
+    /**
+     * Converts a geography entity to its snapshot node.
+     *
+     * @param entity the entity
+     * @return the node, or {@code null} when the entity is not part of the geography hierarchy
+     */
+    public static GeographyNode toNode(Object entity) {
+        if (entity instanceof Country country) {
+            return CountryNode.of(country);
+        } else if (entity instanceof State state) {
+            return StateNode.of(state);
+        } else if (entity instanceof County county) {
+            return CountyNode.of(county);
+        } else if (entity instanceof City city) {
+            return CityNode.of(city);
+        } else if (entity instanceof Community community) {
+            return CommunityNode.of(community);
+        } else if (entity instanceof Location location) {
+            return LocationNode.of(location);
+        }
+        return null;
+    }
+
+    /**
+     * Takes the commit sequence number of the surrounding transaction, or a number of its own outside of one, and
+     * stamps it on the row of a node.
+     */
+    private long stamp(GeographyNode node) {
+        ChangeBuffer buffer = TransactionSynchronizationManager.isSynchronizationActive() ? buffer() : null;
+        long seq;
+        if (buffer == null) {
+            seq = changeSequence.next();
+        } else {
+            if (buffer.seq == null) {
+                buffer.seq = changeSequence.next();
+            }
+            seq = buffer.seq;
+        }
+        changeSequence.stamp(node.level(), node.id(), seq);
+        return seq;
+    }
+
+    private void record(GeographyChange change, Long seq) {
+        if (publisher == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishEvent(new GeographyChangedEvent(List.of(change), seq));
+            return;
+        }
+        buffer().add(change);
+    }
+
+    private ChangeBuffer buffer() {
+        ChangeBuffer buffer = (ChangeBuffer) TransactionSynchronizationManager.getResource(ChangeBuffer.class);
+        if (buffer == null) {
+            buffer = new ChangeBuffer(publisher);
+            TransactionSynchronizationManager.bindResource(ChangeBuffer.class, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Per-transaction buffer of changes, keyed by level and id so the last flush of a row wins.
+     */
+    private static final class ChangeBuffer implements TransactionSynchronization {
+
+        private final ApplicationEventPublisher publisher;
+        private final Map<String, GeographyChange> changes = new LinkedHashMap<>();
+        private Long seq;
+
+        private ChangeBuffer(ApplicationEventPublisher publisher) {
+            this.publisher = publisher;
+        }
+
+        private void add(GeographyChange change) {
+            String key = change.level() + ":" + change.id();
+            changes.remove(key);
+            changes.put(key, change);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeBuffer.class);
+            if (status == STATUS_COMMITTED && !changes.isEmpty()) {
+                publisher.publishEvent(new GeographyChangedEvent(List.copyOf(changes.values()), seq));
+            }
+        }
+    }
+}
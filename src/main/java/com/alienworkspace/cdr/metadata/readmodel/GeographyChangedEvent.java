@@ -0,0 +1,33 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.List;
+
+/**
+ * Application event published once per committed transaction that created, updated or removed geography rows.
+ *
+ * @param changes the changes of the transaction, in the order they were flushed
+ * @param seq     the commit sequence number stamped on the transaction's rows, or {@code null} when it only
+ *                removed rows
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record GeographyChangedEvent(List<GeographyChange> changes, Long seq) {
+
+    /**
+     * Creates the event with a defensive copy of the changes.
+     *
+     * @param changes the changes of the transaction
+     * @param seq     the commit sequence number of the transaction
+     */
+    public GeographyChangedEvent {
+        changes = List.copyOf(changes);
+    }
+
+    /**
+     * Creates an event without a commit sequence number.
+     *
+     * @param changes the changes of the transaction
+     */
+    public GeographyChangedEvent(List<GeographyChange> changes) {
+        this(changes, null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+/**
+ * Compact notice, sent to the other replicas, that one row of the geography hierarchy changed.
+ *
+ * @param level   the level of the changed row
+ * @param id      the id of the changed row
+ * @param version the commit sequence number of the change, or {@code null} for removals
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record GeographyInvalidation(GeographyLevel level, int id, Long version) {
+
+    /**
+     * Creates the notice for a committed change.
+     *
+     * @param change the change
+     * @param seq    the commit sequence number of the change's transaction
+     * @return the notice
+     */
+    public static GeographyInvalidation of(GeographyChange change, Long seq) {
+        return new GeographyInvalidation(change.level(), change.id(), change.isRemoval() ? null : seq);
+    }
+}
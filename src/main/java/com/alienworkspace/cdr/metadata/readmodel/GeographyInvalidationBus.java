@@ -0,0 +1,105 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the read models of all replicas in step over Spring Cloud Bus.
+ *
+ * <p>Every committed {@link GeographyChangedEvent} of this replica is sent to the other replicas as one
+ * {@link GeographyInvalidationEvent} naming the changed rows, and every such event from another replica is applied
+ * to the local {@link GeographyReadModel}, after the named rows were evicted from the second-level cache so they
+ * are read back from the database. Only ids and commit sequence numbers travel over the bus; the receiving
+ * replica reads the rows back itself, so a lost or reordered event is repaired by the next one for the same row.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Component
+public class GeographyInvalidationBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeographyInvalidationBus.class);
+
+    private final ApplicationEventPublisher publisher;
+    private final BusProperties busProperties;
+    private final Destination.Factory destinationFactory;
+    private final GeographyReadModel geographyReadModel;
+    private final GeographyCacheEvictor geographyCacheEvictor;
+
+    /**
+     * Constructor for GeographyInvalidationBus.
+     *
+     * @param publisher             the application event publisher; the bus forwards remote events published on it
+     * @param busProperties         the bus properties, which hold the id of this replica
+     * @param destinationFactory    the factory of bus destinations
+     * @param geographyReadModel    the local read model
+     * @param geographyCacheEvictor the evictor of the local second-level cache
+     */
+    public GeographyInvalidationBus(ApplicationEventPublisher publisher, BusProperties busProperties,
+                                    Destination.Factory destinationFactory, GeographyReadModel geographyReadModel,
+                                    GeographyCacheEvictor geographyCacheEvictor) {
+        this.publisher = publisher;
+        this.busProperties = busProperties;
+        this.destinationFactory = destinationFactory;
+        this.geographyReadModel = geographyReadModel;
+        this.geographyCacheEvictor = geographyCacheEvictor;
+    }
+
+    /**
+     * Sends the rows changed by a committed local transaction to the other replicas.
+     *
+     * @param event the committed changes
+     */
+    @EventListener
+    public void onGeographyChanged(GeographyChangedEvent event) {
+        List<GeographyInvalidation> invalidations = event.changes().stream()
+                .map(change -> GeographyInvalidation.of(change, event.seq()))
+                .toList();
+        if (!invalidations.isEmpty()) {
+            publish(invalidations, false);
+        }
+    }
+
+    /**
+     * Tells the other replicas to reload the whole hierarchy, after a bulk import wrote more rows than are worth
+     * listing.
+     */
+    public void broadcastReload() {
+        publish(List.of(), true);
+    }
+
+    /**
+     * Applies an invalidation sent by another replica. Events sent by this replica are ignored, its read model is
+     * already up to date.
+     *
+     * @param event the invalidation
+     */
+    @EventListener
+    public void onInvalidation(GeographyInvalidationEvent event) {
+        if (busProperties.getId().equals(event.getOriginService())) {
+            return;
+        }
+        LOGGER.debug("Applying geography invalidation {} from {}", event.getId(), event.getOriginService());
+        if (event.isReload()) {
+            geographyCacheEvictor.evictAll();
+            geographyReadModel.reload();
+        } else {
+            geographyCacheEvictor.evict(event.getInvalidations());
+            geographyCacheEvictor.evictParents(geographyReadModel.refresh(event.getInvalidations()));
+        }
+    }
+
+    private void publish(List<GeographyInvalidation> invalidations, boolean reload) {
+        try {
+            publisher.publishEvent(new GeographyInvalidationEvent(this, busProperties.getId(),
+                    destinationFactory.getDestination(null), invalidations, reload));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to broadcast geography invalidation of {} rows", invalidations.size(), e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Spring Cloud Bus event that tells the other replicas which geography rows changed, or that a bulk import
+ * changed too many rows to list and the whole hierarchy has to be reloaded.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Getter
+@Setter
+public class GeographyInvalidationEvent extends RemoteApplicationEvent {
+
+    private List<GeographyInvalidation> invalidations = List.of();
+    private boolean reload;
+
+    /**
+     * Constructor used when the event is read from the bus.
+     */
+    public GeographyInvalidationEvent() {
+        super();
+    }
+
+    /**
+     * Constructor for GeographyInvalidationEvent.
+     *
+     * @param source        the object publishing the event
+     * @param originService the bus id of the publishing replica
+     * @param destination   the replicas the event is sent to
+     * @param invalidations the changed rows
+     * @param reload        whether the whole hierarchy has to be reloaded
+     */
+    public GeographyInvalidationEvent(Object source, String originService, Destination destination,
+                                      List<GeographyInvalidation> invalidations, boolean reload) {
+        super(source, originService, destination);
+        this.invalidations = List.copyOf(invalidations);
+        this.reload = reload;
+    }
+}
@@ -0,0 +1,66 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+
+/**
+ * The six levels of the geography hierarchy, ordered from the root (country) to the leaf (location).
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public enum GeographyLevel {
+    COUNTRY("countries"),
+    STATE("states"),
+    COUNTY("counties"),
+    CITY("cities"),
+    COMMUNITY("communities"),
+    LOCATION("locations");
+
+    private final String resource;
+
+    GeographyLevel(String resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Returns the level whose REST resource has the given name, such as {@code counties}.
+     *
+     * @param resource the resource name
+     * @return the level
+     * @throws InvalidRequestException if no level has that resource name
+     */
+    public static GeographyLevel fromResource(String resource) {
+        for (GeographyLevel level : values()) {
+            if (level.resource.equals(resource)) {
+                return level;
+            }
+        }
+        throw new InvalidRequestException("Unknown geography level: " + resource);
+    }
+
+    /**
+     * Returns the name of the REST resource of this level, such as {@code counties}.
+     *
+     * @return the resource name
+     */
+    public String resource() {
+        return resource;
+    }
+
+    /**
+     * Returns the level directly above this one, or {@code null} for the country level.
+     *
+     * @return the parent level
+     */
+    public GeographyLevel parent() {
+        return this == COUNTRY ? null : values()[ordinal() - 1];
+    }
+
+    /**
+     * Returns the level directly below this one, or {@code null} for the location level.
+     *
+     * @return the child level
+     */
+    public GeographyLevel child() {
+        return this == LOCATION ? null : values()[ordinal() + 1];
+    }
+}
@@ -0,0 +1,73 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+/**
+ * Immutable, detached view of a single row of the geography hierarchy held by the {@link GeographySnapshot}.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface GeographyNode {
+
+    /**
+     * The level of the hierarchy this node belongs to.
+     *
+     * @return the level
+     */
+    GeographyLevel level();
+
+    /**
+     * The primary key of the node.
+     *
+     * @return the id
+     */
+    int id();
+
+    /**
+     * The primary key of the parent node, or {@code null} for countries.
+     *
+     * @return the parent id
+     */
+    Integer parentId();
+
+    /**
+     * The display name of the node.
+     *
+     * @return the name
+     */
+    String name();
+
+    /**
+     * The code of the node.
+     *
+     * @return the code
+     */
+    String code();
+
+    /**
+     * The audit information of the node.
+     *
+     * @return the audit stamp
+     */
+    AuditStamp audit();
+
+    /**
+     * The commit sequence number of the transaction that last wrote the row.
+     *
+     * @return the commit sequence number, or {@code null} when it is not known
+     */
+    default Long changeSeq() {
+        return audit() == null ? null : audit().changeSeq();
+    }
+
+    /**
+     * Whether this copy of a row was written before another copy of the same row: both carry a commit sequence
+     * number and this one's is lower. Copies without a number are never older, so they always apply.
+     *
+     * @param other the other copy, or {@code null}
+     * @return whether this copy is older
+     */
+    default boolean isOlderThan(GeographyNode other) {
+        Long changeSeq = changeSeq();
+        Long otherChangeSeq = other == null ? null : other.changeSeq();
+        return changeSeq != null && otherChangeSeq != null && changeSeq < otherChangeSeq;
+    }
+}
@@ -0,0 +1,17 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+/**
+ * A verified chain of ancestors from a country down to, at most, a location. Levels below the last requested
+ * one are {@code null}.
+ *
+ * @param country   the country
+ * @param state     the state of the country, or {@code null}
+ * @param county    the county of the state, or {@code null}
+ * @param city      the city of the county, or {@code null}
+ * @param community the community of the city, or {@code null}
+ * @param location  the location of the community, or {@code null}
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record GeographyPath(CountryNode country, StateNode state, CountyNode county, CityNode city,
+                            CommunityNode community, LocationNode location) {
+}
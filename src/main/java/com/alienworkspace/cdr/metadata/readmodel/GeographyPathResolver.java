@@ -0,0 +1,197 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resolves a country → … → location chain of ids in one step and verifies that every id is a child of the
+ * previous one.
+ *
+ * <p>The chain is read from the {@link GeographyReadModel} when it is loaded, and otherwise fetched with the
+ * single {@link CountryRepository#findPath} query. Resolution stops at the first {@code null} id.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Component
+public class GeographyPathResolver {
+
+    private final GeographyReadModel geographyReadModel;
+    private final CountryRepository countryRepository;
+    private final StateRepository stateRepository;
+    private final CountyRepository countyRepository;
+    private final CityRepository cityRepository;
+    private final CommunityRepository communityRepository;
+    private final LocationRepository locationRepository;
+
+    /**
+     * Constructor for GeographyPathResolver.
+     *
+     * @param geographyReadModel  the in-memory read model
+     * @param countryRepository   the country repository
+     * @param stateRepository     the state repository
+     * @param countyRepository    the county repository
+     * @param cityRepository      the city repository
+     * @param communityRepository the community repository
+     * @param locationRepository  the location repository
+     */
+    public GeographyPathResolver(GeographyReadModel geographyReadModel, CountryRepository countryRepository,
+                                 StateRepository stateRepository, CountyRepository countyRepository,
+                                 CityRepository cityRepository, CommunityRepository communityRepository,
+                                 LocationRepository locationRepository) {
+        this.geographyReadModel = geographyReadModel;
+        this.countryRepository = countryRepository;
+        this.stateRepository = stateRepository;
+        this.countyRepository = countyRepository;
+        this.cityRepository = cityRepository;
+        this.communityRepository = communityRepository;
+        this.locationRepository = locationRepository;
+    }
+
+    /**
+     * Resolve and verify a chain of ids.
+     *
+     * @param countryId   the id of the country
+     * @param stateId     the id of the state, or {@code null}
+     * @param countyId    the id of the county, or {@code null}
+     * @param cityId      the id of the city, or {@code null}
+     * @param communityId the id of the community, or {@code null}
+     * @param locationId  the id of the location, or {@code null}
+     * @return the resolved path
+     * @throws ResourceNotFoundException when an id does not exist or is not a child of the previous id
+     */
+    public GeographyPath resolve(int countryId, Integer stateId, Integer countyId, Integer cityId,
+                                 Integer communityId, Integer locationId) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return resolve(snapshot.get(), countryId, stateId, countyId, cityId, communityId, locationId);
+        }
+        List<Object[]> rows = countryRepository.findPath(countryId, stateId, countyId, cityId, communityId,
+                locationId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Country not found");
+        }
+        Object[] row = rows.get(0);
+        return verify(CountryNode.of((Country) row[0]),
+                stateId, row[1] == null ? null : StateNode.of((State) row[1]),
+                countyId, row[2] == null ? null : CountyNode.of((County) row[2]),
+                cityId, row[3] == null ? null : CityNode.of((City) row[3]),
+                communityId, row[4] == null ? null : CommunityNode.of((Community) row[4]),
+                locationId, row[5] == null ? null : LocationNode.of((Location) row[5]));
+    }
+
+    /**
+     * Resolve and verify a chain of ids against a given snapshot.
+     *
+     * @param view        the snapshot to resolve against
+     * @param countryId   the id of the country
+     * @param stateId     the id of the state, or {@code null}
+     * @param countyId    the id of the county, or {@code null}
+     * @param cityId      the id of the city, or {@code null}
+     * @param communityId the id of the community, or {@code null}
+     * @param locationId  the id of the location, or {@code null}
+     * @return the resolved path
+     * @throws ResourceNotFoundException when an id does not exist or is not a child of the previous id
+     */
+    public GeographyPath resolve(GeographySnapshot view, int countryId, Integer stateId, Integer countyId,
+                                 Integer cityId, Integer communityId, Integer locationId) {
+        return verify(view.country(countryId).orElse(null),
+                stateId, stateId == null ? null : view.state(stateId).orElse(null),
+                countyId, countyId == null ? null : view.county(countyId).orElse(null),
+                cityId, cityId == null ? null : view.city(cityId).orElse(null),
+                communityId, communityId == null ? null : view.community(communityId).orElse(null),
+                locationId, locationId == null ? null : view.location(locationId).orElse(null));
+    }
+
+    /**
+     * Returns a snapshot that contains at least every id referenced by the given requests. This is the live
+     * read model when it is loaded; otherwise the rows are fetched with one IN query per level, parents first,
+     * so the eager parent of every row is already in the persistence context.
+     *
+     * @param requests the requests to prepare a lookup for
+     * @return a snapshot to pass to {@link #resolve(GeographySnapshot, int, Integer, Integer, Integer, Integer,
+     *     Integer)}
+     */
+    @Transactional(readOnly = true)
+    public GeographySnapshot lookup(Collection<PersonLocationRequest> requests) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get();
+        }
+        return GeographySnapshot.of(0L,
+                countryRepository.findAllById(ids(requests, PersonLocationRequest::getCountryId)).stream()
+                        .map(CountryNode::of).toList(),
+                stateRepository.findAllById(ids(requests, PersonLocationRequest::getStateId)).stream()
+                        .map(StateNode::of).toList(),
+                countyRepository.findAllById(ids(requests, PersonLocationRequest::getCountyId)).stream()
+                        .map(CountyNode::of).toList(),
+                cityRepository.findAllById(ids(requests, PersonLocationRequest::getCityId)).stream()
+                        .map(CityNode::of).toList(),
+                communityRepository.findAllById(ids(requests, PersonLocationRequest::getCommunityId)).stream()
+                        .map(CommunityNode::of).toList(),
+                locationRepository.findAllById(ids(requests, PersonLocationRequest::getLocationId)).stream()
+                        .map(LocationNode::of).toList());
+    }
+
+    private static Set<Integer> ids(Collection<PersonLocationRequest> requests,
+                                    Function<PersonLocationRequest, Integer> id) {
+        Set<Integer> ids = new TreeSet<>();
+        for (PersonLocationRequest request : requests) {
+            if (request != null && id.apply(request) != null) {
+                ids.add(id.apply(request));
+            }
+        }
+        return ids;
+    }
+
+    private static GeographyPath verify(CountryNode country, Integer stateId, StateNode state,
+                                        Integer countyId, CountyNode county, Integer cityId, CityNode city,
+                                        Integer communityId, CommunityNode community,
+                                        Integer locationId, LocationNode location) {
+        if (country == null) {
+            throw new ResourceNotFoundException("Country not found");
+        }
+        StateNode verifiedState = descend(country, stateId, state, "State");
+        CountyNode verifiedCounty = descend(verifiedState, countyId, county, "County");
+        CityNode verifiedCity = descend(verifiedCounty, cityId, city, "City");
+        CommunityNode verifiedCommunity = descend(verifiedCity, communityId, community, "Community");
+        LocationNode verifiedLocation = descend(verifiedCommunity, locationId, location, "Location");
+        return new GeographyPath(country, verifiedState, verifiedCounty, verifiedCity, verifiedCommunity,
+                verifiedLocation);
+    }
+
+    private static <N extends GeographyNode> N descend(GeographyNode parent, Integer id, N node, String label) {
+        if (parent == null || id == null) {
+            return null;
+        }
+        if (node == null) {
+            throw new ResourceNotFoundException(label + " not found");
+        }
+        if (!Objects.equals(node.parentId(), parent.id())) {
+            throw new ResourceNotFoundException(label + " " + id + " does not belong to "
+                    + parent.level().name().toLowerCase(Locale.ROOT) + " " + parent.id());
+        }
+        return node;
+    }
+}
@@ -0,0 +1,277 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.audit.AuditTrail;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-process read model of the geography hierarchy.
+ *
+ * <p>The full hierarchy is loaded once the application is ready and then patched with every committed
+ * {@link GeographyChangedEvent}. Each patch publishes a new immutable {@link GeographySnapshot} with a single
+ * reference swap, so readers see either all or none of a transaction's changes. Until the first load completes
+ * {@link #snapshot()} is empty and callers fall back to the repositories. A {@link GeographySearchIndex} is kept
+ * alongside the snapshot and patched with the same changes.
+ *
+ * <p>Changes committed by other replicas arrive as {@link GeographyInvalidation}s and are applied by
+ * {@link #refresh(Collection)}, which reads the current state of the named rows back from the database.
+ *
+ * <p>Every read runs in a read-write transaction, so it borrows from the primary: a read-only one would go to the
+ * replica, which may not have the commits the read model is being brought up to yet.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+@Component
+public class GeographyReadModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeographyReadModel.class);
+    private static final int PAGE_SIZE = 1000;
+
+    private final CountryRepository countryRepository;
+    private final StateRepository stateRepository;
+    private final CountyRepository countyRepository;
+    private final CityRepository cityRepository;
+    private final CommunityRepository communityRepository;
+    private final LocationRepository locationRepository;
+    private final TransactionTemplate primary;
+
+    private final AtomicReference<GeographySnapshot> current = new AtomicReference<>();
+    private volatile GeographySearchIndex searchIndex = GeographySearchIndex.empty();
+    private final List<GeographyChangedEvent> pending = new ArrayList<>();
+    private boolean loading;
+    /**
+     * Guards {@link #pending} and {@link #loading} and serializes snapshot swaps. A lock rather than a monitor, so
+     * that request threads queued behind a patch do not pin their carrier when running on virtual threads.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Constructor for GeographyReadModel.
+     *
+     * @param countryRepository   the country repository
+     * @param stateRepository     the state repository
+     * @param countyRepository    the county repository
+     * @param cityRepository      the city repository
+     * @param communityRepository the community repository
+     * @param locationRepository  the location repository
+     * @param transactionManager  the transaction manager of the reads
+     */
+    public GeographyReadModel(CountryRepository countryRepository, StateRepository stateRepository,
+                              CountyRepository countyRepository, CityRepository cityRepository,
+                              CommunityRepository communityRepository, LocationRepository locationRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.countryRepository = countryRepository;
+        this.stateRepository = stateRepository;
+        this.countyRepository = countyRepository;
+        this.cityRepository = cityRepository;
+        this.communityRepository = communityRepository;
+        this.locationRepository = locationRepository;
+        this.primary = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Returns the current snapshot, or an empty optional while the hierarchy has not been loaded yet.
+     *
+     * @return the current snapshot
+     */
+    public Optional<GeographySnapshot> snapshot() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Returns the type-ahead index over the current hierarchy. It is kept up to date with the same changes as the
+     * snapshot, and is empty while the hierarchy has not been loaded yet.
+     *
+     * @return the search index
+     */
+    public GeographySearchIndex searchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Loads the hierarchy once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Reloads the whole hierarchy from the database and publishes it as a new snapshot. Changes committed while
+     * the load is running are replayed on top of the loaded data.
+     */
+    public void reload() {
+        lock.lock();
+        try {
+            loading = true;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        long started = System.currentTimeMillis();
+        GeographySnapshot loaded;
+        GeographySearchIndex loadedIndex;
+        Map<GeographyLevel, Long> changeSeqs = new EnumMap<>(GeographyLevel.class);
+        try {
+            loaded = GeographySnapshot.of(0L,
+                    loadAll(countryRepository::findByCountryIdGreaterThanOrderByCountryIdAsc, CountryNode::of,
+                            changeSeqs),
+                    loadAll(stateRepository::findByStateIdGreaterThanOrderByStateIdAsc, StateNode::of, changeSeqs),
+                    loadAll(countyRepository::findByCountyIdGreaterThanOrderByCountyIdAsc, CountyNode::of,
+                            changeSeqs),
+                    loadAll(cityRepository::findByCityIdGreaterThanOrderByCityIdAsc, CityNode::of, changeSeqs),
+                    loadAll(communityRepository::findByCommunityIdGreaterThanOrderByCommunityIdAsc,
+                            CommunityNode::of, changeSeqs),
+                    loadAll(locationRepository::findByLocationIdGreaterThanOrderByLocationIdAsc, LocationNode::of,
+                            changeSeqs))
+                    .withChangeSeqs(changeSeqs);
+            loadedIndex = GeographySearchIndex.of(loaded);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                loading = false;
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+            LOGGER.error("Failed to load the geography read model", e);
+            return;
+        }
+        lock.lock();
+        try {
+            GeographySnapshot previous = current.get();
+            long version = previous == null ? 1L : previous.version() + 1;
+            List<GeographyChange> replayed = new ArrayList<>();
+            Long replayedSeq = null;
+            for (GeographyChangedEvent event : pending) {
+                replayed.addAll(event.changes());
+                replayedSeq = maxSeq(replayedSeq, event.seq());
+            }
+            GeographySnapshot next = loaded.withVersion(version).apply(replayed, replayedSeq);
+            loadedIndex.apply(replayed);
+            current.set(next);
+            searchIndex = loadedIndex;
+            loading = false;
+            pending.clear();
+            LOGGER.info("Loaded geography read model version {} with {} nodes in {} ms", next.version(),
+                    next.size(), System.currentTimeMillis() - started);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the changes of a committed transaction as one new snapshot.
+     *
+     * @param event the committed changes
+     */
+    @EventListener
+    public void onGeographyChanged(GeographyChangedEvent event) {
+        lock.lock();
+        try {
+            if (loading) {
+                pending.add(event);
+            }
+            GeographySnapshot snapshot = current.get();
+            if (snapshot != null) {
+                current.set(snapshot.apply(event.changes(), event.seq()));
+                searchIndex.apply(event.changes());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads the given rows from the database and applies their current state, or their removal when they no
+     * longer exist, as one new snapshot. Because the rows are read back rather than taken from the notice, applying
+     * the same or an older invalidation again is harmless.
+     *
+     * @param invalidations the changed rows
+     * @return the changes applied
+     */
+    public List<GeographyChange> refresh(Collection<GeographyInvalidation> invalidations) {
+        Map<GeographyLevel, Collection<Integer>> ids = new EnumMap<>(GeographyLevel.class);
+        invalidations.forEach(invalidation -> ids.computeIfAbsent(invalidation.level(), level -> new LinkedHashSet<>())
+                .add(invalidation.id()));
+        Long seq = null;
+        for (GeographyInvalidation invalidation : invalidations) {
+            seq = maxSeq(seq, invalidation.version());
+        }
+        List<GeographyChange> changes = new ArrayList<>();
+        ids.forEach((level, levelIds) -> {
+            Map<Integer, GeographyNode> found = new HashMap<>();
+            primary.execute(status -> findAllById(level, levelIds)).forEach(node -> found.put(node.id(), node));
+            levelIds.forEach(id -> changes.add(found.containsKey(id)
+                    ? GeographyChange.upsert(found.get(id)) : GeographyChange.removal(level, id)));
+        });
+        if (!changes.isEmpty()) {
+            onGeographyChanged(new GeographyChangedEvent(changes, seq));
+        }
+        return changes;
+    }
+
+    private List<? extends GeographyNode> findAllById(GeographyLevel level, Collection<Integer> ids) {
+        return switch (level) {
+            case COUNTRY -> countryRepository.findAllById(ids).stream().map(CountryNode::of).toList();
+            case STATE -> stateRepository.findAllById(ids).stream().map(StateNode::of).toList();
+            case COUNTY -> countyRepository.findAllById(ids).stream().map(CountyNode::of).toList();
+            case CITY -> cityRepository.findAllById(ids).stream().map(CityNode::of).toList();
+            case COMMUNITY -> communityRepository.findAllById(ids).stream().map(CommunityNode::of).toList();
+            case LOCATION -> locationRepository.findAllById(ids).stream().map(LocationNode::of).toList();
+        };
+    }
+
+    private static Long maxSeq(Long a, Long b) {
+        return a == null ? b : b == null ? a : Long.valueOf(Math.max(a, b));
+    }
+
+    /**
+     * Reads a whole level in pages of ascending ids, each starting after the last id of the previous one. Every page
+     * is an index range scan, unlike offset paging, which skips ever more rows and counts the table on every page.
+     * The highest commit sequence number of the rows read is recorded for the level. Each page is read in a
+     * transaction of its own, on the primary, so the persistence context never holds more than one page.
+     */
+    private <E extends AuditTrail, N extends GeographyNode> List<N> loadAll(
+            BiFunction<Integer, Limit, List<E>> pageAfter, Function<E, N> toNode,
+            Map<GeographyLevel, Long> changeSeqs) {
+        List<N> nodes = new ArrayList<>();
+        List<E> page;
+        do {
+            int afterId = nodes.isEmpty() ? 0 : nodes.get(nodes.size() - 1).id();
+            page = primary.execute(status -> pageAfter.apply(afterId, Limit.of(PAGE_SIZE)));
+            for (E entity : page) {
+                N node = toNode.apply(entity);
+                nodes.add(node);
+                if (entity.getChangeSeq() != null) {
+                    changeSeqs.merge(node.level(), entity.getChangeSeq(), Math::max);
+                }
+            }
+        } while (page.size() == PAGE_SIZE);
+        return nodes;
+    }
+}
@@ -0,0 +1,408 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix and trigram index over the names and codes of the hierarchy, for type-ahead search and fuzzy
+ * matching.
+ *
+ * <p>Every non-voided node is indexed under its normalized code, its normalized full name and each word of its
+ * name, so {@code "harc"} finds Port Harcourt. Normalizing lower-cases the text and strips diacritics, so matching
+ * ignores both. Each level keeps its terms in two sorted sets, one by term and one by parent and term, and a prefix
+ * lookup is a seek to the first candidate followed by a scan that stops at the result cap: the cost depends on the
+ * cap, not on the number of nodes.
+ *
+ * <p>For fuzzy matching each level also maps the trigrams of every normalized name to the nodes that contain them.
+ * {@link #match(String, Collection, Integer, int)} takes its candidates from the postings of the rarest trigrams of
+ * the query, keeps the candidates similar enough, and ranks them by edit distance, so misspellings such as
+ * {@code "Ikija"} still find Ikeja without scanning every name. The trigrams shared by most names, such as those of
+ * {@code "ward"}, are read last if at all, and a match within a parent reads the children of that parent when
+ * there are fewer of them than postings.
+ *
+ * <p>The sets are concurrent, so searches run without locks while {@link #apply(Collection)} updates the nodes a
+ * transaction changed. Readers may briefly miss a node that is being replaced.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class GeographySearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NO_PARENT = Integer.MIN_VALUE;
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int RERANKED_PER_RESULT = 4;
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private final Map<GeographyLevel, LevelTerms> levels = new EnumMap<>(GeographyLevel.class);
+
+    private GeographySearchIndex() {
+        for (GeographyLevel level : GeographyLevel.values()) {
+            levels.put(level, new LevelTerms());
+        }
+    }
+
+    /**
+     * Returns a new, empty index.
+     *
+     * @return the index
+     */
+    public static GeographySearchIndex empty() {
+        return new GeographySearchIndex();
+    }
+
+    /**
+     * Builds an index of every node of a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the index
+     */
+    public static GeographySearchIndex of(GeographySnapshot snapshot) {
+        GeographySearchIndex index = new GeographySearchIndex();
+        List<Collection<? extends GeographyNode>> all = List.of(snapshot.countries(), snapshot.states(),
+                snapshot.counties(), snapshot.cities(), snapshot.communities(), snapshot.locations());
+        all.forEach(nodes -> nodes.forEach(index::put));
+        return index;
+    }
+
+    /**
+     * Applies committed changes: each changed node is re-indexed, and removed or voided nodes are dropped. Like
+     * {@link GeographySnapshot#apply(Collection, Long)}, an upsert older than the copy of the row the index last
+     * applied is skipped.
+     *
+     * @param changes the changes
+     */
+    public void apply(Collection<GeographyChange> changes) {
+        for (GeographyChange change : changes) {
+            LevelTerms terms = levels.get(change.level());
+            if (!change.isRemoval() && change.node().isOlderThan(terms.applied(change.id()))) {
+                continue;
+            }
+            terms.remove(change.id());
+            if (!change.isRemoval()) {
+                put(change.node());
+            }
+        }
+    }
+
+    /**
+     * Finds the nodes whose code, name or a word of whose name starts with a prefix, ignoring case and diacritics.
+     * The nodes of each level come in the order of their matching terms.
+     *
+     * @param query the prefix typed so far
+     * @param searched the levels to search; every level when empty
+     * @param parentId when not {@code null}, only nodes whose parent has this id are returned
+     * @param limit the maximum number of nodes per level
+     * @return the matching nodes, by level in hierarchy order; levels without matches are left out
+     */
+    public Map<GeographyLevel, List<GeographyNode>> search(String query, Collection<GeographyLevel> searched,
+                                                           Integer parentId, int limit) {
+        String prefix = normalize(query);
+        Map<GeographyLevel, List<GeographyNode>> results = new LinkedHashMap<>();
+        if (prefix.isEmpty()) {
+            return results;
+        }
+        for (GeographyLevel level : GeographyLevel.values()) {
+            if (searched.isEmpty() || searched.contains(level)) {
+                List<GeographyNode> nodes = levels.get(level).search(prefix, parentId, limit);
+                if (!nodes.isEmpty()) {
+                    results.put(level, nodes);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Finds the nodes whose names are close to a possibly misspelled name, best first across all searched levels.
+     *
+     * <p>Candidates are the nodes sharing at least {@value #MIN_SIMILARITY} of their trigrams with the query, as a
+     * Jaccard similarity. A name that similar shares at least that share of the query's trigrams, so it holds one
+     * of the rarest trigrams of the query; only their postings are read, and at most {@value #MAX_CANDIDATES}
+     * candidates per level are checked. The most similar of them are re-ranked by the edit distance between the
+     * normalized names, ties broken by similarity, level and id.
+     *
+     * @param query the name to match
+     * @param searched the levels to search; every level when empty
+     * @param parentId when not {@code null}, only nodes whose parent has this id are returned
+     * @param limit the maximum number of matches
+     * @return the matches, best first
+     */
+    public List<Match> match(String query, Collection<GeographyLevel> searched, Integer parentId, int limit) {
+        String name = normalize(query);
+        List<Match> matches = new ArrayList<>();
+        if (name.isEmpty()) {
+            return matches;
+        }
+        Set<String> grams = trigrams(name);
+        for (GeographyLevel level : GeographyLevel.values()) {
+            if (searched.isEmpty() || searched.contains(level)) {
+                levels.get(level).similar(grams, parentId, matches);
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::similarity).reversed());
+        List<Match> ranked = new ArrayList<>(matches.subList(0, Math.min(matches.size(),
+                limit * RERANKED_PER_RESULT)));
+        ranked.replaceAll(match -> match.withDistance(editDistance(name, match.name())));
+        ranked.sort(Comparator.comparingInt(Match::distance)
+                .thenComparing(Comparator.comparingDouble(Match::similarity).reversed())
+                .thenComparing(match -> match.node().level())
+                .thenComparingInt(match -> match.node().id()));
+        return new ArrayList<>(ranked.subList(0, Math.min(ranked.size(), limit)));
+    }
+
+    /**
+     * Splits normalized text into trigrams. Each word is padded with two leading and one trailing blank, the way
+     * PostgreSQL's {@code pg_trgm} does, so that short words and word starts weigh in.
+     *
+     * @param normalized the normalized text
+     * @return the distinct trigrams
+     */
+    static Set<String> trigrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATORS.split(normalized)) {
+            if (!word.isEmpty()) {
+                String padded = "  " + word + " ";
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    grams.add(padded.substring(i, i + 3));
+                }
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Levenshtein distance between two strings, keeping two rows of the table.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @return the number of single-character insertions, deletions and substitutions turning one into the other
+     */
+    static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                row[j] = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = row;
+            row = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Normalizes text for matching: diacritics are stripped, letters lower-cased and runs of white space collapsed.
+     *
+     * @param text the text
+     * @return the normalized text; empty for {@code null}
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private void put(GeographyNode node) {
+        if (node.audit() != null && node.audit().voided()) {
+            levels.get(node.level()).putVoided(node);
+            return;
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        String name = normalize(node.name());
+        if (!name.isEmpty()) {
+            terms.add(name);
+            for (String word : WORD_SEPARATORS.split(name)) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+        String code = normalize(node.code());
+        if (!code.isEmpty()) {
+            terms.add(code);
+        }
+        levels.get(node.level()).put(node, name, terms);
+    }
+
+    /**
+     * A fuzzy match.
+     *
+     * @param node the matched node
+     * @param name the normalized name of the node
+     * @param similarity the share of trigrams the query and the name have in common, from 0 to 1
+     * @param distance the edit distance between the normalized query and name; -1 until re-ranked
+     */
+    public record Match(GeographyNode node, String name, double similarity, int distance) {
+
+        Match withDistance(int newDistance) {
+            return new Match(node, name, similarity, newDistance);
+        }
+    }
+
+    /**
+     * One indexed term of a node.
+     */
+    private record Term(String term, int parentKey, int id, GeographyNode node) {
+    }
+
+    /**
+     * Everything indexed for one node, so that it can be removed again.
+     */
+    private record Indexed(GeographyNode node, int parentKey, String name, List<Term> terms, Set<String> grams) {
+    }
+
+    /**
+     * The terms of one level.
+     */
+    private static final class LevelTerms {
+        private static final Comparator<Term> BY_TERM = Comparator.comparing(Term::term).thenComparingInt(Term::id);
+        private static final Comparator<Term> BY_PARENT = Comparator.comparingInt(Term::parentKey)
+                .thenComparing(BY_TERM);
+
+        private final NavigableSet<Term> byTerm = new ConcurrentSkipListSet<>(BY_TERM);
+        private final NavigableSet<Term> byParent = new ConcurrentSkipListSet<>(BY_PARENT);
+        private final Map<String, Set<Integer>> byGram = new ConcurrentHashMap<>();
+        private final Map<Integer, Indexed> byNode = new ConcurrentHashMap<>();
+        private final Map<Integer, Set<Integer>> childrenByParent = new ConcurrentHashMap<>();
+        /**
+         * The voided nodes, which are not indexed but whose commit sequence numbers an older upsert is checked
+         * against. Only those that carry one are kept.
+         */
+        private final Map<Integer, GeographyNode> voided = new ConcurrentHashMap<>();
+
+        GeographyNode applied(int id) {
+            Indexed indexed = byNode.get(id);
+            return indexed != null ? indexed.node() : voided.get(id);
+        }
+
+        void putVoided(GeographyNode node) {
+            if (node.changeSeq() != null) {
+                voided.put(node.id(), node);
+            }
+        }
+
+        void put(GeographyNode node, String name, Set<String> terms) {
+            int parentKey = node.parentId() == null ? NO_PARENT : node.parentId();
+            List<Term> entries = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                entries.add(new Term(term, parentKey, node.id(), node));
+            }
+            Set<String> grams = trigrams(name);
+            byNode.put(node.id(), new Indexed(node, parentKey, name, entries, grams));
+            byTerm.addAll(entries);
+            byParent.addAll(entries);
+            childrenByParent.computeIfAbsent(parentKey, key -> ConcurrentHashMap.newKeySet()).add(node.id());
+            for (String gram : grams) {
+                byGram.compute(gram, (key, ids) -> {
+                    Set<Integer> posting = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                    posting.add(node.id());
+                    return posting;
+                });
+            }
+        }
+
+        void remove(int id) {
+            voided.remove(id);
+            Indexed indexed = byNode.remove(id);
+            if (indexed != null) {
+                byTerm.removeAll(indexed.terms());
+                byParent.removeAll(indexed.terms());
+                childrenByParent.computeIfPresent(indexed.parentKey(), (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+                for (String gram : indexed.grams()) {
+                    byGram.computeIfPresent(gram, (key, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+        }
+
+        /**
+         * Adds the nodes similar to a query. A similar node holds at least {@code minShared} of the query's
+         * trigrams, so it is in at least one of the {@code grams.size() - minShared + 1} smallest postings: only
+         * those are read. Within a parent the children of the parent are read instead when there are fewer of them.
+         */
+        void similar(Set<String> grams, Integer parentId, List<Match> matches) {
+            int minShared = Math.max(1, (int) (MIN_SIMILARITY * grams.size()));
+            List<Set<Integer>> sources = grams.stream()
+                    .map(gram -> byGram.getOrDefault(gram, Set.of()))
+                    .sorted(Comparator.comparingInt(Set::size))
+                    .limit(grams.size() - minShared + 1L)
+                    .toList();
+            Set<Integer> children = parentId == null ? null : childrenByParent.getOrDefault(parentId, Set.of());
+            if (children != null && children.size() <= sources.stream().mapToInt(Set::size).sum()) {
+                sources = List.of(children);
+            }
+            Set<Integer> checked = new HashSet<>();
+            for (Set<Integer> ids : sources) {
+                for (Integer id : ids) {
+                    if (checked.size() >= MAX_CANDIDATES) {
+                        return;
+                    }
+                    if ((children == null || children.contains(id)) && checked.add(id)) {
+                        addIfSimilar(id, grams, matches);
+                    }
+                }
+            }
+        }
+
+        private void addIfSimilar(int id, Set<String> grams, List<Match> matches) {
+            Indexed indexed = byNode.get(id);
+            if (indexed == null) {
+                return;
+            }
+            int count = 0;
+            for (String gram : grams) {
+                if (indexed.grams().contains(gram)) {
+                    count++;
+                }
+            }
+            double similarity = (double) count / (grams.size() + indexed.grams().size() - count);
+            if (similarity >= MIN_SIMILARITY) {
+                matches.add(new Match(indexed.node(), indexed.name(), similarity, -1));
+            }
+        }
+
+        List<GeographyNode> search(String prefix, Integer parentId, int limit) {
+            NavigableSet<Term> candidates = parentId == null
+                    ? byTerm.tailSet(new Term(prefix, NO_PARENT, Integer.MIN_VALUE, null), true)
+                    : byParent.tailSet(new Term(prefix, parentId, Integer.MIN_VALUE, null), true);
+            Map<Integer, GeographyNode> found = new LinkedHashMap<>();
+            for (Term candidate : candidates) {
+                if (found.size() >= limit || !candidate.term().startsWith(prefix)
+                        || parentId != null && candidate.parentKey() != parentId) {
+                    break;
+                }
+                found.putIfAbsent(candidate.id(), candidate.node());
+            }
+            return new ArrayList<>(found.values());
+        }
+    }
+}
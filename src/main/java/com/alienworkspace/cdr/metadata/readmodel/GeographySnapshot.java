@@ -0,0 +1,548 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable, versioned copy of the whole Country → State → County → City → Community → Location hierarchy.
+ *
+ * <p>A snapshot is never modified once published; {@link #apply(Collection)} returns a new snapshot with the
+ * next version, so a reader that holds a reference always sees one consistent state of the hierarchy. Each
+ * level also records the version in which it last changed, so that callers can tell whether the data they
+ * derived from some levels is still current, and the highest commit sequence number it holds, which is the same
+ * on every instance that holds the same rows.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class GeographySnapshot {
+
+    private static final GeographySnapshot EMPTY = new GeographySnapshot(0L, levelVersions(0L), levelVersions(0L),
+            LevelIndex.of(List.of()), LevelIndex.of(List.of()), LevelIndex.of(List.of()), LevelIndex.of(List.of()),
+            LevelIndex.of(List.of()), LevelIndex.of(List.of()));
+
+    private final long version;
+    private final long[] levelVersions;
+    private final long[] levelChangeSeqs;
+    private final LevelIndex<CountryNode> countries;
+    private final LevelIndex<StateNode> states;
+    private final LevelIndex<CountyNode> counties;
+    private final LevelIndex<CityNode> cities;
+    private final LevelIndex<CommunityNode> communities;
+    private final LevelIndex<LocationNode> locations;
+    private final Map<String, CountryNode> countriesByCode;
+
+    private GeographySnapshot(long version, long[] levelVersions, long[] levelChangeSeqs,
+                              LevelIndex<CountryNode> countries, LevelIndex<StateNode> states,
+                              LevelIndex<CountyNode> counties, LevelIndex<CityNode> cities,
+                              LevelIndex<CommunityNode> communities, LevelIndex<LocationNode> locations) {
+        this.version = version;
+        this.levelVersions = levelVersions;
+        this.levelChangeSeqs = levelChangeSeqs;
+        this.countries = countries;
+        this.states = states;
+        this.counties = counties;
+        this.cities = cities;
+        this.communities = communities;
+        this.locations = locations;
+        Map<String, CountryNode> byCode = new LinkedHashMap<>();
+        countries.all().forEach(country -> byCode.putIfAbsent(country.code(), country));
+        this.countriesByCode = byCode;
+    }
+
+    /**
+     * Returns the empty snapshot with version 0.
+     *
+     * @return the empty snapshot
+     */
+    public static GeographySnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from a full load of every level.
+     *
+     * @param version     the version of the snapshot
+     * @param countries   all countries
+     * @param states      all states
+     * @param counties    all counties
+     * @param cities      all cities
+     * @param communities all communities
+     * @param locations   all locations
+     * @return the snapshot
+     */
+    public static GeographySnapshot of(long version, Collection<CountryNode> countries, Collection<StateNode> states,
+                                       Collection<CountyNode> counties, Collection<CityNode> cities,
+                                       Collection<CommunityNode> communities, Collection<LocationNode> locations) {
+        return new GeographySnapshot(version, levelVersions(version), levelVersions(0L), LevelIndex.of(countries),
+                LevelIndex.of(states), LevelIndex.of(counties), LevelIndex.of(cities), LevelIndex.of(communities),
+                LevelIndex.of(locations));
+    }
+
+    /**
+     * Returns a copy of this snapshot that carries a different version.
+     *
+     * @param newVersion the version of the copy
+     * @return the copy
+     */
+    public GeographySnapshot withVersion(long newVersion) {
+        return new GeographySnapshot(newVersion, levelVersions(newVersion), levelChangeSeqs, countries, states,
+                counties, cities, communities, locations);
+    }
+
+    /**
+     * Returns a copy of this snapshot that records the highest commit sequence number of each level, as read along
+     * with the rows of a full load.
+     *
+     * @param changeSeqs the highest commit sequence number of each level; levels left out have none
+     * @return the copy
+     */
+    public GeographySnapshot withChangeSeqs(Map<GeographyLevel, Long> changeSeqs) {
+        long[] seqs = levelVersions(0L);
+        changeSeqs.forEach((level, seq) -> seqs[level.ordinal()] = seq);
+        return new GeographySnapshot(version, levelVersions, seqs, countries, states, counties, cities, communities,
+                locations);
+    }
+
+    /**
+     * Returns a new snapshot with the given changes applied and the version incremented by one.
+     * Later changes to the same row win over earlier ones.
+     *
+     * @param changes the changes to apply
+     * @return the new snapshot, or this snapshot when there is nothing to apply
+     */
+    public GeographySnapshot apply(Collection<GeographyChange> changes) {
+        return apply(changes, null);
+    }
+
+    /**
+     * Returns a new snapshot with the given changes of committed transactions applied and the version incremented
+     * by one. The levels they touch record the commit sequence number when it is higher than the one they hold.
+     * Events of concurrent transactions may arrive in any order, so an upsert of a row that is older than the copy
+     * this snapshot holds, by the commit sequence numbers of the two, is skipped rather than applied over it.
+     *
+     * @param changes the changes to apply
+     * @param changeSeq the highest commit sequence number of the changes, or {@code null} when they only remove
+     *                  rows
+     * @return the new snapshot, or this snapshot when there is nothing to apply or every upsert is older
+     */
+    public GeographySnapshot apply(Collection<GeographyChange> changes, Long changeSeq) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        long[] nextLevelChangeSeqs = levelChangeSeqs.clone();
+        Map<GeographyLevel, Map<Integer, GeographyNode>> upserts = new EnumMap<>(GeographyLevel.class);
+        Map<GeographyLevel, Set<Integer>> removals = new EnumMap<>(GeographyLevel.class);
+        long[] nextLevelVersions = levelVersions.clone();
+        boolean applied = false;
+        for (GeographyChange change : changes) {
+            Map<Integer, GeographyNode> levelUpserts = upserts.computeIfAbsent(change.level(),
+                    level -> new LinkedHashMap<>());
+            Set<Integer> levelRemovals = removals.computeIfAbsent(change.level(), level -> new LinkedHashSet<>());
+            if (!change.isRemoval() && change.node().isOlderThan(levelUpserts.containsKey(change.id())
+                    ? levelUpserts.get(change.id()) : node(change.level(), change.id()).orElse(null))) {
+                continue;
+            }
+            applied = true;
+            nextLevelVersions[change.level().ordinal()] = version + 1;
+            if (changeSeq != null) {
+                nextLevelChangeSeqs[change.level().ordinal()] = Math.max(changeSeq,
+                        nextLevelChangeSeqs[change.level().ordinal()]);
+            }
+            if (change.isRemoval()) {
+                levelUpserts.remove(change.id());
+                levelRemovals.add(change.id());
+            } else {
+                levelRemovals.remove(change.id());
+                levelUpserts.put(change.id(), change.node());
+            }
+        }
+        if (!applied) {
+            return this;
+        }
+        return new GeographySnapshot(version + 1, nextLevelVersions, nextLevelChangeSeqs,
+                patch(countries, GeographyLevel.COUNTRY, upserts, removals),
+                patch(states, GeographyLevel.STATE, upserts, removals),
+                patch(counties, GeographyLevel.COUNTY, upserts, removals),
+                patch(cities, GeographyLevel.CITY, upserts, removals),
+                patch(communities, GeographyLevel.COMMUNITY, upserts, removals),
+                patch(locations, GeographyLevel.LOCATION, upserts, removals));
+    }
+
+    private static long[] levelVersions(long version) {
+        long[] versions = new long[GeographyLevel.values().length];
+        Arrays.fill(versions, version);
+        return versions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <N extends GeographyNode> LevelIndex<N> patch(
+            LevelIndex<N> index, GeographyLevel level, Map<GeographyLevel, Map<Integer, GeographyNode>> upserts,
+            Map<GeographyLevel, Set<Integer>> removals) {
+        List<N> levelUpserts = new ArrayList<>();
+        upserts.getOrDefault(level, Map.of()).values().forEach(node -> levelUpserts.add((N) node));
+        return index.patch(levelUpserts, removals.getOrDefault(level, Set.of()));
+    }
+
+    /**
+     * The version of this snapshot. Every applied batch of changes increments it by one.
+     *
+     * @return the version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * The version of the snapshot in which a level last changed: a full load changes every level, and an applied
+     * batch of changes only the levels it touches.
+     *
+     * @param level the level
+     * @return the version
+     */
+    public long levelVersion(GeographyLevel level) {
+        return levelVersions[level.ordinal()];
+    }
+
+    /**
+     * The highest commit sequence number among the rows of a level, as far as this snapshot knows: the highest one
+     * read by the last full load, or of a change applied since. Unlike {@link #levelVersion(GeographyLevel)} it
+     * does not depend on when this instance loaded or patched the level.
+     *
+     * @param level the level
+     * @return the commit sequence number, or 0 when none is known
+     */
+    public long levelChangeSeq(GeographyLevel level) {
+        return levelChangeSeqs[level.ordinal()];
+    }
+
+    /**
+     * The highest commit sequence number this snapshot holds the changes of, across all levels. A change feed
+     * synced from it starts right after the snapshot rather than after whatever committed since.
+     *
+     * @return the commit sequence number, or 0 when none is known
+     */
+    public long changeSeq() {
+        long max = 0;
+        for (long levelChangeSeq : levelChangeSeqs) {
+            max = Math.max(max, levelChangeSeq);
+        }
+        return max;
+    }
+
+    /**
+     * The number of nodes of a level, voided ones included.
+     *
+     * @param level the level
+     * @return the number of nodes
+     */
+    public int levelSize(GeographyLevel level) {
+        return switch (level) {
+            case COUNTRY -> countries.size();
+            case STATE -> states.size();
+            case COUNTY -> counties.size();
+            case CITY -> cities.size();
+            case COMMUNITY -> communities.size();
+            case LOCATION -> locations.size();
+        };
+    }
+
+    /**
+     * Looks up a node of any level by id.
+     *
+     * @param level the level of the node
+     * @param id    the id of the node
+     * @return the node, if present
+     */
+    public Optional<GeographyNode> node(GeographyLevel level, int id) {
+        return Optional.ofNullable(switch (level) {
+            case COUNTRY -> countries.get(id).orElse(null);
+            case STATE -> states.get(id).orElse(null);
+            case COUNTY -> counties.get(id).orElse(null);
+            case CITY -> cities.get(id).orElse(null);
+            case COMMUNITY -> communities.get(id).orElse(null);
+            case LOCATION -> locations.get(id).orElse(null);
+        });
+    }
+
+    /**
+     * Looks up a node of any level by its external id.
+     *
+     * @param level the level of the node
+     * @param uuid  the external id of the node, in its canonical text form
+     * @return the node, if present
+     */
+    public Optional<GeographyNode> nodeByUuid(GeographyLevel level, String uuid) {
+        return Optional.ofNullable(switch (level) {
+            case COUNTRY -> countries.byUuid(uuid).orElse(null);
+            case STATE -> states.byUuid(uuid).orElse(null);
+            case COUNTY -> counties.byUuid(uuid).orElse(null);
+            case CITY -> cities.byUuid(uuid).orElse(null);
+            case COMMUNITY -> communities.byUuid(uuid).orElse(null);
+            case LOCATION -> locations.byUuid(uuid).orElse(null);
+        });
+    }
+
+    /**
+     * Find a country by id.
+     *
+     * @param id the country id
+     * @return the country, if present
+     */
+    public Optional<CountryNode> country(int id) {
+        return countries.get(id);
+    }
+
+    /**
+     * Find a country by its code.
+     *
+     * @param code the country code
+     * @return the country, if present
+     */
+    public Optional<CountryNode> countryByCode(String code) {
+        return Optional.ofNullable(countriesByCode.get(code));
+    }
+
+    /**
+     * Find a state by id.
+     *
+     * @param id the state id
+     * @return the state, if present
+     */
+    public Optional<StateNode> state(int id) {
+        return states.get(id);
+    }
+
+    /**
+     * Find a county by id.
+     *
+     * @param id the county id
+     * @return the county, if present
+     */
+    public Optional<CountyNode> county(int id) {
+        return counties.get(id);
+    }
+
+    /**
+     * Find a city by id.
+     *
+     * @param id the city id
+     * @return the city, if present
+     */
+    public Optional<CityNode> city(int id) {
+        return cities.get(id);
+    }
+
+    /**
+     * Find a community by id.
+     *
+     * @param id the community id
+     * @return the community, if present
+     */
+    public Optional<CommunityNode> community(int id) {
+        return communities.get(id);
+    }
+
+    /**
+     * Find a location by id.
+     *
+     * @param id the location id
+     * @return the location, if present
+     */
+    public Optional<LocationNode> location(int id) {
+        return locations.get(id);
+    }
+
+    /**
+     * All countries, ordered by id.
+     *
+     * @return the countries
+     */
+    public Collection<CountryNode> countries() {
+        return countries.all();
+    }
+
+    /**
+     * All states, ordered by id.
+     *
+     * @return the states
+     */
+    public Collection<StateNode> states() {
+        return states.all();
+    }
+
+    /**
+     * All counties, ordered by id.
+     *
+     * @return the counties
+     */
+    public Collection<CountyNode> counties() {
+        return counties.all();
+    }
+
+    /**
+     * All cities, ordered by id.
+     *
+     * @return the cities
+     */
+    public Collection<CityNode> cities() {
+        return cities.all();
+    }
+
+    /**
+     * All communities, ordered by id.
+     *
+     * @return the communities
+     */
+    public Collection<CommunityNode> communities() {
+        return communities.all();
+    }
+
+    /**
+     * All locations, ordered by id.
+     *
+     * @return the locations
+     */
+    public Collection<LocationNode> locations() {
+        return locations.all();
+    }
+
+    /**
+     * The countries with an id greater than {@code afterId}, ordered by id.
+     *
+     * @param afterId       the id to start after; 0 for the first page
+     * @param includeVoided whether voided countries are included
+     * @param limit         the maximum number of countries to return
+     * @return the countries
+     */
+    public List<CountryNode> countriesAfter(int afterId, boolean includeVoided, int limit) {
+        return countries.after(afterId, includeVoided, limit);
+    }
+
+    /**
+     * The states with an id greater than {@code afterId}, ordered by id.
+     *
+     * @param afterId       the id to start after; 0 for the first page
+     * @param includeVoided whether voided states are included
+     * @param limit         the maximum number of states to return
+     * @return the states
+     */
+    public List<StateNode> statesAfter(int afterId, boolean includeVoided, int limit) {
+        return states.after(afterId, includeVoided, limit);
+    }
+
+    /**
+     * The counties with an id greater than {@code afterId}, ordered by id.
+     *
+     * @param afterId       the id to start after; 0 for the first page
+     * @param includeVoided whether voided counties are included
+     * @param limit         the maximum number of counties to return
+     * @return the counties
+     */
+    public List<CountyNode> countiesAfter(int afterId, boolean includeVoided, int limit) {
+        return counties.after(afterId, includeVoided, limit);
+    }
+
+    /**
+     * The cities with an id greater than {@code afterId}, ordered by id.
+     *
+     * @param afterId       the id to start after; 0 for the first page
+     * @param includeVoided whether voided cities are included
+     * @param limit         the maximum number of cities to return
+     * @return the cities
+     */
+    public List<CityNode> citiesAfter(int afterId, boolean includeVoided, int limit) {
+        return cities.after(afterId, includeVoided, limit);
+    }
+
+    /**
+     * The communities with an id greater than {@code afterId}, ordered by id.
+     *
+     * @param afterId       the id to start after; 0 for the first page
+     * @param includeVoided whether voided communities are included
+     * @param limit         the maximum number of communities to return
+     * @return the communities
+     */
+    public List<CommunityNode> communitiesAfter(int afterId, boolean includeVoided, int limit) {
+        return communities.after(afterId, includeVoided, limit);
+    }
+
+    /**
+     * The locations with an id greater than {@code afterId}, ordered by id.
+     *
+     * @param afterId       the id to start after; 0 for the first page
+     * @param includeVoided whether voided locations are included
+     * @param limit         the maximum number of locations to return
+     * @return the locations
+     */
+    public List<LocationNode> locationsAfter(int afterId, boolean includeVoided, int limit) {
+        return locations.after(afterId, includeVoided, limit);
+    }
+
+    /**
+     * The states of a country, ordered by id.
+     *
+     * @param countryId the country id
+     * @return the states
+     */
+    public List<StateNode> statesOf(int countryId) {
+        return states.childrenOf(countryId);
+    }
+
+    /**
+     * The counties of a state, ordered by id.
+     *
+     * @param stateId the state id
+     * @return the counties
+     */
+    public List<CountyNode> countiesOf(int stateId) {
+        return counties.childrenOf(stateId);
+    }
+
+    /**
+     * The cities of a county, ordered by id.
+     *
+     * @param countyId the county id
+     * @return the cities
+     */
+    public List<CityNode> citiesOf(int countyId) {
+        return cities.childrenOf(countyId);
+    }
+
+    /**
+     * The communities of a city, ordered by id.
+     *
+     * @param cityId the city id
+     * @return the communities
+     */
+    public List<CommunityNode> communitiesOf(int cityId) {
+        return communities.childrenOf(cityId);
+    }
+
+    /**
+     * The locations of a community, ordered by id.
+     *
+     * @param communityId the community id
+     * @return the locations
+     */
+    public List<LocationNode> locationsOf(int communityId) {
+        return locations.childrenOf(communityId);
+    }
+
+    /**
+     * The total number of nodes across all levels.
+     *
+     * @return the number of nodes
+     */
+    public int size() {
+        return countries.size() + states.size() + counties.size() + cities.size() + communities.size()
+                + locations.size();
+    }
+}
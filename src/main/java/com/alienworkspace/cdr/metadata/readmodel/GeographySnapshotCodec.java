@@ -0,0 +1,531 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact binary form of a whole {@link GeographySnapshot}, for the services that keep a local copy of the
+ * hierarchy and would otherwise rebuild it through the list endpoints.
+ *
+ * <p>Format version {@value #FORMAT_VERSION}:
+ * <pre>
+ * snapshot   = "CDRG" formatVersion:u8 gzip(body)
+ * body       = dictionary level{6}                  levels ordered from country to location
+ * dictionary = count (length utf8Bytes){count}
+ * level      = count column*                        every column holds one value per node, nodes ordered by id
+ * columns    = id parentId name code geoCode locale phoneCode localePreferred
+ *              [currencyName currencySymbol currencyCode]   countries only
+ *              createdBy createdAt lastModifiedBy lastModifiedAt voided voidedBy voidedAt voidReason uuid
+ *              changeSeq
+ * </pre>
+ * Counts, lengths and numbers are unsigned LEB128 varints. Ids are stored as the difference to the previous id,
+ * signed numbers are zig-zag encoded and nullable values are stored plus one, with zero for {@code null}. Strings
+ * are positions in the dictionary, again plus one. Booleans are packed eight to a byte, timestamps are UTC epoch
+ * seconds followed by the nanoseconds, and uuids are a packed presence column followed by 16 bytes for each uuid
+ * present.
+ *
+ * <p>The version of the snapshot is local to each instance and is not encoded, so the same hierarchy encodes to
+ * the same bytes on every replica and a content hash identifies it across them. For that, a node copied from an
+ * entity this instance just wrote must hold the same values as the row other instances read back: the entities
+ * truncate their timestamps to the microseconds the database keeps before they are written (see
+ * {@link com.alienworkspace.cdr.metadata.model.audit.AuditTrail#truncateTimestamps()}).
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public final class GeographySnapshotCodec {
+
+    /**
+     * The media type of an encoded snapshot.
+     */
+    public static final String MEDIA_TYPE = "application/vnd.cdr.geography-snapshot";
+
+    /**
+     * The version of the format written by {@link #encode(GeographySnapshot)}.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final byte[] MAGIC = {'C', 'D', 'R', 'G'};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private GeographySnapshotCodec() {}
+
+    /**
+     * Encodes a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return the encoded snapshot
+     */
+    public static byte[] encode(GeographySnapshot snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        try {
+            encode(snapshot, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a snapshot to a stream, which is left open.
+     *
+     * @param snapshot the snapshot
+     * @param out      the stream
+     * @throws IOException if the stream cannot be written
+     */
+    public static void encode(GeographySnapshot snapshot, OutputStream out) throws IOException {
+        List<List<Row>> levels = List.of(rows(snapshot.countries()), rows(snapshot.states()),
+                rows(snapshot.counties()), rows(snapshot.cities()), rows(snapshot.communities()),
+                rows(snapshot.locations()));
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (List<Row> rows : levels) {
+            for (Row row : rows) {
+                row.strings().forEach(value -> {
+                    if (value != null && dictionary.putIfAbsent(value, dictionary.size()) == null) {
+                        strings.add(value);
+                    }
+                });
+            }
+        }
+        Writer writer = new Writer();
+        writer.varint(strings.size());
+        strings.forEach(writer::string);
+        for (int level = 0; level < levels.size(); level++) {
+            writeLevel(writer, levels.get(level), level == GeographyLevel.COUNTRY.ordinal(), dictionary);
+        }
+        out.write(MAGIC);
+        out.write(FORMAT_VERSION);
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+        gzip.write(writer.buffer, 0, writer.size);
+        gzip.finish();
+        gzip.flush();
+    }
+
+    /**
+     * Decodes a snapshot. The decoded snapshot has version 0, like a freshly loaded one.
+     *
+     * @param content the encoded snapshot
+     * @return the snapshot
+     * @throws IOException if the content is not an encoded snapshot of a supported format
+     */
+    public static GeographySnapshot decode(byte[] content) throws IOException {
+        return decode(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Decodes a snapshot from a stream, which is read to its end. The decoded snapshot has version 0, like a freshly
+     * loaded one.
+     *
+     * @param in the stream
+     * @return the snapshot
+     * @throws IOException if the stream cannot be read or does not hold an encoded snapshot of a supported format
+     */
+    public static GeographySnapshot decode(InputStream in) throws IOException {
+        DataInputStream header = new DataInputStream(in);
+        byte[] magic = new byte[MAGIC.length];
+        header.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not an encoded geography snapshot");
+        }
+        int format = header.readUnsignedByte();
+        if (format != FORMAT_VERSION) {
+            throw new IOException("Unsupported geography snapshot format: " + format);
+        }
+        Reader reader = new Reader(new GZIPInputStream(in, BUFFER_SIZE).readAllBytes());
+        String[] dictionary = new String[reader.varint()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = reader.string();
+        }
+        List<CountryNode> countries = readLevel(reader, true, dictionary, GeographySnapshotCodec::country);
+        List<StateNode> states = readLevel(reader, false, dictionary, child(StateNode::new));
+        List<CountyNode> counties = readLevel(reader, false, dictionary, child(CountyNode::new));
+        List<CityNode> cities = readLevel(reader, false, dictionary, child(CityNode::new));
+        List<CommunityNode> communities = readLevel(reader, false, dictionary, child(CommunityNode::new));
+        List<LocationNode> locations = readLevel(reader, false, dictionary, child(LocationNode::new));
+        if (reader.position != reader.buffer.length) {
+            throw new IOException("Unexpected data after the last level of the geography snapshot");
+        }
+        return GeographySnapshot.of(0L, countries, states, counties, cities, communities, locations);
+    }
+
+    private static void writeLevel(Writer writer, List<Row> rows, boolean countries, Map<String, Integer> dictionary) {
+        writer.varint(rows.size());
+        int previous = 0;
+        for (Row row : rows) {
+            writer.varint(row.id() - previous);
+            previous = row.id();
+        }
+        rows.forEach(row -> writer.nullable(row.parentId() == null ? null : row.parentId().longValue()));
+        writeStrings(writer, rows, Row::name, dictionary);
+        writeStrings(writer, rows, Row::code, dictionary);
+        writeStrings(writer, rows, Row::geoCode, dictionary);
+        writeStrings(writer, rows, Row::locale, dictionary);
+        rows.forEach(row -> writer.nullable(row.phoneCode() == null ? null : row.phoneCode().longValue()));
+        writer.bits(rows, Row::localePreferred);
+        if (countries) {
+            writeStrings(writer, rows, Row::currencyName, dictionary);
+            writeStrings(writer, rows, Row::currencySymbol, dictionary);
+            writeStrings(writer, rows, Row::currencyCode, dictionary);
+        }
+        rows.forEach(row -> writer.signed(row.audit().createdBy()));
+        rows.forEach(row -> writer.timestamp(row.audit().createdAt()));
+        rows.forEach(row -> writer.nullable(row.audit().lastModifiedBy()));
+        rows.forEach(row -> writer.timestamp(row.audit().lastModifiedAt()));
+        writer.bits(rows, row -> row.audit().voided());
+        rows.forEach(row -> writer.nullable(row.audit().voidedBy()));
+        rows.forEach(row -> writer.timestamp(row.audit().voidedAt()));
+        writeStrings(writer, rows, row -> row.audit().voidReason(), dictionary);
+        writer.bits(rows, row -> row.audit().uuid() != null);
+        for (Row row : rows) {
+            if (row.audit().uuid() != null) {
+                UUID uuid = UUID.fromString(row.audit().uuid());
+                writer.fixedLong(uuid.getMostSignificantBits());
+                writer.fixedLong(uuid.getLeastSignificantBits());
+            }
+        }
+        rows.forEach(row -> writer.nullable(row.audit().changeSeq()));
+    }
+
+    private static void writeStrings(Writer writer, List<Row> rows, Function<Row, String> column,
+                                     Map<String, Integer> dictionary) {
+        for (Row row : rows) {
+            String value = column.apply(row);
+            writer.varint(value == null ? 0 : dictionary.get(value) + 1);
+        }
+    }
+
+    private static <N extends GeographyNode> List<N> readLevel(Reader reader, boolean countries, String[] dictionary,
+                                                               NodeFactory<N> factory) throws IOException {
+        int count = reader.varint();
+        int[] ids = new int[count];
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += reader.varint();
+            ids[i] = previous;
+        }
+        Long[] parentIds = reader.nullables(count);
+        String[] names = reader.strings(count, dictionary);
+        String[] codes = reader.strings(count, dictionary);
+        String[] geoCodes = reader.strings(count, dictionary);
+        String[] locales = reader.strings(count, dictionary);
+        Long[] phoneCodes = reader.nullables(count);
+        boolean[] localePreferred = reader.bits(count);
+        String[] currencyNames = countries ? reader.strings(count, dictionary) : new String[count];
+        String[] currencySymbols = countries ? reader.strings(count, dictionary) : new String[count];
+        String[] currencyCodes = countries ? reader.strings(count, dictionary) : new String[count];
+        long[] createdBy = new long[count];
+        for (int i = 0; i < count; i++) {
+            createdBy[i] = reader.signed();
+        }
+        LocalDateTime[] createdAt = reader.timestamps(count);
+        Long[] lastModifiedBy = reader.nullables(count);
+        LocalDateTime[] lastModifiedAt = reader.timestamps(count);
+        boolean[] voided = reader.bits(count);
+        Long[] voidedBy = reader.nullables(count);
+        LocalDateTime[] voidedAt = reader.timestamps(count);
+        String[] voidReasons = reader.strings(count, dictionary);
+        boolean[] hasUuid = reader.bits(count);
+        String[] uuids = new String[count];
+        for (int i = 0; i < count; i++) {
+            uuids[i] = hasUuid[i] ? new UUID(reader.fixedLong(), reader.fixedLong()).toString() : null;
+        }
+        Long[] changeSeqs = reader.nullables(count);
+        List<N> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AuditStamp audit = new AuditStamp(createdBy[i], createdAt[i], lastModifiedBy[i], lastModifiedAt[i],
+                    voided[i], voidedBy[i], voidedAt[i], voidReasons[i], uuids[i], changeSeqs[i]);
+            nodes.add(factory.create(ids[i], parentIds[i] == null ? null : parentIds[i].intValue(), names[i],
+                    codes[i], geoCodes[i], locales[i], localePreferred[i],
+                    phoneCodes[i] == null ? null : phoneCodes[i].intValue(), currencyNames[i], currencySymbols[i],
+                    currencyCodes[i], audit));
+        }
+        return nodes;
+    }
+
+    private static List<Row> rows(Collection<? extends GeographyNode> nodes) {
+        List<Row> rows = new ArrayList<>(nodes.size());
+        nodes.forEach(node -> rows.add(Row.of(node)));
+        return rows;
+    }
+
+    private static CountryNode country(int id, Integer parentId, String name, String code, String geoCode,
+                                       String locale, boolean localePreferred, Integer phoneCode, String currencyName,
+                                       String currencySymbol, String currencyCode, AuditStamp audit) {
+        return new CountryNode(id, name, code, phoneCode, currencyName, currencySymbol, currencyCode, locale, geoCode,
+                localePreferred, audit);
+    }
+
+    private static <N extends GeographyNode> NodeFactory<N> child(ChildFactory<N> constructor) {
+        return (id, parentId, name, code, geoCode, locale, localePreferred, phoneCode, currencyName, currencySymbol,
+                currencyCode, audit) -> constructor.create(id, name, code, geoCode, locale, localePreferred,
+                phoneCode, parentId, audit);
+    }
+
+    /**
+     * Builds the node of a level from its decoded columns.
+     */
+    @FunctionalInterface
+    private interface NodeFactory<N extends GeographyNode> {
+        N create(int id, Integer parentId, String name, String code, String geoCode, String locale,
+                 boolean localePreferred, Integer phoneCode, String currencyName, String currencySymbol,
+                 String currencyCode, AuditStamp audit);
+    }
+
+    /**
+     * The constructor shared by the nodes below country.
+     */
+    @FunctionalInterface
+    private interface ChildFactory<N extends GeographyNode> {
+        N create(int id, String name, String code, String geoCode, String locale, boolean localePreferred,
+                 Integer phoneCode, Integer parentId, AuditStamp audit);
+    }
+
+    /**
+     * The columns of a node of any level; the currency columns are only set for countries.
+     */
+    private record Row(int id, Integer parentId, String name, String code, String geoCode, String locale,
+                       boolean localePreferred, Integer phoneCode, String currencyName, String currencySymbol,
+                       String currencyCode, AuditStamp audit) {
+
+        static Row of(GeographyNode node) {
+            if (node instanceof CountryNode country) {
+                return new Row(country.id(), null, country.name(), country.code(), country.geoCode(),
+                        country.locale(), country.localePreferred(), country.phoneCode(), country.currencyName(),
+                        country.currencySymbol(), country.currencyCode(), country.audit());
+            }
+            if (node instanceof StateNode state) {
+                return child(state, state.geoCode(), state.locale(), state.localePreferred(), state.phoneCode());
+            }
+            if (node instanceof CountyNode county) {
+                return child(county, county.geoCode(), county.locale(), county.localePreferred(),
+                        county.phoneCode());
+            }
+            if (node instanceof CityNode city) {
+                return child(city, city.geoCode(), city.locale(), city.localePreferred(), city.phoneCode());
+            }
+            if (node instanceof CommunityNode community) {
+                return child(community, community.geoCode(), community.locale(), community.localePreferred(),
+                        community.phoneCode());
+            }
+            LocationNode location = (LocationNode) node;
+            return child(location, location.geoCode(), location.locale(), location.localePreferred(),
+                    location.phoneCode());
+        }
+
+        private static Row child(GeographyNode node, String geoCode, String locale, boolean localePreferred,
+                                 Integer phoneCode) {
+            return new Row(node.id(), node.parentId(), node.name(), node.code(), geoCode, locale, localePreferred,
+                    phoneCode, null, null, null, node.audit());
+        }
+
+        List<String> strings() {
+            return Arrays.asList(name, code, geoCode, locale, currencyName, currencySymbol, currencyCode,
+                    audit.voidReason());
+        }
+    }
+
+    /**
+     * Unsynchronized, growable byte buffer the body is written to before it is compressed in one go.
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int size;
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void signed(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void nullable(Long value) {
+            if (value == null) {
+                varint(0);
+            } else {
+                varint(((value << 1) ^ (value >> 63)) + 1);
+            }
+        }
+
+        void timestamp(LocalDateTime value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            nullable(value.toEpochSecond(ZoneOffset.UTC));
+            varint(value.getNano());
+        }
+
+        void fixedLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        <T> void bits(List<T> values, Predicate<T> bit) {
+            ensure(values.size() / Byte.SIZE + 1);
+            for (int i = 0; i < values.size(); i += Byte.SIZE) {
+                int packed = 0;
+                for (int j = 0; j < Byte.SIZE && i + j < values.size(); j++) {
+                    if (bit.test(values.get(i + j))) {
+                        packed |= 1 << j;
+                    }
+                }
+                buffer[size++] = (byte) packed;
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (size + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+            }
+        }
+    }
+
+    /**
+     * Reads the uncompressed body straight from its byte array.
+     */
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        long varlong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte next = next();
+                value |= (long) (next & 0x7F) << shift;
+                if (next >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in geography snapshot");
+        }
+
+        int varint() throws IOException {
+            return Math.toIntExact(varlong());
+        }
+
+        long signed() throws IOException {
+            long value = varlong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        Long nullable() throws IOException {
+            long value = varlong();
+            if (value == 0) {
+                return null;
+            }
+            value--;
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        Long[] nullables(int count) throws IOException {
+            Long[] values = new Long[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = nullable();
+            }
+            return values;
+        }
+
+        LocalDateTime[] timestamps(int count) throws IOException {
+            LocalDateTime[] values = new LocalDateTime[count];
+            for (int i = 0; i < count; i++) {
+                Long seconds = nullable();
+                values[i] = seconds == null ? null : LocalDateTime.ofEpochSecond(seconds, varint(), ZoneOffset.UTC);
+            }
+            return values;
+        }
+
+        String[] strings(int count, String[] dictionary) throws IOException {
+            String[] values = new String[count];
+            for (int i = 0; i < count; i++) {
+                int reference = varint();
+                if (reference > dictionary.length) {
+                    throw new IOException("Unknown string " + reference + " in geography snapshot");
+                }
+                values[i] = reference == 0 ? null : dictionary[reference - 1];
+            }
+            return values;
+        }
+
+        boolean[] bits(int count) throws IOException {
+            boolean[] values = new boolean[count];
+            for (int i = 0; i < count; i += Byte.SIZE) {
+                int packed = next();
+                for (int j = 0; j < Byte.SIZE && i + j < count; j++) {
+                    values[i + j] = (packed & (1 << j)) != 0;
+                }
+            }
+            return values;
+        }
+
+        long fixedLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << Byte.SIZE) | (next() & 0xFF);
+            }
+            return value;
+        }
+
+        String string() throws IOException {
+            int length = varint();
+            if (length > buffer.length - position) {
+                throw new IOException("Truncated geography snapshot");
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private byte next() throws IOException {
+            if (position >= buffer.length) {
+                throw new IOException("Truncated geography snapshot");
+            }
+            return buffer[position++];
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.model.dto.metadata.CityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
+import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
+import com.alienworkspace.cdr.model.dto.metadata.StateDto;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds DTOs from the nodes of a {@link GeographySnapshot}. The produced DTOs have the same shape as the ones
+ * produced by the entity mappers in {@code model.mapper}: the child subtree down to the requested depth plus a flat
+ * stub of the parent.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public abstract class GeographySnapshotMapper {
+
+    private static final Comparator<GeographyRow> ROW_ORDER = Comparator
+            .comparing(GeographyRow::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(GeographyRow::getId);
+
+    /**
+     * Maps a country node and its subtree to a CountryDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the country node
+     * @return the CountryDto
+     */
+    public static CountryDto toDto(GeographySnapshot snapshot, CountryNode node) {
+        return toDto(snapshot, node, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a country node and its subtree, down to the given depth, to a CountryDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the country node
+     * @param depth    the number of child levels to include; 0 maps the node only
+     * @return the CountryDto
+     */
+    public static CountryDto toDto(GeographySnapshot snapshot, CountryNode node, int depth) {
+        CountryDto dto = country(node);
+        dto.setStates(depth <= 0 ? ImmutableSet.of() : snapshot.statesOf(node.id()).stream()
+                .map(state -> toDto(snapshot, state, depth - 1)).collect(Collectors.toSet()));
+        return dto;
+    }
+
+    /**
+     * Maps a state node and its subtree to a StateDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the state node
+     * @return the StateDto
+     */
+    public static StateDto toDto(GeographySnapshot snapshot, StateNode node) {
+        return toDto(snapshot, node, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a state node and its subtree, down to the given depth, to a StateDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the state node
+     * @param depth    the number of child levels to include; 0 maps the node only
+     * @return the StateDto
+     */
+    public static StateDto toDto(GeographySnapshot snapshot, StateNode node, int depth) {
+        StateDto dto = state(node, node.parentId() == null ? null : snapshot.country(node.parentId()).orElse(null));
+        dto.setCounties(depth <= 0 ? ImmutableSet.of() : snapshot.countiesOf(node.id()).stream()
+                .map(county -> toDto(snapshot, county, depth - 1)).collect(Collectors.toSet()));
+        return dto;
+    }
+
+    /**
+     * Maps a county node and its subtree to a CountyDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the county node
+     * @return the CountyDto
+     */
+    public static CountyDto toDto(GeographySnapshot snapshot, CountyNode node) {
+        return toDto(snapshot, node, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a county node and its subtree, down to the given depth, to a CountyDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the county node
+     * @param depth    the number of child levels to include; 0 maps the node only
+     * @return the CountyDto
+     */
+    public static CountyDto toDto(GeographySnapshot snapshot, CountyNode node, int depth) {
+        CountyDto dto = county(node, node.parentId() == null ? null : snapshot.state(node.parentId()).orElse(null));
+        dto.setCities(depth <= 0 ? ImmutableSet.of() : snapshot.citiesOf(node.id()).stream()
+                .map(city -> toDto(snapshot, city, depth - 1)).collect(Collectors.toSet()));
+        return dto;
+    }
+
+    /**
+     * Maps a city node and its subtree to a CityDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the city node
+     * @return the CityDto
+     */
+    public static CityDto toDto(GeographySnapshot snapshot, CityNode node) {
+        return toDto(snapshot, node, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a city node and its subtree, down to the given depth, to a CityDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the city node
+     * @param depth    the number of child levels to include; 0 maps the node only
+     * @return the CityDto
+     */
+    public static CityDto toDto(GeographySnapshot snapshot, CityNode node, int depth) {
+        CityDto dto = city(node, node.parentId() == null ? null : snapshot.county(node.parentId()).orElse(null));
+        dto.setCommunities(depth <= 0 ? ImmutableSet.of() : snapshot.communitiesOf(node.id()).stream()
+                .map(community -> toDto(snapshot, community, depth - 1)).collect(Collectors.toSet()));
+        return dto;
+    }
+
+    /**
+     * Maps a community node and its subtree to a CommunityDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the community node
+     * @return the CommunityDto
+     */
+    public static CommunityDto toDto(GeographySnapshot snapshot, CommunityNode node) {
+        return toDto(snapshot, node, MAX_DEPTH);
+    }
+
+    /**
+     * Maps a community node and its subtree, down to the given depth, to a CommunityDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the community node
+     * @param depth    the number of child levels to include; 0 maps the node only
+     * @return the CommunityDto
+     */
+    public static CommunityDto toDto(GeographySnapshot snapshot, CommunityNode node, int depth) {
+        CommunityDto dto = community(node,
+                node.parentId() == null ? null : snapshot.city(node.parentId()).orElse(null));
+        dto.setLocations(depth <= 0 ? ImmutableSet.of() : snapshot.locationsOf(node.id()).stream()
+                .map(location -> toDto(snapshot, location)).collect(Collectors.toSet()));
+        return dto;
+    }
+
+    /**
+     * Maps a location node to a LocationDto.
+     *
+     * @param snapshot the snapshot the node belongs to
+     * @param node     the location node
+     * @return the LocationDto
+     */
+    public static LocationDto toDto(GeographySnapshot snapshot, LocationNode node) {
+        return location(node, node.parentId() == null ? null : snapshot.community(node.parentId()).orElse(null));
+    }
+
+    /**
+     * Maps a resolved path to a CountryDto that contains only the single branch of the path: every level holds
+     * exactly one child, down to the last resolved level, which holds none.
+     *
+     * @param path the resolved path
+     * @return the CountryDto
+     */
+    public static CountryDto toDto(GeographyPath path) {
+        CountryDto country = country(path.country());
+        country.setStates(ImmutableSet.of());
+        if (path.state() == null) {
+            return country;
+        }
+        StateDto state = state(path.state(), path.country());
+        state.setCounties(ImmutableSet.of());
+        country.setStates(ImmutableSet.of(state));
+        if (path.county() == null) {
+            return country;
+        }
+        CountyDto county = county(path.county(), path.state());
+        county.setCities(ImmutableSet.of());
+        state.setCounties(ImmutableSet.of(county));
+        if (path.city() == null) {
+            return country;
+        }
+        CityDto city = city(path.city(), path.county());
+        city.setCommunities(ImmutableSet.of());
+        county.setCities(ImmutableSet.of(city));
+        if (path.community() == null) {
+            return country;
+        }
+        CommunityDto community = community(path.community(), path.city());
+        community.setLocations(ImmutableSet.of());
+        city.setCommunities(ImmutableSet.of(community));
+        if (path.location() != null) {
+            community.setLocations(ImmutableSet.of(location(path.location(), path.community())));
+        }
+        return country;
+    }
+
+    /**
+     * Maps nodes to lightweight rows ordered by name, leaving voided nodes out.
+     *
+     * @param nodes the nodes, usually the children of one parent
+     * @return the rows
+     */
+    public static List<GeographyRow> toRows(Collection<? extends GeographyNode> nodes) {
+        return nodes.stream()
+                .filter(node -> !node.audit().voided())
+                .map(node -> new GeographyRow(node.id(), node.name(), node.code(), node.parentId()))
+                .sorted(ROW_ORDER)
+                .toList();
+    }
+
+    private static CountryDto country(CountryNode node) {
+        CountryDto dto = CountryDto.builder()
+                .countryId(node.id())
+                .countryCode(node.code())
+                .countryName(node.name())
+                .countryPhoneCode(node.phoneCode())
+                .currencyCode(node.currencyCode())
+                .currencySymbol(node.currencySymbol())
+                .currencyName(node.currencyName())
+                .countryGeoCode(node.geoCode())
+                .locale(node.locale())
+                .localePreferred(node.localePreferred())
+                .build();
+        node.audit().applyTo(dto);
+        return dto;
+    }
+
+    private static StateDto state(StateNode node, CountryNode parent) {
+        StateDto dto = StateDto.builder()
+                .stateId(node.id())
+                .stateName(node.name())
+                .locale(node.locale())
+                .localePreferred(node.localePreferred())
+                .stateCode(node.code())
+                .stateGeoCode(node.geoCode())
+                .statePhoneCode(node.phoneCode())
+                .country(parent != null ? CountryDto.builder()
+                        .countryId(parent.id())
+                        .countryCode(parent.code())
+                        .countryName(parent.name())
+                        .build() : null)
+                .build();
+        node.audit().applyTo(dto);
+        return dto;
+    }
+
+    private static CountyDto county(CountyNode node, StateNode parent) {
+        CountyDto dto = CountyDto.builder()
+                .countyId(node.id())
+                .countyName(node.name())
+                .locale(node.locale())
+                .state(parent != null ? StateDto.builder()
+                        .stateId(parent.id())
+                        .stateName(parent.name())
+                        .locale(parent.locale())
+                        .localePreferred(parent.localePreferred())
+                        .stateCode(parent.code())
+                        .stateGeoCode(parent.geoCode())
+                        .statePhoneCode(parent.phoneCode())
+                        .build() : null)
+                .localePreferred(node.localePreferred())
+                .countyCode(node.code())
+                .countyGeoCode(node.geoCode())
+                .countyPhoneCode(node.phoneCode())
+                .build();
+        node.audit().applyTo(dto);
+        return dto;
+    }
+
+    private static CityDto city(CityNode node, CountyNode parent) {
+        CityDto dto = CityDto.builder()
+                .cityId(node.id())
+                .cityName(node.name())
+                .locale(node.locale())
+                .localePreferred(node.localePreferred())
+                .cityCode(node.code())
+                .cityGeoCode(node.geoCode())
+                .cityPhoneCode(node.phoneCode())
+                .county(parent != null ? CountyDto.builder()
+                        .countyId(parent.id())
+                        .countyName(parent.name())
+                        .locale(parent.locale())
+                        .localePreferred(parent.localePreferred())
+                        .countyCode(parent.code())
+                        .countyGeoCode(parent.geoCode())
+                        .countyPhoneCode(parent.phoneCode())
+                        .build() : null)
+                .build();
+        node.audit().applyTo(dto);
+        return dto;
+    }
+
+    private static CommunityDto community(CommunityNode node, CityNode parent) {
+        CommunityDto dto = CommunityDto.builder()
+                .communityId(node.id())
+                .communityName(node.name())
+                .locale(node.locale())
+                .localePreferred(node.localePreferred())
+                .communityCode(node.code())
+                .communityGeoCode(node.geoCode())
+                .communityPhoneCode(node.phoneCode())
+                .city(parent != null ? CityDto.builder()
+                        .cityId(parent.id())
+                        .cityName(parent.name())
+                        .locale(parent.locale())
+                        .localePreferred(parent.localePreferred())
+                        .cityCode(parent.code())
+                        .cityGeoCode(parent.geoCode())
+                        .cityPhoneCode(parent.phoneCode())
+                        .build() : null)
+                .build();
+        node.audit().applyTo(dto);
+        return dto;
+    }
+
+    private static LocationDto location(LocationNode node, CommunityNode parent) {
+        LocationDto dto = LocationDto.builder()
+                .locationId(node.id())
+                .locationName(node.name())
+                .locale(node.locale())
+                .localePreferred(node.localePreferred())
+                .locationCode(node.code())
+                .locationGeoCode(node.geoCode())
+                .locationPhoneCode(node.phoneCode())
+                .community(parent != null ? CommunityDto.builder()
+                        .communityId(parent.id())
+                        .communityName(parent.name())
+                        .locale(parent.locale())
+                        .localePreferred(parent.localePreferred())
+                        .communityCode(parent.code())
+                        .communityGeoCode(parent.geoCode())
+                        .communityPhoneCode(parent.phoneCode())
+                        .build() : null)
+                .build();
+        node.audit().applyTo(dto);
+        return dto;
+    }
+}
@@ -0,0 +1,188 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Immutable index of the nodes of one hierarchy level, by id, by parent id and by uuid.
+ *
+ * <p>All maps are {@link ChunkedMap}s: patching copies only the chunks of ids and parent ids it touches, and the
+ * child sets of the parents that are touched, so the cost of a write does not grow with the size of the level and
+ * the previous index stays valid for readers that still hold it. Uuids are not dense like ids, so the uuid map is
+ * a hash table of {@value #UUID_BUCKETS} buckets keyed by the top bits of the hash of the uuid, each holding the ids
+ * of the nodes that fall into it.
+ *
+ * @param <N> the node type
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+final class LevelIndex<N extends GeographyNode> {
+
+    private static final int UUID_BUCKET_BITS = 18;
+    static final int UUID_BUCKETS = 1 << UUID_BUCKET_BITS;
+
+    private final ChunkedMap<N> nodes;
+    private final ChunkedMap<NavigableSet<Integer>> childrenByParent;
+    private final ChunkedMap<int[]> idsByUuid;
+
+    private LevelIndex(ChunkedMap<N> nodes, ChunkedMap<NavigableSet<Integer>> childrenByParent,
+                       ChunkedMap<int[]> idsByUuid) {
+        this.nodes = nodes;
+        this.childrenByParent = childrenByParent;
+        this.idsByUuid = idsByUuid;
+    }
+
+    /**
+     * Builds an index from a collection of nodes.
+     *
+     * @param nodes the nodes
+     * @param <N>   the node type
+     * @return the index
+     */
+    static <N extends GeographyNode> LevelIndex<N> of(Collection<N> nodes) {
+        Map<Integer, N> byId = new HashMap<>();
+        Map<Integer, NavigableSet<Integer>> children = new HashMap<>();
+        Map<Integer, int[]> byUuid = new HashMap<>();
+        for (N node : nodes) {
+            byId.put(node.id(), node);
+            if (node.parentId() != null) {
+                children.computeIfAbsent(node.parentId(), key -> new TreeSet<>()).add(node.id());
+            }
+            String uuid = uuidOf(node);
+            if (uuid != null) {
+                byUuid.merge(bucket(uuid), new int[] {node.id()}, LevelIndex::concat);
+            }
+        }
+        children.replaceAll((parentId, ids) -> Collections.unmodifiableNavigableSet(ids));
+        return new LevelIndex<>(ChunkedMap.of(byId), ChunkedMap.of(children), ChunkedMap.of(byUuid));
+    }
+
+    /**
+     * Returns a new index with the given nodes inserted or replaced and the given ids removed.
+     *
+     * @param upserts  the nodes to insert or replace
+     * @param removals the ids to remove
+     * @return the patched index
+     */
+    LevelIndex<N> patch(Collection<N> upserts, Collection<Integer> removals) {
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            return this;
+        }
+        Map<Integer, N> byId = new HashMap<>();
+        Map<Integer, NavigableSet<Integer>> copied = new HashMap<>();
+        Map<Integer, int[]> byUuid = new HashMap<>();
+        for (Integer id : removals) {
+            N previous = nodes.get(id);
+            byId.put(id, null);
+            if (previous != null && previous.parentId() != null) {
+                mutableChildren(copied, previous.parentId()).remove(id);
+            }
+            if (uuidOf(previous) != null) {
+                putUuid(byUuid, uuidOf(previous), id, false);
+            }
+        }
+        for (N node : upserts) {
+            N previous = byId.containsKey(node.id()) ? null : nodes.get(node.id());
+            byId.put(node.id(), node);
+            if (previous != null && previous.parentId() != null
+                    && !Objects.equals(previous.parentId(), node.parentId())) {
+                mutableChildren(copied, previous.parentId()).remove(node.id());
+            }
+            if (node.parentId() != null) {
+                mutableChildren(copied, node.parentId()).add(node.id());
+            }
+            if (uuidOf(previous) != null && !uuidOf(previous).equals(uuidOf(node))) {
+                putUuid(byUuid, uuidOf(previous), node.id(), false);
+            }
+            if (uuidOf(node) != null) {
+                putUuid(byUuid, uuidOf(node), node.id(), true);
+            }
+        }
+        Map<Integer, NavigableSet<Integer>> children = new HashMap<>();
+        copied.forEach((parentId, ids) -> children.put(parentId,
+                ids.isEmpty() ? null : Collections.unmodifiableNavigableSet(ids)));
+        byUuid.replaceAll((bucket, ids) -> ids.length == 0 ? null : ids);
+        return new LevelIndex<>(nodes.with(byId), childrenByParent.with(children), idsByUuid.with(byUuid));
+    }
+
+    /**
+     * Adds an id to, or removes it from, the bucket of a uuid. Buckets are arrays that are never modified, so each
+     * change replaces the bucket in the patch with a copy.
+     */
+    private void putUuid(Map<Integer, int[]> copied, String uuid, int id, boolean present) {
+        int[] ids = copied.containsKey(bucket(uuid)) ? copied.get(bucket(uuid)) : idsByUuid.get(bucket(uuid));
+        int[] others = ids == null ? new int[0] : Arrays.stream(ids).filter(existing -> existing != id).toArray();
+        copied.put(bucket(uuid), present ? concat(others, new int[] {id}) : others);
+    }
+
+    private static String uuidOf(GeographyNode node) {
+        return node == null || node.audit() == null ? null : node.audit().uuid();
+    }
+
+    private static int bucket(String uuid) {
+        return uuid.hashCode() >>> (Integer.SIZE - UUID_BUCKET_BITS);
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        if (first == null) {
+            return second;
+        }
+        int[] ids = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, ids, first.length, second.length);
+        return ids;
+    }
+
+    private NavigableSet<Integer> mutableChildren(Map<Integer, NavigableSet<Integer>> copied, Integer parentId) {
+        return copied.computeIfAbsent(parentId, key -> {
+            NavigableSet<Integer> existing = childrenByParent.get(key);
+            return existing == null ? new TreeSet<>() : new TreeSet<>(existing);
+        });
+    }
+
+    Optional<N> get(int id) {
+        return Optional.ofNullable(nodes.get(id));
+    }
+
+    Optional<N> byUuid(String uuid) {
+        int[] ids = idsByUuid.get(bucket(uuid));
+        if (ids != null) {
+            for (int id : ids) {
+                N node = nodes.get(id);
+                if (node != null && uuid.equals(uuidOf(node))) {
+                    return Optional.of(node);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    Collection<N> all() {
+        return nodes.values();
+    }
+
+    List<N> after(int afterId, boolean includeVoided, int limit) {
+        return nodes.valuesAfter(afterId)
+                .filter(node -> includeVoided || !node.audit().voided())
+                .limit(limit)
+                .toList();
+    }
+
+    List<N> childrenOf(int parentId) {
+        NavigableSet<Integer> ids = childrenByParent.get(parentId);
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(nodes::get).filter(Objects::nonNull).toList();
+    }
+
+    int size() {
+        return nodes.size();
+    }
+}
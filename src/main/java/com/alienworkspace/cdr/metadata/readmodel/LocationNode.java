@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.Location;
+
+/**
+ * Snapshot view of a {@link Location}.
+ *
+ * @param id              the location id
+ * @param name            the location name
+ * @param code            the location code
+ * @param geoCode         the location geo code
+ * @param locale          the locale
+ * @param localePreferred whether the locale is preferred
+ * @param phoneCode       the location phone code
+ * @param parentId        the id of the parent community
+ * @param audit           the audit columns
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record LocationNode(int id, String name, String code, String geoCode, String locale, boolean localePreferred,
+                           Integer phoneCode, Integer parentId, AuditStamp audit) implements GeographyNode {
+
+    /**
+     * Copies a location entity.
+     *
+     * @param entity the entity
+     * @return the node
+     */
+    public static LocationNode of(Location entity) {
+        return new LocationNode(entity.getLocationId(), entity.getLocationName(), entity.getLocationCode(),
+                entity.getLocationGeoCode(), entity.getLocale(), entity.isLocalePreferred(),
+                entity.getLocationPhoneCode(),
+                entity.getCommunity() != null ? entity.getCommunity().getCommunityId() : null, AuditStamp.of(entity));
+    }
+
+    @Override
+    public GeographyLevel level() {
+        return GeographyLevel.LOCATION;
+    }
+}
@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.State;
+
+/**
+ * Snapshot view of a {@link State}.
+ *
+ * @param id              the state id
+ * @param name            the state name
+ * @param code            the state code
+ * @param geoCode         the state geo code
+ * @param locale          the locale
+ * @param localePreferred whether the locale is preferred
+ * @param phoneCode       the state phone code
+ * @param parentId        the id of the parent country
+ * @param audit           the audit columns
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public record StateNode(int id, String name, String code, String geoCode, String locale, boolean localePreferred,
+                        Integer phoneCode, Integer parentId, AuditStamp audit) implements GeographyNode {
+
+    /**
+     * Copies a state entity.
+     *
+     * @param entity the entity
+     * @return the node
+     */
+    public static StateNode of(State entity) {
+        return new StateNode(entity.getStateId(), entity.getStateName(), entity.getStateCode(),
+                entity.getStateGeoCode(), entity.getLocale(), entity.isLocalePreferred(),
+                entity.getStatePhoneCode(),
+                entity.getCountry() != null ? entity.getCountry().getCountryId() : null, AuditStamp.of(entity));
+    }
+
+    @Override
+    public GeographyLevel level() {
+        return GeographyLevel.STATE;
+    }
+}
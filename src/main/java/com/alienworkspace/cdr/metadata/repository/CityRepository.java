@@ -1,8 +1,18 @@
 package com.alienworkspace.cdr.metadata.repository;
 
 import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -19,4 +29,106 @@ public interface CityRepository extends JpaRepository<City, Integer> {
      * @return a list of cities
      */
     List<City> findAllByVoidedIsFalse();
-} 
\ No newline at end of file
+
+    /**
+     * Find the next page of cities that are not voided, in id order.
+     *
+     * @param cityId the id to start after
+     * @param limit the maximum number of cities to return
+     * @return a list of cities
+     */
+    List<City> findByCityIdGreaterThanAndVoidedIsFalseOrderByCityIdAsc(int cityId, Limit limit);
+
+    /**
+     * Find the next page of cities, voided ones included, in id order.
+     *
+     * @param cityId the id to start after
+     * @param limit the maximum number of cities to return
+     * @return a list of cities
+     */
+    List<City> findByCityIdGreaterThanOrderByCityIdAsc(int cityId, Limit limit);
+
+    /**
+     * Find the cities of a county that are not voided, as lightweight rows ordered by name. Served by the
+     * ({@code county_id}, {@code voided}, {@code city_name}, {@code city_code}) index.
+     *
+     * @param countyId the id of the county
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.cityId, x.cityName, x.cityCode, x.county.countyId) "
+            + "FROM City x WHERE x.county.countyId = :countyId AND x.voided = false "
+            + "ORDER BY x.cityName, x.cityId")
+    List<GeographyRow> findRowsByCountyId(@Param("countyId") int countyId);
+
+    /**
+     * Find a city as a lightweight row.
+     *
+     * @param cityId the id of the city
+     * @return the row, if the city exists
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.cityId, x.cityName, x.cityCode, x.county.countyId) "
+            + "FROM City x WHERE x.cityId = :cityId")
+    Optional<GeographyRow> findRowById(@Param("cityId") int cityId);
+
+    /**
+     * Find the materialized path of a city.
+     *
+     * @param cityId the id of the city
+     * @return the path, if the city exists; the path itself is {@code null} until it has been backfilled
+     */
+    @Query("SELECT x.path FROM City x WHERE x.cityId = :cityId")
+    Optional<String> findPathById(@Param("cityId") int cityId);
+
+    /**
+     * Find the next page of the cities below a node that are not voided, as rows ordered by path and then id.
+     * The path filter and the ordering are both served by the {@code path} index, so a page is one range scan.
+     *
+     * @param pattern the {@code LIKE} pattern of the subtree prefix of the node
+     * @param afterPath the path of the last row of the previous page; empty for the first page
+     * @param afterId the id of the last row of the previous page; 0 for the first page
+     * @param limit the maximum number of rows to return
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.cityId, x.cityName, x.cityCode, x.county.countyId, x.path) "
+            + "FROM City x WHERE x.path LIKE :pattern AND x.voided = false "
+            + "AND (x.path > :afterPath OR (x.path = :afterPath AND x.cityId > :afterId)) "
+            + "ORDER BY x.path, x.cityId")
+    List<GeographyRow> findSubtreeRows(@Param("pattern") String pattern, @Param("afterPath") String afterPath,
+                                       @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Fill in the path of the cities that do not have one yet, from the path of their county. Run after the
+     * county level has been backfilled.
+     *
+     * @return the number of cities updated
+     */
+    @Modifying
+    @Query("UPDATE City x SET x.path = (SELECT CONCAT(p.path, CAST(p.countyId AS String), '/') "
+            + "FROM County p WHERE p.countyId = x.county.countyId) WHERE x.path IS NULL")
+    int backfillPaths();
+
+    /**
+     * Rewrite the paths of the cities below a node that moved to another parent, in one statement.
+     *
+     * @param pattern the {@code LIKE} pattern of the old subtree prefix of the node
+     * @param newPrefix the new subtree prefix of the node
+     * @param from the position, starting at 1, of the first path character after the old prefix
+     * @return the number of cities updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE City x SET x.path = CONCAT(:newPrefix, SUBSTRING(x.path, :from)) WHERE x.path LIKE :pattern")
+    int movePaths(@Param("pattern") String pattern, @Param("newPrefix") String newPrefix, @Param("from") int from);
+
+    /**
+     * Find the id of the city with an external id. The result is kept in the query cache.
+     *
+     * @param uuid the external id
+     * @return the id, if a city has that external id
+     */
+    @Query("SELECT x.cityId FROM City x WHERE x.uuid = :uuid")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Optional<Integer> findIdByUuid(@Param("uuid") UUID uuid);
+}
@@ -1,9 +1,18 @@
 package com.alienworkspace.cdr.metadata.repository;
 
 import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -22,4 +31,106 @@ public interface CommunityRepository extends JpaRepository<Community, Integer> {
      */
     @Query("SELECT c FROM Community c WHERE c.voided = false")
     List<Community> findAllByVoidedIsFalse();
-} 
\ No newline at end of file
+
+    /**
+     * Find the next page of communities that are not voided, in id order.
+     *
+     * @param communityId the id to start after
+     * @param limit the maximum number of communities to return
+     * @return a list of communities
+     */
+    List<Community> findByCommunityIdGreaterThanAndVoidedIsFalseOrderByCommunityIdAsc(int communityId, Limit limit);
+
+    /**
+     * Find the next page of communities, voided ones included, in id order.
+     *
+     * @param communityId the id to start after
+     * @param limit the maximum number of communities to return
+     * @return a list of communities
+     */
+    List<Community> findByCommunityIdGreaterThanOrderByCommunityIdAsc(int communityId, Limit limit);
+
+    /**
+     * Find the communities of a city that are not voided, as lightweight rows ordered by name. Served by the
+     * ({@code city_id}, {@code voided}, {@code community_name}, {@code community_code}) index.
+     *
+     * @param cityId the id of the city
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.communityId, x.communityName, x.communityCode, x.city.cityId) "
+            + "FROM Community x WHERE x.city.cityId = :cityId AND x.voided = false "
+            + "ORDER BY x.communityName, x.communityId")
+    List<GeographyRow> findRowsByCityId(@Param("cityId") int cityId);
+
+    /**
+     * Find a community as a lightweight row.
+     *
+     * @param communityId the id of the community
+     * @return the row, if the community exists
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.communityId, x.communityName, x.communityCode, x.city.cityId) "
+            + "FROM Community x WHERE x.communityId = :communityId")
+    Optional<GeographyRow> findRowById(@Param("communityId") int communityId);
+
+    /**
+     * Find the materialized path of a community.
+     *
+     * @param communityId the id of the community
+     * @return the path, if the community exists; the path itself is {@code null} until it has been backfilled
+     */
+    @Query("SELECT x.path FROM Community x WHERE x.communityId = :communityId")
+    Optional<String> findPathById(@Param("communityId") int communityId);
+
+    /**
+     * Find the next page of the communities below a node that are not voided, as rows ordered by path and then id.
+     * The path filter and the ordering are both served by the {@code path} index, so a page is one range scan.
+     *
+     * @param pattern the {@code LIKE} pattern of the subtree prefix of the node
+     * @param afterPath the path of the last row of the previous page; empty for the first page
+     * @param afterId the id of the last row of the previous page; 0 for the first page
+     * @param limit the maximum number of rows to return
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.communityId, x.communityName, x.communityCode, x.city.cityId, x.path) "
+            + "FROM Community x WHERE x.path LIKE :pattern AND x.voided = false "
+            + "AND (x.path > :afterPath OR (x.path = :afterPath AND x.communityId > :afterId)) "
+            + "ORDER BY x.path, x.communityId")
+    List<GeographyRow> findSubtreeRows(@Param("pattern") String pattern, @Param("afterPath") String afterPath,
+                                       @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Fill in the path of the communities that do not have one yet, from the path of their city. Run after the
+     * city level has been backfilled.
+     *
+     * @return the number of communities updated
+     */
+    @Modifying
+    @Query("UPDATE Community x SET x.path = (SELECT CONCAT(p.path, CAST(p.cityId AS String), '/') "
+            + "FROM City p WHERE p.cityId = x.city.cityId) WHERE x.path IS NULL")
+    int backfillPaths();
+
+    /**
+     * Rewrite the paths of the communities below a node that moved to another parent, in one statement.
+     *
+     * @param pattern the {@code LIKE} pattern of the old subtree prefix of the node
+     * @param newPrefix the new subtree prefix of the node
+     * @param from the position, starting at 1, of the first path character after the old prefix
+     * @return the number of communities updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Community x SET x.path = CONCAT(:newPrefix, SUBSTRING(x.path, :from)) WHERE x.path LIKE :pattern")
+    int movePaths(@Param("pattern") String pattern, @Param("newPrefix") String newPrefix, @Param("from") int from);
+
+    /**
+     * Find the id of the community with an external id. The result is kept in the query cache.
+     *
+     * @param uuid the external id
+     * @return the id, if a community has that external id
+     */
+    @Query("SELECT x.communityId FROM Community x WHERE x.uuid = :uuid")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Optional<Integer> findIdByUuid(@Param("uuid") UUID uuid);
+}
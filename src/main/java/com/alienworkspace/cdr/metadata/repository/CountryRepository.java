@@ -1,10 +1,17 @@
 package com.alienworkspace.cdr.metadata.repository;
 
 import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -20,8 +27,27 @@ public interface CountryRepository extends JpaRepository<Country, Integer> {
      *
      * @return a list of countries
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Country> findAllByVoidedIsFalse();
 
+    /**
+     * Find the next page of countries that are not voided, in id order.
+     *
+     * @param countryId the id to start after
+     * @param limit the maximum number of countries to return
+     * @return a list of countries
+     */
+    List<Country> findByCountryIdGreaterThanAndVoidedIsFalseOrderByCountryIdAsc(int countryId, Limit limit);
+
+    /**
+     * Find the next page of countries, voided ones included, in id order.
+     *
+     * @param countryId the id to start after
+     * @param limit the maximum number of countries to return
+     * @return a list of countries
+     */
+    List<Country> findByCountryIdGreaterThanOrderByCountryIdAsc(int countryId, Limit limit);
+
     /**
      * Find a country by its country code.
      *
@@ -29,5 +55,51 @@ public interface CountryRepository extends JpaRepository<Country, Integer> {
      * @return the country with the given code, or null if not found
      */
     @Query("SELECT DISTINCT c FROM Country c WHERE c.countryCode = ?1")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Country> findByCountryCode(String countryCode);
+
+    /**
+     * Fetch a country and, in the same round trip, the state, county, city, community and location with the
+     * given ids. The row holds the entities in that order; an entry is {@code null} when its id is {@code null}
+     * or does not exist. The parent/child relation between the entries is not checked by the query.
+     *
+     * @param countryId   the id of the country
+     * @param stateId     the id of the state
+     * @param countyId    the id of the county
+     * @param cityId      the id of the city
+     * @param communityId the id of the community
+     * @param locationId  the id of the location
+     * @return a list with at most one row
+     */
+    @Query("SELECT c, s, co, ci, cm, l FROM Country c "
+            + "LEFT JOIN State s ON s.stateId = :stateId "
+            + "LEFT JOIN County co ON co.countyId = :countyId "
+            + "LEFT JOIN City ci ON ci.cityId = :cityId "
+            + "LEFT JOIN Community cm ON cm.communityId = :communityId "
+            + "LEFT JOIN Location l ON l.locationId = :locationId "
+            + "WHERE c.countryId = :countryId")
+    List<Object[]> findPath(@Param("countryId") int countryId, @Param("stateId") Integer stateId,
+                            @Param("countyId") Integer countyId, @Param("cityId") Integer cityId,
+                            @Param("communityId") Integer communityId, @Param("locationId") Integer locationId);
+
+    /**
+     * Find a country as a lightweight row.
+     *
+     * @param countryId the id of the country
+     * @return the row, if the country exists
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.countryId, x.countryName, x.countryCode, CAST(null AS Integer)) "
+            + "FROM Country x WHERE x.countryId = :countryId")
+    Optional<GeographyRow> findRowById(@Param("countryId") int countryId);
+
+    /**
+     * Find the id of the country with an external id. The result is kept in the query cache.
+     *
+     * @param uuid the external id
+     * @return the id, if a country has that external id
+     */
+    @Query("SELECT x.countryId FROM Country x WHERE x.uuid = :uuid")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Optional<Integer> findIdByUuid(@Param("uuid") UUID uuid);
 }
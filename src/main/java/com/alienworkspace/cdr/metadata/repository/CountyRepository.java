@@ -1,8 +1,18 @@
 package com.alienworkspace.cdr.metadata.repository;
 
 import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -19,4 +29,106 @@ public interface CountyRepository extends JpaRepository<County, Integer> {
      * @return a list of counties
      */
     List<County> findAllByVoidedIsFalse();
-} 
\ No newline at end of file
+
+    /**
+     * Find the next page of counties that are not voided, in id order.
+     *
+     * @param countyId the id to start after
+     * @param limit the maximum number of counties to return
+     * @return a list of counties
+     */
+    List<County> findByCountyIdGreaterThanAndVoidedIsFalseOrderByCountyIdAsc(int countyId, Limit limit);
+
+    /**
+     * Find the next page of counties, voided ones included, in id order.
+     *
+     * @param countyId the id to start after
+     * @param limit the maximum number of counties to return
+     * @return a list of counties
+     */
+    List<County> findByCountyIdGreaterThanOrderByCountyIdAsc(int countyId, Limit limit);
+
+    /**
+     * Find the counties of a state that are not voided, as lightweight rows ordered by name. Served by the
+     * ({@code state_id}, {@code voided}, {@code county_name}, {@code county_code}) index.
+     *
+     * @param stateId the id of the state
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.countyId, x.countyName, x.countyCode, x.state.stateId) "
+            + "FROM County x WHERE x.state.stateId = :stateId AND x.voided = false "
+            + "ORDER BY x.countyName, x.countyId")
+    List<GeographyRow> findRowsByStateId(@Param("stateId") int stateId);
+
+    /**
+     * Find a county as a lightweight row.
+     *
+     * @param countyId the id of the county
+     * @return the row, if the county exists
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.countyId, x.countyName, x.countyCode, x.state.stateId) "
+            + "FROM County x WHERE x.countyId = :countyId")
+    Optional<GeographyRow> findRowById(@Param("countyId") int countyId);
+
+    /**
+     * Find the materialized path of a county.
+     *
+     * @param countyId the id of the county
+     * @return the path, if the county exists; the path itself is {@code null} until it has been backfilled
+     */
+    @Query("SELECT x.path FROM County x WHERE x.countyId = :countyId")
+    Optional<String> findPathById(@Param("countyId") int countyId);
+
+    /**
+     * Find the next page of the counties below a node that are not voided, as rows ordered by path and then id.
+     * The path filter and the ordering are both served by the {@code path} index, so a page is one range scan.
+     *
+     * @param pattern the {@code LIKE} pattern of the subtree prefix of the node
+     * @param afterPath the path of the last row of the previous page; empty for the first page
+     * @param afterId the id of the last row of the previous page; 0 for the first page
+     * @param limit the maximum number of rows to return
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.countyId, x.countyName, x.countyCode, x.state.stateId, x.path) "
+            + "FROM County x WHERE x.path LIKE :pattern AND x.voided = false "
+            + "AND (x.path > :afterPath OR (x.path = :afterPath AND x.countyId > :afterId)) "
+            + "ORDER BY x.path, x.countyId")
+    List<GeographyRow> findSubtreeRows(@Param("pattern") String pattern, @Param("afterPath") String afterPath,
+                                       @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Fill in the path of the counties that do not have one yet, from the path of their state. Run after the
+     * state level has been backfilled.
+     *
+     * @return the number of counties updated
+     */
+    @Modifying
+    @Query("UPDATE County x SET x.path = (SELECT CONCAT(p.path, CAST(p.stateId AS String), '/') "
+            + "FROM State p WHERE p.stateId = x.state.stateId) WHERE x.path IS NULL")
+    int backfillPaths();
+
+    /**
+     * Rewrite the paths of the counties below a node that moved to another parent, in one statement.
+     *
+     * @param pattern the {@code LIKE} pattern of the old subtree prefix of the node
+     * @param newPrefix the new subtree prefix of the node
+     * @param from the position, starting at 1, of the first path character after the old prefix
+     * @return the number of counties updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE County x SET x.path = CONCAT(:newPrefix, SUBSTRING(x.path, :from)) WHERE x.path LIKE :pattern")
+    int movePaths(@Param("pattern") String pattern, @Param("newPrefix") String newPrefix, @Param("from") int from);
+
+    /**
+     * Find the id of the county with an external id. The result is kept in the query cache.
+     *
+     * @param uuid the external id
+     * @return the id, if a county has that external id
+     */
+    @Query("SELECT x.countyId FROM County x WHERE x.uuid = :uuid")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Optional<Integer> findIdByUuid(@Param("uuid") UUID uuid);
+}
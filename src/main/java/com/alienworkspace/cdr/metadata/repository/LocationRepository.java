@@ -1,8 +1,18 @@
 package com.alienworkspace.cdr.metadata.repository;
 
 import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -19,4 +29,106 @@ public interface LocationRepository extends JpaRepository<Location, Integer> {
      * @return a list of locations
      */
     List<Location> findAllByVoidedIsFalse();
-} 
\ No newline at end of file
+
+    /**
+     * Find the next page of locations that are not voided, in id order.
+     *
+     * @param locationId the id to start after
+     * @param limit the maximum number of locations to return
+     * @return a list of locations
+     */
+    List<Location> findByLocationIdGreaterThanAndVoidedIsFalseOrderByLocationIdAsc(int locationId, Limit limit);
+
+    /**
+     * Find the next page of locations, voided ones included, in id order.
+     *
+     * @param locationId the id to start after
+     * @param limit the maximum number of locations to return
+     * @return a list of locations
+     */
+    List<Location> findByLocationIdGreaterThanOrderByLocationIdAsc(int locationId, Limit limit);
+
+    /**
+     * Find the locations of a community that are not voided, as lightweight rows ordered by name. Served by the
+     * ({@code community_id}, {@code voided}, {@code location_name}, {@code location_code}) index.
+     *
+     * @param communityId the id of the community
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.locationId, x.locationName, x.locationCode, x.community.communityId) "
+            + "FROM Location x WHERE x.community.communityId = :communityId AND x.voided = false "
+            + "ORDER BY x.locationName, x.locationId")
+    List<GeographyRow> findRowsByCommunityId(@Param("communityId") int communityId);
+
+    /**
+     * Find a location as a lightweight row.
+     *
+     * @param locationId the id of the location
+     * @return the row, if the location exists
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.locationId, x.locationName, x.locationCode, x.community.communityId) "
+            + "FROM Location x WHERE x.locationId = :locationId")
+    Optional<GeographyRow> findRowById(@Param("locationId") int locationId);
+
+    /**
+     * Find the materialized path of a location.
+     *
+     * @param locationId the id of the location
+     * @return the path, if the location exists; the path itself is {@code null} until it has been backfilled
+     */
+    @Query("SELECT x.path FROM Location x WHERE x.locationId = :locationId")
+    Optional<String> findPathById(@Param("locationId") int locationId);
+
+    /**
+     * Find the next page of the locations below a node that are not voided, as rows ordered by path and then id.
+     * The path filter and the ordering are both served by the {@code path} index, so a page is one range scan.
+     *
+     * @param pattern the {@code LIKE} pattern of the subtree prefix of the node
+     * @param afterPath the path of the last row of the previous page; empty for the first page
+     * @param afterId the id of the last row of the previous page; 0 for the first page
+     * @param limit the maximum number of rows to return
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.locationId, x.locationName, x.locationCode, x.community.communityId, x.path) "
+            + "FROM Location x WHERE x.path LIKE :pattern AND x.voided = false "
+            + "AND (x.path > :afterPath OR (x.path = :afterPath AND x.locationId > :afterId)) "
+            + "ORDER BY x.path, x.locationId")
+    List<GeographyRow> findSubtreeRows(@Param("pattern") String pattern, @Param("afterPath") String afterPath,
+                                       @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Fill in the path of the locations that do not have one yet, from the path of their community. Run after the
+     * community level has been backfilled.
+     *
+     * @return the number of locations updated
+     */
+    @Modifying
+    @Query("UPDATE Location x SET x.path = (SELECT CONCAT(p.path, CAST(p.communityId AS String), '/') "
+            + "FROM Community p WHERE p.communityId = x.community.communityId) WHERE x.path IS NULL")
+    int backfillPaths();
+
+    /**
+     * Rewrite the paths of the locations below a node that moved to another parent, in one statement.
+     *
+     * @param pattern the {@code LIKE} pattern of the old subtree prefix of the node
+     * @param newPrefix the new subtree prefix of the node
+     * @param from the position, starting at 1, of the first path character after the old prefix
+     * @return the number of locations updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Location x SET x.path = CONCAT(:newPrefix, SUBSTRING(x.path, :from)) WHERE x.path LIKE :pattern")
+    int movePaths(@Param("pattern") String pattern, @Param("newPrefix") String newPrefix, @Param("from") int from);
+
+    /**
+     * Find the id of the location with an external id. The result is kept in the query cache.
+     *
+     * @param uuid the external id
+     * @return the id, if a location has that external id
+     */
+    @Query("SELECT x.locationId FROM Location x WHERE x.uuid = :uuid")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Optional<Integer> findIdByUuid(@Param("uuid") UUID uuid);
+}
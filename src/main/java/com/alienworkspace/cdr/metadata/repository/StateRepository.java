@@ -1,8 +1,18 @@
 package com.alienworkspace.cdr.metadata.repository;
 
 import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -19,4 +29,92 @@ public interface StateRepository extends JpaRepository<State, Integer> {
      * @return a list of states
      */
     List<State> findAllByVoidedIsFalse();
-} 
\ No newline at end of file
+
+    /**
+     * Find the next page of states that are not voided, in id order.
+     *
+     * @param stateId the id to start after
+     * @param limit the maximum number of states to return
+     * @return a list of states
+     */
+    List<State> findByStateIdGreaterThanAndVoidedIsFalseOrderByStateIdAsc(int stateId, Limit limit);
+
+    /**
+     * Find the next page of states, voided ones included, in id order.
+     *
+     * @param stateId the id to start after
+     * @param limit the maximum number of states to return
+     * @return a list of states
+     */
+    List<State> findByStateIdGreaterThanOrderByStateIdAsc(int stateId, Limit limit);
+
+    /**
+     * Find the states of a country that are not voided, as lightweight rows ordered by name. Served by the
+     * ({@code country_id}, {@code voided}, {@code state_name}, {@code state_code}) index.
+     *
+     * @param countryId the id of the country
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.stateId, x.stateName, x.stateCode, x.country.countryId) "
+            + "FROM State x WHERE x.country.countryId = :countryId AND x.voided = false "
+            + "ORDER BY x.stateName, x.stateId")
+    List<GeographyRow> findRowsByCountryId(@Param("countryId") int countryId);
+
+    /**
+     * Find a state as a lightweight row.
+     *
+     * @param stateId the id of the state
+     * @return the row, if the state exists
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.stateId, x.stateName, x.stateCode, x.country.countryId) "
+            + "FROM State x WHERE x.stateId = :stateId")
+    Optional<GeographyRow> findRowById(@Param("stateId") int stateId);
+
+    /**
+     * Find the materialized path of a state.
+     *
+     * @param stateId the id of the state
+     * @return the path, if the state exists; the path itself is {@code null} until it has been backfilled
+     */
+    @Query("SELECT x.path FROM State x WHERE x.stateId = :stateId")
+    Optional<String> findPathById(@Param("stateId") int stateId);
+
+    /**
+     * Find the next page of the states below a node that are not voided, as rows ordered by path and then id.
+     * The path filter and the ordering are both served by the {@code path} index, so a page is one range scan.
+     *
+     * @param pattern the {@code LIKE} pattern of the subtree prefix of the node
+     * @param afterPath the path of the last row of the previous page; empty for the first page
+     * @param afterId the id of the last row of the previous page; 0 for the first page
+     * @param limit the maximum number of rows to return
+     * @return a list of rows
+     */
+    @Query("SELECT new com.alienworkspace.cdr.metadata.model.dto.GeographyRow("
+            + "x.stateId, x.stateName, x.stateCode, x.country.countryId, x.path) "
+            + "FROM State x WHERE x.path LIKE :pattern AND x.voided = false "
+            + "AND (x.path > :afterPath OR (x.path = :afterPath AND x.stateId > :afterId)) "
+            + "ORDER BY x.path, x.stateId")
+    List<GeographyRow> findSubtreeRows(@Param("pattern") String pattern, @Param("afterPath") String afterPath,
+                                       @Param("afterId") int afterId, Limit limit);
+
+    /**
+     * Fill in the path of the states that do not have one yet.
+     *
+     * @return the number of states updated
+     */
+    @Modifying
+    @Query("UPDATE State x SET x.path = CONCAT('/', CAST(x.country.countryId AS String), '/') WHERE x.path IS NULL")
+    int backfillPaths();
+
+    /**
+     * Find the id of the state with an external id. The result is kept in the query cache.
+     *
+     * @param uuid the external id
+     * @return the id, if a state has that external id
+     */
+    @Query("SELECT x.stateId FROM State x WHERE x.uuid = :uuid")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    Optional<Integer> findIdByUuid(@Param("uuid") UUID uuid);
+}
@@ -1,6 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationResult;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import java.util.List;
 
 /**
  * Service interface for app-level operations.
@@ -22,4 +25,13 @@ public interface AppLevelService {
      */
     CountryDto getPersonLocation(int countryId, Integer stateId, Integer countyId, Integer cityId, Integer communityId,
                                  Integer locationId);
+
+    /**
+     * Retrieves the locations of many persons at once. Duplicate requests are resolved once, and every
+     * entry that cannot be resolved gets its own error instead of failing the whole batch.
+     *
+     * @param requests the chains of ids to resolve
+     * @return one result per request, in the order of the requests
+     */
+    List<PersonLocationResult> getPersonLocations(List<PersonLocationRequest> requests);
 }
@@ -0,0 +1,40 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.model.dto.ChangeFeed;
+
+/**
+ * Incremental change feed over the six levels of the hierarchy, for clients that keep a local copy in sync.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface ChangeFeedService {
+
+    /**
+     * Retrieves the rows created, updated or voided after a watermark, across all levels, in commit order. A row
+     * changed several times since the watermark is returned once, in its current state, at the position of its last
+     * change.
+     *
+     * @param since the {@code nextToken} of a previous page or sync, or {@code null} to start from the beginning
+     * @param size the maximum number of rows to return
+     * @return the page of changes
+     */
+    ChangeFeed getChanges(String since, int size);
+
+    /**
+     * Retrieves the watermark of the current end of the feed: a sync from it returns only the rows changed after
+     * this call. A client that seeds its copy from a snapshot takes this watermark before the snapshot, so the
+     * changes that race with the snapshot are replayed rather than missed.
+     *
+     * @return the token of the last committed change
+     */
+    String head();
+
+    /**
+     * Retrieves the watermark after every change up to a commit sequence number: a sync from it returns only the
+     * rows changed by later commits.
+     *
+     * @param seq the commit sequence number
+     * @return the token
+     */
+    String tokenAt(long seq);
+}
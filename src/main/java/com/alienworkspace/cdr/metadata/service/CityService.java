@@ -1,5 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.model.dto.metadata.CityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.util.List;
@@ -36,18 +40,49 @@ public interface CityService {
      */
     void deleteCity(int id, RecordVoidRequest request);
 
+    /**
+     * Retrieves a city by its ID, with its full subtree.
+     *
+     * @param id the ID of the city to retrieve
+     * @return the city
+     */
+    default CityDto getCity(int id) {
+        return getCity(id, MAX_DEPTH);
+    }
+
     /**
      * Retrieves a city by its ID.
      *
      * @param id the ID of the city to retrieve
+     * @param depth the number of child levels to include, from 0 to 5
      * @return the city
      */
-    CityDto getCity(int id);
+    CityDto getCity(int id, int depth);
+
+    /**
+     * Resolves the ID of a city from its external id.
+     *
+     * @param uuid the external id of the city
+     * @return the ID of the city
+     */
+    int getCityId(String uuid);
+
+    /**
+     * Retrieves a page of cities, in id order.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of cities to return
+     * @param includeVoided whether voided cities are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of cities
+     */
+    KeysetPage<CityDto> getAllCities(String pageToken, int size, boolean includeVoided, int depth);
 
     /**
-     * Retrieves all cities.
+     * Retrieves the communities of a city as lightweight rows, ordered by name. Voided communities are left out.
      *
-     * @return a list of cities
+     * @param cityId the ID of the city
+     * @return the communities of the city
      */
-    List<CityDto> getAllCities();
-} 
\ No newline at end of file
+    List<GeographyRow> getCommunities(int cityId);
+}
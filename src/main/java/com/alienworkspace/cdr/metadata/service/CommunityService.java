@@ -1,5 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.util.List;
@@ -36,18 +40,49 @@ public interface CommunityService {
      */
     void deleteCommunity(int id, RecordVoidRequest request);
 
+    /**
+     * Retrieves a community by its ID, with its full subtree.
+     *
+     * @param id the ID of the community to retrieve
+     * @return the community
+     */
+    default CommunityDto getCommunity(int id) {
+        return getCommunity(id, MAX_DEPTH);
+    }
+
     /**
      * Retrieves a community by its ID.
      *
      * @param id the ID of the community to retrieve
+     * @param depth the number of child levels to include, from 0 to 5
      * @return the community
      */
-    CommunityDto getCommunity(int id);
+    CommunityDto getCommunity(int id, int depth);
+
+    /**
+     * Resolves the ID of a community from its external id.
+     *
+     * @param uuid the external id of the community
+     * @return the ID of the community
+     */
+    int getCommunityId(String uuid);
+
+    /**
+     * Retrieves a page of communities, in id order.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of communities to return
+     * @param includeVoided whether voided communities are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of communities
+     */
+    KeysetPage<CommunityDto> getAllCommunities(String pageToken, int size, boolean includeVoided, int depth);
 
     /**
-     * Retrieves all communities.
+     * Retrieves the locations of a community as lightweight rows, ordered by name. Voided locations are left out.
      *
-     * @return a list of communities
+     * @param communityId the ID of the community
+     * @return the locations of the community
      */
-    List<CommunityDto> getAllCommunities();
-} 
\ No newline at end of file
+    List<GeographyRow> getLocations(int communityId);
+}
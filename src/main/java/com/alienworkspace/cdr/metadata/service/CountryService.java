@@ -1,5 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.util.List;
@@ -11,13 +15,24 @@ import java.util.List;
  */
 public interface CountryService {
 
+    /**
+     * Find a country by its country code, with its full subtree.
+     *
+     * @param countryCode the country code
+     * @return the country
+     */
+    default CountryDto findByCountryCode(String countryCode) {
+        return findByCountryCode(countryCode, MAX_DEPTH);
+    }
+
     /**
      * Find a country by its country code.
      *
      * @param countryCode the country code
+     * @param depth the number of child levels to include, from 0 to 5
      * @return the country
      */
-    CountryDto findByCountryCode(String countryCode);
+    CountryDto findByCountryCode(String countryCode, int depth);
 
     /**
      * Creates a new country.
@@ -44,18 +59,49 @@ public interface CountryService {
      */
     void deleteCountry(int id, RecordVoidRequest request);
 
+    /**
+     * Retrieves a country by its ID, with its full subtree.
+     *
+     * @param id the ID of the country to retrieve
+     * @return the country
+     */
+    default CountryDto getCountry(int id) {
+        return getCountry(id, MAX_DEPTH);
+    }
+
     /**
      * Retrieves a country by its ID.
      *
      * @param id the ID of the country to retrieve
+     * @param depth the number of child levels to include, from 0 to 5
      * @return the country
      */
-    CountryDto getCountry(int id);
+    CountryDto getCountry(int id, int depth);
+
+    /**
+     * Resolves the ID of a country from its external id.
+     *
+     * @param uuid the external id of the country
+     * @return the ID of the country
+     */
+    int getCountryId(String uuid);
+
+    /**
+     * Retrieves a page of countries, in id order.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of countries to return
+     * @param includeVoided whether voided countries are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of countries
+     */
+    KeysetPage<CountryDto> getAllCountries(String pageToken, int size, boolean includeVoided, int depth);
 
     /**
-     * Retrieves all countries.
+     * Retrieves the states of a country as lightweight rows, ordered by name. Voided states are left out.
      *
-     * @return a list of countries
+     * @param countryId the ID of the country
+     * @return the states of the country
      */
-    List<CountryDto> getAllCountries();
+    List<GeographyRow> getStates(int countryId);
 }
@@ -1,5 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.util.List;
@@ -36,18 +40,49 @@ public interface CountyService {
      */
     void deleteCounty(int id, RecordVoidRequest request);
 
+    /**
+     * Retrieves a county by its ID, with its full subtree.
+     *
+     * @param id the ID of the county to retrieve
+     * @return the county
+     */
+    default CountyDto getCounty(int id) {
+        return getCounty(id, MAX_DEPTH);
+    }
+
     /**
      * Retrieves a county by its ID.
      *
      * @param id the ID of the county to retrieve
+     * @param depth the number of child levels to include, from 0 to 5
      * @return the county
      */
-    CountyDto getCounty(int id);
+    CountyDto getCounty(int id, int depth);
+
+    /**
+     * Resolves the ID of a county from its external id.
+     *
+     * @param uuid the external id of the county
+     * @return the ID of the county
+     */
+    int getCountyId(String uuid);
+
+    /**
+     * Retrieves a page of counties, in id order.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of counties to return
+     * @param includeVoided whether voided counties are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of counties
+     */
+    KeysetPage<CountyDto> getAllCounties(String pageToken, int size, boolean includeVoided, int depth);
 
     /**
-     * Retrieves all counties.
+     * Retrieves the cities of a county as lightweight rows, ordered by name. Voided cities are left out.
      *
-     * @return a list of counties
+     * @param countyId the ID of the county
+     * @return the cities of the county
      */
-    List<CountyDto> getAllCounties();
-} 
\ No newline at end of file
+    List<GeographyRow> getCities(int countyId);
+}
@@ -0,0 +1,55 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+
+/**
+ * Strong entity tags for the GET endpoints of the six levels, computed from the read model alone so that a
+ * conditional GET can be answered with {@code 304 Not Modified} before any repository or mapper work.
+ *
+ * <p>A node's tag is built from the audit timestamps of the node and of the parent it embeds. Tags of responses
+ * that also carry children or whole levels are built from the highest commit sequence number and the number of rows
+ * of each of those levels, so every instance tags the same data alike. Every method returns {@code null} when no
+ * tag can be computed, such as while the read model is loading or when the node does not exist; the request is then
+ * served as usual.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface ETagService {
+
+    /**
+     * Returns the tag of one node, as returned by the get-by-ID endpoints.
+     *
+     * @param level the level of the node
+     * @param id the ID of the node
+     * @param depth the number of child levels included
+     * @return the quoted tag, or {@code null}
+     */
+    String forNode(GeographyLevel level, int id, int depth);
+
+    /**
+     * Returns the tag of the country with a code, as returned by the get-by-code endpoint.
+     *
+     * @param countryCode the country code
+     * @param depth the number of child levels included
+     * @return the quoted tag, or {@code null}
+     */
+    String forCountryCode(String countryCode, int depth);
+
+    /**
+     * Returns the tag of a list of the nodes of one level, whatever the page.
+     *
+     * @param level the level listed
+     * @param depth the number of child levels included
+     * @return the quoted tag, or {@code null}
+     */
+    String forLevel(GeographyLevel level, int depth);
+
+    /**
+     * Returns the tag of the child rows of a node.
+     *
+     * @param level the level of the node
+     * @param id the ID of the node
+     * @return the quoted tag, or {@code null}
+     */
+    String forChildren(GeographyLevel level, int id);
+}
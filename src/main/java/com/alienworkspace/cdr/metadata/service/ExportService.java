@@ -0,0 +1,26 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streaming export of the geography hierarchy as newline-delimited JSON.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface ExportService {
+
+    /**
+     * Prepares an export: the request is checked up front, and the returned body streams one JSON object per row,
+     * level by level from the top, each level in key order. Every row carries its {@code level}.
+     *
+     * @param level the only level to export, or {@code null} for every level
+     * @param ancestorLevel the level of the node whose subtree is exported, or {@code null} for the whole hierarchy
+     * @param ancestorId the ID of that node, or {@code null} for the whole hierarchy
+     * @param includeVoided whether voided rows are exported
+     * @param gzip whether the body is gzip compressed
+     * @return the body of the export
+     */
+    StreamingResponseBody export(GeographyLevel level, GeographyLevel ancestorLevel, Integer ancestorId,
+                                 boolean includeVoided, boolean gzip);
+}
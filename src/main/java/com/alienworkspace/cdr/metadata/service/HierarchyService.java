@@ -0,0 +1,110 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import java.util.List;
+
+/**
+ * Subtree, ancestor and containment queries over the materialized paths of the geography hierarchy, and the
+ * maintenance of those paths when a node moves to another parent.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface HierarchyService {
+
+    /**
+     * Retrieves a page of the nodes of one level below a node, at any depth, ordered by path and then id.
+     * Voided nodes are left out.
+     *
+     * @param level the level of the node
+     * @param id the ID of the node
+     * @param descendantLevel the level of the nodes to list; must be below {@code level}
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of nodes to return
+     * @return the page of nodes
+     */
+    KeysetPage<GeographyRow> getDescendants(GeographyLevel level, int id, GeographyLevel descendantLevel,
+                                            String pageToken, int size);
+
+    /**
+     * Retrieves the prefix shared by the paths of every node below a node.
+     *
+     * @param level the level of the node
+     * @param id the ID of the node
+     * @return the subtree prefix
+     */
+    String getSubtreePrefix(GeographyLevel level, int id);
+
+    /**
+     * Retrieves the ancestors of a node, from the country down.
+     *
+     * @param level the level of the node
+     * @param id the ID of the node
+     * @return the ancestors; empty for a country
+     */
+    List<GeographyRow> getAncestors(GeographyLevel level, int id);
+
+    /**
+     * Checks whether a node lies below another one, at any depth.
+     *
+     * @param level the level of the ancestor
+     * @param id the ID of the ancestor
+     * @param descendantLevel the level of the descendant
+     * @param descendantId the ID of the descendant
+     * @return whether the descendant lies below the ancestor
+     */
+    boolean contains(GeographyLevel level, int id, GeographyLevel descendantLevel, int descendantId);
+
+    /**
+     * Moves a state to another country and rewrites the paths of everything below it.
+     *
+     * @param state the managed state
+     * @param countryId the ID of the new country
+     */
+    void moveState(State state, int countryId);
+
+    /**
+     * Moves a county to another state and rewrites the paths of everything below it.
+     *
+     * @param county the managed county
+     * @param stateId the ID of the new state
+     */
+    void moveCounty(County county, int stateId);
+
+    /**
+     * Moves a city to another county and rewrites the paths of everything below it.
+     *
+     * @param city the managed city
+     * @param countyId the ID of the new county
+     */
+    void moveCity(City city, int countyId);
+
+    /**
+     * Moves a community to another city and rewrites the paths of everything below it.
+     *
+     * @param community the managed community
+     * @param cityId the ID of the new city
+     */
+    void moveCommunity(Community community, int cityId);
+
+    /**
+     * Moves a location to another community.
+     *
+     * @param location the managed location
+     * @param communityId the ID of the new community
+     */
+    void moveLocation(Location location, int communityId);
+
+    /**
+     * Fills in the paths of the rows that do not have one yet, level by level from the top.
+     *
+     * @return the number of rows updated
+     */
+    int backfillPaths();
+}
@@ -0,0 +1,38 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.model.dto.ImportJob;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Bulk import of geography datasets from delimited files.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface ImportService {
+
+    /**
+     * Starts importing a CSV or TSV file into one level of the hierarchy. The file is read in the background; the
+     * returned job is polled with {@link #getImport(String)}.
+     *
+     * <p>The first record is a header naming the columns: {@code parent_code}, {@code name} and {@code code} are
+     * required; {@code grandparent_code}, {@code geo_code}, {@code phone_code}, {@code locale} and
+     * {@code locale_preferred} are optional. Parents are resolved by their code; as codes below the country level are
+     * unique only within their parent, a parent code shared by several parents is told apart by the code of the
+     * parent's own parent in {@code grandparent_code}, such as the country code of a state when importing counties.
+     *
+     * @param level the level to import into; countries cannot be imported
+     * @param file the file to import
+     * @param format {@code csv} or {@code tsv}, or {@code null} to go by the file name
+     * @return the started job
+     */
+    ImportJob startImport(GeographyLevel level, MultipartFile file, String format);
+
+    /**
+     * Retrieves the progress of a bulk import.
+     *
+     * @param id the ID of the job
+     * @return the job
+     */
+    ImportJob getImport(String id);
+}
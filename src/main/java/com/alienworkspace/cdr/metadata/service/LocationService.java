@@ -1,8 +1,8 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
-import java.util.List;
 
 /**
  * Service interface for Location operations.
@@ -45,9 +45,20 @@ public interface LocationService {
     LocationDto getLocation(int id);
 
     /**
-     * Retrieves all locations.
+     * Resolves the ID of a location from its external id.
      *
-     * @return a list of locations
+     * @param uuid the external id of the location
+     * @return the ID of the location
      */
-    List<LocationDto> getAllLocations();
+    int getLocationId(String uuid);
+
+    /**
+     * Retrieves a page of locations, in id order.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of locations to return
+     * @param includeVoided whether voided locations are included
+     * @return the page of locations
+     */
+    KeysetPage<LocationDto> getAllLocations(String pageToken, int size, boolean includeVoided);
 } 
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.MatchCandidate;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type-ahead search and fuzzy name matching over the hierarchy.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface SearchService {
+
+    /**
+     * Finds the nodes whose code, name or a word of whose name starts with what the user typed, ignoring case and
+     * diacritics. Voided nodes are left out.
+     *
+     * @param query the prefix typed so far
+     * @param levels the levels to search; every level when empty
+     * @param parentId when not {@code null}, only nodes whose parent has this ID are returned
+     * @param limit the maximum number of nodes per level
+     * @return the matching nodes keyed by level resource name, such as {@code cities}, in hierarchy order
+     */
+    Map<String, List<GeographyRow>> search(String query, List<GeographyLevel> levels, Integer parentId, int limit);
+
+    /**
+     * Finds the nodes whose names are close to a possibly misspelled name, such as one typed by a field clerk, so
+     * that an existing node can be picked instead of creating a near-duplicate. Voided nodes are left out.
+     *
+     * @param name the name to match
+     * @param levels the levels to search; every level when empty
+     * @param parentId when not {@code null}, only nodes whose parent has this ID are returned
+     * @param limit the maximum number of candidates
+     * @return the candidates, best first
+     */
+    List<MatchCandidate> match(String name, List<GeographyLevel> levels, Integer parentId, int limit);
+}
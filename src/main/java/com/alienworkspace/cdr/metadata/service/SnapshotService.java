@@ -0,0 +1,20 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.model.dto.EncodedSnapshot;
+import java.util.Optional;
+
+/**
+ * The whole geography hierarchy as one compact binary snapshot, for services that bootstrap a local copy of it.
+ *
+ * @author Ikenumah (enumahinm@gmail.com)
+ */
+public interface SnapshotService {
+
+    /**
+     * Returns the snapshot of the current hierarchy. It is encoded again when the hierarchy has changed since the
+     * last call, and shared otherwise.
+     *
+     * @return the encoded snapshot, or an empty optional while the read model is loading
+     */
+    Optional<EncodedSnapshot> current();
+}
@@ -1,5 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.model.dto.metadata.StateDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.util.List;
@@ -36,18 +40,49 @@ public interface StateService {
      */
     void deleteState(int id, RecordVoidRequest request);
 
+    /**
+     * Retrieves a state by its ID, with its full subtree.
+     *
+     * @param id the ID of the state to retrieve
+     * @return the state
+     */
+    default StateDto getState(int id) {
+        return getState(id, MAX_DEPTH);
+    }
+
     /**
      * Retrieves a state by its ID.
      *
      * @param id the ID of the state to retrieve
+     * @param depth the number of child levels to include, from 0 to 5
      * @return the state
      */
-    StateDto getState(int id);
+    StateDto getState(int id, int depth);
+
+    /**
+     * Resolves the ID of a state from its external id.
+     *
+     * @param uuid the external id of the state
+     * @return the ID of the state
+     */
+    int getStateId(String uuid);
+
+    /**
+     * Retrieves a page of states, in id order.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of states to return
+     * @param includeVoided whether voided states are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of states
+     */
+    KeysetPage<StateDto> getAllStates(String pageToken, int size, boolean includeVoided, int depth);
 
     /**
-     * Retrieves all states.
+     * Retrieves the counties of a state as lightweight rows, ordered by name. Voided counties are left out.
      *
-     * @return a list of states
+     * @param stateId the ID of the state
+     * @return the counties of the state
      */
-    List<StateDto> getAllStates();
-} 
\ No newline at end of file
+    List<GeographyRow> getCounties(int stateId);
+}
@@ -1,28 +1,25 @@
 package com.alienworkspace.cdr.metadata.service.impl;
 
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.measure;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
-import com.alienworkspace.cdr.metadata.model.mapper.CityMapper;
-import com.alienworkspace.cdr.metadata.model.mapper.CommunityMapper;
-import com.alienworkspace.cdr.metadata.model.mapper.CountryMapper;
-import com.alienworkspace.cdr.metadata.model.mapper.CountyMapper;
-import com.alienworkspace.cdr.metadata.model.mapper.LocationMapper;
-import com.alienworkspace.cdr.metadata.model.mapper.StateMapper;
-import com.alienworkspace.cdr.metadata.repository.CityRepository;
-import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
-import com.alienworkspace.cdr.metadata.repository.CountryRepository;
-import com.alienworkspace.cdr.metadata.repository.CountyRepository;
-import com.alienworkspace.cdr.metadata.repository.LocationRepository;
-import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationResult;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyPath;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyPathResolver;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotMapper;
 import com.alienworkspace.cdr.metadata.service.AppLevelService;
-import com.alienworkspace.cdr.model.dto.metadata.CityDto;
-import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
-import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
-import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
-import com.alienworkspace.cdr.model.dto.metadata.StateDto;
-import com.google.common.collect.ImmutableSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service implementation for app-level operations.
@@ -33,22 +30,16 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 public class AppLevelServiceImpl implements AppLevelService {
 
-    private final CountryRepository countryRepository;
-    private final StateRepository stateRepository;
-    private final CountyRepository countyRepository;
-    private final CityRepository cityRepository;
-    private final CommunityRepository communityRepository;
-    private final LocationRepository locationRepository;
-    private final CountryMapper countryMapper;
-    private final StateMapper stateMapper;
-    private final CountyMapper countyMapper;
-    private final CityMapper cityMapper;
-    private final CommunityMapper communityMapper;
-    private final LocationMapper locationMapper;
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final GeographyPathResolver geographyPathResolver;
 
     /**
      * Get a location by its id.
      *
+     * <p>The ids are resolved in one lookup and must form a parent/child chain. The returned country holds only
+     * the requested branch.
+     *
      * @param countryId   the id of the country
      * @param stateId     the id of the state
      * @param countyId    the id of the county
@@ -57,43 +48,55 @@ public class AppLevelServiceImpl implements AppLevelService {
      * @param locationId  the id of the location
      * @return the location
      */
+    @Transactional(readOnly = true)
     @Override
     public CountryDto getPersonLocation(int countryId, Integer stateId, Integer countyId, Integer cityId,
                                         Integer communityId, Integer locationId) {
-        CountryDto country = countryRepository.findById(countryId)
-                .map(countryMapper::toDto)
-                .orElseThrow(() -> new ResourceNotFoundException("Country not found"));
-        if (stateId != null) {
-            StateDto state = stateRepository.findById(stateId)
-                    .map(stateMapper::toDto)
-                    .orElseThrow(() -> new ResourceNotFoundException("State not found"));
-            if (countyId != null) {
-                CountyDto county = countyRepository.findById(countyId)
-                        .map(countyMapper::toDto)
-                        .orElseThrow(() -> new ResourceNotFoundException("County not found"));
-                state.setCounties(ImmutableSet.of(county));
-                if (cityId != null) {
-                    CityDto city = cityRepository.findById(cityId)
-                            .map(cityMapper::toDto)
-                            .orElseThrow(() -> new ResourceNotFoundException("City not found"));
-                    county.setCities(ImmutableSet.of(city));
-                    if (communityId != null) {
-                        CommunityDto community = communityRepository.findById(communityId)
-                                .map(communityMapper::toDto)
-                                .orElseThrow(() -> new ResourceNotFoundException("Community not found"));
-                        city.setCommunities(ImmutableSet.of(community));
-                        if (locationId != null) {
-                            LocationDto location = locationRepository.findById(locationId)
-                                    .map(locationMapper::toDto)
-                                    .orElseThrow(() -> new ResourceNotFoundException("Location not found"));
-                            community.setLocations(ImmutableSet.of(location));
-                        }
-                    }
-                }
-            }
-            country.setStates(ImmutableSet.of(state));
+        GeographyPath path = geographyPathResolver.resolve(countryId, stateId, countyId, cityId, communityId,
+                locationId);
+        return measure(MAPPING, () -> GeographySnapshotMapper.toDto(path));
+    }
+
+    /**
+     * Get the locations of many persons at once.
+     *
+     * @param requests the chains of ids to resolve
+     * @return one result per request, in the order of the requests
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<PersonLocationResult> getPersonLocations(List<PersonLocationRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("A batch can hold at most " + MAX_BATCH_SIZE + " requests");
         }
+        Map<PersonLocationRequest, PersonLocationResult> results = new LinkedHashMap<>();
+        requests.forEach(request -> results.put(request, null));
+        GeographySnapshot lookup = geographyPathResolver.lookup(results.keySet());
+        results.replaceAll((request, ignored) -> resolve(lookup, request));
+        return requests.stream().map(results::get).toList();
+    }
 
-        return country;
+    private PersonLocationResult resolve(GeographySnapshot lookup, PersonLocationRequest request) {
+        if (request == null || request.getCountryId() == null) {
+            return PersonLocationResult.builder()
+                    .request(request)
+                    .errorCode(HttpStatus.BAD_REQUEST.value())
+                    .errorMessage("countryId is required")
+                    .build();
+        }
+        try {
+            GeographyPath path = geographyPathResolver.resolve(lookup, request.getCountryId(), request.getStateId(),
+                    request.getCountyId(), request.getCityId(), request.getCommunityId(), request.getLocationId());
+            return PersonLocationResult.builder()
+                    .request(request)
+                    .location(measure(MAPPING, () -> GeographySnapshotMapper.toDto(path)))
+                    .build();
+        } catch (ResourceNotFoundException e) {
+            return PersonLocationResult.builder()
+                    .request(request)
+                    .errorCode(HttpStatus.NOT_FOUND.value())
+                    .errorMessage(e.getMessage())
+                    .build();
+        }
     }
 }
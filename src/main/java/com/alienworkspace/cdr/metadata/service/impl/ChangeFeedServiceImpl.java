@@ -0,0 +1,175 @@
+package com.alienworkspace.cdr.metadata.service.impl;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.dto.ChangeFeed;
+import com.alienworkspace.cdr.metadata.model.dto.ChangeRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.ChangeFeedService;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Implementation of the ChangeFeedService interface.
+ *
+ * <p>Every geography row carries the commit sequence number of the transaction that last wrote it, in an indexed
+ * {@code change_seq} column (see {@link com.alienworkspace.cdr.metadata.readmodel.ChangeSequence}). A page reads,
+ * from each level, the first rows after the watermark in {@code change_seq} order, which is an index range scan,
+ * and merges them. The six reads run in one read-only transaction, so the page is one consistent view.
+ *
+ * @author Ikenumah
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    private static final Comparator<Change> ORDER = Comparator.comparingLong(Change::seq)
+            .thenComparing(Change::level)
+            .thenComparingInt(change -> change.row().getId());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor for ChangeFeedServiceImpl.
+     *
+     * @param dataSource the data source
+     * @param transactionManager the transaction manager
+     */
+    public ChangeFeedServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Get the changes after a watermark.
+     *
+     * @param since the token of a previous page or sync, or {@code null} to start from the beginning
+     * @param size the maximum number of rows to return
+     * @return the page of changes
+     */
+    @Override
+    public ChangeFeed getChanges(String since, int size) {
+        PageToken.ChangePosition after = PageToken.decodeChangePosition(since);
+        if (after.level() < 0 || after.level() >= GeographyLevel.values().length) {
+            throw new InvalidRequestException("Invalid page token: " + since);
+        }
+        List<Change> changes = transactionTemplate.execute(status -> {
+            List<Change> read = new ArrayList<>();
+            for (GeographyLevel level : GeographyLevel.values()) {
+                read.addAll(readLevel(level, after, size + 1));
+            }
+            return read;
+        });
+        if (changes == null) {
+            changes = List.of();
+        }
+        List<Change> page = changes.stream().sorted(ORDER).limit(size).toList();
+        PageToken.ChangePosition last = page.isEmpty() ? after : page.get(page.size() - 1).position();
+        return ChangeFeed.builder()
+                .changes(page.stream().map(Change::row).toList())
+                .nextToken(PageToken.encode(last))
+                .hasMore(changes.size() > size)
+                .build();
+    }
+
+    /**
+     * Get the watermark of the last committed change. It is the position after every row stamped with the highest
+     * sequence number, which is the last position of the last level within that number.
+     *
+     * @return the token of the last committed change
+     */
+    @Override
+    public String head() {
+        Long head = transactionTemplate.execute(status -> {
+            long max = 0;
+            for (GeographyLevel level : GeographyLevel.values()) {
+                Long seq = jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM "
+                        + level.name().toLowerCase(Locale.ROOT), Long.class);
+                max = seq == null ? max : Math.max(max, seq);
+            }
+            return max;
+        });
+        return tokenAt(head == null ? 0 : head);
+    }
+
+    /**
+     * Get the watermark after every change up to a sequence number, which is the last position of the last level
+     * within that number.
+     *
+     * @param seq the commit sequence number
+     * @return the token
+     */
+    @Override
+    public String tokenAt(long seq) {
+        return PageToken.encode(new PageToken.ChangePosition(seq, GeographyLevel.LOCATION.ordinal(),
+                Integer.MAX_VALUE));
+    }
+
+    /**
+     * Reads the first rows of one level after a position. Levels before the position's level resume after its
+     * sequence number, its own level after its id within that number, and later levels at that number.
+     */
+    private List<Change> readLevel(GeographyLevel level, PageToken.ChangePosition after, int limit) {
+        String table = level.name().toLowerCase(Locale.ROOT);
+        String parentId = level.parent() == null ? "NULL" : level.parent().name().toLowerCase(Locale.ROOT) + "_id";
+        String currency = level == GeographyLevel.COUNTRY ? ", currency_name, currency_symbol, currency_code" : "";
+        String select = "SELECT " + table + "_id, " + table + "_name, " + table + "_code, " + table + "_geo_code, "
+                + table + "_phone_code, locale, locale_preferred, " + parentId + ", uuid, voided, change_seq"
+                + currency + " FROM " + table + " WHERE ";
+        String order = " ORDER BY change_seq, " + table + "_id LIMIT ?";
+        if (level.ordinal() < after.level()) {
+            return jdbcTemplate.query(select + "change_seq > ?" + order,
+                    (resultSet, rowNum) -> toChange(level, resultSet), after.seq(), limit);
+        } else if (level.ordinal() == after.level()) {
+            return jdbcTemplate.query(select + "change_seq >= ? AND (change_seq > ? OR " + table + "_id > ?)" + order,
+                    (resultSet, rowNum) -> toChange(level, resultSet), after.seq(), after.seq(), after.id(), limit);
+        }
+        return jdbcTemplate.query(select + "change_seq >= ?" + order,
+                (resultSet, rowNum) -> toChange(level, resultSet), after.seq(), limit);
+    }
+
+    private static Change toChange(GeographyLevel level, ResultSet resultSet) throws SQLException {
+        ChangeRow row = ChangeRow.builder()
+                .level(level.resource())
+                .id(resultSet.getInt(1))
+                .name(resultSet.getString(2))
+                .code(resultSet.getString(3))
+                .geoCode(resultSet.getString(4))
+                .phoneCode(resultSet.getObject(5, Integer.class))
+                .locale(resultSet.getString(6))
+                .localePreferred(resultSet.getBoolean(7))
+                .parentId(resultSet.getObject(8, Integer.class))
+                .uuid(Uuids.format(resultSet.getBytes(9)))
+                .voided(resultSet.getBoolean(10))
+                .build();
+        if (level == GeographyLevel.COUNTRY) {
+            row.setCurrencyName(resultSet.getString(12));
+            row.setCurrencySymbol(resultSet.getString(13));
+            row.setCurrencyCode(resultSet.getString(14));
+        }
+        return new Change(resultSet.getLong(11), level, row);
+    }
+
+    /**
+     * A changed row with the position it sorts at.
+     */
+    private record Change(long seq, GeographyLevel level, ChangeRow row) {
+
+        PageToken.ChangePosition position() {
+            return new PageToken.ChangePosition(seq, level.ordinal(), row.getId());
+        }
+    }
+}
@@ -1,17 +1,37 @@
 package com.alienworkspace.cdr.metadata.service.impl;
 
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.measure;
+
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.metadata.helpers.CurrentUser;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CityMapper;
+import com.alienworkspace.cdr.metadata.readmodel.CityNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotMapper;
 import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
 import com.alienworkspace.cdr.metadata.service.CityService;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
 import com.alienworkspace.cdr.model.dto.metadata.CityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +48,10 @@ public class CityServiceImpl implements CityService {
     private static final Logger LOGGER = LoggerFactory.getLogger(CityServiceImpl.class);
     private final CityRepository cityRepository;
     private final CityMapper cityMapper;
+    private final GeographyReadModel geographyReadModel;
+    private final CommunityRepository communityRepository;
+    private final CountyRepository countyRepository;
+    private final HierarchyService hierarchyService;
 
     /**
      * Create a new city.
@@ -39,7 +63,11 @@ public class CityServiceImpl implements CityService {
     @Override
     public CityDto createCity(CityDto cityDto) {
         try {
-            return cityMapper.toDto(cityRepository.save(cityMapper.toEntity(cityDto)));
+            City city = cityMapper.toEntity(cityDto);
+            if (city.getCounty() != null && city.getCounty().getCountyId() != null) {
+                city.setCounty(countyRepository.getReferenceById(city.getCounty().getCountyId()));
+            }
+            return cityMapper.toDto(cityRepository.save(city));
         } catch (Exception e) {
             LOGGER.error("Failed to create city", e);
             throw new IllegalArgumentException("Failed to create city", e);
@@ -48,6 +76,7 @@ public class CityServiceImpl implements CityService {
 
     /**
      * Update an existing city.
+     * Giving it another county moves it, with everything below it, to that county.
      *
      * @param cityId the id of the city to update
      * @param cityDto the city to update
@@ -58,6 +87,10 @@ public class CityServiceImpl implements CityService {
     public CityDto updateCity(int cityId, CityDto cityDto) {
         return cityRepository.findById(cityId)
                 .map(city -> {
+                    if (cityDto.getCounty() != null && cityDto.getCounty().getCountyId() != null
+                            && !cityDto.getCounty().getCountyId().equals(city.getCounty().getCountyId())) {
+                        hierarchyService.moveCity(city, cityDto.getCounty().getCountyId());
+                    }
                     try {
                         city.setCityName(cityDto.getCityName());
                         city.setLocale(cityDto.getLocale());
@@ -101,23 +134,88 @@ public class CityServiceImpl implements CityService {
      * Get a city by its id.
      *
      * @param id the id of the city to get
+     * @param depth the number of child levels to include
      * @return the city
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public CityDto getCity(int id) {
+    public CityDto getCity(int id, int depth) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().city(id)
+                    .map(city -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), city, depth)))
+                    .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + id));
+        }
         return cityMapper.toDto(cityRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + id)));
+                .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + id)), depth);
     }
 
     /**
-     * Get all cities.
+     * Resolve the id of a city from its external id, from the read model when it holds the city and from the
+     * database otherwise.
      *
-     * @return a list of cities
+     * @param uuid the external id of the city
+     * @return the id of the city
      */
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public int getCityId(String uuid) {
+        UUID parsed = Uuids.parse(uuid);
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.nodeByUuid(GeographyLevel.CITY, parsed.toString()))
+                .map(GeographyNode::id)
+                .or(() -> cityRepository.findIdByUuid(parsed))
+                .orElseThrow(() -> new ResourceNotFoundException("City not found with uuid: " + uuid));
+    }
+
+    /**
+     * Get a page of cities, in id order. One row more than the page size is read to tell whether there is a
+     * next page.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of cities to return
+     * @param includeVoided whether voided cities are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of cities
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<CityDto> getAllCities(String pageToken, int size, boolean includeVoided, int depth) {
+        int afterId = PageToken.decode(pageToken);
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            List<CityNode> nodes = snapshot.get().citiesAfter(afterId, includeVoided, size + 1);
+            return KeysetPage.of(nodes, size, CityNode::id,
+                    node -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), node, depth)));
+        }
+        Limit limit = Limit.of(size + 1);
+        List<City> cities = includeVoided
+                ? cityRepository.findByCityIdGreaterThanOrderByCityIdAsc(afterId, limit)
+                : cityRepository.findByCityIdGreaterThanAndVoidedIsFalseOrderByCityIdAsc(afterId, limit);
+        return KeysetPage.of(cities, size, City::getCityId, city -> cityMapper.toDto(city, depth));
+    }
+
+    /**
+     * Get the communities of a city as lightweight rows, ordered by name. The existence of the city is only checked
+     * when it has no communities, so the common case is a single indexed query.
+     *
+     * @param cityId the id of the city
+     * @return the communities of the city
+     */
+    @Transactional(readOnly = true)
     @Override
-    public List<CityDto> getAllCities() {
-        return cityRepository.findAll().stream().map(cityMapper::toDto).toList();
+    public List<GeographyRow> getCommunities(int cityId) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            if (snapshot.get().city(cityId).isEmpty()) {
+                throw new ResourceNotFoundException("City not found with id: " + cityId);
+            }
+            return measure(MAPPING, () -> GeographySnapshotMapper.toRows(snapshot.get().communitiesOf(cityId)));
+        }
+        List<GeographyRow> communities = communityRepository.findRowsByCityId(cityId);
+        if (communities.isEmpty() && !cityRepository.existsById(cityId)) {
+            throw new ResourceNotFoundException("City not found with id: " + cityId);
+        }
+        return communities;
     }
-} 
\ No newline at end of file
+}
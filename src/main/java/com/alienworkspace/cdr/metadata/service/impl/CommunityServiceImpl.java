@@ -1,17 +1,37 @@
 package com.alienworkspace.cdr.metadata.service.impl;
 
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.measure;
+
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.metadata.helpers.CurrentUser;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CommunityMapper;
+import com.alienworkspace.cdr.metadata.readmodel.CommunityNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotMapper;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
 import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
 import com.alienworkspace.cdr.metadata.service.CommunityService;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
 import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +48,10 @@ public class CommunityServiceImpl implements CommunityService {
     private static final Logger LOGGER = LoggerFactory.getLogger(CommunityServiceImpl.class);
     private final CommunityRepository communityRepository;
     private final CommunityMapper communityMapper;
+    private final GeographyReadModel geographyReadModel;
+    private final LocationRepository locationRepository;
+    private final CityRepository cityRepository;
+    private final HierarchyService hierarchyService;
 
     /**
      * Create a new community.
@@ -39,7 +63,11 @@ public class CommunityServiceImpl implements CommunityService {
     @Override
     public CommunityDto createCommunity(CommunityDto communityDto) {
         try {
-            return communityMapper.toDto(communityRepository.save(communityMapper.toEntity(communityDto)));
+            Community community = communityMapper.toEntity(communityDto);
+            if (community.getCity() != null && community.getCity().getCityId() != null) {
+                community.setCity(cityRepository.getReferenceById(community.getCity().getCityId()));
+            }
+            return communityMapper.toDto(communityRepository.save(community));
         } catch (Exception e) {
             LOGGER.error("Failed to create community", e);
             throw new IllegalArgumentException("Failed to create community", e);
@@ -48,6 +76,7 @@ public class CommunityServiceImpl implements CommunityService {
 
     /**
      * Update an existing community.
+     * Giving it another city moves it, with everything below it, to that city.
      *
      * @param communityId the id of the community to update
      * @param communityDto the community to update
@@ -58,6 +87,10 @@ public class CommunityServiceImpl implements CommunityService {
     public CommunityDto updateCommunity(int communityId, CommunityDto communityDto) {
         return communityRepository.findById(communityId)
                 .map(community -> {
+                    if (communityDto.getCity() != null && communityDto.getCity().getCityId() != null
+                            && !communityDto.getCity().getCityId().equals(community.getCity().getCityId())) {
+                        hierarchyService.moveCommunity(community, communityDto.getCity().getCityId());
+                    }
                     try {
                         community.setCommunityName(communityDto.getCommunityName());
                         community.setLocale(communityDto.getLocale());
@@ -101,23 +134,90 @@ public class CommunityServiceImpl implements CommunityService {
      * Get a community by its id.
      *
      * @param id the id of the community to get
+     * @param depth the number of child levels to include
      * @return the community
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public CommunityDto getCommunity(int id) {
+    public CommunityDto getCommunity(int id, int depth) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().community(id)
+                    .map(community -> measure(MAPPING,
+                            () -> GeographySnapshotMapper.toDto(snapshot.get(), community, depth)))
+                    .orElseThrow(() -> new ResourceNotFoundException("Community not found with id: " + id));
+        }
         return communityMapper.toDto(communityRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Community not found with id: " + id)));
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found with id: " + id)), depth);
     }
 
     /**
-     * Get all communities.
+     * Resolve the id of a community from its external id, from the read model when it holds the community and from the
+     * database otherwise.
      *
-     * @return a list of communities
+     * @param uuid the external id of the community
+     * @return the id of the community
      */
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public int getCommunityId(String uuid) {
+        UUID parsed = Uuids.parse(uuid);
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.nodeByUuid(GeographyLevel.COMMUNITY, parsed.toString()))
+                .map(GeographyNode::id)
+                .or(() -> communityRepository.findIdByUuid(parsed))
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found with uuid: " + uuid));
+    }
+
+    /**
+     * Get a page of communities, in id order. One row more than the page size is read to tell whether there is a
+     * next page.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of communities to return
+     * @param includeVoided whether voided communities are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of communities
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<CommunityDto> getAllCommunities(String pageToken, int size, boolean includeVoided, int depth) {
+        int afterId = PageToken.decode(pageToken);
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            List<CommunityNode> nodes = snapshot.get().communitiesAfter(afterId, includeVoided, size + 1);
+            return KeysetPage.of(nodes, size, CommunityNode::id,
+                    node -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), node, depth)));
+        }
+        Limit limit = Limit.of(size + 1);
+        List<Community> communities = includeVoided
+                ? communityRepository.findByCommunityIdGreaterThanOrderByCommunityIdAsc(afterId, limit)
+                : communityRepository.findByCommunityIdGreaterThanAndVoidedIsFalseOrderByCommunityIdAsc(afterId, limit);
+        return KeysetPage.of(communities, size, Community::getCommunityId,
+                community -> communityMapper.toDto(community, depth));
+    }
+
+    /**
+     * Get the locations of a community as lightweight rows, ordered by name. The existence of the community is only
+     * checked when it has no locations, so the common case is a single indexed query.
+     *
+     * @param communityId the id of the community
+     * @return the locations of the community
+     */
+    @Transactional(readOnly = true)
     @Override
-    public List<CommunityDto> getAllCommunities() {
-        return communityRepository.findAll().stream().map(communityMapper::toDto).toList();
+    public List<GeographyRow> getLocations(int communityId) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            if (snapshot.get().community(communityId).isEmpty()) {
+                throw new ResourceNotFoundException("Community not found with id: " + communityId);
+            }
+            return measure(MAPPING, () -> GeographySnapshotMapper.toRows(snapshot.get().locationsOf(communityId)));
+        }
+        List<GeographyRow> locations = locationRepository.findRowsByCommunityId(communityId);
+        if (locations.isEmpty() && !communityRepository.existsById(communityId)) {
+            throw new ResourceNotFoundException("Community not found with id: " + communityId);
+        }
+        return locations;
     }
-} 
\ No newline at end of file
+}
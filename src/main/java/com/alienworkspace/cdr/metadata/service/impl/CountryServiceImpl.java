@@ -1,15 +1,33 @@
 package com.alienworkspace.cdr.metadata.service.impl;
 
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.measure;
+
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.metadata.helpers.CurrentUser;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CountryMapper;
+import com.alienworkspace.cdr.metadata.readmodel.CountryNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotMapper;
 import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
 import com.alienworkspace.cdr.metadata.service.CountryService;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,18 +44,28 @@ public class CountryServiceImpl implements CountryService {
 
     private final CountryRepository countryRepository;
     private final CountryMapper countryMapper;
+    private final GeographyReadModel geographyReadModel;
+    private final StateRepository stateRepository;
 
     /**
      * Find a country by its country code.
      *
      * @param countryCode the country code
+     * @param depth the number of child levels to include
      * @return the country
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public CountryDto findByCountryCode(String countryCode) {
+    public CountryDto findByCountryCode(String countryCode, int depth) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().countryByCode(countryCode)
+                    .map(country -> measure(MAPPING,
+                            () -> GeographySnapshotMapper.toDto(snapshot.get(), country, depth)))
+                    .orElseThrow(() -> new ResourceNotFoundException("Country not found"));
+        }
         return countryRepository.findByCountryCode(countryCode)
-                .map(countryMapper::toDto)
+                .map(country -> countryMapper.toDto(country, depth))
                 .orElseThrow(() -> new ResourceNotFoundException("Country not found"));
     }
 
@@ -85,25 +113,67 @@ public class CountryServiceImpl implements CountryService {
      * Get a country by its id.
      *
      * @param countryId the id of the country to get
+     * @param depth the number of child levels to include
      * @return the country
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public CountryDto getCountry(int countryId) {
+    public CountryDto getCountry(int countryId, int depth) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().country(countryId)
+                    .map(country -> measure(MAPPING,
+                            () -> GeographySnapshotMapper.toDto(snapshot.get(), country, depth)))
+                    .orElseThrow(() -> new ResourceNotFoundException("Country not found"));
+        }
         return countryRepository.findById(countryId)
-                .map(countryMapper::toDto)
+                .map(country -> countryMapper.toDto(country, depth))
                 .orElseThrow(() -> new ResourceNotFoundException("Country not found"));
     }
 
     /**
-     * Get all countries.
+     * Resolve the id of a country from its external id, from the read model when it holds the country and from the
+     * database otherwise.
      *
-     * @return the list of countries
+     * @param uuid the external id of the country
+     * @return the id of the country
      */
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public int getCountryId(String uuid) {
+        UUID parsed = Uuids.parse(uuid);
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.nodeByUuid(GeographyLevel.COUNTRY, parsed.toString()))
+                .map(GeographyNode::id)
+                .or(() -> countryRepository.findIdByUuid(parsed))
+                .orElseThrow(() -> new ResourceNotFoundException("Country not found with uuid: " + uuid));
+    }
+
+    /**
+     * Get a page of countries, in id order. One row more than the page size is read to tell whether there is a
+     * next page.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of countries to return
+     * @param includeVoided whether voided countries are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of countries
+     */
+    @Transactional(readOnly = true)
     @Override
-    public List<CountryDto> getAllCountries() {
-        return countryRepository.findAll().stream().map(countryMapper::toDto).toList();
+    public KeysetPage<CountryDto> getAllCountries(String pageToken, int size, boolean includeVoided, int depth) {
+        int afterId = PageToken.decode(pageToken);
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            List<CountryNode> nodes = snapshot.get().countriesAfter(afterId, includeVoided, size + 1);
+            return KeysetPage.of(nodes, size, CountryNode::id,
+                    node -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), node, depth)));
+        }
+        Limit limit = Limit.of(size + 1);
+        List<Country> countries = includeVoided
+                ? countryRepository.findByCountryIdGreaterThanOrderByCountryIdAsc(afterId, limit)
+                : countryRepository.findByCountryIdGreaterThanAndVoidedIsFalseOrderByCountryIdAsc(afterId, limit);
+        return KeysetPage.of(countries, size, Country::getCountryId, country -> countryMapper.toDto(country, depth));
     }
 
     /**
@@ -124,4 +194,28 @@ public class CountryServiceImpl implements CountryService {
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Country not found"));
     }
+
+    /**
+     * Get the states of a country as lightweight rows, ordered by name. The existence of the country is only checked
+     * when it has no states, so the common case is a single indexed query.
+     *
+     * @param countryId the id of the country
+     * @return the states of the country
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<GeographyRow> getStates(int countryId) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            if (snapshot.get().country(countryId).isEmpty()) {
+                throw new ResourceNotFoundException("Country not found");
+            }
+            return measure(MAPPING, () -> GeographySnapshotMapper.toRows(snapshot.get().statesOf(countryId)));
+        }
+        List<GeographyRow> states = stateRepository.findRowsByCountryId(countryId);
+        if (states.isEmpty() && !countryRepository.existsById(countryId)) {
+            throw new ResourceNotFoundException("Country not found");
+        }
+        return states;
+    }
 }
@@ -1,17 +1,37 @@
 package com.alienworkspace.cdr.metadata.service.impl;
 
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.measure;
+
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.metadata.helpers.CurrentUser;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CountyMapper;
+import com.alienworkspace.cdr.metadata.readmodel.CountyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotMapper;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
 import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
 import com.alienworkspace.cdr.metadata.service.CountyService;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
 import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +48,10 @@ public class CountyServiceImpl implements CountyService {
     private static final Logger LOGGER = LoggerFactory.getLogger(CountyServiceImpl.class);
     private final CountyRepository countyRepository;
     private final CountyMapper countyMapper;
+    private final GeographyReadModel geographyReadModel;
+    private final CityRepository cityRepository;
+    private final StateRepository stateRepository;
+    private final HierarchyService hierarchyService;
 
     /**
      * Create a new county.
@@ -39,7 +63,11 @@ public class CountyServiceImpl implements CountyService {
     @Override
     public CountyDto createCounty(CountyDto countyDto) {
         try {
-            return countyMapper.toDto(countyRepository.save(countyMapper.toEntity(countyDto)));
+            County county = countyMapper.toEntity(countyDto);
+            if (county.getState() != null && county.getState().getStateId() != null) {
+                county.setState(stateRepository.getReferenceById(county.getState().getStateId()));
+            }
+            return countyMapper.toDto(countyRepository.save(county));
         } catch (Exception e) {
             LOGGER.error("Failed to create county", e);
             throw new IllegalArgumentException("Failed to create county", e);
@@ -48,6 +76,7 @@ public class CountyServiceImpl implements CountyService {
 
     /**
      * Update an existing county.
+     * Giving it another state moves it, with everything below it, to that state.
      *
      * @param countyId the id of the county to update
      * @param countyDto the county to update
@@ -58,6 +87,10 @@ public class CountyServiceImpl implements CountyService {
     public CountyDto updateCounty(int countyId, CountyDto countyDto) {
         return countyRepository.findById(countyId)
                 .map(county -> {
+                    if (countyDto.getState() != null && countyDto.getState().getStateId() != null
+                            && !countyDto.getState().getStateId().equals(county.getState().getStateId())) {
+                        hierarchyService.moveCounty(county, countyDto.getState().getStateId());
+                    }
                     try {
                         county.setCountyName(countyDto.getCountyName());
                         county.setLocale(countyDto.getLocale());
@@ -101,23 +134,88 @@ public class CountyServiceImpl implements CountyService {
      * Get a county by its id.
      *
      * @param id the id of the county to get
+     * @param depth the number of child levels to include
      * @return the county
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public CountyDto getCounty(int id) {
+    public CountyDto getCounty(int id, int depth) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().county(id)
+                    .map(county -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), county, depth)))
+                    .orElseThrow(() -> new ResourceNotFoundException("County not found with id: " + id));
+        }
         return countyMapper.toDto(countyRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("County not found with id: " + id)));
+                .orElseThrow(() -> new ResourceNotFoundException("County not found with id: " + id)), depth);
     }
 
     /**
-     * Get all counties.
+     * Resolve the id of a county from its external id, from the read model when it holds the county and from the
+     * database otherwise.
      *
-     * @return a list of counties
+     * @param uuid the external id of the county
+     * @return the id of the county
      */
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public int getCountyId(String uuid) {
+        UUID parsed = Uuids.parse(uuid);
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.nodeByUuid(GeographyLevel.COUNTY, parsed.toString()))
+                .map(GeographyNode::id)
+                .or(() -> countyRepository.findIdByUuid(parsed))
+                .orElseThrow(() -> new ResourceNotFoundException("County not found with uuid: " + uuid));
+    }
+
+    /**
+     * Get a page of counties, in id order. One row more than the page size is read to tell whether there is a
+     * next page.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of counties to return
+     * @param includeVoided whether voided counties are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of counties
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<CountyDto> getAllCounties(String pageToken, int size, boolean includeVoided, int depth) {
+        int afterId = PageToken.decode(pageToken);
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            List<CountyNode> nodes = snapshot.get().countiesAfter(afterId, includeVoided, size + 1);
+            return KeysetPage.of(nodes, size, CountyNode::id,
+                    node -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), node, depth)));
+        }
+        Limit limit = Limit.of(size + 1);
+        List<County> counties = includeVoided
+                ? countyRepository.findByCountyIdGreaterThanOrderByCountyIdAsc(afterId, limit)
+                : countyRepository.findByCountyIdGreaterThanAndVoidedIsFalseOrderByCountyIdAsc(afterId, limit);
+        return KeysetPage.of(counties, size, County::getCountyId, county -> countyMapper.toDto(county, depth));
+    }
+
+    /**
+     * Get the cities of a county as lightweight rows, ordered by name. The existence of the county is only checked
+     * when it has no cities, so the common case is a single indexed query.
+     *
+     * @param countyId the id of the county
+     * @return the cities of the county
+     */
+    @Transactional(readOnly = true)
     @Override
-    public List<CountyDto> getAllCounties() {
-        return countyRepository.findAll().stream().map(countyMapper::toDto).toList();
+    public List<GeographyRow> getCities(int countyId) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            if (snapshot.get().county(countyId).isEmpty()) {
+                throw new ResourceNotFoundException("County not found with id: " + countyId);
+            }
+            return measure(MAPPING, () -> GeographySnapshotMapper.toRows(snapshot.get().citiesOf(countyId)));
+        }
+        List<GeographyRow> cities = cityRepository.findRowsByCountyId(countyId);
+        if (cities.isEmpty() && !countyRepository.existsById(countyId)) {
+            throw new ResourceNotFoundException("County not found with id: " + countyId);
+        }
+        return cities;
     }
-} 
\ No newline at end of file
+}
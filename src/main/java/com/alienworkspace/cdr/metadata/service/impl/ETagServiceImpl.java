@@ -0,0 +1,147 @@
+package com.alienworkspace.cdr.metadata.service.impl;
+
+import com.alienworkspace.cdr.metadata.readmodel.AuditStamp;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.service.ETagService;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the ETagService interface.
+ *
+ * <p>The version of a level is the highest commit sequence number among its rows together with their number, which
+ * also changes when a row is removed. Both come from the rows themselves, so every instance holding the same rows
+ * hands out the same tags, before and after a restart.
+ *
+ * @author Ikenumah
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class ETagServiceImpl implements ETagService {
+
+    private final GeographyReadModel geographyReadModel;
+
+    /**
+     * Constructor for ETagServiceImpl.
+     *
+     * @param geographyReadModel the read model the tags are computed from
+     */
+    public ETagServiceImpl(GeographyReadModel geographyReadModel) {
+        this.geographyReadModel = geographyReadModel;
+    }
+
+    /**
+     * Tag of one node: its audit timestamps, those of the parent it embeds and the versions of the child levels.
+     *
+     * @param level the level of the node
+     * @param id the id of the node
+     * @param depth the number of child levels included
+     * @return the quoted tag, or {@code null}
+     */
+    @Override
+    public String forNode(GeographyLevel level, int id, int depth) {
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.node(level, id).map(node -> nodeTag(snapshot, node, depth)))
+                .orElse(null);
+    }
+
+    /**
+     * Tag of the country with a code.
+     *
+     * @param countryCode the country code
+     * @param depth the number of child levels included
+     * @return the quoted tag, or {@code null}
+     */
+    @Override
+    public String forCountryCode(String countryCode, int depth) {
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.countryByCode(countryCode).map(node -> nodeTag(snapshot, node, depth)))
+                .orElse(null);
+    }
+
+    /**
+     * Tag of a list of one level: the versions of the level, of the parent level it embeds and of the child levels.
+     *
+     * @param level the level listed
+     * @param depth the number of child levels included
+     * @return the quoted tag, or {@code null}
+     */
+    @Override
+    public String forLevel(GeographyLevel level, int depth) {
+        GeographyLevel embeddedParent = level.parent() != null ? level.parent() : level;
+        return geographyReadModel.snapshot()
+                .map(snapshot -> quote(level.resource() + "-" + levelVersions(snapshot, embeddedParent,
+                        level.ordinal() + depth)))
+                .orElse(null);
+    }
+
+    /**
+     * Tag of the child rows of a node: the version of the child level.
+     *
+     * @param level the level of the node
+     * @param id the id of the node
+     * @return the quoted tag, or {@code null}
+     */
+    @Override
+    public String forChildren(GeographyLevel level, int id) {
+        GeographyLevel child = level.child();
+        if (child == null) {
+            return null;
+        }
+        return geographyReadModel.snapshot()
+                .filter(snapshot -> snapshot.node(level, id).isPresent())
+                .map(snapshot -> quote(level.resource() + "-" + id + "-" + child.resource() + "-"
+                        + levelVersions(snapshot, child, child.ordinal())))
+                .orElse(null);
+    }
+
+    private String nodeTag(GeographySnapshot snapshot, GeographyNode node, int depth) {
+        StringBuilder tag = new StringBuilder(node.level().resource()).append('-').append(node.id())
+                .append('-').append(stamp(node.audit()));
+        GeographyLevel parentLevel = node.level().parent();
+        if (parentLevel != null && node.parentId() != null) {
+            snapshot.node(parentLevel, node.parentId())
+                    .ifPresent(parent -> tag.append('-').append(stamp(parent.audit())));
+        }
+        GeographyLevel child = node.level().child();
+        if (depth > 0 && child != null) {
+            tag.append('-').append(levelVersions(snapshot, child, node.level().ordinal() + depth));
+        }
+        return quote(tag.toString());
+    }
+
+    private static String levelVersions(GeographySnapshot snapshot, GeographyLevel from, int toOrdinal) {
+        StringBuilder versions = new StringBuilder();
+        GeographyLevel[] levels = GeographyLevel.values();
+        for (int i = from.ordinal(); i <= Math.min(toOrdinal, levels.length - 1); i++) {
+            if (i > from.ordinal()) {
+                versions.append('.');
+            }
+            versions.append(Long.toString(snapshot.levelChangeSeq(levels[i]), 36)).append('_')
+                    .append(Integer.toString(snapshot.levelSize(levels[i]), 36));
+        }
+        return versions.toString();
+    }
+
+    private static String stamp(AuditStamp audit) {
+        if (audit == null) {
+            return "0";
+        }
+        long latest = Math.max(nanos(audit.createdAt()), Math.max(nanos(audit.lastModifiedAt()),
+                nanos(audit.voidedAt())));
+        return Long.toString(latest, 36) + (audit.voided() ? "v" : "");
+    }
+
+    private static long nanos(LocalDateTime time) {
+        return time == null ? 0L : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,232 @@
+package com.alienworkspace.cdr.metadata.service.impl;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.EXPORT_FETCH_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.EXPORT_TIMEOUT_SECONDS;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.ExportService;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Implementation of the ExportService interface.
+ *
+ * <p>Rows are read with plain JDBC through a forward-only result set, and each row is written out as soon as it is
+ * read: no entity is created and nothing is kept once written, so memory use does not depend on the size of the
+ * export. Only the export's own statements are told to stream: MySQL sends their rows one by one, other databases
+ * {@value com.alienworkspace.cdr.metadata.helpers.Constants#EXPORT_FETCH_SIZE} at a time. The rest of the service
+ * keeps reading whole result sets.
+ *
+ * <p>All levels are read in one read-only transaction, so the export is one consistent view of the hierarchy. That
+ * transaction holds a pooled connection for as long as the client takes to read the body, so it is given {@value
+ * com.alienworkspace.cdr.metadata.helpers.Constants#EXPORT_TIMEOUT_SECONDS} seconds: a statement started later is
+ * refused, and an export still reading rows after that is stopped.
+ *
+ * @author Ikenumah
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HierarchyService hierarchyService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the service with a template and a time-limited read-only transaction of its own.
+     *
+     * @param dataSource the data source
+     * @param transactionManager the transaction manager
+     * @param hierarchyService the hierarchy service
+     * @param objectMapper the object mapper
+     */
+    public ExportServiceImpl(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             HierarchyService hierarchyService, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout(EXPORT_TIMEOUT_SECONDS);
+        this.hierarchyService = hierarchyService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Prepare an export.
+     *
+     * @param level the only level to export, or {@code null} for every level
+     * @param ancestorLevel the level of the node whose subtree is exported, or {@code null}
+     * @param ancestorId the id of that node, or {@code null}
+     * @param includeVoided whether voided rows are exported
+     * @param gzip whether the body is gzip compressed
+     * @return the body of the export
+     */
+    @Override
+    public StreamingResponseBody export(GeographyLevel level, GeographyLevel ancestorLevel, Integer ancestorId,
+                                        boolean includeVoided, boolean gzip) {
+        if ((ancestorLevel == null) != (ancestorId == null)) {
+            throw new InvalidRequestException("ancestorLevel and ancestorId go together");
+        }
+        if (ancestorLevel != null && level != null && level.compareTo(ancestorLevel) < 0) {
+            throw new InvalidRequestException(level.resource() + " are not below " + ancestorLevel.resource());
+        }
+        List<LevelQuery> queries = new ArrayList<>();
+        if (ancestorLevel == null) {
+            for (GeographyLevel exported : GeographyLevel.values()) {
+                if (level == null || level == exported) {
+                    queries.add(LevelQuery.all(exported, includeVoided));
+                }
+            }
+        } else {
+            String prefix = hierarchyService.getSubtreePrefix(ancestorLevel, ancestorId);
+            if (level == null || level == ancestorLevel) {
+                queries.add(LevelQuery.node(ancestorLevel, ancestorId, includeVoided));
+            }
+            for (GeographyLevel below = ancestorLevel.child(); below != null; below = below.child()) {
+                if (level == null || level == below) {
+                    queries.add(LevelQuery.subtree(below, prefix, includeVoided));
+                }
+            }
+        }
+        return out -> write(queries, gzip ? new GZIPOutputStream(out, true) : out);
+    }
+
+    private void write(List<LevelQuery> queries, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(EXPORT_TIMEOUT_SECONDS);
+        long[] rows = {0};
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (LevelQuery query : queries) {
+                    jdbcTemplate.query(connection -> prepare(connection, query), resultSet -> {
+                        if (++rows[0] % EXPORT_FETCH_SIZE == 0 && System.nanoTime() - deadline > 0) {
+                            throw new TransactionTimedOutException("The export did not finish within "
+                                    + EXPORT_TIMEOUT_SECONDS + " seconds");
+                        }
+                        writeRow(generator, query.level, resultSet);
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        LOGGER.info("Exported {} rows in {} ms", rows[0], System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Prepares a level query that streams its rows instead of reading them all first. The MySQL driver streams
+     * only for the smallest fetch size, and only on this statement, without server-side cursors.
+     */
+    private static PreparedStatement prepare(Connection connection, LevelQuery query) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query.sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = "MySQL".equals(connection.getMetaData().getDatabaseProductName());
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : EXPORT_FETCH_SIZE);
+        new ArgumentPreparedStatementSetter(query.args).setValues(statement);
+        return statement;
+    }
+
+    private static void writeRow(JsonGenerator generator, GeographyLevel level, ResultSet resultSet)
+            throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("level", level.name().toLowerCase(Locale.ROOT));
+            generator.writeNumberField("id", resultSet.getInt(1));
+            writeString(generator, "name", resultSet.getString(2));
+            writeString(generator, "code", resultSet.getString(3));
+            writeString(generator, "geoCode", resultSet.getString(4));
+            int phoneCode = resultSet.getInt(5);
+            if (!resultSet.wasNull()) {
+                generator.writeNumberField("phoneCode", phoneCode);
+            }
+            writeString(generator, "locale", resultSet.getString(6));
+            generator.writeBooleanField("localePreferred", resultSet.getBoolean(7));
+            int parentId = resultSet.getInt(8);
+            if (!resultSet.wasNull()) {
+                generator.writeNumberField("parentId", parentId);
+            }
+            writeString(generator, "path", resultSet.getString(9));
+            writeString(generator, "uuid", Uuids.format(resultSet.getBytes(10)));
+            generator.writeBooleanField("voided", resultSet.getBoolean(11));
+            if (level == GeographyLevel.COUNTRY) {
+                writeString(generator, "currencyName", resultSet.getString(12));
+                writeString(generator, "currencySymbol", resultSet.getString(13));
+                writeString(generator, "currencyCode", resultSet.getString(14));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, String field, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    /**
+     * The query that reads one level of an export, in key order.
+     */
+    private record LevelQuery(GeographyLevel level, String sql, Object[] args) {
+
+        static LevelQuery all(GeographyLevel level, boolean includeVoided) {
+            return new LevelQuery(level, select(level) + (includeVoided ? "" : " WHERE voided = false")
+                    + " ORDER BY " + id(level), new Object[0]);
+        }
+
+        static LevelQuery node(GeographyLevel level, int id, boolean includeVoided) {
+            return new LevelQuery(level, select(level) + " WHERE " + id(level) + " = ?"
+                    + (includeVoided ? "" : " AND voided = false"), new Object[] {id});
+        }
+
+        static LevelQuery subtree(GeographyLevel level, String prefix, boolean includeVoided) {
+            return new LevelQuery(level, select(level) + " WHERE path LIKE ?"
+                    + (includeVoided ? "" : " AND voided = false") + " ORDER BY path, " + id(level),
+                    new Object[] {HierarchyPath.startingWith(prefix)});
+        }
+
+        private static String select(GeographyLevel level) {
+            String table = level.name().toLowerCase(Locale.ROOT);
+            String parentId = level.parent() == null ? "NULL" : level.parent().name().toLowerCase(Locale.ROOT) + "_id";
+            String path = level == GeographyLevel.COUNTRY ? "NULL" : "path";
+            String currency = level == GeographyLevel.COUNTRY ? ", currency_name, currency_symbol, currency_code" : "";
+            return "SELECT " + table + "_id, " + table + "_name, " + table + "_code, " + table + "_geo_code, "
+                    + table + "_phone_code, locale, locale_preferred, " + parentId + ", " + path + ", uuid, voided"
+                    + currency + " FROM " + table;
+        }
+
+        private static String id(GeographyLevel level) {
+            return level.name().toLowerCase(Locale.ROOT) + "_id";
+        }
+    }
+}
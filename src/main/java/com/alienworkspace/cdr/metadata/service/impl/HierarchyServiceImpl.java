@@ -0,0 +1,320 @@
+package com.alienworkspace.cdr.metadata.service.impl;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of the HierarchyService interface.
+ *
+ * <p>Every query here reads the {@code path} column: a subtree is one range scan of the path index, and the
+ * ancestors and containment of a node are read from its own path, without walking the parent joins.
+ *
+ * @author Ikenumah
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@AllArgsConstructor
+public class HierarchyServiceImpl implements HierarchyService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HierarchyServiceImpl.class);
+    private final CountryRepository countryRepository;
+    private final StateRepository stateRepository;
+    private final CountyRepository countyRepository;
+    private final CityRepository cityRepository;
+    private final CommunityRepository communityRepository;
+    private final LocationRepository locationRepository;
+
+    /**
+     * Get a page of the nodes of one level below a node. One row more than the page size is read to tell whether
+     * there is a next page.
+     *
+     * @param level the level of the node
+     * @param id the id of the node
+     * @param descendantLevel the level of the nodes to list
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of nodes to return
+     * @return the page of nodes
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<GeographyRow> getDescendants(GeographyLevel level, int id, GeographyLevel descendantLevel,
+                                                   String pageToken, int size) {
+        if (descendantLevel.compareTo(level) <= 0) {
+            throw new InvalidRequestException(descendantLevel.resource() + " are not below " + level.resource());
+        }
+        PageToken.Position after = PageToken.decodePosition(pageToken);
+        String pattern = HierarchyPath.startingWith(getSubtreePrefix(level, id));
+        Limit limit = Limit.of(size + 1);
+        List<GeographyRow> rows = switch (descendantLevel) {
+            case STATE -> stateRepository.findSubtreeRows(pattern, after.path(), after.id(), limit);
+            case COUNTY -> countyRepository.findSubtreeRows(pattern, after.path(), after.id(), limit);
+            case CITY -> cityRepository.findSubtreeRows(pattern, after.path(), after.id(), limit);
+            case COMMUNITY -> communityRepository.findSubtreeRows(pattern, after.path(), after.id(), limit);
+            case LOCATION -> locationRepository.findSubtreeRows(pattern, after.path(), after.id(), limit);
+            default -> throw new IllegalStateException("Unexpected level: " + descendantLevel);
+        };
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        GeographyRow last = rows.get(size - 1);
+        return new KeysetPage<>(rows.subList(0, size), PageToken.encode(last.getPath(), last.getId()));
+    }
+
+    /**
+     * Get the prefix shared by the paths of every node below a node.
+     *
+     * @param level the level of the node
+     * @param id the id of the node
+     * @return the subtree prefix
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public String getSubtreePrefix(GeographyLevel level, int id) {
+        return HierarchyPath.subtree(pathOf(level, id), id);
+    }
+
+    /**
+     * Get the ancestors of a node: its path gives their ids, and each one is a primary key lookup.
+     *
+     * @param level the level of the node
+     * @param id the id of the node
+     * @return the ancestors, from the country down
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<GeographyRow> getAncestors(GeographyLevel level, int id) {
+        int[] ancestorIds = HierarchyPath.ancestorIds(pathOf(level, id));
+        List<GeographyRow> ancestors = new ArrayList<>(ancestorIds.length);
+        for (int depth = 0; depth < ancestorIds.length; depth++) {
+            rowOf(GeographyLevel.values()[depth], ancestorIds[depth]).ifPresent(ancestors::add);
+        }
+        return ancestors;
+    }
+
+    /**
+     * Check whether a node lies below another one by reading the path of the descendant only.
+     *
+     * @param level the level of the ancestor
+     * @param id the id of the ancestor
+     * @param descendantLevel the level of the descendant
+     * @param descendantId the id of the descendant
+     * @return whether the descendant lies below the ancestor
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public boolean contains(GeographyLevel level, int id, GeographyLevel descendantLevel, int descendantId) {
+        int[] ancestorIds = HierarchyPath.ancestorIds(pathOf(descendantLevel, descendantId));
+        return level.ordinal() < ancestorIds.length && ancestorIds[level.ordinal()] == id;
+    }
+
+    /**
+     * Move a state to another country.
+     *
+     * @param state the managed state
+     * @param countryId the id of the new country
+     */
+    @Transactional
+    @Override
+    public void moveState(State state, int countryId) {
+        Country country = countryRepository.findById(countryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Country not found"));
+        String oldPrefix = HierarchyPath.subtree(
+                knownPath(GeographyLevel.STATE, state.getStateId(), state.getPath()), state.getStateId());
+        state.setCountry(country);
+        state.setPath(HierarchyPath.subtree(HierarchyPath.ROOT, countryId));
+        movePaths(GeographyLevel.STATE, oldPrefix, HierarchyPath.subtree(state.getPath(), state.getStateId()));
+    }
+
+    /**
+     * Move a county to another state.
+     *
+     * @param county the managed county
+     * @param stateId the id of the new state
+     */
+    @Transactional
+    @Override
+    public void moveCounty(County county, int stateId) {
+        State state = stateRepository.findById(stateId)
+                .orElseThrow(() -> new ResourceNotFoundException("State not found with id: " + stateId));
+        String oldPrefix = HierarchyPath.subtree(
+                knownPath(GeographyLevel.COUNTY, county.getCountyId(), county.getPath()), county.getCountyId());
+        String newPath = HierarchyPath.subtree(knownPath(GeographyLevel.STATE, stateId, state.getPath()), stateId);
+        county.setState(state);
+        county.setPath(newPath);
+        movePaths(GeographyLevel.COUNTY, oldPrefix, HierarchyPath.subtree(county.getPath(), county.getCountyId()));
+    }
+
+    /**
+     * Move a city to another county.
+     *
+     * @param city the managed city
+     * @param countyId the id of the new county
+     */
+    @Transactional
+    @Override
+    public void moveCity(City city, int countyId) {
+        County county = countyRepository.findById(countyId)
+                .orElseThrow(() -> new ResourceNotFoundException("County not found with id: " + countyId));
+        String oldPrefix = HierarchyPath.subtree(
+                knownPath(GeographyLevel.CITY, city.getCityId(), city.getPath()), city.getCityId());
+        String newPath = HierarchyPath.subtree(knownPath(GeographyLevel.COUNTY, countyId, county.getPath()), countyId);
+        city.setCounty(county);
+        city.setPath(newPath);
+        movePaths(GeographyLevel.CITY, oldPrefix, HierarchyPath.subtree(city.getPath(), city.getCityId()));
+    }
+
+    /**
+     * Move a community to another city.
+     *
+     * @param community the managed community
+     * @param cityId the id of the new city
+     */
+    @Transactional
+    @Override
+    public void moveCommunity(Community community, int cityId) {
+        City city = cityRepository.findById(cityId)
+                .orElseThrow(() -> new ResourceNotFoundException("City not found with id: " + cityId));
+        String oldPrefix = HierarchyPath.subtree(knownPath(GeographyLevel.COMMUNITY, community.getCommunityId(),
+                community.getPath()), community.getCommunityId());
+        String newPath = HierarchyPath.subtree(knownPath(GeographyLevel.CITY, cityId, city.getPath()), cityId);
+        community.setCity(city);
+        community.setPath(newPath);
+        movePaths(GeographyLevel.COMMUNITY, oldPrefix,
+                HierarchyPath.subtree(community.getPath(), community.getCommunityId()));
+    }
+
+    /**
+     * Move a location to another community. Nothing lies below a location, so only its own path changes.
+     *
+     * @param location the managed location
+     * @param communityId the id of the new community
+     */
+    @Transactional
+    @Override
+    public void moveLocation(Location location, int communityId) {
+        Community community = communityRepository.findById(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException("Community not found with id: " + communityId));
+        String newPath = HierarchyPath.subtree(
+                knownPath(GeographyLevel.COMMUNITY, communityId, community.getPath()), communityId);
+        location.setCommunity(community);
+        location.setPath(newPath);
+    }
+
+    /**
+     * Fill in the missing paths, level by level from the top so that every level reads the paths of its parents.
+     * Runs once the application has started, which covers rows written before the path column existed.
+     *
+     * @return the number of rows updated
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    @Override
+    public int backfillPaths() {
+        int updated = stateRepository.backfillPaths()
+                + countyRepository.backfillPaths()
+                + cityRepository.backfillPaths()
+                + communityRepository.backfillPaths()
+                + locationRepository.backfillPaths();
+        if (updated > 0) {
+            LOGGER.info("Backfilled the hierarchy path of {} rows", updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Rewrite the paths of every level below a node that moved, one statement per level, in the caller's
+     * transaction. The statements flush the pending changes first and clear the persistence context after, so
+     * the caller saves the moved node again instead of relying on entities loaded before the rewrite.
+     */
+    private void movePaths(GeographyLevel level, String oldPrefix, String newPrefix) {
+        if (oldPrefix.equals(newPrefix)) {
+            return;
+        }
+        String pattern = HierarchyPath.startingWith(oldPrefix);
+        int from = oldPrefix.length() + 1;
+        for (GeographyLevel below = level.child(); below != null; below = below.child()) {
+            switch (below) {
+                case COUNTY -> countyRepository.movePaths(pattern, newPrefix, from);
+                case CITY -> cityRepository.movePaths(pattern, newPrefix, from);
+                case COMMUNITY -> communityRepository.movePaths(pattern, newPrefix, from);
+                case LOCATION -> locationRepository.movePaths(pattern, newPrefix, from);
+                default -> throw new IllegalStateException("Unexpected level: " + below);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of a node taking part in a move. A node without a path yet, written before the path column
+     * existed and not backfilled since, gets one from a backfill first: moving it with no path would leave the
+     * rows below it out of every subtree query. The move fails when even the backfill cannot give it a path.
+     */
+    private String knownPath(GeographyLevel level, int id, String path) {
+        if (path != null) {
+            return path;
+        }
+        backfillPaths();
+        return findPath(level, id).orElseThrow(() -> new IllegalStateException(
+                label(level) + " " + id + " has no hierarchy path, so it cannot take part in a move"));
+    }
+
+    private String pathOf(GeographyLevel level, int id) {
+        return findPath(level, id)
+                .orElseThrow(() -> new ResourceNotFoundException(label(level) + " not found with id: " + id));
+    }
+
+    private Optional<String> findPath(GeographyLevel level, int id) {
+        return switch (level) {
+            case COUNTRY -> countryRepository.existsById(id) ? Optional.of(HierarchyPath.ROOT) : Optional.empty();
+            case STATE -> stateRepository.findPathById(id);
+            case COUNTY -> countyRepository.findPathById(id);
+            case CITY -> cityRepository.findPathById(id);
+            case COMMUNITY -> communityRepository.findPathById(id);
+            case LOCATION -> locationRepository.findPathById(id);
+        };
+    }
+
+    private static String label(GeographyLevel level) {
+        return level.name().charAt(0) + level.name().substring(1).toLowerCase(Locale.ROOT);
+    }
+
+    private Optional<GeographyRow> rowOf(GeographyLevel level, int id) {
+        return switch (level) {
+            case COUNTRY -> countryRepository.findRowById(id);
+            case STATE -> stateRepository.findRowById(id);
+            case COUNTY -> countyRepository.findRowById(id);
+            case CITY -> cityRepository.findRowById(id);
+            case COMMUNITY -> communityRepository.findRowById(id);
+            case LOCATION -> locationRepository.findRowById(id);
+        };
+    }
+}
@@ -0,0 +1,441 @@
+package com.alienworkspace.cdr.metadata.service.impl;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.IMPORT_BATCH_SIZE;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_IMPORT_ERRORS;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.helpers.CurrentUser;
+import com.alienworkspace.cdr.metadata.helpers.DelimitedReader;
+import com.alienworkspace.cdr.metadata.helpers.HierarchyPath;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.dto.ImportJob;
+import com.alienworkspace.cdr.metadata.model.dto.ImportRowError;
+import com.alienworkspace.cdr.metadata.readmodel.ChangeSequence;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyCacheEvictor;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyInvalidationBus;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.service.ImportService;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Implementation of the ImportService interface.
+ *
+ * <p>The uploaded file is copied to a temporary file and read as a stream, {@value
+ * com.alienworkspace.cdr.metadata.helpers.Constants#IMPORT_BATCH_SIZE} rows at a time. For each chunk the parents
+ * are resolved with one query on their codes, together with the codes of their own parents, so that a code that is
+ * unique only within its parent, such as a state code, can be told apart by an optional {@code grandparent_code}
+ * column. The rows are written with one JDBC batch in one transaction,
+ * bypassing the persistence context: Hibernate cannot batch inserts of {@code IDENTITY} ids, but the ids of the
+ * imported rows are never needed, so the database hands them out. When a batch fails, its rows are retried one by
+ * one to single out the rejected ones. Each transaction stamps its rows with a commit sequence number for the
+ * change feed. Imports run one at a time, and the read model of every replica is reloaded once an import has
+ * written rows.
+ *
+ * @author Ikenumah
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@AllArgsConstructor
+public class ImportServiceImpl implements ImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportServiceImpl.class);
+    private static final int MAX_RETAINED_JOBS = 100;
+    private static final String PARENT_CODE = "parent_code";
+    private static final String GRANDPARENT_CODE = "grandparent_code";
+    private static final String NAME = "name";
+    private static final String CODE = "code";
+    private static final String GEO_CODE = "geo_code";
+    private static final String PHONE_CODE = "phone_code";
+    private static final String LOCALE = "locale";
+    private static final String LOCALE_PREFERRED = "locale_preferred";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GeographyReadModel geographyReadModel;
+    private final ChangeSequence changeSequence;
+    private final GeographyInvalidationBus geographyInvalidationBus;
+    private final GeographyCacheEvictor geographyCacheEvictor;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "geography-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Progress> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Progress> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    /**
+     * Start a bulk import.
+     *
+     * @param level the level to import into
+     * @param file the file to import
+     * @param format {@code csv} or {@code tsv}, or {@code null} to go by the file name
+     * @return the started job
+     */
+    @Override
+    public ImportJob startImport(GeographyLevel level, MultipartFile file, String format) {
+        if (level == GeographyLevel.COUNTRY) {
+            throw new InvalidRequestException("Countries cannot be imported");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new InvalidRequestException("The import file is empty");
+        }
+        char delimiter = delimiterOf(format, file.getOriginalFilename());
+        long createdBy = CurrentUser.getCurrentUser().getPersonId();
+        Path input;
+        try {
+            input = Files.createTempFile("geography-import-", ".txt");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to store the import file", e);
+        }
+        Progress progress = new Progress(UUID.randomUUID().toString(), level, file.getOriginalFilename());
+        boolean started = false;
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, input, StandardCopyOption.REPLACE_EXISTING);
+            jobs.put(progress.id, progress);
+            executor.execute(() -> run(progress, input, delimiter, createdBy));
+            started = true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to store the import file", e);
+        } finally {
+            if (!started) {
+                jobs.remove(progress.id);
+                delete(input);
+            }
+        }
+        return progress.toDto();
+    }
+
+    /**
+     * Get the progress of a bulk import.
+     *
+     * @param id the id of the job
+     * @return the job
+     */
+    @Override
+    public ImportJob getImport(String id) {
+        Progress progress = jobs.get(id);
+        if (progress == null) {
+            throw new ResourceNotFoundException("Import not found with id: " + id);
+        }
+        return progress.toDto();
+    }
+
+    /**
+     * Stop the running import when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Progress progress, Path input, char delimiter, long createdBy) {
+        Target target = Target.of(progress.level);
+        try (DelimitedReader reader = new DelimitedReader(Files.newBufferedReader(input, StandardCharsets.UTF_8),
+                delimiter)) {
+            Map<String, Integer> columns = columnsOf(reader.next());
+            List<ImportRow> chunk = new ArrayList<>(IMPORT_BATCH_SIZE);
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                progress.rowsRead.incrementAndGet();
+                ImportRow row = new ImportRow(reader.recordLine(), record, columns);
+                String invalid = row.validate();
+                if (invalid != null) {
+                    progress.reject(row, invalid);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == IMPORT_BATCH_SIZE) {
+                    write(target, chunk, progress, createdBy);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                write(target, chunk, progress, createdBy);
+            }
+            progress.finish(ImportJob.Status.COMPLETED, null);
+            LOGGER.info("Bulk import {} of {} finished: {} rows read, {} imported, {} rejected", progress.id,
+                    progress.level.resource(), progress.rowsRead, progress.rowsImported, progress.rowsFailed);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Bulk import {} of {} failed", progress.id, progress.level.resource(), e);
+            progress.finish(ImportJob.Status.FAILED, e.getMessage());
+        } finally {
+            delete(input);
+            if (progress.rowsImported.get() > 0) {
+                geographyCacheEvictor.evictAll();
+                geographyReadModel.reload();
+                geographyInvalidationBus.broadcastReload();
+            }
+        }
+    }
+
+    private void write(Target target, List<ImportRow> chunk, Progress progress, long createdBy) {
+        Set<String> parentCodes = chunk.stream().map(row -> row.parentCode).collect(Collectors.toSet());
+        Map<String, List<Parent>> parents = new HashMap<>();
+        namedParameterJdbcTemplate.query(target.parentSql, Map.of("codes", parentCodes), resultSet -> {
+            Parent parent = new Parent(resultSet.getInt(1), resultSet.getString(3), resultSet.getString(4));
+            parents.computeIfAbsent(resultSet.getString(2), code -> new ArrayList<>()).add(parent);
+        });
+        LocalDateTime now = LocalDateTime.now();
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        List<Object[]> args = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            List<Parent> candidates = parents.getOrDefault(row.parentCode, List.of());
+            if (target.hasGrandparent() && row.grandparentCode != null) {
+                candidates = candidates.stream()
+                        .filter(candidate -> row.grandparentCode.equals(candidate.grandparentCode)).toList();
+                if (candidates.isEmpty()) {
+                    progress.reject(row, "Parent not found with code: " + row.parentCode + " under "
+                            + row.grandparentCode);
+                    continue;
+                }
+            }
+            if (candidates.size() != 1) {
+                progress.reject(row, (candidates.isEmpty() ? "Parent not found with code: "
+                        : "Parent code is not unique: ") + row.parentCode);
+                continue;
+            }
+            Parent parent = candidates.get(0);
+            rows.add(row);
+            args.add(new Object[] {row.name, row.code, row.geoCode,
+                row.phoneCode == null ? null : Integer.valueOf(row.phoneCode), row.locale, row.localePreferred,
+                parent.id, HierarchyPath.subtree(parent.path, parent.id), createdBy, now, false,
+                Uuids.toBytes(Uuids.timeOrdered()), null});
+        }
+        if (args.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long seq = changeSequence.next();
+                args.forEach(row -> row[row.length - 1] = seq);
+                jdbcTemplate.batchUpdate(target.insertSql, args);
+            });
+            progress.rowsImported.addAndGet(args.size());
+        } catch (DataAccessException e) {
+            for (int i = 0; i < args.size(); i++) {
+                Object[] row = args.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        row[row.length - 1] = changeSequence.next();
+                        jdbcTemplate.update(target.insertSql, row);
+                    });
+                    progress.rowsImported.incrementAndGet();
+                } catch (DataAccessException rowError) {
+                    progress.reject(rows.get(i), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private static void delete(Path input) {
+        try {
+            Files.deleteIfExists(input);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete the import file {}", input, e);
+        }
+    }
+
+    private static char delimiterOf(String format, String fileName) {
+        if (format == null || format.isBlank()) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            return name.endsWith(".tsv") || name.endsWith(".tab") ? '\t' : ',';
+        }
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv" -> ',';
+            case "tsv" -> '\t';
+            default -> throw new InvalidRequestException("Unknown import format: " + format);
+        };
+    }
+
+    private static Map<String, Integer> columnsOf(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The import file has no header");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of(PARENT_CODE, NAME, CODE)) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("The import file has no " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * The statements of one level: the batched insert, and the lookup of the parents by code, along with the codes
+     * of their own parents when the parents are not countries.
+     */
+    private record Target(String insertSql, String parentSql, boolean hasGrandparent) {
+
+        static Target of(GeographyLevel level) {
+            String table = level.name().toLowerCase(Locale.ROOT);
+            String parent = level.parent().name().toLowerCase(Locale.ROOT);
+            GeographyLevel grandparentLevel = level.parent().parent();
+            String parentSql;
+            if (grandparentLevel == null) {
+                parentSql = "SELECT " + parent + "_id, " + parent + "_code, '" + HierarchyPath.ROOT + "', NULL FROM "
+                        + parent + " WHERE " + parent + "_code IN (:codes) AND voided = false";
+            } else {
+                String grandparent = grandparentLevel.name().toLowerCase(Locale.ROOT);
+                parentSql = "SELECT p." + parent + "_id, p." + parent + "_code, p.path, g." + grandparent
+                        + "_code FROM " + parent + " p JOIN " + grandparent + " g ON g." + grandparent + "_id = p."
+                        + grandparent + "_id WHERE p." + parent + "_code IN (:codes) AND p.voided = false";
+            }
+            return new Target(
+                    "INSERT INTO " + table + " (" + table + "_name, " + table + "_code, " + table + "_geo_code, "
+                            + table + "_phone_code, locale, locale_preferred, " + parent + "_id, path, created_by, "
+                            + "created_at, voided, uuid, change_seq) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    parentSql, grandparentLevel != null);
+        }
+    }
+
+    private record Parent(int id, String path, String grandparentCode) {
+    }
+
+    /**
+     * One record of the import file.
+     */
+    private static final class ImportRow {
+        private final long line;
+        private final String parentCode;
+        private final String grandparentCode;
+        private final String name;
+        private final String code;
+        private final String geoCode;
+        private final String phoneCode;
+        private final String locale;
+        private final boolean localePreferred;
+
+        ImportRow(long line, List<String> record, Map<String, Integer> columns) {
+            this.line = line;
+            this.parentCode = value(record, columns, PARENT_CODE);
+            this.grandparentCode = value(record, columns, GRANDPARENT_CODE);
+            this.name = value(record, columns, NAME);
+            this.code = value(record, columns, CODE);
+            this.geoCode = value(record, columns, GEO_CODE);
+            this.phoneCode = value(record, columns, PHONE_CODE);
+            this.locale = value(record, columns, LOCALE);
+            String preferred = value(record, columns, LOCALE_PREFERRED);
+            this.localePreferred = "true".equalsIgnoreCase(preferred) || "1".equals(preferred);
+        }
+
+        /**
+         * Returns why the row cannot be imported, or {@code null} when it can.
+         */
+        String validate() {
+            if (parentCode == null || name == null || code == null) {
+                return "The parent_code, name and code columns are required";
+            }
+            if (phoneCode != null) {
+                try {
+                    Integer.parseInt(phoneCode);
+                } catch (NumberFormatException e) {
+                    return "Invalid phone code: " + phoneCode;
+                }
+            }
+            return null;
+        }
+
+        private static String value(List<String> record, Map<String, Integer> columns, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size() || record.get(index).isBlank()) {
+                return null;
+            }
+            return record.get(index);
+        }
+    }
+
+    /**
+     * Counters of a running import, updated by the import thread and read by the status endpoint.
+     */
+    private static final class Progress {
+        private final String id;
+        private final GeographyLevel level;
+        private final String fileName;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final List<ImportRowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportJob.Status status = ImportJob.Status.RUNNING;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        Progress(String id, GeographyLevel level, String fileName) {
+            this.id = id;
+            this.level = level;
+            this.fileName = fileName;
+        }
+
+        void reject(ImportRow row, String reason) {
+            if (rowsFailed.incrementAndGet() <= MAX_IMPORT_ERRORS) {
+                errors.add(new ImportRowError(row.line, row.code, reason));
+            }
+        }
+
+        void finish(ImportJob.Status finalStatus, String finalMessage) {
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        ImportJob toDto() {
+            List<ImportRowError> errorsSoFar;
+            synchronized (errors) {
+                errorsSoFar = List.copyOf(errors);
+            }
+            return ImportJob.builder()
+                    .id(id)
+                    .level(level.resource())
+                    .fileName(fileName)
+                    .status(status)
+                    .rowsRead(rowsRead.get())
+                    .rowsImported(rowsImported.get())
+                    .rowsFailed(rowsFailed.get())
+                    .errors(errorsSoFar)
+                    .message(message)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
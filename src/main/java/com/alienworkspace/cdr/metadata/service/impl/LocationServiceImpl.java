@@ -1,18 +1,37 @@
 package com.alienworkspace.cdr.metadata.service.impl;
 
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.measure;
+
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.metadata.helpers.CurrentUser;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.LocationMapper;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotMapper;
+import com.alienworkspace.cdr.metadata.readmodel.LocationNode;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
 import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
 import com.alienworkspace.cdr.metadata.service.LocationService;
 import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementation of the LocationService interface.
@@ -27,6 +46,9 @@ public class LocationServiceImpl implements LocationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(LocationServiceImpl.class);
     private final LocationRepository locationRepository;
     private final LocationMapper locationMapper;
+    private final GeographyReadModel geographyReadModel;
+    private final CommunityRepository communityRepository;
+    private final HierarchyService hierarchyService;
 
     /**
      * Create a new location.
@@ -37,7 +59,11 @@ public class LocationServiceImpl implements LocationService {
     @Override
     public LocationDto createLocation(LocationDto locationDto) {
         try {
-            return locationMapper.toDto(locationRepository.save(locationMapper.toEntity(locationDto)));
+            Location location = locationMapper.toEntity(locationDto);
+            if (location.getCommunity() != null && location.getCommunity().getCommunityId() != null) {
+                location.setCommunity(communityRepository.getReferenceById(location.getCommunity().getCommunityId()));
+            }
+            return locationMapper.toDto(locationRepository.save(location));
         } catch (Exception e) {
             LOGGER.error("Failed to create location", e);
             throw new IllegalArgumentException("Failed to create location", e);
@@ -46,6 +72,7 @@ public class LocationServiceImpl implements LocationService {
 
     /**
      * Update an existing location.
+     * Giving it another community moves it to that community.
      *
      * @param locationId the id of the location to update
      * @param locationDto the location to update
@@ -55,6 +82,11 @@ public class LocationServiceImpl implements LocationService {
     public LocationDto updateLocation(int locationId, LocationDto locationDto) {
         return locationRepository.findById(locationId)
                 .map(location -> {
+                    if (locationDto.getCommunity() != null && locationDto.getCommunity().getCommunityId() != null
+                            && !locationDto.getCommunity().getCommunityId()
+                                    .equals(location.getCommunity().getCommunityId())) {
+                        hierarchyService.moveLocation(location, locationDto.getCommunity().getCommunityId());
+                    }
                     try {
                         location.setLocationName(locationDto.getLocationName());
                         location.setLocale(locationDto.getLocale());
@@ -99,19 +131,60 @@ public class LocationServiceImpl implements LocationService {
      * @param id the id of the location to get
      * @return the location
      */
+    @Transactional(readOnly = true)
     @Override
     public LocationDto getLocation(int id) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().location(id)
+                    .map(location -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), location)))
+                    .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + id));
+        }
         return locationMapper.toDto(locationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Location not found with id: " + id)));
     }
 
     /**
-     * Get all locations.   
+     * Resolve the id of a location from its external id, from the read model when it holds the location and from the
+     * database otherwise.
+     *
+     * @param uuid the external id of the location
+     * @return the id of the location
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public int getLocationId(String uuid) {
+        UUID parsed = Uuids.parse(uuid);
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.nodeByUuid(GeographyLevel.LOCATION, parsed.toString()))
+                .map(GeographyNode::id)
+                .or(() -> locationRepository.findIdByUuid(parsed))
+                .orElseThrow(() -> new ResourceNotFoundException("Location not found with uuid: " + uuid));
+    }
+
+    /**
+     * Get a page of locations, in id order. One row more than the page size is read to tell whether there is a
+     * next page.
      *
-     * @return a list of locations
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of locations to return
+     * @param includeVoided whether voided locations are included
+     * @return the page of locations
      */
+    @Transactional(readOnly = true)
     @Override
-    public List<LocationDto> getAllLocations() {
-        return locationRepository.findAll().stream().map(locationMapper::toDto).toList();
+    public KeysetPage<LocationDto> getAllLocations(String pageToken, int size, boolean includeVoided) {
+        int afterId = PageToken.decode(pageToken);
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            List<LocationNode> nodes = snapshot.get().locationsAfter(afterId, includeVoided, size + 1);
+            return KeysetPage.of(nodes, size, LocationNode::id,
+                    node -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), node)));
+        }
+        Limit limit = Limit.of(size + 1);
+        List<Location> locations = includeVoided
+                ? locationRepository.findByLocationIdGreaterThanOrderByLocationIdAsc(afterId, limit)
+                : locationRepository.findByLocationIdGreaterThanAndVoidedIsFalseOrderByLocationIdAsc(afterId, limit);
+        return KeysetPage.of(locations, size, Location::getLocationId, location -> locationMapper.toDto(location));
     }
 } 
\ No newline at end of file
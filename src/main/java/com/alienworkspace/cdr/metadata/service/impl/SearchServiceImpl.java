@@ -0,0 +1,78 @@
+package com.alienworkspace.cdr.metadata.service.impl;
+
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.MatchCandidate;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySearchIndex;
+import com.alienworkspace.cdr.metadata.service.SearchService;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the SearchService interface, answered from the in-memory search index of the read model, so
+ * neither searches nor matches touch the database.
+ *
+ * @author Ikenumah
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+@AllArgsConstructor
+public class SearchServiceImpl implements SearchService {
+    private final GeographyReadModel geographyReadModel;
+
+    /**
+     * Search the hierarchy by prefix.
+     *
+     * @param query the prefix typed so far
+     * @param levels the levels to search; every level when empty
+     * @param parentId when not {@code null}, only nodes whose parent has this id are returned
+     * @param limit the maximum number of nodes per level
+     * @return the matching nodes keyed by level resource name
+     */
+    @Override
+    public Map<String, List<GeographyRow>> search(String query, List<GeographyLevel> levels, Integer parentId,
+                                                  int limit) {
+        Map<GeographyLevel, List<GeographyNode>> found = geographyReadModel.searchIndex()
+                .search(query, levels, parentId, limit);
+        Map<String, List<GeographyRow>> results = new LinkedHashMap<>();
+        found.forEach((level, nodes) -> results.put(level.resource(), nodes.stream()
+                .map(node -> new GeographyRow(node.id(), node.name(), node.code(), node.parentId()))
+                .toList()));
+        return results;
+    }
+
+    /**
+     * Match a name against the hierarchy.
+     *
+     * @param name the name to match
+     * @param levels the levels to search; every level when empty
+     * @param parentId when not {@code null}, only nodes whose parent has this id are returned
+     * @param limit the maximum number of candidates
+     * @return the candidates, best first
+     */
+    @Override
+    public List<MatchCandidate> match(String name, List<GeographyLevel> levels, Integer parentId, int limit) {
+        return geographyReadModel.searchIndex().match(name, levels, parentId, limit).stream()
+                .map(SearchServiceImpl::toCandidate)
+                .toList();
+    }
+
+    private static MatchCandidate toCandidate(GeographySearchIndex.Match match) {
+        GeographyNode node = match.node();
+        return MatchCandidate.builder()
+                .level(node.level().resource())
+                .id(node.id())
+                .name(node.name())
+                .code(node.code())
+                .parentId(node.parentId())
+                .distance(match.distance())
+                .similarity(match.similarity())
+                .build();
+    }
+}
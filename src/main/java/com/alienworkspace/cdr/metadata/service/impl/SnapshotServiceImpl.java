@@ -0,0 +1,97 @@
+package com.alienworkspace.cdr.metadata.service.impl;
+
+import com.alienworkspace.cdr.metadata.model.dto.EncodedSnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotCodec;
+import com.alienworkspace.cdr.metadata.service.ChangeFeedService;
+import com.alienworkspace.cdr.metadata.service.SnapshotService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementation of the SnapshotService interface.
+ *
+ * <p>The snapshot is encoded from the read model, never from the database, and at most once per read model
+ * version: every write publishes a new version, and the first request after it encodes the new hierarchy while
+ * concurrent requests wait for that one encoding. A burst of writes therefore costs one encoding, not one per write.
+ * The change feed watermark is the highest commit sequence number the snapshot itself holds, not the current end
+ * of the feed, which may already be past changes that have not reached this read model: a consumer syncing from
+ * it replays those changes rather than skipping them. Only a write committed with a lower sequence number than one
+ * already applied, but applied after it, can be skipped; consumers repair those when they revalidate the
+ * snapshot.
+ *
+ * @author Ikenumah
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class SnapshotServiceImpl implements SnapshotService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotServiceImpl.class);
+
+    private final GeographyReadModel geographyReadModel;
+    private final ChangeFeedService changeFeedService;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile EncodedSnapshot encoded;
+
+    /**
+     * Constructor for SnapshotServiceImpl.
+     *
+     * @param geographyReadModel the read model the snapshot is encoded from
+     * @param changeFeedService the change feed the snapshot carries a watermark of
+     */
+    public SnapshotServiceImpl(GeographyReadModel geographyReadModel, ChangeFeedService changeFeedService) {
+        this.geographyReadModel = geographyReadModel;
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Returns the encoded snapshot of the current read model version, encoding it first when needed.
+     *
+     * @return the encoded snapshot, or an empty optional while the read model is loading
+     */
+    @Override
+    public Optional<EncodedSnapshot> current() {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        EncodedSnapshot last = encoded;
+        if (last != null && last.getVersion() >= snapshot.get().version()) {
+            return Optional.of(last);
+        }
+        lock.lock();
+        try {
+            GeographySnapshot latest = geographyReadModel.snapshot().orElseThrow();
+            if (encoded == null || encoded.getVersion() < latest.version()) {
+                encoded = encode(latest, changeFeedService.tokenAt(latest.changeSeq()));
+            }
+            return Optional.of(encoded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static EncodedSnapshot encode(GeographySnapshot snapshot, String changeToken) {
+        long started = System.currentTimeMillis();
+        byte[] content = GeographySnapshotCodec.encode(snapshot);
+        String sha256 = HexFormat.of().formatHex(sha256().digest(content));
+        LOGGER.info("Encoded geography snapshot version {} with {} nodes in {} bytes in {} ms", snapshot.version(),
+                snapshot.size(), content.length, System.currentTimeMillis() - started);
+        return new EncodedSnapshot(snapshot.version(), snapshot.size(), content, sha256, changeToken);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,17 +1,36 @@
 package com.alienworkspace.cdr.metadata.service.impl;
 
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.measure;
+
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.metadata.helpers.CurrentUser;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.StateMapper;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotMapper;
+import com.alienworkspace.cdr.metadata.readmodel.StateNode;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
 import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import com.alienworkspace.cdr.metadata.service.HierarchyService;
 import com.alienworkspace.cdr.metadata.service.StateService;
 import com.alienworkspace.cdr.model.dto.metadata.StateDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +47,9 @@ public class StateServiceImpl implements StateService {
     private static final Logger LOGGER = LoggerFactory.getLogger(StateServiceImpl.class);
     private final StateRepository stateRepository;
     private final StateMapper stateMapper;
+    private final GeographyReadModel geographyReadModel;
+    private final CountyRepository countyRepository;
+    private final HierarchyService hierarchyService;
 
     /**
      * Create a new state.
@@ -48,6 +70,7 @@ public class StateServiceImpl implements StateService {
 
     /**
      * Update an existing state.
+     * Giving it another country moves it, with everything below it, to that country.
      *
      * @param stateId the id of the state to update
      * @param stateDto the state to update
@@ -58,6 +81,10 @@ public class StateServiceImpl implements StateService {
     public StateDto updateState(int stateId, StateDto stateDto) {
         return stateRepository.findById(stateId)
                 .map(state -> {
+                    if (stateDto.getCountry() != null && stateDto.getCountry().getCountryId() != null
+                            && !stateDto.getCountry().getCountryId().equals(state.getCountry().getCountryId())) {
+                        hierarchyService.moveState(state, stateDto.getCountry().getCountryId());
+                    }
                     try {
                         state.setStateName(stateDto.getStateName());
                         state.setLocale(stateDto.getLocale());
@@ -101,23 +128,88 @@ public class StateServiceImpl implements StateService {
      * Get a state by its id.
      *
      * @param id the id of the state to get
+     * @param depth the number of child levels to include
      * @return the state
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
-    public StateDto getState(int id) {
+    public StateDto getState(int id, int depth) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            return snapshot.get().state(id)
+                    .map(state -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), state, depth)))
+                    .orElseThrow(() -> new ResourceNotFoundException("State not found with id: " + id));
+        }
         return stateMapper.toDto(stateRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("State not found with id: " + id)));
+                .orElseThrow(() -> new ResourceNotFoundException("State not found with id: " + id)), depth);
     }
 
     /**
-     * Get all states.
+     * Resolve the id of a state from its external id, from the read model when it holds the state and from the
+     * database otherwise.
      *
-     * @return a list of states
+     * @param uuid the external id of the state
+     * @return the id of the state
      */
-    @Transactional
+    @Transactional(readOnly = true)
+    @Override
+    public int getStateId(String uuid) {
+        UUID parsed = Uuids.parse(uuid);
+        return geographyReadModel.snapshot()
+                .flatMap(snapshot -> snapshot.nodeByUuid(GeographyLevel.STATE, parsed.toString()))
+                .map(GeographyNode::id)
+                .or(() -> stateRepository.findIdByUuid(parsed))
+                .orElseThrow(() -> new ResourceNotFoundException("State not found with uuid: " + uuid));
+    }
+
+    /**
+     * Get a page of states, in id order. One row more than the page size is read to tell whether there is a
+     * next page.
+     *
+     * @param pageToken the continuation token of the previous page, or {@code null} for the first page
+     * @param size the maximum number of states to return
+     * @param includeVoided whether voided states are included
+     * @param depth the number of child levels to include, from 0 to 5
+     * @return the page of states
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<StateDto> getAllStates(String pageToken, int size, boolean includeVoided, int depth) {
+        int afterId = PageToken.decode(pageToken);
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            List<StateNode> nodes = snapshot.get().statesAfter(afterId, includeVoided, size + 1);
+            return KeysetPage.of(nodes, size, StateNode::id,
+                    node -> measure(MAPPING, () -> GeographySnapshotMapper.toDto(snapshot.get(), node, depth)));
+        }
+        Limit limit = Limit.of(size + 1);
+        List<State> states = includeVoided
+                ? stateRepository.findByStateIdGreaterThanOrderByStateIdAsc(afterId, limit)
+                : stateRepository.findByStateIdGreaterThanAndVoidedIsFalseOrderByStateIdAsc(afterId, limit);
+        return KeysetPage.of(states, size, State::getStateId, state -> stateMapper.toDto(state, depth));
+    }
+
+    /**
+     * Get the counties of a state as lightweight rows, ordered by name. The existence of the state is only checked
+     * when it has no counties, so the common case is a single indexed query.
+     *
+     * @param stateId the id of the state
+     * @return the counties of the state
+     */
+    @Transactional(readOnly = true)
     @Override
-    public List<StateDto> getAllStates() {
-        return stateRepository.findAll().stream().map(stateMapper::toDto).toList();
+    public List<GeographyRow> getCounties(int stateId) {
+        Optional<GeographySnapshot> snapshot = geographyReadModel.snapshot();
+        if (snapshot.isPresent()) {
+            if (snapshot.get().state(stateId).isEmpty()) {
+                throw new ResourceNotFoundException("State not found with id: " + stateId);
+            }
+            return measure(MAPPING, () -> GeographySnapshotMapper.toRows(snapshot.get().countiesOf(stateId)));
+        }
+        List<GeographyRow> counties = countyRepository.findRowsByStateId(stateId);
+        if (counties.isEmpty() && !stateRepository.existsById(stateId)) {
+            throw new ResourceNotFoundException("State not found with id: " + stateId);
+        }
+        return counties;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet status;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaDataSourceProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ReplicaDataSourceProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+    }
+
+    private void replicaStatus(Long secondsBehind) throws SQLException {
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(status);
+        when(status.next()).thenReturn(true);
+        when(status.getLong("Seconds_Behind_Source")).thenReturn(secondsBehind == null ? 0 : secondsBehind);
+        when(status.wasNull()).thenReturn(secondsBehind == null);
+    }
+
+    @Test
+    @DisplayName("The replica is not used before its lag has been read")
+    void testUnusableUntilChecked() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(0, meterRegistry.get(ReplicaLagMonitor.USABLE_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("A replica within the lag bound is used")
+    void testWithinLag() throws SQLException {
+        replicaStatus(3L);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(3, meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).gauge().value());
+        assertEquals(1, meterRegistry.get(ReplicaLagMonitor.USABLE_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("A replica beyond the lag bound is not used")
+    void testBeyondLag() throws SQLException {
+        replicaStatus(6L);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(6, meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).gauge().value());
+    }
+
+    @Test
+    @DisplayName("A replica whose replication is stopped is not used")
+    void testReplicationStopped() throws SQLException {
+        replicaStatus(null);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(Double.isNaN(meterRegistry.get(ReplicaLagMonitor.LAG_METRIC).gauge().value()));
+    }
+
+    @Test
+    @DisplayName("An unreachable replica is not used")
+    void testUnreachable() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Without lag checks the replica is always used and never queried")
+    void testLagCheckDisabled() {
+        properties.setCheckLag(false);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, properties, meterRegistry);
+
+        monitor.start();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertFalse(monitor.isRunning());
+        verifyNoInteractions(replica);
+    }
+}
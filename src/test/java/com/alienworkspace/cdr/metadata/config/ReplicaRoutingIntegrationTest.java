@@ -0,0 +1,127 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyCacheEvictor;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyInvalidation;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the service against two MySQL instances, the shared test container as the primary and a second one as the
+ * replica, and checks which of them a transaction reads from.
+ */
+@SpringBootTest(properties = {"datasource.replica.enabled=true", "datasource.replica.check-lag=false"})
+public class ReplicaRoutingIntegrationTest extends AbstractionContainerBaseTest {
+
+    static final MySQLContainer<?> REPLICA_CONTAINER;
+
+    static {
+        REPLICA_CONTAINER = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("replica_db")
+                .withUsername("tester")
+                .withPassword("testing");
+
+        REPLICA_CONTAINER.start();
+    }
+
+    @DynamicPropertySource
+    public static void replicaPropertySource(DynamicPropertyRegistry registry) {
+        registry.add("datasource.replica.url", REPLICA_CONTAINER::getJdbcUrl);
+        registry.add("datasource.replica.username", REPLICA_CONTAINER::getUsername);
+        registry.add("datasource.replica.password", REPLICA_CONTAINER::getPassword);
+    }
+
+    @MockitoBean
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private GeographyReadModel geographyReadModel;
+
+    @Autowired
+    private GeographyCacheEvictor geographyCacheEvictor;
+
+    private String databaseOf(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions read from the replica")
+    public void testReadOnlyGoesToReplica() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        assertEquals("replica_db", databaseOf(true));
+    }
+
+    @Test
+    @DisplayName("Read-write transactions stay on the primary")
+    public void testReadWriteStaysOnPrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+
+        assertEquals("test_db", databaseOf(false));
+    }
+
+    @Test
+    @DisplayName("Read-only transactions fall back to the primary while the replica lags")
+    public void testLaggingReplicaFallsBackToPrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertEquals("test_db", databaseOf(true));
+    }
+
+    /**
+     * The replica container has no tables at all, like a replica lagging behind every commit, so any read of the
+     * read model that went there would fail instead of finding the rows.
+     */
+    @Test
+    @DisplayName("The read model reads rows back from the primary while the replica lags behind them")
+    public void testReadModelReadsFromPrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        Country country = countryRepository.save(Country.builder().countryName("Routed Country")
+                .countryCode("RRC").currencyCode("USD").currencySymbol("$").build());
+        int id = country.getCountryId();
+        List<GeographyInvalidation> invalidations = List.of(new GeographyInvalidation(GeographyLevel.COUNTRY, id,
+                null));
+
+        jdbcTemplate.update("UPDATE country SET country_name = ? WHERE country_id = ?", "Refreshed Country", id);
+        geographyCacheEvictor.evict(invalidations);
+        geographyReadModel.refresh(invalidations);
+
+        assertEquals("Refreshed Country", geographyReadModel.snapshot().orElseThrow().country(id).orElseThrow()
+                .name());
+
+        jdbcTemplate.update("UPDATE country SET country_name = ? WHERE country_id = ?", "Reloaded Country", id);
+        geographyCacheEvictor.evictAll();
+        geographyReadModel.reload();
+
+        assertEquals("Reloaded Country", geographyReadModel.snapshot().orElseThrow().country(id).orElseThrow()
+                .name());
+    }
+}
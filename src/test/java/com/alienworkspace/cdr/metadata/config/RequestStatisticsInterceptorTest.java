@@ -0,0 +1,97 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestStatisticsInterceptorTest {
+
+    private static final Tags TAGS = Tags.of("controller", "SampleController", "method", "list");
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestStatisticsInterceptor interceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private HandlerMethod handler;
+
+    static class SampleController {
+        public void list() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        RequestStatisticsProperties properties = new RequestStatisticsProperties();
+        properties.setRepeatedStatementThreshold(3);
+        interceptor = new RequestStatisticsInterceptor(meterRegistry, properties);
+        request = new MockHttpServletRequest();
+        response = new MockHttpServletResponse();
+        handler = new HandlerMethod(new SampleController(), SampleController.class.getMethod("list"));
+    }
+
+    @Test
+    @DisplayName("The statistics of a request are published per controller method")
+    void testPublishesPerControllerMethod() {
+        interceptor.preHandle(request, response, handler);
+        RequestStatistics statistics = RequestStatistics.current().orElseThrow();
+        statistics.statementPrepared("select c from country c");
+        statistics.statementExecuted(TimeUnit.MILLISECONDS.toNanos(4));
+        statistics.statementPrepared("select s from state s where s.country_id=?");
+        statistics.statementExecuted(TimeUnit.MILLISECONDS.toNanos(2));
+        statistics.entityLoaded();
+        statistics.entityLoaded();
+        statistics.collectionInitialized();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertFalse(RequestStatistics.current().isPresent());
+        assertSame(statistics, request.getAttribute(RequestStatisticsInterceptor.ATTRIBUTE));
+        assertEquals(2, meterRegistry.get(RequestStatisticsInterceptor.STATEMENTS).tags(TAGS).summary()
+                .totalAmount());
+        assertEquals(6, meterRegistry.get(RequestStatisticsInterceptor.JDBC_TIME).tags(TAGS).timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(2, meterRegistry.get(RequestStatisticsInterceptor.ENTITIES_LOADED).tags(TAGS).summary()
+                .totalAmount());
+        assertEquals(1, meterRegistry.get(RequestStatisticsInterceptor.COLLECTIONS_INITIALIZED).tags(TAGS)
+                .summary().totalAmount());
+        assertNull(meterRegistry.find(RequestStatisticsInterceptor.REPEATED_STATEMENTS).counter());
+    }
+
+    @Test
+    @DisplayName("A statement prepared over and over is counted as a likely N+1 select")
+    void testDetectsRepeatedStatements() {
+        interceptor.preHandle(request, response, handler);
+        RequestStatistics statistics = RequestStatistics.current().orElseThrow();
+        statistics.statementPrepared("select c from country c");
+        for (int i = 0; i < 3; i++) {
+            statistics.statementPrepared("select s from state s where s.country_id=?");
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals("select s from state s where s.country_id=?",
+                statistics.mostRepeatedStatement().orElseThrow().getKey());
+        assertEquals(1, meterRegistry.get(RequestStatisticsInterceptor.REPEATED_STATEMENTS).tags(TAGS).counter()
+                .count());
+    }
+
+    @Test
+    @DisplayName("Requests not handled by a controller method are not counted")
+    void testIgnoresOtherHandlers() {
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertFalse(RequestStatistics.current().isPresent());
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertNull(request.getAttribute(RequestStatisticsInterceptor.ATTRIBUTE));
+    }
+}
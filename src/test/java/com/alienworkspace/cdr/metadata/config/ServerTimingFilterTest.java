@@ -0,0 +1,96 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ServerTimingFilter filter;
+    private MockHttpServletResponse response;
+
+    static class SampleController {
+        public void get() {
+        }
+    }
+
+    private final FilterChain chain = (request, response) -> {
+        ServerTiming.measure(ServerTiming.Phase.REPOSITORY, () -> "row");
+        response.getWriter().write("{\"id\":1}");
+        response.flushBuffer();
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ServerTimingFilter(meterRegistry);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("The breakdown is sent in a header in front of the buffered body")
+    void testHeaderAndBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/countries/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new SampleController(), SampleController.class.getMethod("get")));
+
+        filter.doFilter(request, response, chain);
+
+        String header = response.getHeader(ServerTiming.HEADER);
+        assertTrue(header.startsWith("repo;desc=\"Repository\";dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("{\"id\":1}", response.getContentAsString());
+        assertFalse(ServerTiming.current().isPresent());
+        for (String phase : new String[] {"repository", "mapping", "serialization"}) {
+            assertEquals(1, meterRegistry.get(ServerTimingFilter.METRIC)
+                    .tags(Tags.of("controller", "SampleController", "method", "get", "phase", phase))
+                    .timer().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Requests not handled by a controller method get the header but no metrics")
+    void testWithoutHandlerMethod() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, chain);
+
+        assertTrue(response.getHeader(ServerTiming.HEADER).contains("total;dur="));
+        assertNull(meterRegistry.find(ServerTimingFilter.METRIC).timer());
+    }
+
+    @Test
+    @DisplayName("The streaming export is not buffered")
+    void testSkipsExport() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/exports"), response, chain);
+
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertTrue(response.isCommitted());
+    }
+
+    @Test
+    @DisplayName("The binary snapshot and the actuator files are not buffered")
+    void testSkipsUnbufferedPaths() throws Exception {
+        for (String path : new String[] {"/api/snapshot", "/actuator/heapdump", "/actuator/logfile"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/metadata" + path);
+            request.setContextPath("/metadata");
+            MockHttpServletResponse unbuffered = new MockHttpServletResponse();
+
+            filter.doFilter(request, unbuffered, chain);
+
+            assertNull(unbuffered.getHeader(ServerTiming.HEADER), path);
+            assertTrue(unbuffered.isCommitted(), path);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.MAPPING;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.REPOSITORY;
+import static com.alienworkspace.cdr.metadata.config.ServerTiming.Phase.SERIALIZATION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerTiming.end();
+    }
+
+    @Test
+    @DisplayName("Work is added to its phase only")
+    void testMeasure() {
+        ServerTiming timing = ServerTiming.start();
+
+        assertEquals("dto", ServerTiming.measure(MAPPING, () -> "dto"));
+
+        assertTrue(timing.getElapsed(MAPPING).toNanos() > 0);
+        assertEquals(Duration.ZERO, timing.getElapsed(REPOSITORY));
+        assertEquals(Duration.ZERO, timing.getElapsed(SERIALIZATION));
+    }
+
+    @Test
+    @DisplayName("Nested work of the same phase is timed once")
+    void testNestedWork() {
+        ServerTiming timing = ServerTiming.start();
+
+        ServerTiming.measure(REPOSITORY, () -> ServerTiming.measure(REPOSITORY,
+                () -> ServerTiming.measure(REPOSITORY, () -> "row")));
+        ServerTiming.end();
+
+        assertTrue(timing.getElapsed(REPOSITORY).compareTo(timing.getTotal()) <= 0);
+    }
+
+    @Test
+    @DisplayName("Work outside a request is run but not timed")
+    void testOutsideRequest() {
+        assertEquals("dto", ServerTiming.measure(MAPPING, () -> "dto"));
+        assertNull(ServerTiming.end());
+    }
+
+    @Test
+    @DisplayName("The header lists every phase and the total in milliseconds")
+    void testToHeader() {
+        ServerTiming timing = ServerTiming.start();
+        ServerTiming.end();
+
+        assertTrue(timing.toHeader().matches("repo;desc=\"Repository\";dur=0\\.000, "
+                + "map;desc=\"Entity to DTO mapping\";dur=0\\.000, "
+                + "ser;desc=\"JSON serialization\";dur=0\\.000, "
+                + "total;dur=\\d+\\.\\d{3}"), timing.toHeader());
+    }
+}
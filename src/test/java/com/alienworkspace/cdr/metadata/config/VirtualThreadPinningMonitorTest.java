@@ -0,0 +1,50 @@
+package com.alienworkspace.cdr.metadata.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(new VirtualThreadProperties(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Pinned threads are counted and timed")
+    void testOnPinned() {
+        monitor.onPinned(Duration.ofMillis(30), List.of());
+        monitor.onPinned(Duration.ofMillis(50), List.of());
+
+        Timer timer = meterRegistry.get(VirtualThreadPinningMonitor.METRIC).timer();
+        assertEquals(2, timer.count());
+        assertEquals(80, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    @DisplayName("The monitor can be started and stopped")
+    void testLifecycle() {
+        assertFalse(monitor.isRunning());
+        monitor.start();
+        try {
+            assertTrue(monitor.isRunning());
+        } finally {
+            monitor.stop();
+        }
+        assertFalse(monitor.isRunning());
+    }
+}
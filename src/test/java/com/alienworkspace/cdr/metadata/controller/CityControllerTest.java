@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.service.CityService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,6 +20,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.util.List;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.CITY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -36,6 +39,9 @@ public class CityControllerTest {
     @MockitoBean
     private CityService cityService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
     private CityDto.CityDtoBuilder cityDtoBuilder = CityDto.builder();
 
     @BeforeEach
@@ -110,7 +116,7 @@ public class CityControllerTest {
     @Test
     public void testGetCity() throws Exception {
         CityDto cityDto = cityDtoBuilder.build();
-        when(cityService.getCity(1)).thenReturn(cityDtoBuilder.cityId(1).build());
+        when(cityService.getCity(1, MAX_DEPTH)).thenReturn(cityDtoBuilder.cityId(1).build());
         ResultActions result = mockMvc.perform(
                 get(CITY_BASE_URL + "/{id}", 1)
         );
@@ -126,7 +132,7 @@ public class CityControllerTest {
     @Test
     public void testGetAllCities() throws Exception {
         List<CityDto> cities = List.of(cityDtoBuilder.cityId(1).build());
-        when(cityService.getAllCities()).thenReturn(cities);
+        when(cityService.getAllCities(null, 100, false, MAX_DEPTH)).thenReturn(new KeysetPage<>(cities, null));
         ResultActions result = mockMvc.perform(
                 get(CITY_BASE_URL)
         );
@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.service.CommunityService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,6 +20,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.util.List;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.COMMUNITY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -36,6 +39,9 @@ public class CommunityControllerTest {
     @MockitoBean
     private CommunityService communityService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
     private CommunityDto.CommunityDtoBuilder communityDtoBuilder = CommunityDto.builder();
 
     @BeforeEach
@@ -111,7 +117,7 @@ public class CommunityControllerTest {
     @Test
     public void testGetCommunity() throws Exception {
         CommunityDto communityDto = communityDtoBuilder.build();
-        when(communityService.getCommunity(1)).thenReturn(communityDtoBuilder.communityId(1).build());
+        when(communityService.getCommunity(1, MAX_DEPTH)).thenReturn(communityDtoBuilder.communityId(1).build());
         ResultActions result = mockMvc.perform(
                 get(COMMUNITY_BASE_URL + "/{id}", 1)
         );
@@ -127,7 +133,7 @@ public class CommunityControllerTest {
     @Test
     public void testGetAllCommunities() throws Exception {
         List<CommunityDto> communities = List.of(communityDtoBuilder.communityId(1).build());
-        when(communityService.getAllCommunities()).thenReturn(communities);
+        when(communityService.getAllCommunities(null, 100, false, MAX_DEPTH)).thenReturn(new KeysetPage<>(communities, null));
         ResultActions result = mockMvc.perform(
                 get(COMMUNITY_BASE_URL)
         );
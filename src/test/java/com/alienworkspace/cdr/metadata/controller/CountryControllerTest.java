@@ -1,7 +1,10 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
 import com.alienworkspace.cdr.metadata.service.CountryService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,9 +21,11 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.util.List;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTRY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,6 +41,9 @@ public class CountryControllerTest {
     @MockitoBean
     private CountryService countryService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
     private CountryDto.CountryDtoBuilder countryDtoBuilder = CountryDto.builder();
 
     @BeforeEach
@@ -119,7 +127,7 @@ public class CountryControllerTest {
     @Test
     public void testGetCountry() throws Exception {
         CountryDto countryDto = countryDtoBuilder.build();
-        when(countryService.getCountry(1)).thenReturn(countryDtoBuilder.countryId(1).build());
+        when(countryService.getCountry(1, MAX_DEPTH)).thenReturn(countryDtoBuilder.countryId(1).build());
         ResultActions result = mockMvc.perform(
                 get(COUNTRY_BASE_URL + "/{id}", 1)
         );
@@ -141,7 +149,7 @@ public class CountryControllerTest {
     @Test
     public void testGetAllCountries() throws Exception {
         List<CountryDto> countries = List.of(countryDtoBuilder.countryId(1).build());
-        when(countryService.getAllCountries()).thenReturn(countries);
+        when(countryService.getAllCountries(null, 100, false, MAX_DEPTH)).thenReturn(new KeysetPage<>(countries, null));
         ResultActions result = mockMvc.perform(
                 get(COUNTRY_BASE_URL)
         );
@@ -192,4 +200,62 @@ public class CountryControllerTest {
                 .andExpect(jsonPath("$.errorCode").value(404))
                 .andExpect(jsonPath("$.errorMessage").value(CoreMatchers.containsString("Country not found")));
     }
-} 
\ No newline at end of file
+
+    @DisplayName("Test Get All Countries sends the entity tag")
+    @Test
+    public void testGetAllCountriesSendsETag() throws Exception {
+        List<CountryDto> countries = List.of(countryDtoBuilder.countryId(1).build());
+        when(eTagService.forLevel(GeographyLevel.COUNTRY, MAX_DEPTH)).thenReturn("\"countries-e.3\"");
+        when(countryService.getAllCountries(null, 100, false, MAX_DEPTH)).thenReturn(new KeysetPage<>(countries, null));
+        ResultActions result = mockMvc.perform(get(COUNTRY_BASE_URL));
+        result.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"countries-e.3\""))
+                .andExpect(jsonPath("$[0].countryId").value(1));
+    }
+
+    @DisplayName("Test Get All Countries answers a matching If-None-Match with 304 without calling the service")
+    @Test
+    public void testGetAllCountriesNotModified() throws Exception {
+        when(eTagService.forLevel(GeographyLevel.COUNTRY, MAX_DEPTH)).thenReturn("\"countries-e.3\"");
+        ResultActions result = mockMvc.perform(get(COUNTRY_BASE_URL).header("If-None-Match", "\"countries-e.3\""));
+        result.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"countries-e.3\""));
+        verifyNoInteractions(countryService);
+    }
+
+    @DisplayName("Test Get States answers a matching If-None-Match with 304 without calling the service")
+    @Test
+    public void testGetStatesNotModified() throws Exception {
+        when(eTagService.forChildren(GeographyLevel.COUNTRY, 1)).thenReturn("\"countries-1-states-e.7\"");
+        ResultActions result = mockMvc.perform(get(COUNTRY_BASE_URL + "/{id}/states", 1)
+                .header("If-None-Match", "\"countries-1-states-e.7\""));
+        result.andDo(print())
+                .andExpect(status().isNotModified());
+        verify(countryService, never()).getStates(1);
+    }
+
+    @DisplayName("Test Get Country by UUID")
+    @Test
+    public void testGetCountryByUuid() throws Exception {
+        String uuid = "0190b2a1-c3d4-7000-8000-000000000001";
+        when(countryService.getCountryId(uuid)).thenReturn(1);
+        when(countryService.getCountry(1, MAX_DEPTH)).thenReturn(countryDtoBuilder.countryId(1).build());
+        ResultActions result = mockMvc.perform(get(COUNTRY_BASE_URL + "/uuid/{uuid}", uuid));
+        result.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countryId").value(1));
+    }
+
+    @DisplayName("Test Get Country by unknown UUID")
+    @Test
+    public void testGetCountryByUnknownUuid() throws Exception {
+        String uuid = "0190b2a1-c3d4-7000-8000-000000000002";
+        when(countryService.getCountryId(uuid)).thenThrow(new ResourceNotFoundException("Country not found"));
+        ResultActions result = mockMvc.perform(get(COUNTRY_BASE_URL + "/uuid/{uuid}", uuid));
+        result.andDo(print())
+                .andExpect(status().isNotFound());
+        verify(countryService, never()).getCountry(anyInt(), anyInt());
+    }
+}
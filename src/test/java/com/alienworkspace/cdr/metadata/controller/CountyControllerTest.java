@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.service.CountyService;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,6 +20,7 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.util.List;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -36,6 +39,9 @@ public class CountyControllerTest {
     @MockitoBean
     private CountyService countyService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
     private CountyDto.CountyDtoBuilder countyDtoBuilder = CountyDto.builder();
 
     @BeforeEach
@@ -110,7 +116,7 @@ public class CountyControllerTest {
     @Test
     public void testGetCounty() throws Exception {
         CountyDto countyDto = countyDtoBuilder.build();
-        when(countyService.getCounty(1)).thenReturn(countyDtoBuilder.countyId(1).build());
+        when(countyService.getCounty(1, MAX_DEPTH)).thenReturn(countyDtoBuilder.countyId(1).build());
         ResultActions result = mockMvc.perform(
                 get(COUNTY_BASE_URL + "/{id}", 1)
         );
@@ -126,7 +132,7 @@ public class CountyControllerTest {
     @Test
     public void testGetAllCounties() throws Exception {
         List<CountyDto> counties = List.of(countyDtoBuilder.countyId(1).build());
-        when(countyService.getAllCounties()).thenReturn(counties);
+        when(countyService.getAllCounties(null, 100, false, MAX_DEPTH)).thenReturn(new KeysetPage<>(counties, null));
         ResultActions result = mockMvc.perform(
                 get(COUNTY_BASE_URL)
         );
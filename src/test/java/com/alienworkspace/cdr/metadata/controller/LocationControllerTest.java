@@ -1,6 +1,8 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.metadata.service.LocationService;
 import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
@@ -36,6 +38,9 @@ public class LocationControllerTest {
     @MockitoBean
     private LocationService locationService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
     private LocationDto.LocationDtoBuilder locationDtoBuilder = LocationDto.builder();
 
     @BeforeEach
@@ -126,7 +131,7 @@ public class LocationControllerTest {
     @Test
     public void testGetAllLocations() throws Exception {
         List<LocationDto> locations = List.of(locationDtoBuilder.locationId(1).build());
-        when(locationService.getAllLocations()).thenReturn(locations);
+        when(locationService.getAllLocations(null, 100, false)).thenReturn(new KeysetPage<>(locations, null));
         ResultActions result = mockMvc.perform(
                 get(LOCATION_BASE_URL)
         );
@@ -0,0 +1,132 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.model.*;
+import com.alienworkspace.cdr.metadata.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COMMUNITY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTRY_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.LOCATION_BASE_URL;
+import static com.alienworkspace.cdr.metadata.support.QueryBudget.noStatementRepeatedMoreThan;
+import static com.alienworkspace.cdr.metadata.support.QueryBudget.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Holds the read endpoints to their query budgets, so a change that makes one of them run more statements, or
+ * an N+1 select, fails here rather than in production.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class QueryBudgetIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final int LOCATIONS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CountyRepository countyRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    Country country;
+    State state;
+    County county;
+    City city;
+    Community community;
+    Location location;
+
+    @BeforeEach
+    public void setUp() {
+        locationRepository.deleteAll();
+        communityRepository.deleteAll();
+        cityRepository.deleteAll();
+        countyRepository.deleteAll();
+        stateRepository.deleteAll();
+        countryRepository.deleteAll();
+
+        country = countryRepository.save(Country.builder().countryName("Test Country").countryCode("CN123")
+                .currencyCode("USD").currencySymbol("$").build());
+        state = stateRepository.save(State.builder().stateName("Test State").stateCode("ST123")
+                .country(country).build());
+        county = countyRepository.save(County.builder().countyName("Test County")
+                .countyCode("COU123").state(state).build());
+        city = cityRepository.save(City.builder().cityName("Test City").cityCode("CIT123")
+                .cityGeoCode("GEO123").county(county).build());
+        community = communityRepository.save(Community.builder().communityName("Test Community")
+                .communityCode("COM123").city(city).build());
+        for (int i = 0; i < LOCATIONS; i++) {
+            location = locationRepository.save(Location.builder().locationName("Location " + i)
+                    .locationCode("LOC" + i).community(community).build());
+        }
+    }
+
+    @Test
+    @DisplayName("Get a location within its query budget")
+    public void testGetLocation() throws Exception {
+        mockMvc.perform(get(LOCATION_BASE_URL + "/" + location.getLocationId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    @DisplayName("List the locations of a community without a statement per location")
+    public void testGetCommunityLocations() throws Exception {
+        mockMvc.perform(get(COMMUNITY_BASE_URL + "/" + community.getCommunityId() + "/locations"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2))
+                .andExpect(noStatementRepeatedMoreThan(1));
+    }
+
+    @Test
+    @DisplayName("Get a country with its whole subtree without a statement per child")
+    public void testGetCountryTree() throws Exception {
+        mockMvc.perform(get(COUNTRY_BASE_URL + "/" + country.getCountryId()).param("depth", "5")
+                        .header("X-cdr-correlation-id", "query-budget"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2))
+                .andExpect(noStatementRepeatedMoreThan(1));
+    }
+
+    @Test
+    @DisplayName("List countries with their subtrees without a statement per child")
+    public void testGetAllCountries() throws Exception {
+        mockMvc.perform(get(COUNTRY_BASE_URL).param("depth", "5"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3))
+                .andExpect(noStatementRepeatedMoreThan(1));
+    }
+
+    @Test
+    @DisplayName("Resolve a person location within its query budget")
+    public void testGetPersonLocation() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/person-location/" + country.getCountryId() + "/" + state.getStateId()
+                        + "/" + county.getCountyId() + "/" + city.getCityId() + "/" + community.getCommunityId()
+                        + "/" + location.getLocationId())
+                        .header("X-cdr-correlation-id", "query-budget"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+}
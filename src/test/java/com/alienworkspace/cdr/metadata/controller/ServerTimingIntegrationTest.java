@@ -0,0 +1,108 @@
+package com.alienworkspace.cdr.metadata.controller;
+
+import com.alienworkspace.cdr.metadata.config.ServerTiming;
+import com.alienworkspace.cdr.metadata.config.ServerTimingFilter;
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.repository.*;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.COUNTRY_BASE_URL;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server-timing.enabled=true")
+@AutoConfigureMockMvc
+public class ServerTimingIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final Pattern MAPPING_DURATION = Pattern.compile("map;desc=\"[^\"]*\";dur=([0-9.]+)");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CountyRepository countyRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    Country country;
+
+    @BeforeEach
+    public void setUp() {
+        locationRepository.deleteAll();
+        communityRepository.deleteAll();
+        cityRepository.deleteAll();
+        countyRepository.deleteAll();
+        stateRepository.deleteAll();
+        countryRepository.deleteAll();
+
+        country = countryRepository.save(Country.builder().countryName("Test Country").countryCode("CN123")
+                .currencyCode("USD").currencySymbol("$").build());
+    }
+
+    @Test
+    @DisplayName("A response carries the repository, mapping and serialization times")
+    public void testServerTimingHeader() throws Exception {
+        mockMvc.perform(get(COUNTRY_BASE_URL + "/" + country.getCountryId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.countryCode").value("CN123"))
+                .andExpect(header().string(ServerTiming.HEADER, allOf(containsString("repo;"),
+                        containsString("map;"), containsString("ser;"), containsString("total;"))));
+
+        assertTrue(meterRegistry.get(ServerTimingFilter.METRIC).tag("controller", "CountryController")
+                .tag("phase", "serialization").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Mapping an entity to its DTO is timed")
+    public void testMapperIsTimed() throws Exception {
+        CountryDto countryDto = CountryDto.builder().countryName("Mapped Country").countryCode("MC123")
+                .currencyCode("USD").currencySymbol("$").build();
+
+        String header = mockMvc.perform(post(COUNTRY_BASE_URL).contentType("application/json")
+                        .content(objectMapper.writeValueAsString(countryDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader(ServerTiming.HEADER);
+
+        Matcher mapping = MAPPING_DURATION.matcher(header);
+        assertTrue(mapping.find(), header);
+        assertTrue(Double.parseDouble(mapping.group(1)) > 0, header);
+    }
+}
@@ -1,6 +1,8 @@
 package com.alienworkspace.cdr.metadata.controller;
 
 import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import com.alienworkspace.cdr.metadata.service.ETagService;
 import com.alienworkspace.cdr.metadata.service.StateService;
 import com.alienworkspace.cdr.model.dto.metadata.StateDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
@@ -18,9 +20,12 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.util.List;
 
 import static com.alienworkspace.cdr.metadata.helpers.Constants.STATE_BASE_URL;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
+import static com.alienworkspace.cdr.metadata.helpers.Constants.NEXT_PAGE_TOKEN_HEADER;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,6 +41,9 @@ public class StateControllerTest {
     @MockitoBean
     private StateService stateService;
 
+    @MockitoBean
+    private ETagService eTagService;
+
     private StateDto.StateDtoBuilder stateDtoBuilder = StateDto.builder();
 
     @BeforeEach
@@ -110,7 +118,7 @@ public class StateControllerTest {
     @Test
     public void testGetState() throws Exception {
         StateDto stateDto = stateDtoBuilder.build();
-        when(stateService.getState(1)).thenReturn(stateDtoBuilder.stateId(1).build());
+        when(stateService.getState(1, MAX_DEPTH)).thenReturn(stateDtoBuilder.stateId(1).build());
         ResultActions result = mockMvc.perform(
                 get(STATE_BASE_URL + "/{id}", 1)
         );
@@ -122,11 +130,27 @@ public class StateControllerTest {
                 .andExpect(jsonPath("$.localePreferred").value(stateDto.isLocalePreferred()));
     }
 
+    @DisplayName("Test Get State with depth")
+    @Test
+    public void testGetStateWithDepth() throws Exception {
+        when(stateService.getState(1, 0)).thenReturn(stateDtoBuilder.stateId(1).build());
+        mockMvc.perform(get(STATE_BASE_URL + "/{id}", 1).param("depth", "0"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stateId").value(1));
+
+        mockMvc.perform(get(STATE_BASE_URL + "/{id}", 1).param("depth", String.valueOf(MAX_DEPTH + 1)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value(400));
+        verify(stateService, never()).getState(1, MAX_DEPTH + 1);
+    }
+
     @DisplayName("Test Get All States")
     @Test
     public void testGetAllStates() throws Exception {
         List<StateDto> states = List.of(stateDtoBuilder.stateId(1).build());
-        when(stateService.getAllStates()).thenReturn(states);
+        when(stateService.getAllStates(null, 100, false, MAX_DEPTH)).thenReturn(new KeysetPage<>(states, null));
         ResultActions result = mockMvc.perform(
                 get(STATE_BASE_URL)
         );
@@ -138,6 +162,22 @@ public class StateControllerTest {
                 .andExpect(jsonPath("$.[0].localePreferred").value(states.get(0).isLocalePreferred()));
     }
 
+    @DisplayName("Test Get All States returns the next page token in a header")
+    @Test
+    public void testGetAllStatesNextPage() throws Exception {
+        List<StateDto> states = List.of(stateDtoBuilder.stateId(1).build());
+        when(stateService.getAllStates("token", 1, true, 0)).thenReturn(new KeysetPage<>(states, "next"));
+        mockMvc.perform(get(STATE_BASE_URL)
+                        .param("pageToken", "token")
+                        .param("size", "1")
+                        .param("includeVoided", "true")
+                        .param("depth", "0"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_PAGE_TOKEN_HEADER, "next"))
+                .andExpect(jsonPath("$.[0].stateId").value(1));
+    }
+
     @DisplayName("Test Delete State")
     @Test
     public void testDeleteState() throws Exception {
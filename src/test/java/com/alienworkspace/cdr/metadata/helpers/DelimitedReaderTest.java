@@ -0,0 +1,45 @@
+package com.alienworkspace.cdr.metadata.helpers;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DelimitedReaderTest {
+
+    @DisplayName("Test reading CSV with quotes, blank lines and CRLF line breaks")
+    @Test
+    public void testReadCsv() throws IOException {
+        String csv = "\uFEFFparent_code,name,code\r\nNG, Lagos ,\"LA,1\"\r\n\r\nNG,\"Abuja \"\"FCT\"\"\nCentral\",FC\n";
+        try (DelimitedReader reader = new DelimitedReader(new StringReader(csv), ',')) {
+            assertEquals(List.of("parent_code", "name", "code"), reader.next());
+            assertEquals(List.of("NG", "Lagos", "LA,1"), reader.next());
+            assertEquals(2, reader.recordLine());
+            assertEquals(List.of("NG", "Abuja \"FCT\"\nCentral", "FC"), reader.next());
+            assertEquals(4, reader.recordLine());
+            assertNull(reader.next());
+        }
+    }
+
+    @DisplayName("Test reading TSV without a trailing line break")
+    @Test
+    public void testReadTsv() throws IOException {
+        try (DelimitedReader reader = new DelimitedReader(new StringReader("LA\tIkeja\t\tIK"), '\t')) {
+            assertEquals(List.of("LA", "Ikeja", "", "IK"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @DisplayName("Test an unterminated quoted field")
+    @Test
+    public void testUnterminatedQuote() throws IOException {
+        try (DelimitedReader reader = new DelimitedReader(new StringReader("NG,\"Lagos"), ',')) {
+            assertThrows(IOException.class, reader::next);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.alienworkspace.cdr.metadata.helpers;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidsTest {
+
+    @DisplayName("Test ids are version 7, carry the creation time and strictly increase")
+    @Test
+    void testTimeOrdered() {
+        long before = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(Uuids.timeOrdered());
+        }
+        UUID first = ids.get(0);
+        assertEquals(7, first.version());
+        assertEquals(2, first.variant());
+        assertTrue((first.getMostSignificantBits() >>> 16) >= before);
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(),
+                    ids.get(i).getMostSignificantBits()) < 0);
+        }
+    }
+
+    @DisplayName("Test the binary form round-trips in big-endian order")
+    @Test
+    void testBytes() {
+        UUID uuid = UUID.fromString("0190b2a1-c3d4-7000-8000-00000000000a");
+        byte[] bytes = Uuids.toBytes(uuid);
+        assertEquals(16, bytes.length);
+        assertEquals(0x01, bytes[0]);
+        assertEquals(0x0a, bytes[15]);
+        assertEquals(uuid, Uuids.fromBytes(bytes));
+        assertEquals(uuid.toString(), Uuids.format(bytes));
+        assertNull(Uuids.format(null));
+    }
+
+    @DisplayName("Test parsing rejects text that is not a UUID")
+    @Test
+    void testParse() {
+        assertEquals(new UUID(0, 1), Uuids.parse("00000000-0000-0000-0000-000000000001"));
+        assertThrows(InvalidRequestException.class, () -> Uuids.parse("not-a-uuid"));
+    }
+}
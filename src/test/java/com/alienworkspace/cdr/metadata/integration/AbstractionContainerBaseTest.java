@@ -23,4 +23,11 @@ public abstract class AbstractionContainerBaseTest {
         registry.add("spring.datasource.username", MY_SQL_CONTAINER::getUsername);
         registry.add("spring.datasource.password", MY_SQL_CONTAINER::getPassword);
     }
+
+    /**
+     * The shared MySQL container, for tests that start an application of their own.
+     */
+    protected static MySQLContainer<?> mySqlContainer() {
+        return MY_SQL_CONTAINER;
+    }
 }
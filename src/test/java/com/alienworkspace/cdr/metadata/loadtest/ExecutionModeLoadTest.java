@@ -0,0 +1,130 @@
+package com.alienworkspace.cdr.metadata.loadtest;
+
+import com.alienworkspace.cdr.metadata.MetadataApplication;
+import com.alienworkspace.cdr.metadata.config.VirtualThreadPinningMonitor;
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Locale;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the platform-thread Tomcat pool with the virtual-thread execution mode on the list and
+ * person-location endpoints. The service is started twice on the same seeded database, once per mode, and driven
+ * with more clients than the Tomcat pool has threads. The run fails when virtual threads fall behind the pool by
+ * more than {@code loadtest.minVirtualThreadRatio}, or when any virtual thread is reported pinned.
+ *
+ * <p>Needs Java 21, which the loadtest profile requires, like the image; run outside of it on an older runtime it
+ * is skipped. Run it with {@code ./mvnw -Ploadtest test -Dtest=ExecutionModeLoadTest}.
+ */
+@Tag("load")
+public class ExecutionModeLoadTest extends AbstractionContainerBaseTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+
+    private record Result(String mode, Histogram latencies, Duration elapsed, double errorRate) {
+
+        double throughput() {
+            return LatencyReport.throughput(latencies, elapsed);
+        }
+
+        String format() {
+            return String.format(Locale.ROOT, "%-9s %9.1f req/s  p50 %5d ms  p99 %5d ms  errors %.4f", mode,
+                    throughput(), LatencyReport.percentileMillis(latencies, 50),
+                    LatencyReport.percentileMillis(latencies, 99), errorRate);
+        }
+    }
+
+    @Test
+    @DisplayName("Virtual threads serve the list and person-location endpoints at least as fast as the pool")
+    public void virtualThreadsAgainstPlatformPool() throws InterruptedException {
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21");
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        int clients = Integer.getInteger("loadtest.executionMode.clients", 400);
+        int tomcatThreads = Integer.getInteger("loadtest.executionMode.tomcatThreads", 200);
+        double minRatio = Double.parseDouble(System.getProperty("loadtest.minVirtualThreadRatio", "1.0"));
+
+        SyntheticHierarchy hierarchy;
+        Result platform;
+        try (ConfigurableApplicationContext app = start(false, tomcatThreads)) {
+            hierarchy = seed(app, settings.fanOut());
+            platform = measure("platform", app, hierarchy, clients, settings);
+        }
+        Result virtual;
+        long pinned;
+        try (ConfigurableApplicationContext app = start(true, tomcatThreads)) {
+            virtual = measure("virtual", app, hierarchy, clients, settings);
+            Timer pinnedTimer = app.getBean(MeterRegistry.class).find(VirtualThreadPinningMonitor.METRIC).timer();
+            pinned = pinnedTimer == null ? 0 : pinnedTimer.count();
+        }
+        log.info("{} clients, {} Tomcat threads, {} locations:{}{}{}{}{}pinned virtual threads: {}", clients,
+                tomcatThreads, hierarchy.size(), System.lineSeparator(), platform.format(), System.lineSeparator(),
+                virtual.format(), System.lineSeparator(), pinned);
+
+        assertTrue(virtual.throughput() >= platform.throughput() * minRatio,
+                "virtual threads served " + virtual.throughput() + " req/s against " + platform.throughput()
+                        + " req/s on the platform pool");
+        assertTrue(virtual.errorRate() <= settings.maxErrorRate(),
+                "error rate " + virtual.errorRate() + " > " + settings.maxErrorRate());
+        assertEquals(0, pinned, "virtual threads were pinned to their carrier; see the log for their stacks");
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, int tomcatThreads) {
+        return new SpringApplicationBuilder(MetadataApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "spring.datasource.url=" + mySqlContainer().getJdbcUrl(),
+                        "spring.datasource.username=" + mySqlContainer().getUsername(),
+                        "spring.datasource.password=" + mySqlContainer().getPassword(),
+                        "spring.jpa.show-sql=false",
+                        "logging.level.com.alienworkspace.cdr.metadata=INFO")
+                .run();
+    }
+
+    private static SyntheticHierarchy seed(ConfigurableApplicationContext app, int fanOut) {
+        app.getBean(LocationRepository.class).deleteAll();
+        app.getBean(CommunityRepository.class).deleteAll();
+        app.getBean(CityRepository.class).deleteAll();
+        app.getBean(CountyRepository.class).deleteAll();
+        app.getBean(StateRepository.class).deleteAll();
+        app.getBean(CountryRepository.class).deleteAll();
+        return SyntheticHierarchy.seed(fanOut, app.getBean(CountryRepository.class),
+                app.getBean(StateRepository.class), app.getBean(CountyRepository.class),
+                app.getBean(CityRepository.class), app.getBean(CommunityRepository.class),
+                app.getBean(LocationRepository.class));
+    }
+
+    private static Result measure(String mode, ConfigurableApplicationContext app, SyntheticHierarchy hierarchy,
+                                  int clients, LoadTestSettings settings) throws InterruptedException {
+        int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, hierarchy,
+                Workload.LISTS_AND_PERSON_LOCATION);
+        driver.drive(clients, settings.warmup());
+        long start = System.nanoTime();
+        LatencyReport report = driver.drive(clients, settings.duration());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("{} threads:{}", mode, report.format(elapsed));
+        return new Result(mode, report.total(), elapsed, report.errorRate());
+    }
+}
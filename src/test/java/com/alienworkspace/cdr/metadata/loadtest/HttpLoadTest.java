@@ -0,0 +1,89 @@
+package com.alienworkspace.cdr.metadata.loadtest;
+
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import java.time.Duration;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a mixed read workload against the running service and fails when latency, throughput or error
+ * rate regress past the thresholds of {@link LoadTestSettings}. Tagged {@code load}, so it only runs with
+ * {@code ./mvnw -Ploadtest test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.com.alienworkspace.cdr.metadata=INFO"})
+public class HttpLoadTest extends AbstractionContainerBaseTest {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CountyRepository countyRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Test
+    @DisplayName("Mixed read workload stays within the latency, throughput and error thresholds")
+    public void mixedReadWorkload() throws InterruptedException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        locationRepository.deleteAll();
+        communityRepository.deleteAll();
+        cityRepository.deleteAll();
+        countyRepository.deleteAll();
+        stateRepository.deleteAll();
+        countryRepository.deleteAll();
+        SyntheticHierarchy hierarchy = SyntheticHierarchy.seed(settings.fanOut(), countryRepository,
+                stateRepository, countyRepository, cityRepository, communityRepository, locationRepository);
+        log.info("Seeded {} locations; warming up for {} with {} clients", hierarchy.size(), settings.warmup(),
+                settings.threads());
+
+        LoadDriver driver = new LoadDriver("http://localhost:" + port, hierarchy, Workload.MIXED);
+        driver.drive(settings.threads(), settings.warmup());
+        long start = System.nanoTime();
+        LatencyReport report = driver.drive(settings.threads(), settings.duration());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Load test results over {}:{}", elapsed, report.format(elapsed));
+
+        Histogram total = report.total();
+        long p50 = LatencyReport.percentileMillis(total, 50);
+        long p99 = LatencyReport.percentileMillis(total, 99);
+        double throughput = LatencyReport.throughput(total, elapsed);
+        assertTrue(report.errorRate() <= settings.maxErrorRate(),
+                "error rate " + report.errorRate() + " > " + settings.maxErrorRate());
+        assertTrue(p50 <= settings.maxP50Millis(), "p50 " + p50 + " ms > " + settings.maxP50Millis() + " ms");
+        assertTrue(p99 <= settings.maxP99Millis(), "p99 " + p99 + " ms > " + settings.maxP99Millis() + " ms");
+        assertTrue(throughput >= settings.minThroughput(),
+                "throughput " + throughput + " req/s < " + settings.minThroughput() + " req/s");
+    }
+}
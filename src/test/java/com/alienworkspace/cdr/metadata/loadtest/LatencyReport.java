@@ -0,0 +1,71 @@
+package com.alienworkspace.cdr.metadata.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms and error counts per endpoint, recorded concurrently by the clients.
+ */
+final class LatencyReport {
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean failed) {
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(MAX_TRACKED_NANOS, 3))
+                .recordValue(Math.min(nanos, MAX_TRACKED_NANOS));
+        if (failed) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    Histogram total() {
+        Histogram total = new Histogram(MAX_TRACKED_NANOS, 3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    double errorRate() {
+        long count = total().getTotalCount();
+        return count == 0 ? 0 : (double) errorCount() / count;
+    }
+
+    static double throughput(Histogram histogram, Duration elapsed) {
+        return histogram.getTotalCount() / (elapsed.toNanos() / 1e9);
+    }
+
+    static long percentileMillis(Histogram histogram, double percentile) {
+        return TimeUnit.NANOSECONDS.toMillis(histogram.getValueAtPercentile(percentile));
+    }
+
+    String format(Duration elapsed) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-28s %8s %9s %7s %7s %7s %7s %7s %6s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9", "max ms", "errors"));
+        new TreeMap<>(histograms).forEach((endpoint, histogram) ->
+                row(table, endpoint, histogram, errors.getOrDefault(endpoint, new LongAdder()).sum(), elapsed));
+        row(table, "total", total(), errorCount(), elapsed);
+        return table.toString();
+    }
+
+    private static void row(StringBuilder table, String endpoint, Histogram histogram, long errorCount,
+                            Duration elapsed) {
+        table.append(String.format(Locale.ROOT, "%-28s %8d %9.1f %7d %7d %7d %7d %7d %6d%n",
+                endpoint, histogram.getTotalCount(), throughput(histogram, elapsed),
+                percentileMillis(histogram, 50), percentileMillis(histogram, 90), percentileMillis(histogram, 99),
+                percentileMillis(histogram, 99.9), TimeUnit.NANOSECONDS.toMillis(histogram.getMaxValue()),
+                errorCount));
+    }
+}
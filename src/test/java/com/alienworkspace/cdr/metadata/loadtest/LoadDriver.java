@@ -0,0 +1,73 @@
+package com.alienworkspace.cdr.metadata.loadtest;
+
+import com.alienworkspace.cdr.metadata.loadtest.SyntheticHierarchy.Chain;
+import com.alienworkspace.cdr.metadata.loadtest.Workload.Endpoint;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop clients: each one sends its next request as soon as the previous one has been answered, for a
+ * fixed time, and records every latency in a {@link LatencyReport}.
+ */
+final class LoadDriver {
+
+    private final String baseUrl;
+    private final SyntheticHierarchy hierarchy;
+    private final Workload workload;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    LoadDriver(String baseUrl, SyntheticHierarchy hierarchy, Workload workload) {
+        this.baseUrl = baseUrl;
+        this.hierarchy = hierarchy;
+        this.workload = workload;
+    }
+
+    /**
+     * Runs {@code clients} clients for {@code duration} and returns their measurements.
+     */
+    LatencyReport drive(int clients, Duration duration) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    call(workload.pick(), hierarchy.randomChain(), report);
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+        return report;
+    }
+
+    private void call(Endpoint endpoint, Chain chain, LatencyReport report) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path().apply(chain)))
+                .header("X-cdr-correlation-id", UUID.randomUUID().toString())
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        report.record(endpoint.name(), System.nanoTime() - start, failed);
+    }
+}
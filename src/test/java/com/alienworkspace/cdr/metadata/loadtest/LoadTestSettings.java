@@ -0,0 +1,32 @@
+package com.alienworkspace.cdr.metadata.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Knobs of the load test, read from system properties so they can be set on the Maven command line, e.g.
+ * {@code ./mvnw -Ploadtest test -Dloadtest.fanOut=4 -Dloadtest.duration=120}.
+ *
+ * @param fanOut      children of every non-leaf row of the seeded hierarchy
+ * @param threads     concurrent clients
+ * @param warmup      how long to drive load before measuring
+ * @param duration    how long to measure
+ * @param maxP50Millis  the median latency above which the run fails
+ * @param maxP99Millis  the 99th percentile latency above which the run fails
+ * @param minThroughput the requests per second below which the run fails
+ * @param maxErrorRate  the share of failed requests above which the run fails
+ */
+record LoadTestSettings(int fanOut, int threads, Duration warmup, Duration duration,
+                        long maxP50Millis, long maxP99Millis, double minThroughput, double maxErrorRate) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.fanOut", 3),
+                Integer.getInteger("loadtest.threads", 16),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10L)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 30L)),
+                Long.getLong("loadtest.maxP50Millis", 20L),
+                Long.getLong("loadtest.maxP99Millis", 250L),
+                Double.parseDouble(System.getProperty("loadtest.minThroughput", "100")),
+                Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.001")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.alienworkspace.cdr.metadata.loadtest;
+
+import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A seeded hierarchy of two countries with {@code fanOut} children per row, and the id chains of its
+ * locations for the workload to pick from.
+ */
+final class SyntheticHierarchy {
+
+    private static final int COUNTRIES = 2;
+
+    private final List<Chain> chains;
+
+    private SyntheticHierarchy(List<Chain> chains) {
+        this.chains = chains;
+    }
+
+    /**
+     * The ids of a location and of each of its ancestors.
+     */
+    record Chain(int countryId, int stateId, int countyId, int cityId, int communityId, int locationId,
+                 String locationUuid) {
+    }
+
+    Chain randomChain() {
+        return chains.get(ThreadLocalRandom.current().nextInt(chains.size()));
+    }
+
+    int size() {
+        return chains.size();
+    }
+
+    static SyntheticHierarchy seed(int fanOut, CountryRepository countryRepository, StateRepository stateRepository,
+                                   CountyRepository countyRepository, CityRepository cityRepository,
+                                   CommunityRepository communityRepository, LocationRepository locationRepository) {
+        List<Country> countries = new ArrayList<>();
+        for (int i = 0; i < COUNTRIES; i++) {
+            countries.add(Country.builder().countryName("Load Country " + i).countryCode("LC" + i)
+                    .currencyCode("USD").currencySymbol("$").locale("en_US").build());
+        }
+        countries = countryRepository.saveAll(countries);
+
+        List<State> states = new ArrayList<>();
+        for (Country country : countries) {
+            for (int i = 0; i < fanOut; i++) {
+                states.add(State.builder().stateName("Load State " + i)
+                        .stateCode(country.getCountryCode() + "-S" + i).country(country).build());
+            }
+        }
+        states = stateRepository.saveAll(states);
+
+        List<County> counties = new ArrayList<>();
+        for (State state : states) {
+            for (int i = 0; i < fanOut; i++) {
+                counties.add(County.builder().countyName("Load County " + i)
+                        .countyCode(state.getStateCode() + "-C" + i).state(state).build());
+            }
+        }
+        counties = countyRepository.saveAll(counties);
+
+        List<City> cities = new ArrayList<>();
+        for (County county : counties) {
+            for (int i = 0; i < fanOut; i++) {
+                cities.add(City.builder().cityName("Load City " + i)
+                        .cityCode(county.getCountyCode() + "-T" + i).county(county).build());
+            }
+        }
+        cities = cityRepository.saveAll(cities);
+
+        List<Community> communities = new ArrayList<>();
+        for (City city : cities) {
+            for (int i = 0; i < fanOut; i++) {
+                communities.add(Community.builder().communityName("Load Community " + i)
+                        .communityCode(city.getCityCode() + "-M" + i).city(city).build());
+            }
+        }
+        communities = communityRepository.saveAll(communities);
+
+        List<Location> locations = new ArrayList<>();
+        for (Community community : communities) {
+            for (int i = 0; i < fanOut; i++) {
+                locations.add(Location.builder().locationName("Load Location " + i)
+                        .locationCode(community.getCommunityCode() + "-L" + i).community(community).build());
+            }
+        }
+        locations = locationRepository.saveAll(locations);
+
+        List<Chain> chains = new ArrayList<>(locations.size());
+        for (Location location : locations) {
+            Community community = location.getCommunity();
+            City city = community.getCity();
+            County county = city.getCounty();
+            State state = county.getState();
+            chains.add(new Chain(state.getCountry().getCountryId(), state.getStateId(), county.getCountyId(),
+                    city.getCityId(), community.getCommunityId(), location.getLocationId(),
+                    location.getUuid().toString()));
+        }
+        return new SyntheticHierarchy(chains);
+    }
+}
@@ -0,0 +1,68 @@
+package com.alienworkspace.cdr.metadata.loadtest;
+
+import com.alienworkspace.cdr.metadata.loadtest.SyntheticHierarchy.Chain;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * A weighted mix of GET requests, each built from a random location chain of the seeded hierarchy.
+ */
+final class Workload {
+
+    /**
+     * Reads of every level plus the person-location lookup.
+     */
+    static final Workload MIXED = new Workload(List.of(
+            new Endpoint("country", 5, chain -> "/api/countries/" + chain.countryId() + "?depth=0"),
+            new Endpoint("country states", 5, chain -> "/api/countries/" + chain.countryId() + "/states"),
+            new Endpoint("state", 5, chain -> "/api/states/" + chain.stateId() + "?depth=1"),
+            new Endpoint("county", 5, chain -> "/api/counties/" + chain.countyId() + "?depth=1"),
+            new Endpoint("city", 10, chain -> "/api/cities/" + chain.cityId() + "?depth=1"),
+            new Endpoint("community", 10, chain -> "/api/communities/" + chain.communityId()),
+            new Endpoint("community locations", 10,
+                    chain -> "/api/communities/" + chain.communityId() + "/locations"),
+            new Endpoint("location", 15, chain -> "/api/locations/" + chain.locationId()),
+            new Endpoint("location by uuid", 10, chain -> "/api/locations/uuid/" + chain.locationUuid()),
+            new Endpoint("person location", 25, Workload::personLocation)));
+
+    /**
+     * The list endpoints and the person-location lookup, the requests that dominate clinic peaks.
+     */
+    static final Workload LISTS_AND_PERSON_LOCATION = new Workload(List.of(
+            new Endpoint("locations page", 20, chain -> "/api/locations?size=100"),
+            new Endpoint("country states", 10, chain -> "/api/countries/" + chain.countryId() + "/states"),
+            new Endpoint("community locations", 20,
+                    chain -> "/api/communities/" + chain.communityId() + "/locations"),
+            new Endpoint("person location", 50, Workload::personLocation)));
+
+    private final List<Endpoint> endpoints;
+    private final int totalWeight;
+
+    private Workload(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+        this.totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+    }
+
+    /**
+     * One kind of request, as its name in the report, its relative weight and its path for a chain.
+     */
+    record Endpoint(String name, int weight, Function<Chain, String> path) {
+    }
+
+    Endpoint pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up to " + totalWeight);
+    }
+
+    private static String personLocation(Chain chain) {
+        return "/api/person-location/" + chain.countryId() + "/" + chain.stateId() + "/" + chain.countyId() + "/"
+                + chain.cityId() + "/" + chain.communityId() + "/" + chain.locationId();
+    }
+}
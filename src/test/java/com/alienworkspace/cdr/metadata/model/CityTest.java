@@ -1,5 +1,6 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,7 +46,7 @@ class CityTest {
 
     @Test
     void testEqualsAndHashCode() {
-        String uuid = "12345678-1234-1234-1234-1234567890ab";
+        UUID uuid = UUID.fromString("12345678-1234-1234-1234-1234567890ab");
         City c1 = City.builder().cityId(1).county(County.builder().countyId(1).build()).cityName("A").build();
         City c2 = City.builder().cityId(1).county(County.builder().countyId(1).build()).cityName("A").build();
         c1.setUuid(uuid);
@@ -1,5 +1,6 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,7 +46,7 @@ class CommunityTest {
 
     @Test
     void testEqualsAndHashCode() {
-        String uuid = "12345678-1234-1234-1234-1234567890ab";
+        UUID uuid = UUID.fromString("12345678-1234-1234-1234-1234567890ab");
         Community c1 = Community.builder().city(City.builder().cityId(1).cityName("A").build())
                 .communityId(1).communityName("A").build();
         Community c2 = Community.builder().city(City.builder().cityId(1).cityName("A").build())
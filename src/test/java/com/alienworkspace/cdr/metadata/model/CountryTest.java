@@ -1,5 +1,8 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -57,7 +60,7 @@ class CountryTest {
 
     @Test
     void testEqualsAndHashCode() {
-        String uuid = "12345678-1234-1234-1234-1234567890ab";
+        UUID uuid = UUID.fromString("12345678-1234-1234-1234-1234567890ab");
         Country c1 = Country.builder().countryId(1).countryName("A").build();
         Country c2 = Country.builder().countryId(1).countryName("A").build();
         c1.setUuid(uuid);
@@ -71,4 +74,29 @@ class CountryTest {
         Country country = Country.builder().countryId(1).countryName("Test").build();
         assertTrue(country.toString().contains("Test"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testUnsavedCountriesAreOnlyEqualToThemselves() {
+        Country c1 = Country.builder().countryName("A").build();
+        Country c2 = Country.builder().countryName("A").build();
+        assertEquals(c1, c1);
+        assertNotEquals(c1, c2);
+
+        Set<Country> countries = new HashSet<>();
+        countries.add(c1);
+        countries.add(c2);
+        assertEquals(2, countries.size());
+    }
+
+    @Test
+    void testCountryStaysInHashSetWhenSaved() {
+        Country country = Country.builder().countryName("A").build();
+        Set<Country> countries = new HashSet<>();
+        countries.add(country);
+
+        country.setCountryId(1);
+
+        assertTrue(countries.contains(country));
+        assertNotEquals(country, Country.builder().countryId(1).countryName("A").build());
+    }
+}
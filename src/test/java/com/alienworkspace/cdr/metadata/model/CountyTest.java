@@ -1,5 +1,6 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,7 +46,7 @@ class CountyTest {
 
     @Test
     void testEqualsAndHashCode() {
-        String uuid = "12345678-1234-1234-1234-1234567890ab";
+        UUID uuid = UUID.fromString("12345678-1234-1234-1234-1234567890ab");
         County c1 = County.builder().state(State.builder().stateId(1).stateName("A").build())
                 .countyId(1).countyName("A").build();
         County c2 = County.builder().state(State.builder().stateId(1).stateName("A").build())
@@ -0,0 +1,149 @@
+package com.alienworkspace.cdr.metadata.model;
+
+import com.alienworkspace.cdr.metadata.config.RequestStatistics;
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.model.mapper.CountryMapper;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import com.alienworkspace.cdr.metadata.support.QueryBudget;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Puts rows loaded by a real session into hash sets and prints them, counting the statements Hibernate runs meanwhile.
+ */
+@SpringBootTest
+public class EntityEqualityIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final int LOCATIONS = 3;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CountyRepository countyRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    Country country;
+    Community community;
+
+    @BeforeEach
+    void setUp() {
+        locationRepository.deleteAllInBatch();
+        communityRepository.deleteAllInBatch();
+        cityRepository.deleteAllInBatch();
+        countyRepository.deleteAllInBatch();
+        stateRepository.deleteAllInBatch();
+        countryRepository.deleteAllInBatch();
+
+        country = countryRepository.save(Country.builder().countryName("Equal Country").countryCode("EQ1")
+                .currencyCode("USD").currencySymbol("$").build());
+        State state = stateRepository.save(State.builder().stateName("Equal State").stateCode("EQS")
+                .country(country).build());
+        County county = countyRepository.save(County.builder().countyName("Equal County").countyCode("EQC")
+                .state(state).build());
+        City city = cityRepository.save(City.builder().cityName("Equal City").cityCode("EQT").county(county)
+                .build());
+        community = communityRepository.save(Community.builder().communityName("Equal Community")
+                .communityCode("EQM").city(city).build());
+        for (int i = 0; i < LOCATIONS; i++) {
+            locationRepository.save(Location.builder().locationName("Location " + i).locationCode("EQL" + i)
+                    .community(community).build());
+        }
+    }
+
+    @DisplayName("Test equals, hashCode and toString of loaded rows run no statement and initialize no collection")
+    @Test
+    void testEqualityRunsNoStatement() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Country loaded = entityManager.find(Country.class, country.getCountryId());
+            List<Location> locations = locationRepository.findAll();
+
+            RequestStatistics statistics = QueryBudget.during(() -> {
+                Set<Object> rows = new HashSet<>(locations);
+                rows.add(loaded);
+                locations.forEach(location -> rows.add(location.getCommunity()));
+                assertEquals(LOCATIONS + 2, rows.size());
+                assertTrue(rows.contains(country));
+                assertEquals(community, locations.get(0).getCommunity());
+                rows.forEach(Object::toString);
+            });
+
+            assertEquals(0, statistics.getStatements());
+            assertEquals(0, statistics.getCollectionsInitialized());
+            assertFalse(Hibernate.isInitialized(loaded.getStates()));
+            assertFalse(Hibernate.isInitialized(locations.get(0).getCommunity().getLocations()));
+        });
+    }
+
+    @DisplayName("Test a row put into a hash set before it is saved is found there after it is saved and reloaded")
+    @Test
+    void testRowStaysInHashSetWhenSaved() {
+        Country unsaved = Country.builder().countryName("Unsaved Country").countryCode("EQ2").currencyCode("USD")
+                .currencySymbol("$").build();
+        Set<Country> countries = new HashSet<>();
+        countries.add(unsaved);
+
+        Country saved = countryRepository.save(unsaved);
+        Country reloaded = countryRepository.findById(saved.getCountryId()).orElseThrow();
+
+        assertNotNull(saved.getCountryId());
+        assertTrue(countries.contains(saved));
+        assertTrue(countries.contains(reloaded));
+    }
+
+    @DisplayName("Test a row mapped from a DTO without a uuid is found in a hash set after it is saved")
+    @Test
+    void testMappedRowStaysInHashSetWhenSaved() {
+        CountryDto dto = CountryDto.builder().countryName("Mapped Country").countryCode("EQ3").currencyCode("USD")
+                .currencySymbol("$").states(new HashSet<>()).build();
+        Country mapped = CountryMapper.INSTANCE.toEntity(dto);
+        Set<Country> countries = new HashSet<>();
+        countries.add(mapped);
+
+        Country saved = countryRepository.save(mapped);
+        Country reloaded = countryRepository.findById(saved.getCountryId()).orElseThrow();
+
+        assertNotNull(mapped.getUuid());
+        assertTrue(countries.contains(saved));
+        assertTrue(countries.contains(reloaded));
+    }
+}
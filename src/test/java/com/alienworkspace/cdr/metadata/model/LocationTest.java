@@ -1,5 +1,6 @@
 package com.alienworkspace.cdr.metadata.model;
 
+import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,7 +46,7 @@ class LocationTest {
 
     @Test
     void testEqualsAndHashCode() {
-        String uuid = "12345678-1234-1234-1234-1234567890ab";
+        UUID uuid = UUID.fromString("12345678-1234-1234-1234-1234567890ab");
         Location l1 = Location.builder().community(Community.builder().communityId(1).communityName("A").build())
                 .locationId(1).locationName("A").build();
         Location l2 = Location.builder().community(Community.builder().communityId(1).communityName("A").build())
@@ -61,4 +62,10 @@ class LocationTest {
         Location location = Location.builder().locationId(1).locationName("Test").build();
         assertTrue(location.toString().contains("Test"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testToStringWithoutCommunity() {
+        Location location = Location.builder().locationId(1).locationName("Test").build();
+        assertTrue(location.toString().contains("communityId=null"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.alienworkspace.cdr.metadata.model.mapper;
 
 import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.State;
 import com.alienworkspace.cdr.model.dto.metadata.*;
 import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.BeforeEach;
@@ -58,6 +59,26 @@ class CountryMapperTest {
         assertEquals(entity.getCountryPhoneCode(), dto.getCountryPhoneCode());
     }
 
+    @Test
+    void testToDtoStopsAtDepth() {
+        State stateEntity = StateMapper.INSTANCE.toEntity(state);
+        stateEntity.setCounties(null);
+        Country entity = Country.builder()
+                .countryId(1)
+                .countryName("Test Country")
+                .states(null)
+                .build();
+
+        CountryDto shallow = mapper.toDto(entity, 0);
+        assertEquals(1, shallow.getCountryId());
+        assertTrue(shallow.getStates().isEmpty());
+
+        entity.setStates(ImmutableSet.of(stateEntity));
+        CountryDto oneLevel = mapper.toDto(entity, 1);
+        assertEquals(1, oneLevel.getStates().size());
+        assertTrue(oneLevel.getStates().iterator().next().getCounties().isEmpty());
+    }
+
     @Test
     void testToEntity() {
         CountryDto dto = CountryDto.builder()
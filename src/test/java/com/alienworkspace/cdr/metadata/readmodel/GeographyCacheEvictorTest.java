@@ -0,0 +1,109 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.helpers.Constants;
+import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.Location;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GeographyCacheEvictorTest {
+
+    private static final String LOCATIONS_ROLE = Community.class.getName() + ".locations";
+
+    @Mock
+    EntityManagerFactory entityManagerFactory;
+    @Mock
+    SessionFactory sessionFactory;
+    @Mock
+    Cache cache;
+    @Mock
+    GeographyReadModel readModel;
+    @InjectMocks
+    GeographyCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+    }
+
+    @DisplayName("Test local changes evict the collections of the previous and current parents only")
+    @Test
+    void testLocalChanges() {
+        when(readModel.snapshot()).thenReturn(Optional.of(GeographySnapshot.of(1, List.of(), List.of(), List.of(),
+                List.of(), List.of(), List.of(location(5, 10), location(6, 11)))));
+        Country country = Country.builder().countryId(1).countryName("Nigeria").countryCode("NG").build();
+        evictor.onGeographyChanged(new GeographyChangedEvent(List.of(
+                GeographyChange.upsert(CountryNode.of(country)),
+                GeographyChange.upsert(location(5, 12)),
+                GeographyChange.removal(GeographyLevel.LOCATION, 6),
+                GeographyChange.upsert(location(7, 13))), 3L));
+
+        verify(cache).evictCollectionData(LOCATIONS_ROLE, 10);
+        verify(cache).evictCollectionData(LOCATIONS_ROLE, 12);
+        verify(cache).evictCollectionData(LOCATIONS_ROLE, 11);
+        verify(cache).evictCollectionData(LOCATIONS_ROLE, 13);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @DisplayName("Test local changes evict the whole collection region before the read model is loaded")
+    @Test
+    void testLocalChangesBeforeLoad() {
+        when(readModel.snapshot()).thenReturn(Optional.empty());
+        evictor.onGeographyChanged(new GeographyChangedEvent(List.of(
+                GeographyChange.removal(GeographyLevel.LOCATION, 6)), 3L));
+
+        verify(cache).evictRegion(Constants.COMMUNITY_LOCATIONS_CACHE_REGION);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @DisplayName("Test remote changes evict the rows, the collections of their parents and the query results")
+    @Test
+    void testRemoteChanges() {
+        when(readModel.snapshot()).thenReturn(Optional.of(GeographySnapshot.of(1, List.of(), List.of(), List.of(),
+                List.of(), List.of(), List.of(location(5, 10)))));
+        evictor.evict(List.of(new GeographyInvalidation(GeographyLevel.COUNTRY, 1, 3L),
+                new GeographyInvalidation(GeographyLevel.LOCATION, 5, null)));
+        evictor.evictParents(List.of(GeographyChange.upsert(location(5, 12))));
+
+        verify(cache).evictEntityData(Country.class, 1);
+        verify(cache).evictEntityData(Location.class, 5);
+        verify(cache).evictCollectionData(LOCATIONS_ROLE, 10);
+        verify(cache).evictCollectionData(LOCATIONS_ROLE, 12);
+        verify(cache).evictQueryRegions();
+        verify(cache, never()).evictRegion(anyString());
+        verify(cache, never()).evictAllRegions();
+    }
+
+    @DisplayName("Test evicting everything")
+    @Test
+    void testEvictAll() {
+        evictor.evictAll();
+
+        verify(cache).evictAllRegions();
+        verify(cache, never()).evictRegion(anyString());
+    }
+
+    private static LocationNode location(int id, int communityId) {
+        return LocationNode.of(Location.builder().locationId(id).locationName("Location " + id).locationCode("L" + id)
+                .community(Community.builder().communityId(communityId).build()).build());
+    }
+}
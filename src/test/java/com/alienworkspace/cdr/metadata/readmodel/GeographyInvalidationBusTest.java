@@ -0,0 +1,105 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.Country;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.bus.BusProperties;
+import org.springframework.cloud.bus.PathDestinationFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two replicas connected through an in-memory stand-in for the broker, which hands every published event to every
+ * replica, the sender included, as the bus and the local application context do.
+ */
+@ExtendWith(MockitoExtension.class)
+class GeographyInvalidationBusTest {
+
+    @Mock
+    GeographyReadModel firstReadModel;
+    @Mock
+    GeographyReadModel secondReadModel;
+    @Mock
+    GeographyCacheEvictor firstCacheEvictor;
+    @Mock
+    GeographyCacheEvictor secondCacheEvictor;
+
+    private final List<GeographyInvalidationBus> replicas = new ArrayList<>();
+    private final List<GeographyInvalidationEvent> sent = new ArrayList<>();
+    private GeographyInvalidationBus first;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationEventPublisher broker = event -> {
+            GeographyInvalidationEvent invalidation = (GeographyInvalidationEvent) event;
+            sent.add(invalidation);
+            replicas.forEach(replica -> replica.onInvalidation(invalidation));
+        };
+        first = replica("metadata:8080:first", broker, firstReadModel, firstCacheEvictor);
+        replica("metadata:8081:second", broker, secondReadModel, secondCacheEvictor);
+    }
+
+    private GeographyInvalidationBus replica(String id, ApplicationEventPublisher broker,
+                                             GeographyReadModel readModel, GeographyCacheEvictor cacheEvictor) {
+        BusProperties properties = new BusProperties();
+        properties.setId(id);
+        GeographyInvalidationBus replica = new GeographyInvalidationBus(broker, properties,
+                new PathDestinationFactory(), readModel, cacheEvictor);
+        replicas.add(replica);
+        return replica;
+    }
+
+    @DisplayName("Test committed changes are applied by the other replicas only")
+    @Test
+    void testChangesReachOtherReplicas() {
+        Country ghana = Country.builder().countryId(2).countryName("Ghana").countryCode("GH").build();
+        List<GeographyChange> refreshed = List.of(GeographyChange.upsert(CountryNode.of(ghana)));
+        when(secondReadModel.refresh(any())).thenReturn(refreshed);
+        first.onGeographyChanged(new GeographyChangedEvent(List.of(
+                GeographyChange.upsert(CountryNode.of(ghana)),
+                GeographyChange.removal(GeographyLevel.COUNTRY, 1)), 42L));
+
+        assertEquals(1, sent.size());
+        assertEquals("metadata:8080:first", sent.get(0).getOriginService());
+        List<GeographyInvalidation> expected = List.of(new GeographyInvalidation(GeographyLevel.COUNTRY, 2, 42L),
+                new GeographyInvalidation(GeographyLevel.COUNTRY, 1, null));
+        InOrder inOrder = inOrder(secondCacheEvictor, secondReadModel);
+        inOrder.verify(secondCacheEvictor).evict(expected);
+        inOrder.verify(secondReadModel).refresh(expected);
+        inOrder.verify(secondCacheEvictor).evictParents(refreshed);
+        verify(firstReadModel, never()).refresh(any());
+        verify(firstCacheEvictor, never()).evict(any());
+    }
+
+    @DisplayName("Test a reload is broadcast to the other replicas")
+    @Test
+    void testReloadReachesOtherReplicas() {
+        first.broadcastReload();
+
+        assertTrue(sent.get(0).isReload());
+        verify(secondCacheEvictor).evictAll();
+        verify(secondReadModel).reload();
+        verify(firstReadModel, never()).reload();
+    }
+
+    @DisplayName("Test nothing is sent for an empty change set")
+    @Test
+    void testNothingToSend() {
+        first.onGeographyChanged(new GeographyChangedEvent(List.of(), 1L));
+
+        assertTrue(sent.isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeographyPathResolverTest {
+
+    private static final AuditStamp AUDIT = new AuditStamp(1L, null, null, null, false, null, null, null, "uuid");
+
+    @Mock
+    GeographyReadModel geographyReadModel;
+    @Mock
+    CountryRepository countryRepository;
+    @InjectMocks
+    GeographyPathResolver resolver;
+
+    private static GeographySnapshot snapshot() {
+        return GeographySnapshot.of(1L,
+                List.of(new CountryNode(1, "Nigeria", "NG", 234, null, "N", "NGN", "en", null, true, AUDIT),
+                        new CountryNode(2, "Ghana", "GH", 233, null, "C", "GHS", "en", null, true, AUDIT)),
+                List.of(new StateNode(10, "Lagos", "LA", null, "en", true, null, 1, AUDIT),
+                        new StateNode(20, "Ashanti", "AS", null, "en", true, null, 2, AUDIT)),
+                List.of(new CountyNode(100, "Ikeja", "IK", null, "en", true, null, 10, AUDIT),
+                        new CountyNode(101, "Epe", "EP", null, "en", true, null, 10, AUDIT)),
+                List.of(new CityNode(1000, "Ikeja City", "IKC", null, "en", true, null, 100, AUDIT)),
+                List.of(new CommunityNode(10000, "Alausa", "AL", null, "en", true, null, 1000, AUDIT)),
+                List.of(new LocationNode(100000, "Secretariat", "SEC", null, "en", true, null, 10000, AUDIT)));
+    }
+
+    @DisplayName("Test resolve a full chain from the read model")
+    @Test
+    void testResolveFromSnapshot() {
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot()));
+        GeographyPath path = resolver.resolve(1, 10, 100, 1000, 10000, 100000);
+        assertEquals("Secretariat", path.location().name());
+
+        CountryDto country = GeographySnapshotMapper.toDto(path);
+        assertEquals(1, country.getStates().size());
+        assertEquals(1, country.getStates().iterator().next().getCounties().size());
+        verifyNoInteractions(countryRepository);
+    }
+
+    @DisplayName("Test a state of another country is rejected")
+    @Test
+    void testResolveBrokenChain() {
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot()));
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> resolver.resolve(1, 20, null, null, null, null));
+        assertTrue(exception.getMessage().contains("does not belong to country 1"));
+    }
+
+    @DisplayName("Test a missing id is reported as not found")
+    @Test
+    void testResolveMissing() {
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot()));
+        assertThrows(ResourceNotFoundException.class, () -> resolver.resolve(1, 10, 999, null, null, null));
+        assertThrows(ResourceNotFoundException.class, () -> resolver.resolve(9, null, null, null, null, null));
+    }
+
+    @DisplayName("Test resolve with a single query when the read model is not loaded")
+    @Test
+    void testResolveFromRepository() {
+        Country country = Country.builder().countryId(1).countryName("Nigeria").countryCode("NG").build();
+        State state = State.builder().stateId(10).stateName("Lagos").country(country).build();
+        List<Object[]> rows = Collections.singletonList(new Object[] {country, state, null, null, null, null});
+        when(geographyReadModel.snapshot()).thenReturn(Optional.empty());
+        when(countryRepository.findPath(1, 10, null, null, null, null)).thenReturn(rows);
+
+        GeographyPath path = resolver.resolve(1, 10, null, null, null, null);
+
+        assertEquals(10, path.state().id());
+        assertNull(path.county());
+        verify(countryRepository).findPath(1, 10, null, null, null, null);
+        verifyNoMoreInteractions(countryRepository);
+    }
+}
@@ -0,0 +1,156 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GeographyReadModelTest {
+
+    @Mock
+    CountryRepository countryRepository;
+    @Mock
+    StateRepository stateRepository;
+    @Mock
+    CountyRepository countyRepository;
+    @Mock
+    CityRepository cityRepository;
+    @Mock
+    CommunityRepository communityRepository;
+    @Mock
+    LocationRepository locationRepository;
+    @Mock
+    PlatformTransactionManager transactionManager;
+    @InjectMocks
+    GeographyReadModel readModel;
+
+    private void stubRepositories() {
+        Country country = Country.builder().countryId(1).countryName("Nigeria").countryCode("NG").build();
+        country.setChangeSeq(5L);
+        when(countryRepository.findByCountryIdGreaterThanOrderByCountryIdAsc(eq(0), any(Limit.class)))
+                .thenReturn(List.of(country));
+        stubEmptyLevelsBelowCountry();
+    }
+
+    private void stubEmptyLevelsBelowCountry() {
+        when(stateRepository.findByStateIdGreaterThanOrderByStateIdAsc(eq(0), any(Limit.class))).thenReturn(List.of());
+        when(countyRepository.findByCountyIdGreaterThanOrderByCountyIdAsc(eq(0), any(Limit.class)))
+                .thenReturn(List.of());
+        when(cityRepository.findByCityIdGreaterThanOrderByCityIdAsc(eq(0), any(Limit.class))).thenReturn(List.of());
+        when(communityRepository.findByCommunityIdGreaterThanOrderByCommunityIdAsc(eq(0), any(Limit.class)))
+                .thenReturn(List.of());
+        when(locationRepository.findByLocationIdGreaterThanOrderByLocationIdAsc(eq(0), any(Limit.class)))
+                .thenReturn(List.of());
+    }
+
+    @DisplayName("Test snapshot is empty until loaded")
+    @Test
+    void testNotLoaded() {
+        assertTrue(readModel.snapshot().isEmpty());
+    }
+
+    @DisplayName("Test reload reads every level in pages after the last id read")
+    @Test
+    void testKeysetReload() {
+        List<Country> firstPage = IntStream.rangeClosed(1, 1000)
+                .mapToObj(id -> Country.builder().countryId(id).countryName("Country " + id).build()).toList();
+        when(countryRepository.findByCountryIdGreaterThanOrderByCountryIdAsc(eq(0), any(Limit.class)))
+                .thenReturn(firstPage);
+        when(countryRepository.findByCountryIdGreaterThanOrderByCountryIdAsc(eq(1000), any(Limit.class)))
+                .thenReturn(List.of(Country.builder().countryId(1001).countryName("Last").build()));
+        stubEmptyLevelsBelowCountry();
+
+        readModel.reload();
+
+        GeographySnapshot loaded = readModel.snapshot().orElseThrow();
+        assertEquals(1001, loaded.countries().size());
+        assertEquals("Last", loaded.country(1001).orElseThrow().name());
+        verify(countryRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @DisplayName("Test reload publishes a snapshot and changes are applied atomically")
+    @Test
+    void testReloadAndPatch() {
+        stubRepositories();
+        readModel.reload();
+        GeographySnapshot loaded = readModel.snapshot().orElseThrow();
+        assertEquals(1L, loaded.version());
+        assertEquals("NG", loaded.country(1).orElseThrow().code());
+        assertEquals(5L, loaded.levelChangeSeq(GeographyLevel.COUNTRY));
+        assertEquals(0L, loaded.levelChangeSeq(GeographyLevel.STATE));
+
+        Country ghana = Country.builder().countryId(2).countryName("Ghana").countryCode("GH").build();
+        readModel.onGeographyChanged(new GeographyChangedEvent(List.of(
+                GeographyChange.upsert(CountryNode.of(ghana)),
+                GeographyChange.removal(GeographyLevel.COUNTRY, 1))));
+
+        GeographySnapshot patched = readModel.snapshot().orElseThrow();
+        assertEquals(2L, patched.version());
+        assertTrue(patched.country(1).isEmpty());
+        assertEquals("GH", patched.country(2).orElseThrow().code());
+        assertTrue(loaded.country(2).isEmpty());
+    }
+
+    @DisplayName("Test an event that arrives after a newer one for the same row leaves the newer copy in place")
+    @Test
+    void testOutOfOrderEvents() {
+        stubRepositories();
+        readModel.reload();
+        Country newer = Country.builder().countryId(2).countryName("Ghana").countryCode("GH").build();
+        newer.setChangeSeq(9L);
+        Country older = Country.builder().countryId(2).countryName("Gold Coast").countryCode("GC").build();
+        older.setChangeSeq(8L);
+
+        readModel.onGeographyChanged(new GeographyChangedEvent(List.of(GeographyChange.upsert(CountryNode.of(newer))),
+                9L));
+        readModel.onGeographyChanged(new GeographyChangedEvent(List.of(GeographyChange.upsert(CountryNode.of(older))),
+                8L));
+
+        GeographySnapshot patched = readModel.snapshot().orElseThrow();
+        assertEquals(2L, patched.version());
+        assertEquals("Ghana", patched.country(2).orElseThrow().name());
+        assertEquals(9L, patched.levelChangeSeq(GeographyLevel.COUNTRY));
+        assertEquals(1, readModel.searchIndex().search("ghana", List.of(), null, 10).size());
+        assertTrue(readModel.searchIndex().search("gold", List.of(), null, 10).isEmpty());
+    }
+
+    @DisplayName("Test refresh re-reads invalidated rows and removes the missing ones")
+    @Test
+    void testRefresh() {
+        stubRepositories();
+        readModel.reload();
+        Country ghana = Country.builder().countryId(2).countryName("Ghana").countryCode("GH").build();
+        when(countryRepository.findAllById(any())).thenReturn(List.of(ghana));
+
+        readModel.refresh(List.of(new GeographyInvalidation(GeographyLevel.COUNTRY, 1, null),
+                new GeographyInvalidation(GeographyLevel.COUNTRY, 2, 7L)));
+
+        GeographySnapshot refreshed = readModel.snapshot().orElseThrow();
+        assertEquals(2L, refreshed.version());
+        assertEquals(7L, refreshed.levelChangeSeq(GeographyLevel.COUNTRY));
+        assertTrue(refreshed.country(1).isEmpty());
+        assertEquals("GH", refreshed.country(2).orElseThrow().code());
+    }
+}
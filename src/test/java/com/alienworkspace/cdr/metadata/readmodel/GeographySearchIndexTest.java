@@ -0,0 +1,138 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeographySearchIndexTest {
+
+    private static final AuditStamp AUDIT = new AuditStamp(1L, null, null, null, false, null, null, null, "uuid");
+    private static final AuditStamp VOIDED = new AuditStamp(1L, null, null, null, true, 1L, null, "Merged", "uuid");
+
+    private GeographySearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = GeographySearchIndex.of(GeographySnapshot.of(1L,
+                List.of(new CountryNode(1, "Nigeria", "NG", 234, "Naira", "N", "NGN", "en", null, true, AUDIT)),
+                List.of(new StateNode(10, "Federal Capital Territory", "FC", null, "en", true, null, 1, AUDIT),
+                        new StateNode(11, "Rivers", "RI", null, "en", true, null, 1, AUDIT)),
+                List.of(new CountyNode(100, "Amac", "AM", null, "en", true, null, 10, AUDIT)),
+                List.of(city(1000, "Ábuja", 100),
+                        city(1001, "Port Harcourt", 101),
+                        city(1002, "Abakaliki", 102),
+                        city(1003, "Aba", 101),
+                        city(1004, "Abeokuta", 102)),
+                List.of(),
+                List.of()));
+    }
+
+    private static CityNode city(int id, String name, int countyId) {
+        return new CityNode(id, name, "C" + id, null, "en", true, null, countyId, AUDIT);
+    }
+
+    private static List<Integer> ids(Map<GeographyLevel, List<GeographyNode>> results, GeographyLevel level) {
+        return results.getOrDefault(level, List.of()).stream().map(GeographyNode::id).toList();
+    }
+
+    @DisplayName("Test prefixes match regardless of case and diacritics")
+    @Test
+    void testIgnoresCaseAndDiacritics() {
+        Map<GeographyLevel, List<GeographyNode>> results = index.search("ABU", List.of(), null, 10);
+
+        assertEquals(List.of(1000), ids(results, GeographyLevel.CITY));
+        assertEquals("abuja", GeographySearchIndex.normalize("  Ábuja "));
+    }
+
+    @DisplayName("Test a prefix of any word of the name or of the code matches")
+    @Test
+    void testMatchesWordsAndCodes() {
+        assertEquals(List.of(1001), ids(index.search("harc", List.of(), null, 10), GeographyLevel.CITY));
+        assertEquals(List.of(10), ids(index.search("capital", List.of(), null, 10), GeographyLevel.STATE));
+        assertEquals(List.of(11), ids(index.search("ri", List.of(), null, 10), GeographyLevel.STATE));
+        assertTrue(index.search("   ", List.of(), null, 10).isEmpty());
+    }
+
+    @DisplayName("Test results are capped per level and restricted to the requested levels")
+    @Test
+    void testLimitAndLevels() {
+        Map<GeographyLevel, List<GeographyNode>> results = index.search("ab", List.of(GeographyLevel.CITY), null, 2);
+
+        assertEquals(List.of(GeographyLevel.CITY), List.copyOf(results.keySet()));
+        assertEquals(List.of(1003, 1002), ids(results, GeographyLevel.CITY));
+    }
+
+    @DisplayName("Test the search can be scoped to the children of one parent")
+    @Test
+    void testParentScope() {
+        assertEquals(List.of(1002, 1004), ids(index.search("ab", List.of(), 102, 10), GeographyLevel.CITY));
+        assertTrue(index.search("ab", List.of(), 999, 10).isEmpty());
+    }
+
+    @DisplayName("Test applied changes re-index renamed nodes and drop removed and voided ones")
+    @Test
+    void testApply() {
+        index.apply(List.of(
+                GeographyChange.upsert(city(1000, "Gwagwalada", 100)),
+                GeographyChange.removal(GeographyLevel.CITY, 1003),
+                GeographyChange.upsert(new CityNode(1004, "Abeokuta", "C1004", null, "en", true, null, 102, VOIDED)),
+                GeographyChange.upsert(city(1005, "Abaji", 100))));
+
+        assertEquals(List.of(1005, 1002), ids(index.search("ab", List.of(), null, 10), GeographyLevel.CITY));
+        assertEquals(List.of(1000), ids(index.search("gwa", List.of(), null, 10), GeographyLevel.CITY));
+    }
+
+    @DisplayName("Test misspelled names are matched and ranked by edit distance")
+    @Test
+    void testMatchRanksByEditDistance() {
+        List<GeographySearchIndex.Match> matches = index.match("Abakalki", List.of(), null, 3);
+
+        assertEquals(1002, matches.get(0).node().id());
+        assertEquals(1, matches.get(0).distance());
+        assertEquals(List.of(1000), index.match("Abujah", List.of(GeographyLevel.CITY), null, 3).stream()
+                .map(match -> match.node().id()).toList());
+        assertTrue(index.match("Kano", List.of(), null, 3).isEmpty());
+    }
+
+    @DisplayName("Test matches are scoped to a parent and follow applied changes")
+    @Test
+    void testMatchScopeAndChanges() {
+        assertTrue(index.match("Port Harcort", List.of(), 102, 3).isEmpty());
+        assertEquals(1001, index.match("Port Harcort", List.of(), 101, 3).get(0).node().id());
+
+        index.apply(List.of(GeographyChange.removal(GeographyLevel.CITY, 1001)));
+
+        assertTrue(index.match("Port Harcort", List.of(), null, 3).isEmpty());
+    }
+
+    @DisplayName("Test matching among many names sharing a word finds the rare names and the parent's children")
+    @Test
+    void testMatchAmongFrequentTrigrams() {
+        List<CityNode> cities = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) {
+            cities.add(city(i + 2, "Ward " + i, 5 + i % 3));
+        }
+        cities.add(city(1, "Ikeja", 5));
+        GeographySearchIndex wards = GeographySearchIndex.of(GeographySnapshot.of(1L, List.of(), List.of(),
+                List.of(), cities, List.of(), List.of()));
+
+        assertEquals(1, wards.match("Ikija", List.of(), null, 3).get(0).node().id());
+        assertEquals(1, wards.match("Ikija", List.of(), 5, 3).get(0).node().id());
+        assertTrue(wards.match("Ikija", List.of(), 6, 3).isEmpty());
+        assertEquals("ward 1234", wards.match("Ward 1234", List.of(), null, 3).get(0).name());
+        assertEquals("ward 1236", wards.match("Ward 1236", List.of(), 5, 3).get(0).name());
+    }
+
+    @DisplayName("Test trigrams and edit distance")
+    @Test
+    void testTrigramsAndEditDistance() {
+        assertEquals(List.of("  a", " ab", "aba", "ba "), List.copyOf(GeographySearchIndex.trigrams("aba")));
+        assertEquals(3, GeographySearchIndex.editDistance("kitten", "sitting"));
+        assertEquals(4, GeographySearchIndex.editDistance("", "abuj"));
+    }
+}
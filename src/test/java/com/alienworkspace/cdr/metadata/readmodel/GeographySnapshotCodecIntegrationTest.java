@@ -0,0 +1,60 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Encodes the read model as patched with a row this instance just wrote, and again after reloading it from the
+ * database, the way another instance would read it.
+ */
+@SpringBootTest
+public class GeographySnapshotCodecIntegrationTest extends AbstractionContainerBaseTest {
+
+    @Autowired
+    private GeographyReadModel readModel;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @DisplayName("Test a freshly written row encodes to the same bytes as the same row reloaded")
+    @Test
+    void testWrittenRowEncodesLikeReloadedRow() {
+        readModel.reload();
+        Country country = countryRepository.save(Country.builder().countryName("Codec Country").countryCode("CDC")
+                .currencyCode("USD").currencySymbol("$").build());
+
+        assertEquals(0, country.getCreatedAt().getNano() % 1_000);
+        assertEncodesLikeReloaded(country.getCountryId());
+
+        country.setCountryName("Codec Country Renamed");
+        country.setVoided(true);
+        country.setVoidedAt(LocalDateTime.now());
+        country.setVoidReason("Renamed");
+        country = countryRepository.save(country);
+
+        assertNotNull(country.getLastModifiedAt());
+        assertEncodesLikeReloaded(country.getCountryId());
+    }
+
+    private void assertEncodesLikeReloaded(int countryId) {
+        GeographySnapshot written = readModel.snapshot().orElseThrow();
+        CountryNode writtenNode = written.country(countryId).orElseThrow();
+        byte[] encoded = GeographySnapshotCodec.encode(written);
+
+        readModel.reload();
+        GeographySnapshot reloaded = readModel.snapshot().orElseThrow();
+
+        assertEquals(writtenNode, reloaded.country(countryId).orElseThrow());
+        assertArrayEquals(encoded, GeographySnapshotCodec.encode(reloaded));
+    }
+}
@@ -0,0 +1,88 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeographySnapshotCodecTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789);
+    private static final AuditStamp AUDIT = new AuditStamp(1L, CREATED_AT, null, null, false, null, null, null,
+            UUID.randomUUID().toString(), 12L);
+    private static final AuditStamp VOIDED = new AuditStamp(-7L, CREATED_AT, 2L, CREATED_AT.plusDays(1), true, 3L,
+            LocalDateTime.of(1969, 12, 31, 23, 59, 59), "Merged into Ikeja — duplicate", null);
+
+    private GeographySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = GeographySnapshot.of(7L,
+                List.of(new CountryNode(1, "Nigeria", "NG", 234, "Naira", "₦", "NGN", "en", "NG-GEO", true, AUDIT),
+                        new CountryNode(3, "Ghana", "GH", null, null, null, null, null, null, false, VOIDED)),
+                List.of(new StateNode(10, "Lagos", "LA", "LA-GEO", "en", true, 1, 1, AUDIT)),
+                List.of(new CountyNode(100, "Ikeja", "IK", null, "en", false, null, 10, VOIDED)),
+                List.of(new CityNode(1000, "Ikeja City", "IKC", null, "en", true, -1, 100, AUDIT)),
+                List.of(new CommunityNode(10000, "Alausa", "AL", null, "yo", true, null, 1000, AUDIT)),
+                List.of(new LocationNode(100000, "Secretariat", "SEC", null, "en", true, null, 10000, AUDIT),
+                        new LocationNode(Integer.MAX_VALUE, "Orphan", "ORP", null, null, false, null, null, AUDIT)));
+    }
+
+    @DisplayName("Test every node survives a round trip unchanged")
+    @Test
+    void testRoundTrip() throws IOException {
+        GeographySnapshot decoded = GeographySnapshotCodec.decode(GeographySnapshotCodec.encode(snapshot));
+
+        assertEquals(0L, decoded.version());
+        assertEquals(List.copyOf(snapshot.countries()), List.copyOf(decoded.countries()));
+        assertEquals(List.copyOf(snapshot.states()), List.copyOf(decoded.states()));
+        assertEquals(List.copyOf(snapshot.counties()), List.copyOf(decoded.counties()));
+        assertEquals(List.copyOf(snapshot.cities()), List.copyOf(decoded.cities()));
+        assertEquals(List.copyOf(snapshot.communities()), List.copyOf(decoded.communities()));
+        assertEquals(List.copyOf(snapshot.locations()), List.copyOf(decoded.locations()));
+        assertEquals(1, decoded.locationsOf(10000).size());
+    }
+
+    @DisplayName("Test the same hierarchy encodes to the same bytes whatever the snapshot version")
+    @Test
+    void testEncodingIsDeterministic() {
+        assertArrayEquals(GeographySnapshotCodec.encode(snapshot),
+                GeographySnapshotCodec.encode(snapshot.withVersion(42L)));
+    }
+
+    @DisplayName("Test a large hierarchy is smaller than its names alone")
+    @Test
+    void testLargeHierarchyIsCompact() throws IOException {
+        List<LocationNode> locations = new ArrayList<>();
+        int nameBytes = 0;
+        for (int id = 1; id <= 100_000; id++) {
+            String name = "Location " + id;
+            nameBytes += name.length();
+            locations.add(new LocationNode(id, name, "L" + id, null, "en", true, null, 1 + id % 50, AUDIT));
+        }
+        GeographySnapshot large = GeographySnapshot.of(1L, List.of(), List.of(), List.of(), List.of(), List.of(),
+                locations);
+
+        byte[] content = GeographySnapshotCodec.encode(large);
+
+        assertTrue(content.length < nameBytes, "encoded in " + content.length + " bytes");
+        assertEquals(100_000, GeographySnapshotCodec.decode(content).size());
+    }
+
+    @DisplayName("Test content that is not a snapshot, or of an unknown format, is rejected")
+    @Test
+    void testRejectsForeignContent() {
+        byte[] content = GeographySnapshotCodec.encode(snapshot);
+
+        assertThrows(IOException.class, () -> GeographySnapshotCodec.decode("{\"countries\":[]}".getBytes()));
+        content[4] = 99;
+        IOException e = assertThrows(IOException.class, () -> GeographySnapshotCodec.decode(content));
+        assertEquals("Unsupported geography snapshot format: 99", e.getMessage());
+    }
+}
@@ -0,0 +1,194 @@
+package com.alienworkspace.cdr.metadata.readmodel;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
+import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeographySnapshotTest {
+
+    private static final AuditStamp AUDIT = new AuditStamp(1L, null, null, null, false, null, null, null, "uuid");
+
+    private GeographySnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = GeographySnapshot.of(1L,
+                List.of(country(1, "NG")),
+                List.of(new StateNode(10, "Lagos", "LA", null, "en", true, null, 1, AUDIT)),
+                List.of(new CountyNode(100, "Ikeja", "IK", null, "en", true, null, 10, AUDIT)),
+                List.of(new CityNode(1000, "Ikeja City", "IKC", null, "en", true, null, 100, AUDIT)),
+                List.of(new CommunityNode(10000, "Alausa", "AL", null, "en", true, null, 1000, AUDIT)),
+                List.of(location(100000, "Secretariat", 10000)));
+    }
+
+    private static CountryNode country(int id, String code) {
+        return new CountryNode(id, "Country " + code, code, 234, "Naira", "N", "NGN", "en", null, true, AUDIT);
+    }
+
+    private static LocationNode location(int id, String name, int communityId) {
+        return new LocationNode(id, name, "L" + id, null, "en", true, null, communityId, AUDIT);
+    }
+
+    @DisplayName("Test lookups by id, code and parent")
+    @Test
+    void testLookups() {
+        assertEquals("NG", snapshot.country(1).orElseThrow().code());
+        assertEquals(1, snapshot.countryByCode("NG").orElseThrow().id());
+        assertEquals(1, snapshot.statesOf(1).size());
+        assertEquals(1, snapshot.locationsOf(10000).size());
+        assertTrue(snapshot.location(42).isEmpty());
+        assertEquals(6, snapshot.size());
+    }
+
+    @DisplayName("Test apply creates a new version and leaves the previous snapshot untouched")
+    @Test
+    void testApplyIsCopyOnWrite() {
+        GeographySnapshot next = snapshot.apply(List.of(
+                GeographyChange.upsert(location(100001, "Assembly", 10000)),
+                GeographyChange.removal(GeographyLevel.LOCATION, 100000)));
+
+        assertEquals(2L, next.version());
+        assertEquals(List.of(100001), next.locationsOf(10000).stream().map(LocationNode::id).toList());
+        assertEquals(List.of(100000), snapshot.locationsOf(10000).stream().map(LocationNode::id).toList());
+        assertEquals(1L, snapshot.version());
+    }
+
+    @DisplayName("Test a patch spanning many chunks keeps the order, the size and the previous snapshot")
+    @Test
+    void testApplyAcrossChunks() {
+        List<LocationNode> locations = IntStream.range(0, 3 * ChunkedMap.CHUNK_SIZE)
+                .mapToObj(i -> location(200000 + i, "Location " + i, 10000)).toList();
+        GeographySnapshot large = snapshot.apply(locations.stream().map(GeographyChange::upsert).toList());
+
+        GeographySnapshot next = large.apply(List.of(
+                GeographyChange.removal(GeographyLevel.LOCATION, 200000 + ChunkedMap.CHUNK_SIZE),
+                GeographyChange.upsert(location(200001, "Renamed", 10000))));
+
+        assertEquals(1 + locations.size(), large.locations().size());
+        assertEquals(locations.size(), next.locations().size());
+        assertEquals("Renamed", next.location(200001).orElseThrow().name());
+        assertEquals("Location 1", large.location(200001).orElseThrow().name());
+        assertTrue(next.location(200000 + ChunkedMap.CHUNK_SIZE).isEmpty());
+        assertEquals(locations.size(), next.locationsOf(10000).size());
+        List<Integer> ids = next.locations().stream().map(LocationNode::id).toList();
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(List.of(200000 + ChunkedMap.CHUNK_SIZE - 1, 200000 + ChunkedMap.CHUNK_SIZE + 1),
+                next.locationsAfter(200000 + ChunkedMap.CHUNK_SIZE - 2, true, 2).stream()
+                        .map(LocationNode::id).toList());
+    }
+
+    @DisplayName("Test re-parenting moves the node between child lists")
+    @Test
+    void testReparent() {
+        GeographySnapshot next = snapshot.apply(List.of(
+                GeographyChange.upsert(new CommunityNode(10001, "Ojodu", "OJ", null, "en", true, null, 1000, AUDIT)),
+                GeographyChange.upsert(location(100000, "Secretariat", 10001))));
+
+        assertTrue(next.locationsOf(10000).isEmpty());
+        assertEquals(1, next.locationsOf(10001).size());
+    }
+
+    @DisplayName("Test later changes to the same row win")
+    @Test
+    void testLastChangeWins() {
+        GeographySnapshot next = snapshot.apply(List.of(
+                GeographyChange.removal(GeographyLevel.LOCATION, 100000),
+                GeographyChange.upsert(location(100000, "Renamed", 10000))));
+
+        assertEquals("Renamed", next.location(100000).orElseThrow().name());
+    }
+
+    @DisplayName("Test nodes are found by uuid, and the lookup follows inserted and removed rows")
+    @Test
+    void testNodeByUuid() {
+        List<LocationNode> locations = IntStream.range(0, 3 * ChunkedMap.CHUNK_SIZE)
+                .mapToObj(i -> new LocationNode(200000 + i, "Location " + i, "L" + i, null, "en", true, null, 10000,
+                        new AuditStamp(1L, null, null, null, false, null, null, null, "uuid-" + i)))
+                .toList();
+        GeographySnapshot large = snapshot.apply(locations.stream().map(GeographyChange::upsert).toList());
+
+        GeographySnapshot next = large.apply(List.of(GeographyChange.removal(GeographyLevel.LOCATION, 200007)));
+
+        assertEquals(10, snapshot.nodeByUuid(GeographyLevel.STATE, "uuid").orElseThrow().id());
+        assertEquals(200042, large.nodeByUuid(GeographyLevel.LOCATION, "uuid-42").orElseThrow().id());
+        assertEquals(200007, large.nodeByUuid(GeographyLevel.LOCATION, "uuid-7").orElseThrow().id());
+        assertTrue(next.nodeByUuid(GeographyLevel.LOCATION, "uuid-7").isEmpty());
+        assertTrue(snapshot.nodeByUuid(GeographyLevel.LOCATION, "uuid-42").isEmpty());
+        assertTrue(large.nodeByUuid(GeographyLevel.CITY, "uuid-42").isEmpty());
+    }
+
+    @DisplayName("Test snapshot DTOs mirror the entity mapper shape")
+    @Test
+    void testSnapshotMapper() {
+        CountryDto country = GeographySnapshotMapper.toDto(snapshot, snapshot.country(1).orElseThrow());
+        assertEquals(1, country.getStates().size());
+        assertEquals("uuid", country.getUuid());
+
+        LocationDto location = GeographySnapshotMapper.toDto(snapshot, snapshot.location(100000).orElseThrow());
+        assertEquals("Alausa", location.getCommunity().getCommunityName());
+    }
+
+    @DisplayName("Test keyset pages skip voided rows and continue after the token")
+    @Test
+    void testKeysetPaging() {
+        AuditStamp voided = new AuditStamp(1L, null, null, null, true, 1L, null, "merged", "voided");
+        GeographySnapshot next = snapshot.apply(List.of(
+                GeographyChange.upsert(location(100001, "Voided", 10000)),
+                GeographyChange.upsert(location(100002, "Market", 10000)),
+                GeographyChange.upsert(new LocationNode(100001, "Voided", "L100001", null, "en", true, null, 10000,
+                        voided))));
+
+        KeysetPage<String> first = KeysetPage.of(next.locationsAfter(0, false, 2), 1, LocationNode::id,
+                LocationNode::name);
+        assertEquals(List.of("Secretariat"), first.getItems());
+        assertNotNull(first.getNextPageToken());
+
+        int afterId = PageToken.decode(first.getNextPageToken());
+        KeysetPage<String> second = KeysetPage.of(next.locationsAfter(afterId, false, 2), 1, LocationNode::id,
+                LocationNode::name);
+        assertEquals(List.of("Market"), second.getItems());
+        assertNull(second.getNextPageToken());
+
+        assertEquals(3, next.locationsAfter(0, true, 10).size());
+        assertThrows(InvalidRequestException.class, () -> PageToken.decode("not-a-token"));
+    }
+
+    @DisplayName("Test child rows are ordered by name and leave voided nodes out")
+    @Test
+    void testToRows() {
+        AuditStamp voided = new AuditStamp(1L, null, null, null, true, 1L, null, "merged", "voided");
+        GeographySnapshot next = snapshot.apply(List.of(
+                GeographyChange.upsert(location(100001, "Apapa", 10000)),
+                GeographyChange.upsert(new LocationNode(100002, "Badagry", "L100002", null, "en", true, null, 10000,
+                        voided))));
+
+        List<GeographyRow> rows = GeographySnapshotMapper.toRows(next.locationsOf(10000));
+        assertEquals(List.of("Apapa", "Secretariat"), rows.stream().map(GeographyRow::getName).toList());
+        assertEquals(10000, rows.get(0).getParentId());
+    }
+
+    @DisplayName("Test the change sequence number is the highest one applied to any level")
+    @Test
+    void testChangeSeq() {
+        assertEquals(0, snapshot.changeSeq());
+
+        GeographySnapshot loaded = snapshot.withChangeSeqs(Map.of(GeographyLevel.COUNTRY, 9L,
+                GeographyLevel.LOCATION, 4L));
+        GeographySnapshot next = loaded.apply(List.of(GeographyChange.upsert(location(100001, "Assembly", 10000))),
+                12L);
+
+        assertEquals(9, loaded.changeSeq());
+        assertEquals(12, next.changeSeq());
+    }
+}
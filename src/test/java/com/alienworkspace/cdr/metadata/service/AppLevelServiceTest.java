@@ -0,0 +1,79 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationRequest;
+import com.alienworkspace.cdr.metadata.model.dto.PersonLocationResult;
+import com.alienworkspace.cdr.metadata.readmodel.AuditStamp;
+import com.alienworkspace.cdr.metadata.readmodel.CountryNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyPathResolver;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.StateNode;
+import com.alienworkspace.cdr.metadata.service.impl.AppLevelServiceImpl;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AppLevelServiceTest {
+
+    private static final AuditStamp AUDIT = new AuditStamp(1L, null, null, null, false, null, null, null, "uuid");
+
+    @Mock
+    GeographyReadModel geographyReadModel;
+
+    AppLevelServiceImpl appLevelService;
+
+    @BeforeEach
+    public void setUp() {
+        GeographySnapshot snapshot = GeographySnapshot.of(1L,
+                List.of(new CountryNode(1, "Nigeria", "NG", 234, null, "N", "NGN", "en", null, true, AUDIT)),
+                List.of(new StateNode(10, "Lagos", "LA", null, "en", true, null, 1, AUDIT)),
+                List.of(), List.of(), List.of(), List.of());
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot));
+        appLevelService = new AppLevelServiceImpl(
+                new GeographyPathResolver(geographyReadModel, null, null, null, null, null, null));
+    }
+
+    @DisplayName("Test Get Person Location")
+    @Test
+    public void testGetPersonLocation() {
+        assertEquals("Lagos", appLevelService.getPersonLocation(1, 10, null, null, null, null)
+                .getStates().iterator().next().getStateName());
+    }
+
+    @DisplayName("Test Get Person Locations keeps input order and reports errors per item")
+    @Test
+    public void testGetPersonLocations() {
+        PersonLocationRequest valid = PersonLocationRequest.builder().countryId(1).stateId(10).build();
+        PersonLocationRequest missing = PersonLocationRequest.builder().countryId(1).stateId(99).build();
+        PersonLocationRequest empty = new PersonLocationRequest();
+
+        List<PersonLocationResult> results = appLevelService.getPersonLocations(
+                List.of(valid, missing, valid, empty));
+
+        assertEquals(4, results.size());
+        assertEquals(1, results.get(0).getLocation().getCountryId());
+        assertEquals(404, results.get(1).getErrorCode());
+        assertSame(results.get(0), results.get(2));
+        assertEquals(400, results.get(3).getErrorCode());
+    }
+
+    @DisplayName("Test Get Person Locations rejects oversized batches")
+    @Test
+    public void testGetPersonLocationsTooLarge() {
+        List<PersonLocationRequest> requests = new ArrayList<>(Collections.nCopies(1001,
+                PersonLocationRequest.builder().countryId(1).build()));
+        assertThrows(InvalidRequestException.class, () -> appLevelService.getPersonLocations(requests));
+    }
+}
@@ -0,0 +1,129 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.helpers.Uuids;
+import com.alienworkspace.cdr.metadata.model.dto.ChangeFeed;
+import com.alienworkspace.cdr.metadata.model.dto.ChangeRow;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.impl.ChangeFeedServiceImpl;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeFeedServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:changes;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        for (GeographyLevel level : GeographyLevel.values()) {
+            String table = level.name().toLowerCase(Locale.ROOT);
+            String parent = level.parent() == null ? "currency_name VARCHAR(255), currency_symbol VARCHAR(255), "
+                    + "currency_code VARCHAR(255)" : level.parent().name().toLowerCase(Locale.ROOT) + "_id INT";
+            jdbcTemplate.execute("CREATE TABLE " + table + " (" + table + "_id INT PRIMARY KEY, " + table
+                    + "_name VARCHAR(255), " + table + "_code VARCHAR(255), " + table + "_geo_code VARCHAR(255), "
+                    + table + "_phone_code INT, locale VARCHAR(255), locale_preferred BOOLEAN, uuid BINARY(16), "
+                    + "voided BOOLEAN, change_seq BIGINT, " + parent + ")");
+        }
+        jdbcTemplate.update("INSERT INTO country (country_id, country_name, country_code, uuid, voided, change_seq, "
+                + "currency_code) VALUES (1, 'Nigeria', 'NG', X'00000000000000000000000000000001', FALSE, 0, "
+                + "'NGN')");
+        insertState(10, "Lagos", 3, false);
+        insertState(11, "Rivers", 1, false);
+        insertState(12, "Old", 3, true);
+        jdbcTemplate.update("INSERT INTO location (location_id, location_name, location_code, uuid, voided, "
+                + "change_seq, community_id) VALUES (7, 'Alausa', 'AL', X'00000000000000000000000000000007', "
+                + "FALSE, 2, 5)");
+        changeFeedService = new ChangeFeedServiceImpl(dataSource, new DataSourceTransactionManager(dataSource));
+    }
+
+    private void insertState(int id, String name, long seq, boolean voided) {
+        jdbcTemplate.update("INSERT INTO state (state_id, state_name, state_code, uuid, voided, change_seq, "
+                + "country_id) VALUES (?, ?, ?, ?, ?, ?, 1)", id, name, name.substring(0, 2),
+                Uuids.toBytes(new UUID(0, id)), voided, seq);
+    }
+
+    private static List<String> keys(ChangeFeed feed) {
+        return feed.getChanges().stream().map(row -> row.getLevel() + ":" + row.getId()).toList();
+    }
+
+    @DisplayName("Test a first sync returns every row in commit order, then level and id")
+    @Test
+    public void testFirstSync() {
+        ChangeFeed feed = changeFeedService.getChanges(null, 100);
+
+        assertEquals(List.of("countries:1", "states:11", "locations:7", "states:10", "states:12"), keys(feed));
+        assertFalse(feed.isHasMore());
+        ChangeRow country = feed.getChanges().get(0);
+        assertEquals("NGN", country.getCurrencyCode());
+        assertEquals("00000000-0000-0000-0000-000000000001", country.getUuid());
+        assertEquals(null, country.getParentId());
+        assertEquals(1, feed.getChanges().get(1).getParentId());
+        assertTrue(feed.getChanges().get(4).isVoided());
+    }
+
+    @DisplayName("Test pages continue exactly after the last change, also within one commit")
+    @Test
+    public void testPagination() {
+        ChangeFeed first = changeFeedService.getChanges(null, 4);
+        ChangeFeed second = changeFeedService.getChanges(first.getNextToken(), 4);
+
+        assertEquals(List.of("countries:1", "states:11", "locations:7", "states:10"), keys(first));
+        assertTrue(first.isHasMore());
+        assertEquals(List.of("states:12"), keys(second));
+        assertFalse(second.isHasMore());
+    }
+
+    @DisplayName("Test a later sync only returns the rows written since the watermark, once each")
+    @Test
+    public void testIncrementalSync() {
+        String watermark = changeFeedService.getChanges(null, 100).getNextToken();
+
+        assertTrue(changeFeedService.getChanges(watermark, 100).getChanges().isEmpty());
+        assertEquals(watermark, changeFeedService.getChanges(watermark, 100).getNextToken());
+
+        jdbcTemplate.update("UPDATE state SET state_name = 'Lagos State', change_seq = 4 WHERE state_id = 10");
+        jdbcTemplate.update("UPDATE country SET change_seq = 5 WHERE country_id = 1");
+        jdbcTemplate.update("UPDATE state SET change_seq = 5 WHERE state_id = 10");
+        ChangeFeed feed = changeFeedService.getChanges(watermark, 100);
+
+        assertEquals(List.of("countries:1", "states:10"), keys(feed));
+        assertEquals("Lagos State", feed.getChanges().get(1).getName());
+    }
+
+    @DisplayName("Test a sync from the head only returns the rows written after it")
+    @Test
+    public void testHead() {
+        String head = changeFeedService.head();
+
+        assertTrue(changeFeedService.getChanges(head, 100).getChanges().isEmpty());
+
+        jdbcTemplate.update("UPDATE state SET change_seq = 4 WHERE state_id = 11");
+        ChangeFeed feed = changeFeedService.getChanges(head, 100);
+
+        assertEquals(List.of("states:11"), keys(feed));
+        assertFalse(feed.isHasMore());
+    }
+
+    @DisplayName("Test an invalid token is rejected")
+    @Test
+    public void testInvalidToken() {
+        assertThrows(InvalidRequestException.class, () -> changeFeedService.getChanges("not-a-token", 10));
+    }
+}
@@ -18,6 +18,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -197,7 +198,7 @@ public class CityServiceIntegrationTest extends AbstractionContainerBaseTest {
         cityService.createCity(cityDto);
         cityDto.setCityName("Test City 2");
         cityService.createCity(cityDtoBuilder.cityName("Test City0092").cityCode("CTY98756").build());
-        List<CityDto> actualCityDtos = cityService.getAllCities();
+        List<CityDto> actualCityDtos = cityService.getAllCities(null, 100, false, MAX_DEPTH).getItems();
 
         // Assert
         assertNotNull(actualCityDtos);
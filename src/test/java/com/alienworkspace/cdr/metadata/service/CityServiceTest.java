@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
 import com.alienworkspace.cdr.metadata.model.City;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CityMapper;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
 import com.alienworkspace.cdr.metadata.repository.CityRepository;
 import com.alienworkspace.cdr.metadata.service.impl.CityServiceImpl;
 import com.alienworkspace.cdr.model.dto.metadata.CityDto;
@@ -16,7 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +30,8 @@ public class CityServiceTest {
     CityRepository cityRepository;
     @Mock
     CityMapper cityMapper;
+    @Mock
+    GeographyReadModel geographyReadModel;
     @InjectMocks
     CityServiceImpl cityService;
 
@@ -113,7 +119,7 @@ public class CityServiceTest {
         City existingCity = cityBuilder.build();
         CityDto expectedDto = cityDtoBuilder.build();
         when(cityRepository.findById(id)).thenReturn(Optional.of(existingCity));
-        when(cityMapper.toDto(existingCity)).thenReturn(expectedDto);
+        when(cityMapper.toDto(existingCity, MAX_DEPTH)).thenReturn(expectedDto);
         CityDto actual = cityService.getCity(id);
         assertNotNull(actual);
         assertEquals(expectedDto, actual);
@@ -126,12 +132,13 @@ public class CityServiceTest {
     public void testGetAllCities() {
         List<City> cities = List.of(cityBuilder.build());
         List<CityDto> expectedDtos = List.of(cityDtoBuilder.build());
-        when(cityRepository.findAll()).thenReturn(cities);
-        when(cityMapper.toDto(any(City.class))).thenReturn(cityDtoBuilder.build());
-        List<CityDto> actual = cityService.getAllCities();
+        when(cityRepository.findByCityIdGreaterThanAndVoidedIsFalseOrderByCityIdAsc(0, Limit.of(101))).thenReturn(cities);
+        when(cityMapper.toDto(any(City.class), eq(MAX_DEPTH))).thenReturn(cityDtoBuilder.build());
+        KeysetPage<CityDto> actual = cityService.getAllCities(null, 100, false, MAX_DEPTH);
         assertNotNull(actual);
-        assertEquals(expectedDtos.size(), actual.size());
-        verify(cityRepository).findAll();
+        assertEquals(expectedDtos.size(), actual.getItems().size());
+        assertNull(actual.getNextPageToken());
+        verify(cityRepository).findByCityIdGreaterThanAndVoidedIsFalseOrderByCityIdAsc(0, Limit.of(101));
         verifyNoMoreInteractions(cityRepository);
     }
 } 
\ No newline at end of file
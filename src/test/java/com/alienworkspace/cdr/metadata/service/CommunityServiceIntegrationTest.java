@@ -19,6 +19,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -201,7 +202,7 @@ public class CommunityServiceIntegrationTest extends AbstractionContainerBaseTes
         communityService.createCommunity(communityDto);
         communityDto.setCommunityName("Test Community 2");
         communityService.createCommunity(communityDtoBuilder.communityName("Test Community-90").communityCode("COM456").build());
-        List<CommunityDto> actualCommunityDtos = communityService.getAllCommunities();
+        List<CommunityDto> actualCommunityDtos = communityService.getAllCommunities(null, 100, false, MAX_DEPTH).getItems();
 
         // Assert
         assertNotNull(actualCommunityDtos);
@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
 import com.alienworkspace.cdr.metadata.model.Community;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CommunityMapper;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
 import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
 import com.alienworkspace.cdr.metadata.service.impl.CommunityServiceImpl;
 import com.alienworkspace.cdr.model.dto.metadata.CommunityDto;
@@ -16,7 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +30,8 @@ public class CommunityServiceTest {
     CommunityRepository communityRepository;
     @Mock
     CommunityMapper communityMapper;
+    @Mock
+    GeographyReadModel geographyReadModel;
     @InjectMocks
     CommunityServiceImpl communityService;
 
@@ -113,7 +119,7 @@ public class CommunityServiceTest {
         Community existingCommunity = communityBuilder.build();
         CommunityDto expectedDto = communityDtoBuilder.build();
         when(communityRepository.findById(id)).thenReturn(Optional.of(existingCommunity));
-        when(communityMapper.toDto(existingCommunity)).thenReturn(expectedDto);
+        when(communityMapper.toDto(existingCommunity, MAX_DEPTH)).thenReturn(expectedDto);
         CommunityDto actual = communityService.getCommunity(id);
         assertNotNull(actual);
         assertEquals(expectedDto, actual);
@@ -126,12 +132,13 @@ public class CommunityServiceTest {
     public void testGetAllCommunities() {
         List<Community> communities = List.of(communityBuilder.build());
         List<CommunityDto> expectedDtos = List.of(communityDtoBuilder.build());
-        when(communityRepository.findAll()).thenReturn(communities);
-        when(communityMapper.toDto(any(Community.class))).thenReturn(communityDtoBuilder.build());
-        List<CommunityDto> actual = communityService.getAllCommunities();
+        when(communityRepository.findByCommunityIdGreaterThanAndVoidedIsFalseOrderByCommunityIdAsc(0, Limit.of(101))).thenReturn(communities);
+        when(communityMapper.toDto(any(Community.class), eq(MAX_DEPTH))).thenReturn(communityDtoBuilder.build());
+        KeysetPage<CommunityDto> actual = communityService.getAllCommunities(null, 100, false, MAX_DEPTH);
         assertNotNull(actual);
-        assertEquals(expectedDtos.size(), actual.size());
-        verify(communityRepository).findAll();
+        assertEquals(expectedDtos.size(), actual.getItems().size());
+        assertNull(actual.getNextPageToken());
+        verify(communityRepository).findByCommunityIdGreaterThanAndVoidedIsFalseOrderByCommunityIdAsc(0, Limit.of(101));
         verifyNoMoreInteractions(communityRepository);
     }
 } 
\ No newline at end of file
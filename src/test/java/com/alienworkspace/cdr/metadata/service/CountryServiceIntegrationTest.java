@@ -18,6 +18,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -193,7 +194,7 @@ public class CountryServiceIntegrationTest extends AbstractionContainerBaseTest
         countryService.createCountry(countryDto);
         countryDto.setCountryName("Test Country 2");
         countryService.createCountry(countryDtoBuilder.countryName("Test Country392").countryCode("COUNTRY1253769").build());
-        List<CountryDto> actualCountryDtos = countryService.getAllCountries();
+        List<CountryDto> actualCountryDtos = countryService.getAllCountries(null, 100, false, MAX_DEPTH).getItems();
 
         // Assert
         assertNotNull(actualCountryDtos);
@@ -1,14 +1,24 @@
 package com.alienworkspace.cdr.metadata.service;
 
+import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
 import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CountryMapper;
+import com.alienworkspace.cdr.metadata.readmodel.CountryNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyChange;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
 import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
 import com.alienworkspace.cdr.metadata.service.impl.CountryServiceImpl;
 import com.alienworkspace.cdr.model.dto.metadata.CountryDto;
 import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,7 +26,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +38,10 @@ public class CountryServiceTest {
     CountryRepository countryRepository;
     @Mock
     CountryMapper countryMapper;
+    @Mock
+    GeographyReadModel geographyReadModel;
+    @Mock
+    StateRepository stateRepository;
     @InjectMocks
     CountryServiceImpl countryService;
 
@@ -118,7 +134,7 @@ public class CountryServiceTest {
         Country existingCountry = countryBuilder.build();
         CountryDto expectedDto = countryDtoBuilder.build();
         when(countryRepository.findById(id)).thenReturn(Optional.of(existingCountry));
-        when(countryMapper.toDto(existingCountry)).thenReturn(expectedDto);
+        when(countryMapper.toDto(existingCountry, MAX_DEPTH)).thenReturn(expectedDto);
         CountryDto actual = countryService.getCountry(id);
         assertNotNull(actual);
         assertEquals(expectedDto, actual);
@@ -133,7 +149,7 @@ public class CountryServiceTest {
         Country existingCountry = countryBuilder.build();
         CountryDto expectedDto = countryDtoBuilder.build();
         when(countryRepository.findByCountryCode(code)).thenReturn(Optional.of(existingCountry));
-        when(countryMapper.toDto(existingCountry)).thenReturn(expectedDto);
+        when(countryMapper.toDto(existingCountry, MAX_DEPTH)).thenReturn(expectedDto);
         CountryDto actual = countryService.findByCountryCode(code);
         assertNotNull(actual);
         assertEquals(expectedDto, actual);
@@ -146,12 +162,67 @@ public class CountryServiceTest {
     public void testGetAllCountries() {
         List<Country> countries = List.of(countryBuilder.build());
         List<CountryDto> expectedDtos = List.of(countryDtoBuilder.build());
-        when(countryRepository.findAll()).thenReturn(countries);
-        when(countryMapper.toDto(any(Country.class))).thenReturn(countryDtoBuilder.build());
-        List<CountryDto> actual = countryService.getAllCountries();
+        when(countryRepository.findByCountryIdGreaterThanAndVoidedIsFalseOrderByCountryIdAsc(0, Limit.of(101))).thenReturn(countries);
+        when(countryMapper.toDto(any(Country.class), eq(MAX_DEPTH))).thenReturn(countryDtoBuilder.build());
+        KeysetPage<CountryDto> actual = countryService.getAllCountries(null, 100, false, MAX_DEPTH);
         assertNotNull(actual);
-        assertEquals(expectedDtos.size(), actual.size());
-        verify(countryRepository).findAll();
+        assertEquals(expectedDtos.size(), actual.getItems().size());
+        assertNull(actual.getNextPageToken());
+        verify(countryRepository).findByCountryIdGreaterThanAndVoidedIsFalseOrderByCountryIdAsc(0, Limit.of(101));
         verifyNoMoreInteractions(countryRepository);
     }
-} 
\ No newline at end of file
+
+    @DisplayName("Test Get Country From Read Model")
+    @Test
+    public void testGetCountryFromReadModel() {
+        Country country = countryBuilder.build();
+        GeographySnapshot snapshot = GeographySnapshot.empty().apply(
+                List.of(GeographyChange.upsert(CountryNode.of(country))));
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot));
+        CountryDto actual = countryService.getCountry(1);
+        assertEquals("Test Country", actual.getCountryName());
+        assertEquals("CTR123", countryService.findByCountryCode("CTR123").getCountryCode());
+        assertEquals(1, countryService.getAllCountries(null, 100, false, MAX_DEPTH).getItems().size());
+        verifyNoInteractions(countryRepository, countryMapper);
+    }
+
+    @DisplayName("Test Get Country Id By Uuid From Read Model, Falling Back To The Database")
+    @Test
+    public void testGetCountryIdFromReadModel() {
+        Country country = countryBuilder.build();
+        GeographySnapshot snapshot = GeographySnapshot.empty().apply(
+                List.of(GeographyChange.upsert(CountryNode.of(country))));
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot));
+        assertEquals(1, countryService.getCountryId(country.getUuid().toString().toUpperCase(Locale.ROOT)));
+        verifyNoInteractions(countryRepository);
+
+        UUID missing = UUID.randomUUID();
+        when(countryRepository.findIdByUuid(missing)).thenReturn(Optional.of(7));
+        assertEquals(7, countryService.getCountryId(missing.toString()));
+    }
+
+    @DisplayName("Test Get Missing Country From Read Model")
+    @Test
+    public void testGetMissingCountryFromReadModel() {
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(GeographySnapshot.empty()));
+        assertThrows(ResourceNotFoundException.class, () -> countryService.getCountry(42));
+        verifyNoInteractions(countryRepository);
+    }
+
+    @DisplayName("Test Get States of Country")
+    @Test
+    public void testGetStates() {
+        List<GeographyRow> rows = List.of(new GeographyRow(10, "Lagos", "LA", 1));
+        when(stateRepository.findRowsByCountryId(1)).thenReturn(rows);
+        assertEquals(rows, countryService.getStates(1));
+        verifyNoInteractions(countryRepository);
+    }
+
+    @DisplayName("Test Get States of Missing Country")
+    @Test
+    public void testGetStatesOfMissingCountry() {
+        when(stateRepository.findRowsByCountryId(42)).thenReturn(List.of());
+        when(countryRepository.existsById(42)).thenReturn(false);
+        assertThrows(ResourceNotFoundException.class, () -> countryService.getStates(42));
+    }
+}
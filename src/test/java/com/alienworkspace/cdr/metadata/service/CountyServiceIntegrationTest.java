@@ -17,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -192,7 +193,7 @@ public class CountyServiceIntegrationTest extends AbstractionContainerBaseTest {
         countyService.createCounty(countyDto);
         countyDto.setCountyName("Test County 2");
         countyService.createCounty(countyDtoBuilder.countyName("Test County 5").countyCode("COUNTY1239011").build());
-        List<CountyDto> actualCountyDtos = countyService.getAllCounties();
+        List<CountyDto> actualCountyDtos = countyService.getAllCounties(null, 100, false, MAX_DEPTH).getItems();
 
         // Assert
         assertNotNull(actualCountyDtos);
@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
 import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.CountyMapper;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
 import com.alienworkspace.cdr.metadata.repository.CountyRepository;
 import com.alienworkspace.cdr.metadata.service.impl.CountyServiceImpl;
 import com.alienworkspace.cdr.model.dto.metadata.CountyDto;
@@ -16,7 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +30,8 @@ public class CountyServiceTest {
     CountyRepository countyRepository;
     @Mock
     CountyMapper countyMapper;
+    @Mock
+    GeographyReadModel geographyReadModel;
     @InjectMocks
     CountyServiceImpl countyService;
 
@@ -113,7 +119,7 @@ public class CountyServiceTest {
         County existingCounty = countyBuilder.build();
         CountyDto expectedDto = countyDtoBuilder.build();
         when(countyRepository.findById(id)).thenReturn(Optional.of(existingCounty));
-        when(countyMapper.toDto(existingCounty)).thenReturn(expectedDto);
+        when(countyMapper.toDto(existingCounty, MAX_DEPTH)).thenReturn(expectedDto);
         CountyDto actual = countyService.getCounty(id);
         assertNotNull(actual);
         assertEquals(expectedDto, actual);
@@ -126,12 +132,13 @@ public class CountyServiceTest {
     public void testGetAllCounties() {
         List<County> counties = List.of(countyBuilder.build());
         List<CountyDto> expectedDtos = List.of(countyDtoBuilder.build());
-        when(countyRepository.findAll()).thenReturn(counties);
-        when(countyMapper.toDto(any(County.class))).thenReturn(countyDtoBuilder.build());
-        List<CountyDto> actual = countyService.getAllCounties();
+        when(countyRepository.findByCountyIdGreaterThanAndVoidedIsFalseOrderByCountyIdAsc(0, Limit.of(101))).thenReturn(counties);
+        when(countyMapper.toDto(any(County.class), eq(MAX_DEPTH))).thenReturn(countyDtoBuilder.build());
+        KeysetPage<CountyDto> actual = countyService.getAllCounties(null, 100, false, MAX_DEPTH);
         assertNotNull(actual);
-        assertEquals(expectedDtos.size(), actual.size());
-        verify(countyRepository).findAll();
+        assertEquals(expectedDtos.size(), actual.getItems().size());
+        assertNull(actual.getNextPageToken());
+        verify(countyRepository).findByCountyIdGreaterThanAndVoidedIsFalseOrderByCountyIdAsc(0, Limit.of(101));
         verifyNoMoreInteractions(countyRepository);
     }
 } 
\ No newline at end of file
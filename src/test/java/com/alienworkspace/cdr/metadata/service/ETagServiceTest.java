@@ -0,0 +1,126 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.readmodel.AuditStamp;
+import com.alienworkspace.cdr.metadata.readmodel.CountryNode;
+import com.alienworkspace.cdr.metadata.readmodel.CountyNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyChange;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.LocationNode;
+import com.alienworkspace.cdr.metadata.readmodel.StateNode;
+import com.alienworkspace.cdr.metadata.service.impl.ETagServiceImpl;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ETagServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    GeographyReadModel geographyReadModel;
+    @InjectMocks
+    ETagServiceImpl eTagService;
+
+    private static AuditStamp audit(LocalDateTime lastModifiedAt) {
+        return new AuditStamp(1L, CREATED, null, lastModifiedAt, false, null, null, null, "uuid");
+    }
+
+    private static CountryNode country(LocalDateTime lastModifiedAt) {
+        return new CountryNode(1, "Nigeria", "NG", 234, "Naira", "N", "NGN", "en", null, true, audit(lastModifiedAt));
+    }
+
+    private static GeographySnapshot snapshot() {
+        return GeographySnapshot.of(1L,
+                List.of(country(null)),
+                List.of(new StateNode(10, "Lagos", "LA", null, "en", true, null, 1, audit(null))),
+                List.of(new CountyNode(100, "Ikeja", "IK", null, "en", true, null, 10, audit(null))),
+                List.of(), List.of(), List.of());
+    }
+
+    @DisplayName("Test a node tag follows the node and the parent it embeds, and its children only when included")
+    @Test
+    public void testForNode() {
+        GeographySnapshot before = snapshot();
+        GeographySnapshot countyChanged = before.apply(List.of(GeographyChange.upsert(
+                new CountyNode(100, "Ikeja", "IK", null, "en", true, null, 10, audit(CREATED.plusDays(1))))), 2L);
+        GeographySnapshot countryChanged = countyChanged.apply(List.of(GeographyChange.upsert(
+                country(CREATED.plusDays(2)))), 3L);
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(before), Optional.of(before),
+                Optional.of(countyChanged), Optional.of(countyChanged), Optional.of(countryChanged));
+
+        String node = eTagService.forNode(GeographyLevel.STATE, 10, 0);
+        String subtree = eTagService.forNode(GeographyLevel.STATE, 10, 1);
+
+        assertTrue(node.startsWith("\"states-10-") && node.endsWith("\""));
+        assertEquals(node, eTagService.forNode(GeographyLevel.STATE, 10, 0));
+        assertNotEquals(subtree, eTagService.forNode(GeographyLevel.STATE, 10, 1));
+        assertNotEquals(node, eTagService.forNode(GeographyLevel.STATE, 10, 0));
+    }
+
+    @DisplayName("Test a level tag changes with the level and the parent level only")
+    @Test
+    public void testForLevel() {
+        GeographySnapshot before = snapshot();
+        GeographySnapshot locationAdded = before.apply(List.of(GeographyChange.upsert(
+                new LocationNode(5, "Alausa", "AL", null, "en", true, null, 7, audit(null)))), 2L);
+        GeographySnapshot stateChanged = locationAdded.apply(List.of(GeographyChange.upsert(
+                new StateNode(10, "Lagos State", "LA", null, "en", true, null, 1, audit(CREATED.plusDays(1))))), 3L);
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(before), Optional.of(locationAdded),
+                Optional.of(stateChanged), Optional.of(stateChanged));
+
+        String counties = eTagService.forLevel(GeographyLevel.COUNTY, 0);
+
+        assertEquals(counties, eTagService.forLevel(GeographyLevel.COUNTY, 0));
+        assertNotEquals(counties, eTagService.forLevel(GeographyLevel.COUNTY, 0));
+        assertNotEquals(eTagService.forLevel(GeographyLevel.COUNTY, 0),
+                eTagService.forLevel(GeographyLevel.COUNTY, 1));
+    }
+
+    @DisplayName("Test instances holding the same rows hand out the same tags, and a removal changes them")
+    @Test
+    public void testSameTagsAcrossInstances() {
+        LocationNode alausa = new LocationNode(5, "Alausa", "AL", null, "en", true, null, 7, audit(null));
+        GeographySnapshot patched = snapshot().withChangeSeqs(Map.of(GeographyLevel.COUNTRY, 1L))
+                .apply(List.of(GeographyChange.upsert(alausa)), 4L);
+        GeographySnapshot loaded = GeographySnapshot.of(1L, snapshot().countries(), snapshot().states(),
+                        snapshot().counties(), List.of(), List.of(), List.of(alausa))
+                .withVersion(9L)
+                .withChangeSeqs(Map.of(GeographyLevel.COUNTRY, 1L, GeographyLevel.LOCATION, 4L));
+        GeographySnapshot removed = loaded.apply(List.of(GeographyChange.removal(GeographyLevel.LOCATION, 5)));
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(patched), Optional.of(loaded),
+                Optional.of(patched), Optional.of(loaded), Optional.of(removed));
+
+        assertEquals(eTagService.forLevel(GeographyLevel.COUNTRY, 5), eTagService.forLevel(GeographyLevel.COUNTRY, 5));
+        String node = eTagService.forNode(GeographyLevel.COUNTRY, 1, 5);
+        assertEquals(node, eTagService.forNode(GeographyLevel.COUNTRY, 1, 5));
+        assertNotEquals(node, eTagService.forNode(GeographyLevel.COUNTRY, 1, 5));
+    }
+
+    @DisplayName("Test no tag is computed for missing nodes or before the read model is loaded")
+    @Test
+    public void testNoTag() {
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot()), Optional.of(snapshot()),
+                Optional.empty());
+
+        assertNull(eTagService.forNode(GeographyLevel.STATE, 99, 0));
+        assertNull(eTagService.forChildren(GeographyLevel.COUNTRY, 99));
+        assertNull(eTagService.forCountryCode("NG", 0));
+        assertNull(eTagService.forChildren(GeographyLevel.LOCATION, 1));
+    }
+}
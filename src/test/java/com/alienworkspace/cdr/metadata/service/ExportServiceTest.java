@@ -0,0 +1,110 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.service.impl.ExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HierarchyService hierarchyService = mock(HierarchyService.class);
+    private ExportService exportService;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:export;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE country (country_id INT PRIMARY KEY, country_name VARCHAR(255), "
+                + "country_code VARCHAR(255), country_geo_code VARCHAR(255), country_phone_code INT, "
+                + "locale VARCHAR(255), locale_preferred BOOLEAN, uuid BINARY(16), voided BOOLEAN, "
+                + "currency_name VARCHAR(255), currency_symbol VARCHAR(255), currency_code VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE state (state_id INT PRIMARY KEY, state_name VARCHAR(255), "
+                + "state_code VARCHAR(255), state_geo_code VARCHAR(255), state_phone_code INT, "
+                + "locale VARCHAR(255), locale_preferred BOOLEAN, country_id INT, path VARCHAR(64), "
+                + "uuid BINARY(16), voided BOOLEAN)");
+        jdbcTemplate.update("INSERT INTO country VALUES (1, 'Nigeria', 'NG', NULL, 234, 'en', TRUE, "
+                + "X'00000000000000000000000000000001', FALSE, 'Naira', 'N', 'NGN')");
+        jdbcTemplate.update("INSERT INTO state VALUES (10, 'Lagos', 'LA', NULL, NULL, 'en', FALSE, 1, '/1/', "
+                + "X'0000000000000000000000000000000a', FALSE)");
+        jdbcTemplate.update("INSERT INTO state VALUES (11, 'Old', 'OL', NULL, NULL, 'en', FALSE, 1, '/1/', "
+                + "X'0000000000000000000000000000000b', TRUE)");
+        exportService = new ExportServiceImpl(dataSource, new DataSourceTransactionManager(dataSource),
+                hierarchyService, objectMapper);
+    }
+
+    @DisplayName("Test Export of one level leaves out voided rows")
+    @Test
+    public void testExportLevel() throws IOException {
+        List<JsonNode> rows = lines(exportService.export(GeographyLevel.STATE, null, null, false, false), false);
+
+        assertEquals(1, rows.size());
+        assertEquals("state", rows.get(0).get("level").asText());
+        assertEquals(10, rows.get(0).get("id").asInt());
+        assertEquals(1, rows.get(0).get("parentId").asInt());
+        assertEquals("/1/", rows.get(0).get("path").asText());
+        assertFalse(rows.get(0).has("phoneCode"));
+        assertEquals("00000000-0000-0000-0000-00000000000a", rows.get(0).get("uuid").asText());
+    }
+
+    @DisplayName("Test gzip Export of a subtree starts with its root")
+    @Test
+    public void testExportSubtree() throws IOException {
+        when(hierarchyService.getSubtreePrefix(GeographyLevel.COUNTRY, 1)).thenReturn("/1/");
+
+        List<JsonNode> rows = lines(exportService.export(null, GeographyLevel.COUNTRY, 1, true, true), true);
+
+        assertEquals(List.of("country", "state", "state"), rows.stream().map(row -> row.get("level").asText())
+                .toList());
+        assertEquals("NGN", rows.get(0).get("currencyCode").asText());
+        assertEquals(11, rows.get(2).get("id").asInt());
+    }
+
+    @DisplayName("Test Export rejects a level above the ancestor")
+    @Test
+    public void testExportLevelAboveAncestor() {
+        assertThrows(InvalidRequestException.class,
+                () -> exportService.export(GeographyLevel.STATE, GeographyLevel.CITY, 5, false, false));
+        assertThrows(InvalidRequestException.class,
+                () -> exportService.export(null, GeographyLevel.CITY, null, false, false));
+    }
+
+    private List<JsonNode> lines(StreamingResponseBody body, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        byte[] bytes = gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes()
+                : out.toByteArray();
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+}
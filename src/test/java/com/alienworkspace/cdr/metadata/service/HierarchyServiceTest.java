@@ -0,0 +1,171 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.exception.InvalidRequestException;
+import com.alienworkspace.cdr.metadata.exception.ResourceNotFoundException;
+import com.alienworkspace.cdr.metadata.helpers.PageToken;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.GeographyRow;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import com.alienworkspace.cdr.metadata.service.impl.HierarchyServiceImpl;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HierarchyServiceTest {
+    @Mock
+    CountryRepository countryRepository;
+    @Mock
+    StateRepository stateRepository;
+    @Mock
+    CountyRepository countyRepository;
+    @Mock
+    CityRepository cityRepository;
+    @Mock
+    CommunityRepository communityRepository;
+    @Mock
+    LocationRepository locationRepository;
+    @InjectMocks
+    HierarchyServiceImpl hierarchyService;
+
+    @DisplayName("Test Get Descendants scans the subtree prefix of the node")
+    @Test
+    public void testGetDescendants() {
+        when(stateRepository.findPathById(10)).thenReturn(Optional.of("/1/"));
+        List<GeographyRow> rows = List.of(new GeographyRow(5, "Ikeja", "IK", 40, "/1/10/20/30/40/"),
+                new GeographyRow(6, "Yaba", "YB", 41, "/1/10/20/30/41/"));
+        when(locationRepository.findSubtreeRows("/1/10/%", "", 0, Limit.of(2))).thenReturn(rows);
+
+        KeysetPage<GeographyRow> page = hierarchyService.getDescendants(GeographyLevel.STATE, 10,
+                GeographyLevel.LOCATION, null, 1);
+
+        assertEquals(List.of(rows.get(0)), page.getItems());
+        assertEquals(new PageToken.Position("/1/10/20/30/40/", 5), PageToken.decodePosition(page.getNextPageToken()));
+    }
+
+    @DisplayName("Test Get Descendants of a country")
+    @Test
+    public void testGetDescendantsOfCountry() {
+        when(countryRepository.existsById(1)).thenReturn(true);
+        when(stateRepository.findSubtreeRows("/1/%", "", 0, Limit.of(101))).thenReturn(List.of());
+
+        KeysetPage<GeographyRow> page = hierarchyService.getDescendants(GeographyLevel.COUNTRY, 1,
+                GeographyLevel.STATE, null, 100);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextPageToken());
+    }
+
+    @DisplayName("Test Get Descendants rejects a level that is not below the node")
+    @Test
+    public void testGetDescendantsOfHigherLevel() {
+        assertThrows(InvalidRequestException.class, () -> hierarchyService.getDescendants(GeographyLevel.CITY, 1,
+                GeographyLevel.STATE, null, 100));
+        verifyNoInteractions(cityRepository, stateRepository);
+    }
+
+    @DisplayName("Test Get Descendants of a missing node")
+    @Test
+    public void testGetDescendantsOfMissingNode() {
+        when(countyRepository.findPathById(99)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> hierarchyService.getDescendants(GeographyLevel.COUNTY, 99,
+                GeographyLevel.CITY, null, 100));
+    }
+
+    @DisplayName("Test Get Ancestors reads the ids from the path")
+    @Test
+    public void testGetAncestors() {
+        GeographyRow country = new GeographyRow(1, "Nigeria", "NG", null);
+        GeographyRow state = new GeographyRow(10, "Lagos", "LA", 1);
+        when(countyRepository.findPathById(20)).thenReturn(Optional.of("/1/10/"));
+        when(countryRepository.findRowById(1)).thenReturn(Optional.of(country));
+        when(stateRepository.findRowById(10)).thenReturn(Optional.of(state));
+
+        assertEquals(List.of(country, state), hierarchyService.getAncestors(GeographyLevel.COUNTY, 20));
+    }
+
+    @DisplayName("Test Contains compares the path of the descendant")
+    @Test
+    public void testContains() {
+        when(cityRepository.findPathById(30)).thenReturn(Optional.of("/1/10/20/"));
+
+        assertTrue(hierarchyService.contains(GeographyLevel.STATE, 10, GeographyLevel.CITY, 30));
+        assertFalse(hierarchyService.contains(GeographyLevel.STATE, 11, GeographyLevel.CITY, 30));
+        assertFalse(hierarchyService.contains(GeographyLevel.COMMUNITY, 10, GeographyLevel.CITY, 30));
+    }
+
+    @DisplayName("Test Move County rewrites the paths below it")
+    @Test
+    public void testMoveCounty() {
+        State newState = State.builder().stateId(11).path("/2/").build();
+        County county = County.builder().countyId(20).path("/1/10/").build();
+        when(stateRepository.findById(11)).thenReturn(Optional.of(newState));
+
+        hierarchyService.moveCounty(county, 11);
+
+        assertSame(newState, county.getState());
+        assertEquals("/2/11/", county.getPath());
+        verify(cityRepository).movePaths("/1/10/20/%", "/2/11/20/", 10);
+        verify(communityRepository).movePaths("/1/10/20/%", "/2/11/20/", 10);
+        verify(locationRepository).movePaths("/1/10/20/%", "/2/11/20/", 10);
+    }
+
+    @DisplayName("Test Move County backfills the paths it is missing before rewriting the paths below it")
+    @Test
+    public void testMoveCountyWithoutPath() {
+        State newState = State.builder().stateId(11).build();
+        County county = County.builder().countyId(20).build();
+        when(stateRepository.findById(11)).thenReturn(Optional.of(newState));
+        when(countyRepository.findPathById(20)).thenReturn(Optional.of("/1/10/"));
+        when(stateRepository.findPathById(11)).thenReturn(Optional.of("/2/"));
+
+        hierarchyService.moveCounty(county, 11);
+
+        verify(stateRepository, times(2)).backfillPaths();
+        assertEquals("/2/11/", county.getPath());
+        verify(cityRepository).movePaths("/1/10/20/%", "/2/11/20/", 10);
+        verify(locationRepository).movePaths("/1/10/20/%", "/2/11/20/", 10);
+    }
+
+    @DisplayName("Test Move County fails when the new state has no path even after a backfill")
+    @Test
+    public void testMoveCountyToStateWithoutPath() {
+        State newState = State.builder().stateId(11).build();
+        County county = County.builder().countyId(20).path("/1/10/").build();
+        when(stateRepository.findById(11)).thenReturn(Optional.of(newState));
+        when(stateRepository.findPathById(11)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> hierarchyService.moveCounty(county, 11));
+
+        assertNull(county.getState());
+        verify(cityRepository, never()).movePaths(anyString(), anyString(), anyInt());
+    }
+}
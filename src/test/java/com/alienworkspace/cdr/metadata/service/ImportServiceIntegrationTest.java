@@ -0,0 +1,255 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.integration.AbstractionContainerBaseTest;
+import com.alienworkspace.cdr.metadata.model.Country;
+import com.alienworkspace.cdr.metadata.model.County;
+import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.ImportJob;
+import com.alienworkspace.cdr.metadata.model.dto.ImportRowError;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.repository.CityRepository;
+import com.alienworkspace.cdr.metadata.repository.CommunityRepository;
+import com.alienworkspace.cdr.metadata.repository.CountryRepository;
+import com.alienworkspace.cdr.metadata.repository.CountyRepository;
+import com.alienworkspace.cdr.metadata.repository.LocationRepository;
+import com.alienworkspace.cdr.metadata.repository.StateRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import static com.alienworkspace.cdr.metadata.helpers.Constants.IMPORT_BATCH_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports county files against MySQL: one that spans two batches and holds every kind of rejected row, and one whose
+ * parent codes are told apart by a grandparent code.
+ */
+@SpringBootTest
+public class ImportServiceIntegrationTest extends AbstractionContainerBaseTest {
+
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private GeographyReadModel geographyReadModel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private StateRepository stateRepository;
+
+    @Autowired
+    private CountyRepository countyRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private CommunityRepository communityRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    Country country;
+    State first;
+    State second;
+    State twin;
+    State otherTwin;
+
+    @BeforeEach
+    void setUp() {
+        locationRepository.deleteAllInBatch();
+        communityRepository.deleteAllInBatch();
+        cityRepository.deleteAllInBatch();
+        countyRepository.deleteAllInBatch();
+        stateRepository.deleteAllInBatch();
+        countryRepository.deleteAllInBatch();
+
+        country = countryRepository.save(Country.builder().countryName("Import Country").countryCode("IC1")
+                .currencyCode("USD").currencySymbol("$").build());
+        Country other = countryRepository.save(Country.builder().countryName("Other Country").countryCode("IC2")
+                .currencyCode("USD").currencySymbol("$").build());
+        first = stateRepository.save(State.builder().stateName("First").stateCode("ST1").country(country).build());
+        second = stateRepository.save(State.builder().stateName("Second").stateCode("ST2").country(country).build());
+        twin = stateRepository.save(State.builder().stateName("Twin").stateCode("DUP").country(country).build());
+        otherTwin = stateRepository.save(State.builder().stateName("Twin").stateCode("DUP").country(other)
+                .build());
+        geographyReadModel.reload();
+    }
+
+    @DisplayName("Test Import writes the rows in batches, resolves their parents and reports the rejected rows")
+    @Test
+    public void testImport() throws InterruptedException {
+        StringBuilder file = new StringBuilder("parent_code,name,code,phone_code\n");
+        for (int i = 0; i < IMPORT_BATCH_SIZE; i++) {
+            file.append(i % 2 == 0 ? "ST1" : "ST2").append(",County ").append(i).append(",C").append(i)
+                    .append(",").append(i).append('\n');
+        }
+        int firstLine = IMPORT_BATCH_SIZE + 2;
+        file.append("NOPE,Orphan,ORPHAN,\n")
+                .append("ST1,,NONAME,\n")
+                .append("ST1,Bad Phone,BADPHONE,abc\n")
+                .append("DUP,Ambiguous,AMBIGUOUS,\n")
+                .append("ST2,Copy,C0,\n")
+                .append("ST2,Last,LAST,\n");
+
+        ImportJob job = importService.startImport(GeographyLevel.COUNTY, new MockMultipartFile("file",
+                "counties.csv", "text/csv", file.toString().getBytes(StandardCharsets.UTF_8)), null);
+        ImportJob finished = awaitFinished(job.getId());
+        GeographySnapshot snapshot = awaitReadModel(IMPORT_BATCH_SIZE + 1);
+
+        assertEquals(ImportJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(IMPORT_BATCH_SIZE + 6, finished.getRowsRead());
+        assertEquals(IMPORT_BATCH_SIZE + 1, finished.getRowsImported());
+        assertEquals(5, finished.getRowsFailed());
+        Map<Long, ImportRowError> errors = finished.getErrors().stream()
+                .collect(Collectors.toMap(ImportRowError::getLine, Function.identity()));
+        assertEquals(new ImportRowError(firstLine, "ORPHAN", "Parent not found with code: NOPE"),
+                errors.get((long) firstLine));
+        assertEquals(new ImportRowError(firstLine + 1, "NONAME", "The parent_code, name and code columns are required"),
+                errors.get((long) firstLine + 1));
+        assertEquals(new ImportRowError(firstLine + 2, "BADPHONE", "Invalid phone code: abc"),
+                errors.get((long) firstLine + 2));
+        assertEquals(new ImportRowError(firstLine + 3, "AMBIGUOUS", "Parent code is not unique: DUP"),
+                errors.get((long) firstLine + 3));
+        assertEquals("C0", errors.get((long) firstLine + 4).getCode());
+        assertTrue(errors.get((long) firstLine + 4).getMessage().contains("Duplicate"));
+
+        List<County> counties = countyRepository.findAll();
+        assertEquals(IMPORT_BATCH_SIZE + 1, counties.size());
+        Map<String, County> byCode = counties.stream()
+                .collect(Collectors.toMap(County::getCountyCode, Function.identity()));
+        assertEquals(first.getStateId(), byCode.get("C0").getState().getStateId());
+        assertEquals("/" + country.getCountryId() + "/" + first.getStateId() + "/", byCode.get("C0").getPath());
+        assertEquals(second.getStateId(), byCode.get("C1").getState().getStateId());
+        assertEquals(second.getStateId(), byCode.get("LAST").getState().getStateId());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT change_seq) FROM county "
+                + "WHERE county_code <> 'LAST'", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT change_seq FROM county WHERE county_code = 'LAST'", Long.class)
+                > jdbcTemplate.queryForObject("SELECT change_seq FROM county WHERE county_code = 'C0'", Long.class));
+
+        assertEquals("County 1", snapshot.county(byCode.get("C1").getCountyId()).orElseThrow().name());
+        assertEquals(IMPORT_BATCH_SIZE / 2, snapshot.countiesOf(first.getStateId()).size());
+    }
+
+    @DisplayName("Test Import of a file without a required column fails the job")
+    @Test
+    public void testImportWithoutRequiredColumn() throws InterruptedException {
+        ImportJob job = importService.startImport(GeographyLevel.COUNTY, new MockMultipartFile("file",
+                "counties.csv", "text/csv", "parent_code,name\nST1,Nameless\n".getBytes(StandardCharsets.UTF_8)),
+                null);
+
+        ImportJob finished = awaitFinished(job.getId());
+
+        assertEquals(ImportJob.Status.FAILED, finished.getStatus());
+        assertEquals("The import file has no code column", finished.getMessage());
+        assertEquals(0, countyRepository.count());
+    }
+
+    @DisplayName("Test Import tells apart parents sharing a code by the code of their own parent")
+    @Test
+    public void testImportWithGrandparentCode() throws InterruptedException {
+        String file = "grandparent_code,parent_code,name,code\n"
+                + "IC1,DUP,Twin County,TWIN1\n"
+                + "IC2,DUP,Other Twin County,TWIN2\n"
+                + ",DUP,Ambiguous,AMBIGUOUS\n"
+                + "IC3,DUP,Orphan,ORPHAN\n"
+                + "IC2,ST1,Wrong Country,WRONG\n";
+
+        ImportJob job = importService.startImport(GeographyLevel.COUNTY, new MockMultipartFile("file",
+                "counties.csv", "text/csv", file.getBytes(StandardCharsets.UTF_8)), null);
+        ImportJob finished = awaitFinished(job.getId());
+
+        assertEquals(ImportJob.Status.COMPLETED, finished.getStatus());
+        assertEquals(2, finished.getRowsImported());
+        Map<String, String> errors = finished.getErrors().stream()
+                .collect(Collectors.toMap(ImportRowError::getCode, ImportRowError::getMessage));
+        assertEquals(Map.of("AMBIGUOUS", "Parent code is not unique: DUP",
+                "ORPHAN", "Parent not found with code: DUP under IC3",
+                "WRONG", "Parent not found with code: ST1 under IC2"), errors);
+        Map<String, County> byCode = countyRepository.findAll().stream()
+                .collect(Collectors.toMap(County::getCountyCode, Function.identity()));
+        assertEquals(twin.getStateId(), byCode.get("TWIN1").getState().getStateId());
+        assertEquals(otherTwin.getStateId(), byCode.get("TWIN2").getState().getStateId());
+    }
+
+    @DisplayName("Test Import that cannot store the uploaded file leaves no temporary file behind")
+    @Test
+    public void testImportCleansUpWhenFileCannotBeStored() throws IOException {
+        MockMultipartFile unreadable = new MockMultipartFile("file", "counties.csv", "text/csv",
+                "parent_code,name,code\n".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public InputStream getInputStream() {
+                return new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                };
+            }
+        };
+        Set<Path> before = importFiles();
+
+        assertThrows(IllegalStateException.class,
+                () -> importService.startImport(GeographyLevel.COUNTY, unreadable, null));
+
+        assertEquals(before, importFiles());
+    }
+
+    private static Set<Path> importFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("geography-import-"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private ImportJob awaitFinished(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        ImportJob job = importService.getImport(id);
+        while (job.getStatus() == ImportJob.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = importService.getImport(id);
+        }
+        return job;
+    }
+
+    /**
+     * The read model is reloaded once the import has finished writing; the imported rows bypass the events that
+     * would otherwise patch it, so seeing them proves the reload ran.
+     */
+    private GeographySnapshot awaitReadModel(int counties) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        GeographySnapshot snapshot = geographyReadModel.snapshot().orElseThrow();
+        while (snapshot.counties().size() != counties && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            snapshot = geographyReadModel.snapshot().orElseThrow();
+        }
+        assertEquals(counties, snapshot.counties().size());
+        return snapshot;
+    }
+}
@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
 import com.alienworkspace.cdr.metadata.model.Location;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.LocationMapper;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
 import com.alienworkspace.cdr.metadata.repository.LocationRepository;
 import com.alienworkspace.cdr.metadata.service.impl.LocationServiceImpl;
 import com.alienworkspace.cdr.model.dto.metadata.LocationDto;
@@ -9,6 +11,7 @@ import com.alienworkspace.cdr.model.helper.RecordVoidRequest;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,6 +30,8 @@ public class LocationServiceTest {
     LocationRepository locationRepository;
     @Mock
     LocationMapper locationMapper;
+    @Mock
+    GeographyReadModel geographyReadModel;
     @InjectMocks
     LocationServiceImpl locationService;
 
@@ -127,12 +132,13 @@ public class LocationServiceTest {
     public void testGetAllLocations() {
         List<Location> locations = List.of(locationBuilder.build());
         List<LocationDto> expectedDtos = List.of(locationDtoBuilder.build());
-        when(locationRepository.findAll()).thenReturn(locations);
+        when(locationRepository.findByLocationIdGreaterThanAndVoidedIsFalseOrderByLocationIdAsc(0, Limit.of(101))).thenReturn(locations);
         when(locationMapper.toDto(any(Location.class))).thenReturn(locationDtoBuilder.build());
-        List<LocationDto> actual = locationService.getAllLocations();
+        KeysetPage<LocationDto> actual = locationService.getAllLocations(null, 100, false);
         assertNotNull(actual);
-        assertEquals(expectedDtos.size(), actual.size());
-        verify(locationRepository).findAll();
+        assertEquals(expectedDtos.size(), actual.getItems().size());
+        assertNull(actual.getNextPageToken());
+        verify(locationRepository).findByLocationIdGreaterThanAndVoidedIsFalseOrderByLocationIdAsc(0, Limit.of(101));
         verifyNoMoreInteractions(locationRepository);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.alienworkspace.cdr.metadata.service;
+
+import com.alienworkspace.cdr.metadata.model.dto.EncodedSnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.AuditStamp;
+import com.alienworkspace.cdr.metadata.readmodel.CountryNode;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyChange;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyLevel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshot;
+import com.alienworkspace.cdr.metadata.readmodel.GeographySnapshotCodec;
+import com.alienworkspace.cdr.metadata.readmodel.StateNode;
+import com.alienworkspace.cdr.metadata.service.impl.SnapshotServiceImpl;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotServiceTest {
+
+    private static final AuditStamp AUDIT = new AuditStamp(1L, null, null, null, false, null, null, null,
+            UUID.randomUUID().toString());
+
+    @Mock
+    GeographyReadModel geographyReadModel;
+    @Mock
+    ChangeFeedService changeFeedService;
+    @InjectMocks
+    SnapshotServiceImpl snapshotService;
+
+    private static GeographySnapshot snapshot() {
+        return GeographySnapshot.of(1L,
+                List.of(new CountryNode(1, "Nigeria", "NG", 234, "Naira", "N", "NGN", "en", null, true, AUDIT)),
+                List.of(new StateNode(10, "Lagos", "LA", null, "en", true, null, 1, AUDIT)),
+                List.of(), List.of(), List.of(), List.of())
+                .withChangeSeqs(Map.of(GeographyLevel.COUNTRY, 5L, GeographyLevel.STATE, 3L));
+    }
+
+    @DisplayName("Test there is no snapshot while the read model is loading")
+    @Test
+    void testLoading() {
+        when(geographyReadModel.snapshot()).thenReturn(Optional.empty());
+
+        assertTrue(snapshotService.current().isEmpty());
+    }
+
+    @DisplayName("Test the snapshot is encoded with its hash and own watermark and shared until the hierarchy changes")
+    @Test
+    void testEncodedOncePerVersion() throws Exception {
+        GeographySnapshot snapshot = snapshot();
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot));
+        when(changeFeedService.tokenAt(5L)).thenReturn("first");
+        when(changeFeedService.tokenAt(7L)).thenReturn("second");
+
+        EncodedSnapshot first = snapshotService.current().orElseThrow();
+
+        assertEquals(1L, first.getVersion());
+        assertEquals(2, first.getNodes());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(first.getContent())),
+                first.getSha256());
+        assertEquals(2, GeographySnapshotCodec.decode(first.getContent()).size());
+        assertEquals("first", first.getChangeToken());
+        assertSame(first, snapshotService.current().orElseThrow());
+
+        when(geographyReadModel.snapshot()).thenReturn(Optional.of(snapshot.apply(List.of(GeographyChange.upsert(
+                new StateNode(11, "Ogun", "OG", null, "en", true, null, 1, AUDIT))), 7L)));
+
+        EncodedSnapshot second = snapshotService.current().orElseThrow();
+        assertEquals(2L, second.getVersion());
+        assertEquals(3, second.getNodes());
+        assertNotEquals(first.getSha256(), second.getSha256());
+        assertEquals("second", second.getChangeToken());
+    }
+}
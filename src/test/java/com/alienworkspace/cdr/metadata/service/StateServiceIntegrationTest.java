@@ -17,6 +17,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.util.List;
 import java.util.Set;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -192,7 +193,7 @@ public class StateServiceIntegrationTest extends AbstractionContainerBaseTest {
         stateService.createState(stateDto);
         stateDto.setStateName("Test State 2");
         stateService.createState(stateDtoBuilder.stateName("Test State-02").stateCode("STATE9456").build() );
-        List<StateDto> actualStateDtos = stateService.getAllStates();
+        List<StateDto> actualStateDtos = stateService.getAllStates(null, 100, false, MAX_DEPTH).getItems();
 
         // Assert
         assertNotNull(actualStateDtos);
@@ -1,7 +1,9 @@
 package com.alienworkspace.cdr.metadata.service;
 
 import com.alienworkspace.cdr.metadata.model.State;
+import com.alienworkspace.cdr.metadata.model.dto.KeysetPage;
 import com.alienworkspace.cdr.metadata.model.mapper.StateMapper;
+import com.alienworkspace.cdr.metadata.readmodel.GeographyReadModel;
 import com.alienworkspace.cdr.metadata.repository.StateRepository;
 import com.alienworkspace.cdr.metadata.service.impl.StateServiceImpl;
 import com.alienworkspace.cdr.model.dto.metadata.StateDto;
@@ -16,7 +18,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import static com.alienworkspace.cdr.metadata.helpers.Constants.MAX_DEPTH;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +30,8 @@ public class StateServiceTest {
     StateRepository stateRepository;
     @Mock
     StateMapper stateMapper;
+    @Mock
+    GeographyReadModel geographyReadModel;
     @InjectMocks
     StateServiceImpl stateService;
 
@@ -113,7 +119,7 @@ public class StateServiceTest {
         State existingState = stateBuilder.build();
         StateDto expectedDto = stateDtoBuilder.build();
         when(stateRepository.findById(id)).thenReturn(Optional.of(existingState));
-        when(stateMapper.toDto(existingState)).thenReturn(expectedDto);
+        when(stateMapper.toDto(existingState, MAX_DEPTH)).thenReturn(expectedDto);
         StateDto actual = stateService.getState(id);
         assertNotNull(actual);
         assertEquals(expectedDto, actual);
@@ -126,12 +132,13 @@ public class StateServiceTest {
     public void testGetAllStates() {
         List<State> states = List.of(stateBuilder.build());
         List<StateDto> expectedDtos = List.of(stateDtoBuilder.build());
-        when(stateRepository.findAll()).thenReturn(states);
-        when(stateMapper.toDto(any(State.class))).thenReturn(stateDtoBuilder.build());
-        List<StateDto> actual = stateService.getAllStates();
+        when(stateRepository.findByStateIdGreaterThanAndVoidedIsFalseOrderByStateIdAsc(0, Limit.of(101))).thenReturn(states);
+        when(stateMapper.toDto(any(State.class), eq(MAX_DEPTH))).thenReturn(stateDtoBuilder.build());
+        KeysetPage<StateDto> actual = stateService.getAllStates(null, 100, false, MAX_DEPTH);
         assertNotNull(actual);
-        assertEquals(expectedDtos.size(), actual.size());
-        verify(stateRepository).findAll();
+        assertEquals(expectedDtos.size(), actual.getItems().size());
+        assertNull(actual.getNextPageToken());
+        verify(stateRepository).findByStateIdGreaterThanAndVoidedIsFalseOrderByStateIdAsc(0, Limit.of(101));
         verifyNoMoreInteractions(stateRepository);
     }
 } 
\ No newline at end of file
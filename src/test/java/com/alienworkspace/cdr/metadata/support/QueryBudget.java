@@ -0,0 +1,77 @@
+package com.alienworkspace.cdr.metadata.support;
+
+import com.alienworkspace.cdr.metadata.config.RequestStatistics;
+import com.alienworkspace.cdr.metadata.config.RequestStatisticsInterceptor;
+import java.util.Map;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+/**
+ * MockMvc matchers that fail a test when an endpoint exceeds its query budget, e.g.
+ * {@code mockMvc.perform(get(...)).andExpect(QueryBudget.statementsAtMost(2))}, and {@link #during(Runnable)} for
+ * code called directly.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * The request executed at most {@code budget} JDBC statements.
+     */
+    public static ResultMatcher statementsAtMost(int budget) {
+        return result -> {
+            RequestStatistics statistics = statistics(result);
+            assertTrue("Expected at most " + budget + " statements but " + statistics.getStatements()
+                    + " were executed", statistics.getStatements() <= budget);
+        };
+    }
+
+    /**
+     * The request initialized at most {@code budget} lazy collections.
+     */
+    public static ResultMatcher collectionsInitializedAtMost(int budget) {
+        return result -> {
+            RequestStatistics statistics = statistics(result);
+            assertTrue("Expected at most " + budget + " collections to be initialized but "
+                    + statistics.getCollectionsInitialized() + " were",
+                    statistics.getCollectionsInitialized() <= budget);
+        };
+    }
+
+    /**
+     * The request prepared no SQL string more than {@code times} times, i.e. ran no N+1 select.
+     */
+    public static ResultMatcher noStatementRepeatedMoreThan(int times) {
+        return result -> statistics(result).mostRepeatedStatement()
+                .filter(statement -> statement.getValue() > times)
+                .map(Map.Entry::getKey)
+                .ifPresent(sql -> {
+                    throw new AssertionError("Statement prepared more than " + times + " times: " + sql);
+                });
+    }
+
+    /**
+     * Runs {@code work} on the current thread and returns what Hibernate did for it, for code that is not reached
+     * through MockMvc.
+     */
+    public static RequestStatistics during(Runnable work) {
+        RequestStatistics statistics = RequestStatistics.start();
+        try {
+            work.run();
+        } finally {
+            RequestStatistics.end();
+        }
+        return statistics;
+    }
+
+    private static RequestStatistics statistics(MvcResult result) {
+        RequestStatistics statistics =
+                (RequestStatistics) result.getRequest().getAttribute(RequestStatisticsInterceptor.ATTRIBUTE);
+        assertNotNull("No request statistics; is request-statistics.enabled off?", statistics);
+        return statistics;
+    }
+}